@@ -1,6 +1,7 @@
 package com.basilios.basilios.app.controllers;
 
 import com.basilios.basilios.infra.storage.FileStorageService;
+import com.basilios.basilios.infra.storage.UploadGarbageCollector;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ import java.io.IOException;
 public class FileUploadController {
 
     private final FileStorageService fileStorageService;
+    private final UploadGarbageCollector uploadGarbageCollector;
 
     @PostMapping("/image")
     @PreAuthorize("hasRole('FUNCIONARIO')")
@@ -27,4 +29,11 @@ public class FileUploadController {
         String fileUrl = "http://localhost:8080/uploads/" + fileName;
         return ResponseEntity.ok(fileUrl);
     }
+
+    @PostMapping("/gc")
+    @PreAuthorize("hasRole('FUNCIONARIO')")
+    @Operation(summary = "Remove imagens não referenciadas por produtos ou combos")
+    public ResponseEntity<UploadGarbageCollector.Report> collectOrphans() throws IOException {
+        return ResponseEntity.ok(uploadGarbageCollector.collect());
+    }
 }
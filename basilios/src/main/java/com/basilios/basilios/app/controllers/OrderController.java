@@ -46,6 +46,15 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @PreAuthorize("hasRole('CLIENTE')")
+    @GetMapping("/me/summary")
+    @Operation(summary = "Listar meus pedidos (resumo)", description = "Lista resumida dos pedidos do cliente, sem itens")
+    public ResponseEntity<Page<OrderResponseDTO>> getMyOrdersSummary(
+            Pageable pageable) {
+        Page<OrderResponseDTO> orders = orderService.getUserOrdersSimple(pageable);
+        return ResponseEntity.ok(orders);
+    }
+
     @PreAuthorize("hasRole('CLIENTE')")
     @GetMapping("/me/{id}")
     @Operation(summary = "Buscar meu pedido por ID", description = "Retorna detalhes de um pedido específico do cliente")
@@ -1,12 +1,23 @@
 package com.basilios.basilios.app.controllers;
 
+import com.basilios.basilios.app.dto.product.BulkOperationResultDTO;
+import com.basilios.basilios.app.dto.product.BulkPriceUpdateDTO;
+import com.basilios.basilios.app.dto.product.BulkStatusUpdateDTO;
 import com.basilios.basilios.app.dto.product.IngredientRequestDTO;
 import com.basilios.basilios.app.dto.product.IngredientResponseDTO;
+import com.basilios.basilios.app.dto.product.ProductFilterDTO;
+import com.basilios.basilios.app.dto.product.ProductFilterResponseDTO;
 import com.basilios.basilios.app.dto.product.ProductPriceUpdateDTO;
 import com.basilios.basilios.app.dto.product.ProductRequestDTO;
 import com.basilios.basilios.app.dto.product.ProductResponseDTO;
+import com.basilios.basilios.app.dto.product.ProductSearchDTO;
+import com.basilios.basilios.app.dto.product.ProductSearchResponseDTO;
 import com.basilios.basilios.app.dto.product.ProductStatusDTO;
+import com.basilios.basilios.core.service.CatalogVersion;
+import com.basilios.basilios.core.service.MenuSearchService;
+import com.basilios.basilios.core.service.ProductBulkService;
 import com.basilios.basilios.core.service.ProductService;
+import com.basilios.basilios.infra.web.CatalogResponseCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -14,10 +25,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 
 @RestController
 @RequestMapping("/products")
@@ -26,6 +45,10 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductBulkService productBulkService;
+    private final MenuSearchService menuSearchService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogResponseCache catalogResponseCache;
     @PreAuthorize("hasRole('FUNCIONARIO')")
     @PostMapping
     @Operation(summary = "Criar produto", description = "Cria um novo produto (ROLE_FUNCIONARIO)")
@@ -36,12 +59,33 @@ public class ProductController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar produtos", description = "Lista produtos; activeOnly=true por padrão")
-    public ResponseEntity<Page<ProductResponseDTO>> listProducts(
+    @Operation(summary = "Listar produtos", description = "Lista produtos; activeOnly=true por padrão. Suporta If-None-Match/If-Modified-Since e gzip/deflate pré-comprimidos")
+    public ResponseEntity<byte[]> listProducts(
             @RequestParam(defaultValue = "true") boolean activeOnly,
-            @PageableDefault(size = 10) Pageable pageable) {
-        Page<ProductResponseDTO> list = productService.getAllProducts(activeOnly, pageable);
-        return ResponseEntity.ok(list);
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        CatalogResponseCache.Encoding encoding = CatalogResponseCache.Encoding.negotiate(acceptEncoding);
+        // Catálogo inalterado: 304 sem tocar no banco
+        if (request.checkNotModified(encoding.etag(catalogVersion.etag(request.getParameterMap())), catalogVersion.lastModified())) {
+            return null;
+        }
+        // Corpo já serializado/comprimido para esta versão do catálogo
+        CatalogResponseCache.Rendered rendered = catalogResponseCache.get("products", request.getParameterMap(),
+                () -> productService.getAllProducts(activeOnly, pageable));
+        return catalogResponseCache.toResponse(rendered, encoding);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Buscar produtos", description = "Busca sem acento por nome, descrição, tags e ingredientes, com prefixo (autocomplete), filtros e ordenação por relevância/popularidade")
+    public ResponseEntity<ProductSearchResponseDTO> searchProducts(@ModelAttribute ProductSearchDTO search) {
+        return ResponseEntity.ok(menuSearchService.search(search));
+    }
+
+    @GetMapping("/filter")
+    @Operation(summary = "Filtrar produtos por facetas", description = "Filtra por categoria, subcategoria, faixa de preço, tags, ingredientes e status, devolvendo a página e as contagens de cada faceta")
+    public ResponseEntity<ProductFilterResponseDTO> filterProducts(@ModelAttribute ProductFilterDTO filter) {
+        return ResponseEntity.ok(menuSearchService.filter(filter));
     }
     @PreAuthorize("hasRole('FUNCIONARIO')")
     @GetMapping("/{id}")
@@ -87,6 +131,31 @@ public class ProductController {
         return ResponseEntity.ok(dto);
     }
 
+    // ========== Operações em lote ==========
+    @PreAuthorize("hasRole('FUNCIONARIO')")
+    @PatchMapping("/bulk/price")
+    @Operation(summary = "Reajustar preços em lote", description = "Aplica percentual ou valor absoluto aos produtos da categoria/subcategoria/tag")
+    public ResponseEntity<BulkOperationResultDTO> bulkUpdatePrice(
+            @Valid @RequestBody BulkPriceUpdateDTO dto) {
+        return ResponseEntity.ok(productBulkService.updatePrices(dto));
+    }
+    @PreAuthorize("hasRole('FUNCIONARIO')")
+    @PatchMapping("/bulk/status")
+    @Operation(summary = "Pausar/ativar em lote", description = "Pausa ou ativa os produtos da categoria/subcategoria/tag")
+    public ResponseEntity<BulkOperationResultDTO> bulkUpdateStatus(
+            @Valid @RequestBody BulkStatusUpdateDTO dto) {
+        return ResponseEntity.ok(productBulkService.updateStatus(dto));
+    }
+    @PreAuthorize("hasRole('FUNCIONARIO')")
+    @PostMapping("/import")
+    @Operation(summary = "Importar produtos (CSV)", description = "Colunas: name, description, category, price, subcategory, tags (separadas por |), imageUrl")
+    public ResponseEntity<BulkOperationResultDTO> importProducts(
+            @RequestParam("file") MultipartFile file) throws IOException {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(productBulkService.importCsv(reader));
+        }
+    }
+
     // ========== Ingredientes ==========
     @PreAuthorize("hasRole('FUNCIONARIO')")
     @GetMapping("/{id}/ingredients")
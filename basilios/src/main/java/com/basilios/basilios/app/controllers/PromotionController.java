@@ -1,17 +1,19 @@
 package com.basilios.basilios.app.controllers;
 
 import com.basilios.basilios.app.dto.promotion.CreatePromotionDTO;
-import com.basilios.basilios.app.dto.promotion.PromotionCurrentDTO;
 import com.basilios.basilios.app.dto.promotion.UpdatePromotionDTO;
 import com.basilios.basilios.app.dto.promotion.PromotionResponseDTO;
+import com.basilios.basilios.core.service.CatalogVersion;
 import com.basilios.basilios.core.service.PromotionService;
 import com.basilios.basilios.core.model.Promotion;
+import com.basilios.basilios.infra.web.CatalogResponseCache;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/promotions")
@@ -19,6 +21,8 @@ import org.springframework.web.bind.annotation.*;
 public class PromotionController {
 
     private final PromotionService promotionService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogResponseCache catalogResponseCache;
 
     @PostMapping
     public ResponseEntity<PromotionResponseDTO> createPromotion(
@@ -30,13 +34,22 @@ public class PromotionController {
     }
 
     @GetMapping("/current")
-    public ResponseEntity<Page<PromotionCurrentDTO>> getCurrentPromotions(
-            @PageableDefault(size = 10) Pageable pageable) {
+    public ResponseEntity<byte[]> getCurrentPromotions(
+            @PageableDefault(size = 10) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
 
-        Page<PromotionCurrentDTO> promotions =
-                promotionService.getCurrentPromotionsDTO(pageable);
+        CatalogResponseCache.Encoding encoding = CatalogResponseCache.Encoding.negotiate(acceptEncoding);
 
-        return ResponseEntity.ok(promotions);
+        // Promoções inalteradas: 304 sem tocar no banco
+        if (request.checkNotModified(encoding.etag(catalogVersion.etag(request.getParameterMap())), catalogVersion.lastModified())) {
+            return null;
+        }
+
+        CatalogResponseCache.Rendered rendered = catalogResponseCache.get("promotions/current", request.getParameterMap(),
+                () -> promotionService.getCurrentPromotionsDTO(pageable));
+
+        return catalogResponseCache.toResponse(rendered, encoding);
     }
 
     @GetMapping("/{id}")
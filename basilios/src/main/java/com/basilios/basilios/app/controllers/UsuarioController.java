@@ -1,8 +1,10 @@
 package com.basilios.basilios.app.controllers;
 
+import com.basilios.basilios.app.dto.user.CustomerStatsResponse;
 import com.basilios.basilios.app.dto.user.UsuarioProfileResponse;
 import com.basilios.basilios.app.dto.user.UsuarioListarDTO;
 import com.basilios.basilios.app.mapper.UsuarioMapper;
+import com.basilios.basilios.core.service.CustomerStatsService;
 import com.basilios.basilios.core.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,12 +17,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
 @Tag(name = "Usuários", description = "Gerenciamento de usuários")
 public class UsuarioController {
     private final UsuarioService usuarioService;
+    private final CustomerStatsService customerStatsService;
 
     @Operation(summary = "Atualizar parcialmente usuário", description = "Atualiza dados permitidos do usuário via PATCH")
     @PatchMapping("/{id}")
@@ -62,4 +67,18 @@ public class UsuarioController {
         var usuario = usuarioService.getCurrentUsuario();
         return ResponseEntity.ok(UsuarioMapper.toProfileResponse(usuario));
     }
+
+    @Operation(summary = "Estatísticas do usuário autenticado", description = "Gasto total, pedidos por status, ticket médio e produto favorito")
+    @GetMapping("/me/stats")
+    public ResponseEntity<CustomerStatsResponse> getMyStats() {
+        return ResponseEntity.ok(customerStatsService.getCurrentUserStats());
+    }
+
+    @Operation(summary = "Reconstruir estatísticas de clientes", description = "Recalcula as estatísticas de todos os clientes a partir do histórico de pedidos")
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasRole('FUNCIONARIO')")
+    public ResponseEntity<Map<String, Integer>> rebuildStats() {
+        int customers = customerStatsService.rebuildAll();
+        return ResponseEntity.ok(Map.of("customers", customers));
+    }
 }
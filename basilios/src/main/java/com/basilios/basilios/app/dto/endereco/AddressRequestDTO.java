@@ -40,12 +40,11 @@ public class AddressRequestDTO {
     @Size(max = 100, message = "Complemento deve ter no máximo 100 caracteres")
     private String complemento;
 
-    @NotNull(message = "Latitude é obrigatória")
+    // Opcional: sem coordenadas, o centroide do CEP é usado
     @DecimalMin(value = "-90.0", message = "Latitude deve estar entre -90 e 90")
     @DecimalMax(value = "90.0", message = "Latitude deve estar entre -90 e 90")
     private Double latitude;
 
-    @NotNull(message = "Longitude é obrigatória")
     @DecimalMin(value = "-180.0", message = "Longitude deve estar entre -180 e 180")
     @DecimalMax(value = "180.0", message = "Longitude deve estar entre -180 e 180")
     private Double longitude;
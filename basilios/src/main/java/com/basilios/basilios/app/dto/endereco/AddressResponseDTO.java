@@ -1,10 +1,12 @@
 package com.basilios.basilios.app.dto.endereco;
 
+import com.basilios.basilios.core.enums.DeliveryZoneEnum;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -35,6 +37,16 @@ public class AddressResponseDTO {
 
     private String enderecoCompleto; // Gerado automaticamente
 
+    private Boolean coordenadasAproximadas; // Preenchidas pelo CEP
+
+    private Boolean coordenadasSuspeitas; // Longe demais do CEP informado
+
+    private DeliveryZoneEnum zonaEntrega;
+
+    private Double distanciaKm;
+
+    private BigDecimal taxaEntrega; // null quando fora da área
+
 
     private LocalDateTime createdAt;
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.basilios.basilios.app.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo de uma operação em lote sobre o cardápio
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResultDTO {
+
+    private int matched;  // produtos que casaram com o filtro / linhas lidas do CSV
+    private int updated;  // produtos alterados
+    private int created;  // produtos criados (importação)
+    private int skipped;  // ignorados (já no estado pedido, preço inválido, linha com erro)
+
+    @Builder.Default
+    private List<String> errors = new ArrayList<>();
+}
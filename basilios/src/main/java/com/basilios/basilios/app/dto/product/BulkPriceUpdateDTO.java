@@ -0,0 +1,38 @@
+package com.basilios.basilios.app.dto.product;
+
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.ProductSubcategory;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Reajuste de preço em lote (PATCH /products/bulk/price)
+ * Filtra por categoria/subcategoria/tag e aplica percentual OU valor absoluto (um dos dois)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPriceUpdateDTO {
+
+    private ProductCategory category;
+
+    private ProductSubcategory subcategory;
+
+    private String tag;
+
+    // Ex.: 10 = +10%, -5 = -5%
+    @DecimalMin(value = "-99.99", message = "Percentual deve ser maior que -100")
+    @Digits(integer = 3, fraction = 2, message = "Percentual inválido")
+    private BigDecimal percentage;
+
+    // Ex.: 2.50 = +R$ 2,50, -1.00 = -R$ 1,00
+    @Digits(integer = 8, fraction = 2, message = "Valor inválido")
+    private BigDecimal amount;
+}
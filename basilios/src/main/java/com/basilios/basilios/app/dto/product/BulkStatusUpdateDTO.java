@@ -0,0 +1,28 @@
+package com.basilios.basilios.app.dto.product;
+
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.ProductSubcategory;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pausa/ativação em lote (PATCH /products/bulk/status)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateDTO {
+
+    private ProductCategory category;
+
+    private ProductSubcategory subcategory;
+
+    private String tag;
+
+    @NotNull(message = "Status de pausa é obrigatório")
+    private Boolean isPaused;
+}
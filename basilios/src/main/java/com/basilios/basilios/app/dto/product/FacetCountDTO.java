@@ -0,0 +1,20 @@
+package com.basilios.basilios.app.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Valor de uma faceta e quantos produtos o usuário encontraria ao marcá-lo
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDTO {
+    private String value;
+    private String label;
+    private int count;
+    private boolean selected;
+}
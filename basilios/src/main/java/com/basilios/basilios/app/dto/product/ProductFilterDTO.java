@@ -0,0 +1,34 @@
+package com.basilios.basilios.app.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Filtros da vitrine (GET /products/filter): valores de uma faceta combinam com OU,
+ * facetas diferentes com E
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterDTO {
+    private List<String> categories;
+    private List<String> subcategories;
+    private List<String> priceBands; // ECONOMIC, MEDIUM, PREMIUM
+    private List<String> tags;
+    private List<String> ingredients;
+    @Builder.Default
+    private Boolean activeOnly = true;
+    @Builder.Default
+    private Integer page = 0;
+    @Builder.Default
+    private Integer size = 20;
+    @Builder.Default
+    private String sortBy = "name"; // name, price, date
+    @Builder.Default
+    private String sortDirection = "asc";
+}
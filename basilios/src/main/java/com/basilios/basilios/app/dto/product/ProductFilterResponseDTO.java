@@ -0,0 +1,32 @@
+package com.basilios.basilios.app.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Página de produtos filtrados e as contagens de cada faceta (GET /products/filter)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterResponseDTO {
+
+    private int total; // produtos que passaram nos filtros
+    private int page;
+    private int size;
+
+    @Builder.Default
+    private List<ProductSearchHitDTO> results = new ArrayList<>();
+
+    // faceta (category, subcategory, priceBand, tags, ingredients, status) → valores
+    @Builder.Default
+    private Map<String, List<FacetCountDTO>> facets = new LinkedHashMap<>();
+}
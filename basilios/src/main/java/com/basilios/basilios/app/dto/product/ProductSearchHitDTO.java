@@ -0,0 +1,28 @@
+package com.basilios.basilios.app.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Produto encontrado na busca ou filtragem do cardápio (montado a partir do índice, sem consultar o banco)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchHitDTO {
+
+    private Long id;
+    private String name;
+    private String description;
+    private String imageUrl;
+    private String category;
+    private String subcategory;
+    private BigDecimal price;
+    private Boolean isPaused;
+    private Double score; // relevância na busca textual; null na filtragem por facetas
+}
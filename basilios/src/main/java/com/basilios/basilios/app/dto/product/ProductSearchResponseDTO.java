@@ -0,0 +1,25 @@
+package com.basilios.basilios.app.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado da busca do cardápio (GET /products/search)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResponseDTO {
+
+    private String query;
+    private int total; // produtos que casaram (antes do limite)
+
+    @Builder.Default
+    private List<ProductSearchHitDTO> results = new ArrayList<>();
+}
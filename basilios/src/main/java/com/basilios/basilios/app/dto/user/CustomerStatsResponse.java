@@ -0,0 +1,48 @@
+package com.basilios.basilios.app.dto.user;
+
+import com.basilios.basilios.core.enums.StatusPedidoEnum;
+import com.basilios.basilios.core.model.CustomerStats;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerStatsResponse {
+    private long totalOrders;
+    private Map<StatusPedidoEnum, Long> ordersByStatus;
+    private BigDecimal totalSpent;
+    private BigDecimal averageTicket;
+    private LocalDateTime firstOrderAt;
+    private LocalDateTime lastOrderAt;
+    private Long favoriteProductId;
+    private String favoriteProductName;
+    private long favoriteProductQuantity;
+
+    public static CustomerStatsResponse toResponse(CustomerStats stats) {
+        Map<StatusPedidoEnum, Long> byStatus = new EnumMap<>(StatusPedidoEnum.class);
+        for (StatusPedidoEnum status : StatusPedidoEnum.values()) {
+            byStatus.put(status, stats.getOrderCount(status));
+        }
+
+        return CustomerStatsResponse.builder()
+                .totalOrders(stats.getTotalOrders())
+                .ordersByStatus(byStatus)
+                .totalSpent(stats.getTotalSpent())
+                .averageTicket(stats.getAverageTicket())
+                .firstOrderAt(stats.getFirstOrderAt())
+                .lastOrderAt(stats.getLastOrderAt())
+                .favoriteProductId(stats.getFavoriteProductId())
+                .favoriteProductName(stats.getFavoriteProductName())
+                .favoriteProductQuantity(stats.getFavoriteProductQuantity())
+                .build();
+    }
+}
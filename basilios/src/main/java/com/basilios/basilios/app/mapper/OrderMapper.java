@@ -4,8 +4,10 @@ import com.basilios.basilios.app.dto.order.OrderResponseDTO;
 import com.basilios.basilios.core.model.Address;
 import com.basilios.basilios.core.model.Order;
 import com.basilios.basilios.core.model.ProductOrder;
+import com.basilios.basilios.infra.repository.projection.OrderSummaryView;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @Component
@@ -75,6 +77,29 @@ public class OrderMapper {
                 .build();
     }
 
+    /**
+     * Converte a projeção de listagem para OrderResponse simplificado
+     * (não acessa entidades, portanto não dispara lazy loading)
+     */
+    public OrderResponseDTO toSimpleResponse(OrderSummaryView view) {
+        if (view == null) {
+            return null;
+        }
+
+        return OrderResponseDTO.builder()
+                .id(view.getId())
+                .subtotal(view.getSubtotal())
+                .deliveryFee(view.getDeliveryFee())
+                .discount(view.getDiscount())
+                .total(view.getTotal())
+                .status(view.getStatus())
+                .address(toAddressResponse(view))
+                .createdAt(view.getCreatedAt())
+                .totalItems(view.getItemCount() != null ? view.getItemCount() : 0)
+                .totalPromotionDiscount(view.getPromotionDiscount() != null ? view.getPromotionDiscount() : BigDecimal.ZERO)
+                .build();
+    }
+
     /**
      * Converte ProductOrder para OrderItemResponse
      */
@@ -132,4 +157,27 @@ public class OrderMapper {
                 .enderecoCompleto(address.getEnderecoCompleto())
                 .build();
     }
+
+    /**
+     * Monta o AddressResponse a partir das colunas do endereço vindas na projeção
+     */
+    private OrderResponseDTO.AddressResponse toAddressResponse(OrderSummaryView view) {
+        if (view.getAddressId() == null) {
+            return null;
+        }
+
+        // Address transitório apenas para reaproveitar getEnderecoCompleto()
+        Address address = Address.builder()
+                .idAddress(view.getAddressId())
+                .rua(view.getRua())
+                .numero(view.getNumero())
+                .bairro(view.getBairro())
+                .cep(view.getCep())
+                .cidade(view.getCidade())
+                .estado(view.getEstado())
+                .complemento(view.getComplemento())
+                .build();
+
+        return toAddressResponse(address);
+    }
 }
\ No newline at end of file
@@ -5,14 +5,19 @@ import com.basilios.basilios.app.dto.product.ProductResponseDTO;
 import com.basilios.basilios.core.model.IngredientProduct;
 import com.basilios.basilios.core.model.Product;
 import com.basilios.basilios.core.model.Promotion;
+import com.basilios.basilios.core.service.PromotionSchedule;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 @Component
+@RequiredArgsConstructor
 public class ProductMapper {
 
+    private final PromotionSchedule promotionSchedule;
+
     /**
      * Converte Product para ProductResponse (completo)
      */
@@ -21,6 +26,8 @@ public class ProductMapper {
             return null;
         }
 
+        PromotionSchedule.PriceQuote quote = promotionSchedule.quote(product);
+
         ProductResponseDTO.ProductResponseDTOBuilder builder = ProductResponseDTO.builder()
                 .id(product.getId())
                 .name(product.getName())
@@ -28,8 +35,8 @@ public class ProductMapper {
                 .subcategory(product.getSubcategory() != null ? product.getSubcategory().getDisplayName() : null)
                 .subcategoryCode(product.getSubcategory() != null ? product.getSubcategory().name() : null)
                 .price(product.getPrice())
-                .finalPrice(product.getFinalPrice())
-                .isOnPromotion(product.isOnPromotion())
+                .finalPrice(quote.finalPrice())
+                .isOnPromotion(quote.isOnPromotion())
                 .isPaused(product.getIsPaused())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt());
@@ -44,11 +51,8 @@ public class ProductMapper {
         }
 
         // Adicionar promoção se houver
-        if (product.isOnPromotion()) {
-            Promotion promotion = product.getBestCurrentPromotion();
-            if (promotion != null) {
-                builder.currentPromotion(toPromotionSummary(promotion, product.getPrice()));
-            }
+        if (quote.isOnPromotion()) {
+            builder.currentPromotion(toPromotionSummary(quote.promotion(), product.getPrice()));
         }
 
         return builder.build();
@@ -0,0 +1,10 @@
+package com.basilios.basilios.core.enums;
+
+/**
+ * Situação do endereço em relação à área de entrega da loja
+ */
+public enum DeliveryZoneEnum {
+    DENTRO_DA_AREA,
+    FORA_DA_AREA,
+    SEM_COORDENADAS
+}
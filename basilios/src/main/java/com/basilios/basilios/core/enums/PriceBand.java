@@ -0,0 +1,44 @@
+package com.basilios.basilios.core.enums;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Faixas de preço do cardápio (mesmos limites do CASE de ProductRepository.findByPriceCategory)
+ */
+@Getter
+public enum PriceBand {
+    ECONOMIC("Econômico"),   // até R$ 15,00
+    MEDIUM("Intermediário"), // até R$ 30,00
+    PREMIUM("Premium");      // acima de R$ 30,00
+
+    private static final BigDecimal ECONOMIC_MAX = new BigDecimal("15.00");
+    private static final BigDecimal MEDIUM_MAX = new BigDecimal("30.00");
+
+    private final String displayName;
+
+    PriceBand(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public static PriceBand of(BigDecimal price) {
+        if (price.compareTo(ECONOMIC_MAX) <= 0) {
+            return ECONOMIC;
+        }
+        return price.compareTo(MEDIUM_MAX) <= 0 ? MEDIUM : PREMIUM;
+    }
+
+    /**
+     * Obtém a faixa a partir de uma string (case-insensitive)
+     */
+    public static PriceBand fromString(String value) {
+        if (value == null) return null;
+        for (PriceBand band : values()) {
+            if (band.name().equalsIgnoreCase(value.trim()) || band.displayName.equalsIgnoreCase(value.trim())) {
+                return band;
+            }
+        }
+        throw new IllegalArgumentException("Faixa de preço inválida: " + value);
+    }
+}
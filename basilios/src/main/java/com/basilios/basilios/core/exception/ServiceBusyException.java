@@ -0,0 +1,10 @@
+package com.basilios.basilios.core.exception;
+
+/**
+ * Recurso limitado saturado (ex.: pool de hash de senha); o cliente deve tentar de novo
+ */
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -3,12 +3,14 @@ package com.basilios.basilios.core.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import com.basilios.basilios.core.enums.DeliveryZoneEnum;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -72,6 +74,32 @@ public class Address {
     @Column
     private Double longitude;
 
+    // Coordenadas preenchidas pelo centroide do CEP (cliente não informou)
+    @Column(name = "coordinates_approximate")
+    private Boolean coordinatesApproximate;
+
+    // Coordenadas do cliente longe demais do centroide do CEP
+    @Column(name = "coordinates_suspect")
+    private Boolean coordinatesSuspect;
+
+    // Cotação de entrega pré-calculada (DeliveryQuoteService); refeita quando a versão das regras muda
+
+    @Column(name = "delivery_store_id")
+    private Long deliveryStoreId;
+
+    @Column(name = "delivery_distance_km")
+    private Double deliveryDistanceKm;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "delivery_zone", length = 20)
+    private DeliveryZoneEnum deliveryZone;
+
+    @Column(name = "delivery_fee", precision = 10, scale = 2)
+    private BigDecimal deliveryFee;
+
+    @Column(name = "delivery_quote_version", length = 32)
+    private String deliveryQuoteVersion;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
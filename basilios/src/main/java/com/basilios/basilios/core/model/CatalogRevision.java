@@ -0,0 +1,28 @@
+package com.basilios.basilios.core.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Versão do catálogo público compartilhada entre as instâncias (linha única).
+ * Incrementada na mesma transação que altera produtos/promoções; cada instância
+ * lê periodicamente e adota a versão (ver CatalogVersion).
+ */
+@Entity
+@Table(name = "catalog_version")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class CatalogRevision {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long version;
+
+    // Last-Modified em segundos desde a época (granularidade do header HTTP)
+    @Column(name = "last_modified_seconds", nullable = false)
+    private Long lastModifiedSeconds;
+}
@@ -0,0 +1,191 @@
+package com.basilios.basilios.core.model;
+
+import com.basilios.basilios.core.enums.StatusPedidoEnum;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Estatísticas acumuladas do cliente, mantidas incrementalmente a cada pedido/mudança de status.
+ * Evita varrer o histórico de pedidos para montar o perfil.
+ */
+@Entity
+@Table(name = "customer_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "usuarioId")
+public class CustomerStats {
+
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    @Builder.Default
+    @Column(name = "total_orders", nullable = false)
+    private Long totalOrders = 0L;
+
+    @Builder.Default
+    @Column(name = "pending_orders", nullable = false)
+    private Long pendingOrders = 0L;
+
+    @Builder.Default
+    @Column(name = "confirmed_orders", nullable = false)
+    private Long confirmedOrders = 0L;
+
+    @Builder.Default
+    @Column(name = "preparing_orders", nullable = false)
+    private Long preparingOrders = 0L;
+
+    @Builder.Default
+    @Column(name = "dispatched_orders", nullable = false)
+    private Long dispatchedOrders = 0L;
+
+    @Builder.Default
+    @Column(name = "delivered_orders", nullable = false)
+    private Long deliveredOrders = 0L;
+
+    @Builder.Default
+    @Column(name = "cancelled_orders", nullable = false)
+    private Long cancelledOrders = 0L;
+
+    // Soma dos totais dos pedidos entregues
+    @Builder.Default
+    @Column(name = "total_spent", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalSpent = BigDecimal.ZERO;
+
+    @Column(name = "first_order_at")
+    private LocalDateTime firstOrderAt;
+
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+
+    // Produto mais pedido considerando apenas pedidos entregues
+    @Column(name = "favorite_product_id")
+    private Long favoriteProductId;
+
+    @Column(name = "favorite_product_name")
+    private String favoriteProductName;
+
+    @Builder.Default
+    @Column(name = "favorite_product_quantity", nullable = false)
+    private Long favoriteProductQuantity = 0L;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public static CustomerStats empty(Long usuarioId) {
+        return CustomerStats.builder().usuarioId(usuarioId).build();
+    }
+
+    /**
+     * Contabiliza um pedido recém-criado
+     */
+    public void registerOrder(Order order) {
+        LocalDateTime placedAt = order.getCreatedAt() != null ? order.getCreatedAt() : LocalDateTime.now();
+
+        totalOrders++;
+        addStatusCount(order.getStatus(), 1);
+
+        if (firstOrderAt == null || placedAt.isBefore(firstOrderAt)) {
+            firstOrderAt = placedAt;
+        }
+        if (lastOrderAt == null || placedAt.isAfter(lastOrderAt)) {
+            lastOrderAt = placedAt;
+        }
+    }
+
+    /**
+     * Move o pedido entre os contadores de status e acumula o gasto na entrega
+     */
+    public void applyStatusChange(StatusPedidoEnum oldStatus, StatusPedidoEnum newStatus, BigDecimal orderTotal) {
+        if (oldStatus != null) {
+            addStatusCount(oldStatus, -1);
+        }
+        addStatusCount(newStatus, 1);
+
+        if (newStatus == StatusPedidoEnum.ENTREGUE && orderTotal != null) {
+            totalSpent = totalSpent.add(orderTotal);
+        }
+    }
+
+    /**
+     * Desconta um pedido excluído dos contadores e, se entregue, do gasto.
+     * Primeiro/último pedido só voltam a ser exatos numa reconstrução (zerados se não restar pedido).
+     */
+    public void removeOrder(StatusPedidoEnum status, BigDecimal orderTotal) {
+        totalOrders = Math.max(0, totalOrders - 1);
+        addStatusCount(status, -1);
+
+        if (status == StatusPedidoEnum.ENTREGUE && orderTotal != null) {
+            totalSpent = totalSpent.subtract(orderTotal).max(BigDecimal.ZERO);
+        }
+        if (totalOrders == 0) {
+            firstOrderAt = null;
+            lastOrderAt = null;
+        }
+    }
+
+    /**
+     * Esquece o favorito, para ser reavaliado do zero com offerFavoriteCandidate
+     */
+    public void clearFavorite() {
+        favoriteProductId = null;
+        favoriteProductName = null;
+        favoriteProductQuantity = 0L;
+    }
+
+    /**
+     * Atualiza o favorito se o produto passou a ser o mais pedido.
+     * Como as quantidades entregues só crescem, basta comparar com o favorito atual.
+     */
+    public void offerFavoriteCandidate(Long productId, String productName, long deliveredQuantity) {
+        if (deliveredQuantity > favoriteProductQuantity) {
+            favoriteProductId = productId;
+            favoriteProductName = productName;
+            favoriteProductQuantity = deliveredQuantity;
+        }
+    }
+
+    /**
+     * Ticket médio dos pedidos entregues
+     */
+    public BigDecimal getAverageTicket() {
+        if (deliveredOrders == 0) {
+            return BigDecimal.ZERO;
+        }
+        return totalSpent.divide(BigDecimal.valueOf(deliveredOrders), 2, RoundingMode.HALF_UP);
+    }
+
+    public long getOrderCount(StatusPedidoEnum status) {
+        return switch (status) {
+            case PENDENTE -> pendingOrders;
+            case CONFIRMADO -> confirmedOrders;
+            case PREPARANDO -> preparingOrders;
+            case DESPACHADO -> dispatchedOrders;
+            case ENTREGUE -> deliveredOrders;
+            case CANCELADO -> cancelledOrders;
+        };
+    }
+
+    public void addStatusCount(StatusPedidoEnum status, long delta) {
+        switch (status) {
+            case PENDENTE -> pendingOrders = Math.max(0, pendingOrders + delta);
+            case CONFIRMADO -> confirmedOrders = Math.max(0, confirmedOrders + delta);
+            case PREPARANDO -> preparingOrders = Math.max(0, preparingOrders + delta);
+            case DESPACHADO -> dispatchedOrders = Math.max(0, dispatchedOrders + delta);
+            case ENTREGUE -> deliveredOrders = Math.max(0, deliveredOrders + delta);
+            case CANCELADO -> cancelledOrders = Math.max(0, cancelledOrders + delta);
+        }
+    }
+
+    @PrePersist
+    @PreUpdate
+    private void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
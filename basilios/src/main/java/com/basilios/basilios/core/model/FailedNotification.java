@@ -7,11 +7,13 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 /**
- * Entidade para armazenar notificações que falharam após 3 tentativas.
- * Permite reprocessamento manual posterior via painel administrativo.
+ * Entidade para armazenar notificações que não puderam ser publicadas.
+ * Reenviadas automaticamente pelo FailedNotificationRetryWorker (com backoff a partir
+ * de nextAttemptAt) até o limite de tentativas; depois, só reprocessamento manual.
  */
 @Entity
-@Table(name = "failed_notifications")
+@Table(name = "failed_notifications",
+        indexes = @Index(name = "idx_failed_notifications_due", columnList = "processed, next_attempt_at"))
 @Data
 @Builder
 @NoArgsConstructor
@@ -58,6 +60,10 @@ public class FailedNotification {
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
 
+    // Próxima tentativa automática (nulo = assim que possível)
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -4,6 +4,7 @@ import com.basilios.basilios.core.enums.StatusPedidoEnum;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.NotFound;
 import org.hibernate.annotations.NotFoundAction;
@@ -15,6 +16,22 @@ import java.util.List;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(
+        name = Order.GRAPH_LIST,
+        attributeNodes = {
+                @NamedAttributeNode("productOrders"),
+                @NamedAttributeNode("addressEntrega")
+        }
+)
+@NamedEntityGraph(
+        name = Order.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode(value = "productOrders", subgraph = "items"),
+                @NamedAttributeNode("addressEntrega"),
+                @NamedAttributeNode("usuario")
+        },
+        subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product"))
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -22,6 +39,16 @@ import java.util.List;
 @EqualsAndHashCode(of = "id")
 public class Order {
 
+    /**
+     * Plano de fetch para listagens: itens + endereço (o mapper só lê o id do produto)
+     */
+    public static final String GRAPH_LIST = "Order.list";
+
+    /**
+     * Plano de fetch para detalhe/transições: itens com produto, endereço e cliente
+     */
+    public static final String GRAPH_DETAIL = "Order.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -33,6 +60,7 @@ public class Order {
     private Usuario usuario;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     @ToString.Exclude
     private List<ProductOrder> productOrders = new ArrayList<>();
@@ -49,6 +77,13 @@ public class Order {
     @Column(name = "discount", precision = 10, scale = 2)
     private BigDecimal discount;
 
+    // Desnormalizados no @PrePersist/@PreUpdate para que as listagens não precisem carregar os itens
+    @Column(name = "item_count")
+    private Integer itemCount;
+
+    @Column(name = "promotion_discount", precision = 10, scale = 2)
+    private BigDecimal promotionDiscount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "endereco_entrega_id", nullable = false, foreignKey = @ForeignKey(name = "fk_order_endereco"))
     @NotNull(message = "Endereço de entrega é obrigatório")
@@ -56,6 +91,12 @@ public class Order {
     @ToString.Exclude
     private Address addressEntrega;
 
+    // Loja que atende o pedido (a mais próxima que entrega no endereço)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "store_id", foreignKey = @ForeignKey(name = "fk_order_store"))
+    @ToString.Exclude
+    private Store store;
+
     @Enumerated(EnumType.STRING)
     @Builder.Default
     @Column(nullable = false)
@@ -288,6 +329,10 @@ public class Order {
 
         // Calcula total automaticamente
         calculateTotal();
+
+        // Resumo usado pelas listagens (evita iterar productOrders ao listar)
+        this.itemCount = getTotalItems();
+        this.promotionDiscount = getTotalPromotionDiscount();
     }
 
     @Override
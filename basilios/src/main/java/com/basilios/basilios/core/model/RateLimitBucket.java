@@ -0,0 +1,35 @@
+package com.basilios.basilios.core.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Estado de um balde de rate limit compartilhado entre instâncias (rate-limit.backend=jdbc).
+ * Lido e gravado só pelo JdbcRateLimitBackend, via SQL com compare-and-swap em version;
+ * mapeado aqui para o schema da tabela ficar com o JPA (ddl-auto) como o resto do banco.
+ */
+@Entity
+@Table(name = "rate_limit_bucket",
+        indexes = @Index(name = "idx_rate_limit_bucket_expires", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "bucketKey")
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", length = 255)
+    private String bucketKey;
+
+    // Estado serializado pelo bucket4j
+    @Column(nullable = false, length = 2048)
+    private byte[] state;
+
+    // Controlada pelo backend (UPDATE ... WHERE version = ?), não pelo @Version do JPA
+    @Column(nullable = false)
+    private Long version;
+
+    // Momento (epoch ms) em que o balde estará cheio de novo
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+}
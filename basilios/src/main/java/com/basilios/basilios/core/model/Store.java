@@ -41,7 +41,17 @@ public class Store {
     @Column(length = 20)
     private String phone;
 
+    // Texto livre exibido ao cliente; não entra na escolha da loja (ver StoreService)
     @Size(max = 255)
     @Column(name = "opening_hours")
     private String openingHours;
+
+    // Raio de entrega próprio da loja; null usa delivery.max-distance-km
+    @Column(name = "delivery_radius_km")
+    private Double deliveryRadiusKm;
+
+    // Lojas inativas não recebem pedidos; é o único critério de loja "aberta" na roteirização
+    @Builder.Default
+    @Column(name = "is_active", nullable = false, columnDefinition = "BOOLEAN DEFAULT TRUE")
+    private Boolean isActive = true;
 }
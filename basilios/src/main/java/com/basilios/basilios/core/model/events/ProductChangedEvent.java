@@ -0,0 +1,27 @@
+package com.basilios.basilios.core.model.events;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Evento disparado quando produtos do cardápio são criados, alterados ou excluídos.
+ *
+ * Publicado via ApplicationEventPublisher no ProductService/ProductBulkService.
+ * Consumido com @TransactionalEventListener(AFTER_COMMIT) para atualizar índices em memória.
+ */
+@Getter
+public class ProductChangedEvent {
+
+    private final Set<Long> productIds;
+
+    public ProductChangedEvent(Collection<Long> productIds) {
+        this.productIds = Set.copyOf(productIds);
+    }
+
+    @Override
+    public String toString() {
+        return "ProductChangedEvent[productIds=" + productIds + "]";
+    }
+}
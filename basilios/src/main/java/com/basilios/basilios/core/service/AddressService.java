@@ -5,9 +5,12 @@ import com.basilios.basilios.app.dto.endereco.AddressResponseDTO;
 import com.basilios.basilios.core.exception.NotFoundException;
 import com.basilios.basilios.core.model.Address;
 import com.basilios.basilios.core.model.Usuario;
+import com.basilios.basilios.infra.geo.CepCentroidIndex;
 import com.basilios.basilios.infra.repository.AddressRepository;
 import com.basilios.basilios.infra.repository.UsuarioRepository;
+import com.basilios.basilios.util.DistanceCalculator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -18,15 +21,19 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AddressService {
 
     private final AddressRepository addressRepository;
     private final UsuarioRepository usuarioRepository;
     private final UsuarioService usuarioService;
+    private final DeliveryQuoteService deliveryQuoteService;
+    private final CepCentroidIndex cepCentroidIndex;
 
     // ========== LISTAGEM ==========
 
@@ -125,6 +132,8 @@ public class AddressService {
         Usuario usuario = usuarioService.getCurrentUsuario();
 
         Address address = buildAddressFromRequest(request, usuario);
+        resolveCoordinates(address);
+        deliveryQuoteService.apply(address);
         address = addressRepository.save(address);
 
         return toResponse(address);
@@ -140,6 +149,8 @@ public class AddressService {
         Address address = findAddressWithOwnership(id);
 
         updateAddressFields(address, request);
+        resolveCoordinates(address);
+        deliveryQuoteService.apply(address);
         address = addressRepository.save(address);
 
         return toResponse(address);
@@ -268,6 +279,42 @@ public class AddressService {
         address.setLongitude(request.getLongitude());
     }
 
+    /**
+     * Completa ou confere as coordenadas pelo índice offline de CEP:
+     * sem coordenadas, usa o centroide do CEP se ele for preciso o bastante para a cotação
+     * (senão o endereço fica sem coordenadas); com coordenadas fora do raio plausível, marca como suspeitas
+     */
+    private void resolveCoordinates(Address address) {
+        address.setCoordinatesApproximate(false);
+        address.setCoordinatesSuspect(false);
+
+        Optional<CepCentroidIndex.Centroid> centroid = cepCentroidIndex.lookup(address.getCep());
+        if (centroid.isEmpty()) {
+            return;
+        }
+
+        CepCentroidIndex.Centroid c = centroid.get();
+        if (address.getLatitude() == null || address.getLongitude() == null) {
+            if (c.radiusKm() > deliveryQuoteService.getMaxApproximationKm()) {
+                log.debug("CEP {} só casa com o prefixo {} ({} km): endereço fica sem coordenadas",
+                        address.getCep(), c.prefix(), c.radiusKm());
+                return;
+            }
+            address.setLatitude(c.latitude());
+            address.setLongitude(c.longitude());
+            address.setCoordinatesApproximate(true);
+            return;
+        }
+
+        double distance = DistanceCalculator.calculateDistance(
+                c.latitude(), c.longitude(), address.getLatitude(), address.getLongitude());
+        if (distance > c.radiusKm()) {
+            address.setCoordinatesSuspect(true);
+            log.warn("Coordenadas a {} km do CEP {} (raio plausível do prefixo {}: {} km)",
+                    Math.round(distance), address.getCep(), c.prefix(), c.radiusKm());
+        }
+    }
+
     /**
      * Normaliza CEP removendo caracteres não numéricos
      */
@@ -289,6 +336,7 @@ public class AddressService {
         if (usuario == null) {
             throw new IllegalArgumentException("Usuário do endereço não pode ser nulo");
         }
+        DeliveryQuoteService.DeliveryQuote quote = deliveryQuoteService.quoteFor(address);
         return AddressResponseDTO.builder()
                 .id(address.getIdAddress())
                 .rua(address.getRua())
@@ -301,6 +349,11 @@ public class AddressService {
                 .latitude(address.getLatitude())
                 .longitude(address.getLongitude())
                 .enderecoCompleto(address.getEnderecoCompleto())
+                .coordenadasAproximadas(address.getCoordinatesApproximate())
+                .coordenadasSuspeitas(address.getCoordinatesSuspect())
+                .zonaEntrega(quote.zone())
+                .distanciaKm(quote.distanceKm())
+                .taxaEntrega(quote.fee())
                 .createdAt(address.getCreatedAt())
                 .build();
     }
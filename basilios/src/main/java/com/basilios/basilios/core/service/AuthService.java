@@ -12,12 +12,10 @@ import com.basilios.basilios.infra.messaging.NotificationEventPublisher;
 import com.basilios.basilios.infra.repository.PasswordResetRepository;
 import com.basilios.basilios.infra.repository.UsuarioRepository;
 import com.basilios.basilios.infra.security.JwtUtil;
+import com.basilios.basilios.infra.security.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +28,7 @@ import java.util.Base64;
 import java.util.List;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class AuthService {
 
@@ -37,10 +36,8 @@ public class AuthService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordResetRepository passwordResetRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
     private final EmailService emailService;
     private final NotificationEventPublisher notificationEventPublisher;
 
@@ -70,7 +67,7 @@ public class AuthService {
         Usuario usuario = Usuario.builder()
                 .nomeUsuario(request.getNomeUsuario())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .cpf(cpfNormalizado)
                 .telefone(telefoneNormalizado)
                 .roles(List.of(RoleEnum.ROLE_CLIENTE)) // padrão
@@ -84,36 +81,46 @@ public class AuthService {
     }
 
     /**
-     * Autentica um usuário e retorna o token JWT
+     * Autentica um usuário e retorna o token JWT.
+     *
+     * Uma consulta (usuário com roles) e uma verificação de senha no pool de hash; o mesmo
+     * usuário gera o token. E-mail inexistente, senha errada e usuário desativado dão a mesma
+     * resposta, no mesmo tempo. Hash com custo diferente do configurado é refeito aqui.
      */
     public UsuarioTokenDTO login(UsuarioLoginDTO request) {
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
-        } catch (Exception e) {
+        Usuario usuario = usuarioRepository.findWithRolesByEmail(request.getEmail()).orElse(null);
+        String hash = usuario != null ? usuario.getPassword() : null;
+
+        if (!passwordHashingService.matches(request.getPassword(), hash) || !usuario.getEnabled()) {
             throw new AuthenticationException("Credenciais invalidas");
         }
 
-        Usuario usuario = usuarioRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new AuthenticationException("Usuario nao encontrado"));
-
-        if (!usuario.getEnabled()) {
-            throw new AuthenticationException("Usuario desativado");
+        if (passwordHashingService.needsRehash(hash)) {
+            rehash(usuario, request.getPassword());
         }
 
         return buildTokenResponse(usuario);
     }
 
+    private void rehash(Usuario usuario, String rawPassword) {
+        try {
+            String newHash = passwordHashingService.encode(rawPassword);
+            if (usuarioRepository.updatePasswordHash(usuario.getId(), usuario.getPassword(), newHash) == 1) {
+                usuario.setPassword(newHash);
+                log.debug("Hash de senha atualizado para o custo atual: usuarioId={}", usuario.getId());
+            }
+        } catch (RuntimeException e) {
+            // o login já foi validado; o rehash fica para a próxima vez
+            log.warn("Falha ao refazer hash de senha do usuarioId={}: {}", usuario.getId(), e.getMessage());
+        }
+    }
+
     private UsuarioTokenDTO buildTokenResponse(Usuario usuario) {
         List<String> roles = usuario.getRoles().stream()
                 .map(Enum::name)
                 .toList();
-        String token = jwtUtil.generateToken(
-                userDetailsService.loadUserByUsername(usuario.getEmail()).getUsername(),
-                roles,
-                usuario.getId()
-        );
+        // o e-mail é o username do UserDetails (UserDetailsServiceImpl)
+        String token = jwtUtil.generateToken(usuario.getEmail(), roles, usuario.getId());
         return UsuarioTokenDTO.builder()
                 .token(token)
                 .id(usuario.getId())
@@ -125,11 +132,10 @@ public class AuthService {
 
     /**
      * Inicia o reset sem revelar se o email existe (anti-enumeracao).
+     * Códigos expirados de outros usuários são apagados pelo HousekeepingService.
      */
     @Transactional
     public void requestPasswordReset(String email) {
-        passwordResetRepository.deleteByExpiracaoBefore(LocalDateTime.now());
-
         usuarioRepository.findByEmail(email).ifPresent(usuario -> {
             passwordResetRepository.deleteByUsuarioId(usuario.getId());
 
@@ -150,8 +156,7 @@ public class AuthService {
                 );
             } catch (RuntimeException ex) {
                 // Nao vaza erro de infraestrutura para o cliente no endpoint de recuperacao.
-                org.slf4j.LoggerFactory.getLogger(AuthService.class)
-                        .error("Falha ao publicar evento de reset para usuarioId={}", usuario.getId(), ex);
+                log.error("Falha ao publicar evento de reset para usuarioId={}", usuario.getId(), ex);
             }
         });
     }
@@ -172,7 +177,7 @@ public class AuthService {
         }
 
         Usuario usuario = reset.getUsuario();
-        usuario.setPassword(passwordEncoder.encode(novaSenha));
+        usuario.setPassword(passwordHashingService.encode(novaSenha));
         usuarioRepository.save(usuario);
 
         passwordResetRepository.deleteByUsuarioId(usuario.getId());
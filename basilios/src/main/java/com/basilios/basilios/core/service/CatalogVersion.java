@@ -0,0 +1,146 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.model.CatalogRevision;
+import com.basilios.basilios.infra.repository.CatalogRevisionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão do catálogo público (produtos + promoções), usada para ETag/Last-Modified
+ * e para invalidar as respostas pré-renderizadas do catálogo.
+ *
+ * Incrementada a cada alteração em ProductService/PromotionService e na virada da agenda
+ * de promoções. A versão vive na tabela catalog_version, compartilhada pelas instâncias:
+ * o incremento entra na mesma transação da alteração, e cada instância adota a versão do
+ * banco logo após o próprio commit e, para alterações feitas em outras instâncias, a cada
+ * catalog.version.refresh-ms. Até lá, uma instância pode responder 304 para a versão anterior.
+ *
+ * Sem repositório (testes unitários) o contador fica só em memória, e o instante de subida
+ * entra na ETag para que versões de execuções diferentes nunca colidam.
+ */
+@Component
+@Slf4j
+public class CatalogVersion {
+
+    private static final Long ROW_ID = 1L;
+
+    private final CatalogRevisionRepository repository;
+    private final String epoch;
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastModifiedSeconds = System.currentTimeMillis() / 1000;
+
+    /**
+     * Versão só em memória, para uma única instância (testes)
+     */
+    public CatalogVersion() {
+        this(null);
+    }
+
+    @Autowired
+    public CatalogVersion(CatalogRevisionRepository repository) {
+        this.repository = repository;
+        this.epoch = repository == null ? Long.toString(System.currentTimeMillis(), 36) : "c";
+    }
+
+    /**
+     * Garante a linha da versão e adota o valor do banco antes de atender requisições
+     */
+    @PostConstruct
+    void init() {
+        if (repository == null) {
+            return;
+        }
+        if (!repository.existsById(ROW_ID)) {
+            try {
+                repository.save(new CatalogRevision(ROW_ID, 0L, System.currentTimeMillis() / 1000));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Linha de catalog_version criada por outra instância");
+            }
+        }
+        sync();
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Instante da última alteração em milissegundos (granularidade de segundos, como o header HTTP)
+     */
+    public long lastModified() {
+        return lastModifiedSeconds * 1000;
+    }
+
+    /**
+     * ETag forte da representação: versão do catálogo + parâmetros da requisição (paginação, filtros)
+     */
+    public String etag(Map<String, String[]> parameters) {
+        StringBuilder variant = new StringBuilder();
+        new TreeMap<>(parameters).forEach((name, values) ->
+                variant.append(name).append('=').append(Arrays.toString(values)).append('&'));
+
+        return "\"" + epoch + "-" + version.get() + "-" + Integer.toHexString(variant.toString().hashCode()) + "\"";
+    }
+
+    /**
+     * Marca o catálogo como alterado: no banco, dentro da transação corrente; em memória, após o commit
+     */
+    public void bump() {
+        if (repository == null) {
+            afterCommit(this::increment);
+            return;
+        }
+        repository.increment(ROW_ID, System.currentTimeMillis() / 1000);
+        afterCommit(this::sync);
+    }
+
+    /**
+     * Adota a versão do banco (alterações feitas por qualquer instância)
+     */
+    @Scheduled(fixedDelayString = "${catalog.version.refresh-ms:2000}",
+            initialDelayString = "${catalog.version.refresh-ms:2000}")
+    public void sync() {
+        if (repository == null) {
+            return;
+        }
+        repository.findById(ROW_ID).ifPresent(this::adopt);
+    }
+
+    private synchronized void adopt(CatalogRevision revision) {
+        if (revision.getVersion() != version.get()) {
+            // Last-Modified antes da versão: quem lê a versão nova já vê a data nova
+            lastModifiedSeconds = revision.getLastModifiedSeconds();
+            version.set(revision.getVersion());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private synchronized void increment() {
+        // Last-Modified estritamente crescente, mesmo com duas alterações no mesmo segundo
+        lastModifiedSeconds = Math.max(System.currentTimeMillis() / 1000, lastModifiedSeconds + 1);
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,202 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.app.dto.user.CustomerStatsResponse;
+import com.basilios.basilios.core.enums.StatusPedidoEnum;
+import com.basilios.basilios.core.model.CustomerStats;
+import com.basilios.basilios.core.model.Order;
+import com.basilios.basilios.core.model.Product;
+import com.basilios.basilios.core.model.ProductOrder;
+import com.basilios.basilios.core.model.Usuario;
+import com.basilios.basilios.infra.repository.CustomerStatsRepository;
+import com.basilios.basilios.infra.repository.OrderRepository;
+import com.basilios.basilios.infra.repository.ProductOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Mantém as estatísticas acumuladas por cliente (gasto, pedidos por status, favorito).
+ * As atualizações rodam na mesma transação do pedido, com lock na linha do cliente.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStatsService {
+
+    private final CustomerStatsRepository customerStatsRepository;
+    private final OrderRepository orderRepository;
+    private final ProductOrderRepository productOrderRepository;
+    private final UsuarioService usuarioService;
+
+    /**
+     * Estatísticas do usuário autenticado (uma única linha, sem varrer pedidos)
+     */
+    @Transactional(readOnly = true)
+    public CustomerStatsResponse getCurrentUserStats() {
+        Usuario usuario = usuarioService.getCurrentUsuario();
+        CustomerStats stats = customerStatsRepository.findById(usuario.getId())
+                .orElseGet(() -> CustomerStats.empty(usuario.getId()));
+        return CustomerStatsResponse.toResponse(stats);
+    }
+
+    /**
+     * Contabiliza um pedido recém-criado
+     */
+    @Transactional
+    public void registerOrder(Order order) {
+        CustomerStats stats = lockStats(order.getUsuario().getId());
+        stats.registerOrder(order);
+        customerStatsRepository.save(stats);
+    }
+
+    /**
+     * Aplica uma mudança de status; na entrega acumula o gasto e reavalia o produto favorito
+     */
+    @Transactional
+    public void registerStatusChange(Order order, StatusPedidoEnum oldStatus, StatusPedidoEnum newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+
+        CustomerStats stats = lockStats(order.getUsuario().getId());
+        stats.applyStatusChange(oldStatus, newStatus, order.getTotal());
+
+        if (newStatus == StatusPedidoEnum.ENTREGUE) {
+            updateFavorite(stats, order);
+        }
+
+        customerStatsRepository.save(stats);
+    }
+
+    /**
+     * Desconta um pedido que está sendo excluído (chamar na mesma transação da exclusão).
+     * Se era uma entrega com o produto favorito, o favorito é reavaliado sem esse pedido.
+     */
+    @Transactional
+    public void registerRemoval(Order order) {
+        CustomerStats stats = lockStats(order.getUsuario().getId());
+        stats.removeOrder(order.getStatus(), order.getTotal());
+
+        if (order.getStatus() == StatusPedidoEnum.ENTREGUE && containsFavorite(stats, order)) {
+            stats.clearFavorite();
+            for (Object[] row : productOrderRepository.sumDeliveredQuantityByUsuarioExcludingOrder(stats.getUsuarioId(), order.getId())) {
+                stats.offerFavoriteCandidate((Long) row[0], (String) row[1], ((Number) row[2]).longValue());
+            }
+        }
+
+        customerStatsRepository.save(stats);
+    }
+
+    /**
+     * Reconstrói as estatísticas de todos os clientes a partir do histórico (backfill).
+     * Usa apenas duas consultas agregadas, independente do número de pedidos.
+     *
+     * Trava todas as linhas antes de agregar, em READ COMMITTED: pedidos já confirmados
+     * entram nos agregados, e pedidos em andamento esperam o lock em lockStats e aplicam
+     * seu incremento sobre o resultado reconstruído, sem perda nem contagem dupla.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int rebuildAll() {
+        customerStatsRepository.insertMissingForOrders();
+        List<CustomerStats> locked = customerStatsRepository.findAllForUpdate();
+
+        Map<Long, CustomerStats> statsByUsuario = new HashMap<>();
+
+        for (Object[] row : orderRepository.aggregateStatsByUsuarioAndStatus()) {
+            Long usuarioId = (Long) row[0];
+            StatusPedidoEnum status = (StatusPedidoEnum) row[1];
+            long count = ((Number) row[2]).longValue();
+            BigDecimal total = (BigDecimal) row[3];
+            LocalDateTime first = (LocalDateTime) row[4];
+            LocalDateTime last = (LocalDateTime) row[5];
+
+            CustomerStats stats = statsByUsuario.computeIfAbsent(usuarioId, CustomerStats::empty);
+            stats.setTotalOrders(stats.getTotalOrders() + count);
+            stats.addStatusCount(status, count);
+            if (status == StatusPedidoEnum.ENTREGUE) {
+                stats.setTotalSpent(total);
+            }
+            if (first != null && (stats.getFirstOrderAt() == null || first.isBefore(stats.getFirstOrderAt()))) {
+                stats.setFirstOrderAt(first);
+            }
+            if (last != null && (stats.getLastOrderAt() == null || last.isAfter(stats.getLastOrderAt()))) {
+                stats.setLastOrderAt(last);
+            }
+        }
+
+        for (Object[] row : productOrderRepository.sumDeliveredQuantityByUsuarioAndProduct()) {
+            CustomerStats stats = statsByUsuario.get((Long) row[0]);
+            if (stats != null) {
+                stats.offerFavoriteCandidate((Long) row[1], (String) row[2], ((Number) row[3]).longValue());
+            }
+        }
+
+        // só as linhas travadas são regravadas; as sem pedidos voltam a zero
+        List<CustomerStats> rebuilt = locked.stream()
+                .map(row -> statsByUsuario.getOrDefault(row.getUsuarioId(), CustomerStats.empty(row.getUsuarioId())))
+                .toList();
+        customerStatsRepository.saveAll(rebuilt);
+
+        log.info("Estatísticas de clientes reconstruídas: {} clientes", rebuilt.size());
+        return rebuilt.size();
+    }
+
+    /**
+     * Executa o backfill apenas se ainda não há estatísticas e já existem pedidos
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void backfillIfEmpty() {
+        if (customerStatsRepository.count() == 0 && orderRepository.count() > 0) {
+            rebuildAll();
+        }
+    }
+
+    /**
+     * Linha do cliente travada para escrita. A existência é checada sem lock: um SELECT FOR UPDATE
+     * de linha inexistente trava o intervalo no InnoDB e dois primeiros pedidos entrariam em deadlock
+     * no INSERT. O INSERT IGNORE serializa os dois sem erro de chave duplicada.
+     */
+    private CustomerStats lockStats(Long usuarioId) {
+        if (!customerStatsRepository.existsById(usuarioId)) {
+            customerStatsRepository.insertIfAbsent(usuarioId);
+        }
+        return customerStatsRepository.findForUpdate(usuarioId)
+                .orElseThrow(() -> new IllegalStateException("Estatísticas do cliente " + usuarioId + " não encontradas"));
+    }
+
+    private static boolean containsFavorite(CustomerStats stats, Order order) {
+        return stats.getFavoriteProductId() != null && order.getProductOrders().stream()
+                .map(ProductOrder::getProduct)
+                .anyMatch(product -> product != null && stats.getFavoriteProductId().equals(product.getId()));
+    }
+
+    /**
+     * Só os produtos deste pedido podem ter mudado de quantidade entregue,
+     * então basta compará-los com o favorito atual.
+     */
+    private void updateFavorite(CustomerStats stats, Order order) {
+        List<Long> productIds = order.getProductOrders().stream()
+                .map(ProductOrder::getProduct)
+                .filter(Objects::nonNull)
+                .map(Product::getId)
+                .distinct()
+                .toList();
+
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        for (Object[] row : productOrderRepository.sumDeliveredQuantityByUsuarioAndProducts(stats.getUsuarioId(), productIds)) {
+            stats.offerFavoriteCandidate((Long) row[0], (String) row[1], ((Number) row[2]).longValue());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.enums.DeliveryZoneEnum;
+import com.basilios.basilios.core.model.Address;
+import com.basilios.basilios.util.DistanceCalculator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Cotação de entrega (loja, distância, zona e taxa) de um endereço.
+ *
+ * Calculada quando o endereço é criado/alterado e gravada nele junto com a versão das
+ * regras (taxas + índice de lojas). Se as regras ou as lojas mudarem, a versão muda e a
+ * cotação gravada é refeita na próxima leitura.
+ *
+ * O endereço é atendido pela loja ativa (isActive, sem olhar openingHours) mais próxima
+ * cujo raio cobre o ponto (StoreService).
+ * Com lojas cadastradas mas nenhuma ativa que cubra o ponto, o endereço fica FORA_DA_AREA.
+ * Só sem nenhuma loja cadastrada vale a loja configurada em store.latitude/longitude.
+ */
+@Service
+public class DeliveryQuoteService {
+
+    public record DeliveryQuote(DeliveryZoneEnum zone, Long storeId, Double distanceKm, BigDecimal fee, String version) {
+        public boolean isDeliverable() {
+            return zone == DeliveryZoneEnum.DENTRO_DA_AREA;
+        }
+    }
+
+    // Centroide de CEP só vale como posição se a incerteza dele for pequena perto do raio de entrega
+    private static final double MAX_APPROXIMATION_FRACTION = 0.3;
+
+    private final StoreService storeService;
+    private final double storeLatitude;
+    private final double storeLongitude;
+    private final double maxDistanceKm;
+    private final BigDecimal baseFee;
+    private final BigDecimal feePerKm;
+    private final String rulesVersion;
+
+    public DeliveryQuoteService(StoreService storeService,
+                                @Value("${store.latitude:-23.550520}") double storeLatitude,
+                                @Value("${store.longitude:-46.633308}") double storeLongitude,
+                                @Value("${delivery.max-distance-km:7.0}") double maxDistanceKm,
+                                @Value("${delivery.base-fee:5.00}") BigDecimal baseFee,
+                                @Value("${delivery.fee-per-km:2.00}") BigDecimal feePerKm) {
+        this.storeService = storeService;
+        this.storeLatitude = storeLatitude;
+        this.storeLongitude = storeLongitude;
+        this.maxDistanceKm = maxDistanceKm;
+        this.baseFee = baseFee;
+        this.feePerKm = feePerKm;
+        this.rulesVersion = Integer.toHexString(Objects.hash(
+                storeLatitude, storeLongitude, maxDistanceKm, baseFee.stripTrailingZeros(), feePerKm.stripTrailingZeros()));
+    }
+
+    /**
+     * Maior incerteza (km) aceita em coordenadas aproximadas para decidir entrega e taxa
+     */
+    public double getMaxApproximationKm() {
+        return maxDistanceKm * MAX_APPROXIMATION_FRACTION;
+    }
+
+    public String getVersion() {
+        return rulesVersion + "-" + storeService.indexVersion();
+    }
+
+    /**
+     * Calcula a cotação para as coordenadas informadas
+     */
+    public DeliveryQuote quote(Double latitude, Double longitude) {
+        String version = getVersion();
+        if (latitude == null || longitude == null) {
+            return new DeliveryQuote(DeliveryZoneEnum.SEM_COORDENADAS, null, null, null, version);
+        }
+
+        if (storeService.hasStores()) {
+            Optional<StoreService.StoreMatch> match = storeService.findDeliveringStore(latitude, longitude);
+            if (match.isPresent()) {
+                double distance = match.get().distanceKm();
+                return new DeliveryQuote(DeliveryZoneEnum.DENTRO_DA_AREA, match.get().store().getId(),
+                        distance, calculateFee(distance), version);
+            }
+            Double nearest = storeService.findNearestStore(latitude, longitude)
+                    .map(StoreService.StoreMatch::distanceKm)
+                    .orElse(null);
+            return new DeliveryQuote(DeliveryZoneEnum.FORA_DA_AREA, null, nearest, null, version);
+        }
+
+        double distance = DistanceCalculator.calculateDistance(storeLatitude, storeLongitude, latitude, longitude);
+        if (distance > maxDistanceKm) {
+            return new DeliveryQuote(DeliveryZoneEnum.FORA_DA_AREA, null, distance, null, version);
+        }
+        return new DeliveryQuote(DeliveryZoneEnum.DENTRO_DA_AREA, null, distance, calculateFee(distance), version);
+    }
+
+    /**
+     * Cotação do endereço sem alterá-lo: a gravada se estiver na versão atual, senão recalculada
+     */
+    public DeliveryQuote quoteFor(Address address) {
+        if (isCurrent(address)) {
+            return new DeliveryQuote(address.getDeliveryZone(), address.getDeliveryStoreId(),
+                    address.getDeliveryDistanceKm(), address.getDeliveryFee(), address.getDeliveryQuoteVersion());
+        }
+        return quote(address.getLatitude(), address.getLongitude());
+    }
+
+    /**
+     * Recalcula e grava a cotação no endereço (criação/alteração de coordenadas)
+     */
+    public DeliveryQuote apply(Address address) {
+        DeliveryQuote quote = quote(address.getLatitude(), address.getLongitude());
+        address.setDeliveryZone(quote.zone());
+        address.setDeliveryStoreId(quote.storeId());
+        address.setDeliveryDistanceKm(quote.distanceKm());
+        address.setDeliveryFee(quote.fee());
+        address.setDeliveryQuoteVersion(quote.version());
+        return quote;
+    }
+
+    /**
+     * Garante que a cotação gravada está na versão atual, recalculando só se preciso
+     */
+    public DeliveryQuote refresh(Address address) {
+        return isCurrent(address) ? quoteFor(address) : apply(address);
+    }
+
+    public boolean isCurrent(Address address) {
+        return getVersion().equals(address.getDeliveryQuoteVersion()) && address.getDeliveryZone() != null;
+    }
+
+    /**
+     * Fórmula: taxa base + (distância * taxa por km), arredondada para 2 casas
+     */
+    private BigDecimal calculateFee(double distanceKm) {
+        if (distanceKm <= 0) {
+            return baseFee;
+        }
+        return baseFee.add(feePerKm.multiply(BigDecimal.valueOf(distanceKm)))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
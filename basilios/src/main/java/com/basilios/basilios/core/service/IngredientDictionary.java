@@ -0,0 +1,157 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.infra.repository.IngredientBatchRepository;
+import com.basilios.basilios.infra.repository.IngredientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Dicionário nome → id dos ingredientes, em memória e sem diferenciar maiúsculas.
+ *
+ * Resolve a lista de ingredientes de um produto de uma vez: nomes conhecidos não vão ao
+ * banco; os desconhecidos são conferidos numa única consulta (podem ter sido criados por
+ * outra instância) e os que faltam são inseridos num único batch. Novos nomes só entram
+ * no dicionário após o commit, para um rollback não deixar ids inexistentes em memória.
+ * Ingredientes não são excluídos pela aplicação, então entradas não ficam obsoletas.
+ * As chaves são sempre normalize(nome) em minúsculas, no dicionário e nas consultas ao banco;
+ * nomes antigos fora desse padrão são regravados na subida (normalizeStoredNames).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class IngredientDictionary {
+
+    private final IngredientRepository ingredientRepository;
+    private final IngredientBatchRepository ingredientBatchRepository;
+
+    private volatile Map<String, Long> idsByName;
+
+    /**
+     * Nome normalizado para exibição/gravação: sem espaços nas pontas nem repetidos
+     */
+    public static String normalize(String name) {
+        return name == null ? "" : name.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Corrige uma vez os nomes gravados com espaços sobrando, senão a consulta por nome não os
+     * acha e o ingrediente seria duplicado (os ids não mudam, então o dicionário continua válido)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void normalizeStoredNames() {
+        int fixed = ingredientBatchRepository.normalizeStoredNames();
+        if (fixed > 0) {
+            log.info("Nomes de ingredientes normalizados: {}", fixed);
+        }
+    }
+
+    /**
+     * Ids dos ingredientes, na ordem dos nomes e sem repetidos, criando os que não existem.
+     * Nomes vazios são ignorados.
+     */
+    public List<Long> resolve(Collection<String> names) {
+        // chave (minúsculas) → nome como veio, mantendo a ordem e descartando repetidos
+        Map<String, String> wanted = new LinkedHashMap<>();
+        for (String name : names) {
+            String normalized = normalize(name);
+            if (!normalized.isEmpty()) {
+                wanted.putIfAbsent(key(normalized), normalized);
+            }
+        }
+
+        Map<String, Long> known = dictionary();
+        Map<String, Long> found = new HashMap<>();
+        List<String> unknown = new ArrayList<>();
+        wanted.keySet().forEach(key -> {
+            Long id = known.get(key);
+            if (id != null) {
+                found.put(key, id);
+            } else {
+                unknown.add(key);
+            }
+        });
+
+        if (!unknown.isEmpty()) {
+            Map<String, Long> existing = ingredientBatchRepository.findIdsByLowerName(unknown);
+            List<String> missing = unknown.stream()
+                    .filter(key -> !existing.containsKey(key))
+                    .map(wanted::get)
+                    .toList();
+
+            Map<String, Long> created = ingredientBatchRepository.insertAll(missing);
+            if (!created.isEmpty()) {
+                log.debug("Ingredientes criados: {}", missing);
+            }
+
+            Map<String, Long> learned = new HashMap<>(existing);
+            learned.putAll(created);
+            found.putAll(learned);
+            rememberAfterCommit(learned);
+        }
+
+        List<Long> ids = new ArrayList<>(wanted.size());
+        wanted.keySet().forEach(key -> ids.add(found.get(key)));
+        return ids;
+    }
+
+    /**
+     * Id de um único ingrediente, criando-o se não existir
+     */
+    public Long resolve(String name) {
+        List<Long> ids = resolve(List.of(name));
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    // ========== INTERNOS ==========
+
+    private static String key(String normalized) {
+        return normalized.toLowerCase(Locale.ROOT);
+    }
+
+    private Map<String, Long> dictionary() {
+        Map<String, Long> current = idsByName;
+        if (current == null) {
+            Map<String, Long> loaded = new HashMap<>();
+            for (Object[] row : ingredientRepository.findAllIdAndName()) {
+                loaded.putIfAbsent(key(normalize((String) row[1])), (Long) row[0]);
+            }
+            current = Map.copyOf(loaded);
+            idsByName = current;
+            log.info("Dicionário de ingredientes carregado: {} nomes", current.size());
+        }
+        return current;
+    }
+
+    private void rememberAfterCommit(Map<String, Long> learned) {
+        if (learned.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(learned);
+                }
+            });
+        } else {
+            remember(learned);
+        }
+    }
+
+    private synchronized void remember(Map<String, Long> learned) {
+        Map<String, Long> current = idsByName;
+        if (current == null) {
+            return; // será recarregado por completo na próxima consulta
+        }
+        Map<String, Long> merged = new HashMap<>(current);
+        learned.forEach(merged::putIfAbsent);
+        idsByName = Map.copyOf(merged);
+    }
+}
@@ -0,0 +1,244 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.enums.PriceBand;
+import com.basilios.basilios.util.TextNormalizer;
+
+import java.util.*;
+
+/**
+ * Índice de facetas do cardápio: um bitset por valor de faceta sobre os ordinais dos produtos.
+ *
+ * Valores de uma mesma faceta combinam com OR e facetas diferentes com AND, então qualquer
+ * combinação de filtros é uma sequência de operações bit a bit. As contagens de cada valor
+ * saem do popcount da interseção com os filtros das outras facetas (contagem disjuntiva:
+ * marcar "Bebida" não zera a contagem de "Hambúrguer"). Imutável; reconstruído junto com o
+ * MenuSearchIndex.
+ */
+final class MenuFacetIndex {
+
+    enum Facet {
+        CATEGORY("category"), SUBCATEGORY("subcategory"), PRICE_BAND("priceBand"),
+        TAG("tags"), INGREDIENT("ingredients"), STATUS("status");
+
+        final String key;
+
+        Facet(String key) {
+            this.key = key;
+        }
+    }
+
+    static final String ACTIVE = "ACTIVE";
+    static final String PAUSED = "PAUSED";
+
+    record Count(String value, String label, int count, boolean selected) {
+    }
+
+    /**
+     * Produtos que passam nos filtros (na ordem do índice) e as contagens por faceta
+     */
+    record Result(List<MenuSearchIndex.Document> documents, Map<Facet, List<Count>> counts) {
+    }
+
+    private static final Facet[] ALL_FACETS = Facet.values();
+
+    private final MenuSearchIndex.Document[] documents;
+    private final long[] universe;
+    private final List<Map<String, Value>> values; // por faceta: chave → valor (na ordem de exibição)
+
+    private MenuFacetIndex(MenuSearchIndex.Document[] documents, long[] universe, List<Map<String, Value>> values) {
+        this.documents = documents;
+        this.universe = universe;
+        this.values = values;
+    }
+
+    static MenuFacetIndex build(Collection<MenuSearchIndex.Document> source) {
+        MenuSearchIndex.Document[] documents = source.stream()
+                .sorted(Comparator.comparing(MenuSearchIndex.Document::id))
+                .toArray(MenuSearchIndex.Document[]::new);
+        int words = words(documents.length);
+
+        List<Map<String, Value>> values = new ArrayList<>();
+        for (Facet ignored : ALL_FACETS) {
+            values.add(new HashMap<>());
+        }
+
+        for (int d = 0; d < documents.length; d++) {
+            MenuSearchIndex.Document document = documents[d];
+            if (document.category() != null) {
+                add(values, Facet.CATEGORY, document.category().name(), document.category().getDisplayName(),
+                        document.category().ordinal(), d, words);
+            }
+            if (document.subcategory() != null) {
+                add(values, Facet.SUBCATEGORY, document.subcategory().name(), document.subcategory().getDisplayName(),
+                        document.subcategory().ordinal(), d, words);
+            }
+            PriceBand band = PriceBand.of(document.price());
+            add(values, Facet.PRICE_BAND, band.name(), band.getDisplayName(), band.ordinal(), d, words);
+            for (String tag : document.tags()) {
+                add(values, Facet.TAG, key(tag), tag.trim(), 0, d, words);
+            }
+            for (String ingredient : document.ingredients()) {
+                add(values, Facet.INGREDIENT, key(ingredient), ingredient.trim(), 0, d, words);
+            }
+            if (document.paused()) {
+                add(values, Facet.STATUS, PAUSED, "Pausado", 1, d, words);
+            } else {
+                add(values, Facet.STATUS, ACTIVE, "Ativo", 0, d, words);
+            }
+        }
+
+        long[] universe = new long[words];
+        for (int d = 0; d < documents.length; d++) {
+            universe[d >>> 6] |= 1L << d;
+        }
+
+        // Ordem de exibição: enums na ordem de declaração; tags e ingredientes por quantidade
+        List<Map<String, Value>> ordered = new ArrayList<>();
+        for (Facet facet : ALL_FACETS) {
+            Comparator<Value> order = switch (facet) {
+                case TAG, INGREDIENT -> Comparator.comparingInt((Value v) -> -v.cardinality)
+                        .thenComparing(v -> v.label, String.CASE_INSENSITIVE_ORDER);
+                default -> Comparator.comparingInt(v -> v.order);
+            };
+            List<Value> facetValues = new ArrayList<>(values.get(facet.ordinal()).values());
+            facetValues.forEach(Value::seal);
+            facetValues.sort(order);
+
+            Map<String, Value> sorted = new LinkedHashMap<>();
+            facetValues.forEach(v -> sorted.put(v.key, v));
+            ordered.add(sorted);
+        }
+
+        return new MenuFacetIndex(documents, universe, ordered);
+    }
+
+    /**
+     * Chave de comparação de tags e ingredientes: sem acento, minúsculas e espaços simples
+     */
+    static String key(String value) {
+        return TextNormalizer.fold(value).trim().replaceAll("\\s+", " ");
+    }
+
+    int size() {
+        return documents.length;
+    }
+
+    /**
+     * Aplica a seleção (por faceta, chaves aceitas; faceta ausente ou vazia = sem filtro).
+     * Chaves desconhecidas não casam com nenhum produto.
+     */
+    Result filter(Map<Facet, Set<String>> selection) {
+        long[][] selected = new long[ALL_FACETS.length][];
+        for (Facet facet : ALL_FACETS) {
+            Set<String> keys = selection.get(facet);
+            if (keys != null && !keys.isEmpty()) {
+                long[] bits = new long[universe.length];
+                for (String key : keys) {
+                    Value value = values.get(facet.ordinal()).get(key);
+                    if (value != null) {
+                        or(bits, value.bits);
+                    }
+                }
+                selected[facet.ordinal()] = bits;
+            }
+        }
+
+        long[] matching = intersect(selected, null);
+
+        Map<Facet, List<Count>> counts = new EnumMap<>(Facet.class);
+        for (Facet facet : ALL_FACETS) {
+            // Sem filtro nesta faceta, a base é o próprio resultado
+            long[] base = selected[facet.ordinal()] == null ? matching : intersect(selected, facet);
+            Set<String> keys = selection.getOrDefault(facet, Set.of());
+            List<Count> facetCounts = new ArrayList<>();
+            for (Value value : values.get(facet.ordinal()).values()) {
+                int count = andCount(base, value.bits);
+                boolean isSelected = keys.contains(value.key);
+                if (count > 0 || isSelected) {
+                    facetCounts.add(new Count(value.key, value.label, count, isSelected));
+                }
+            }
+            counts.put(facet, facetCounts);
+        }
+
+        List<MenuSearchIndex.Document> result = new ArrayList<>(cardinality(matching));
+        for (int w = 0; w < matching.length; w++) {
+            long word = matching[w];
+            while (word != 0) {
+                result.add(documents[(w << 6) + Long.numberOfTrailingZeros(word)]);
+                word &= word - 1;
+            }
+        }
+        return new Result(result, counts);
+    }
+
+    // ========== INTERNOS ==========
+
+    private static void add(List<Map<String, Value>> values, Facet facet, String key, String label, int order,
+                            int document, int words) {
+        values.get(facet.ordinal())
+                .computeIfAbsent(key, k -> new Value(k, label, order, words))
+                .bits[document >>> 6] |= 1L << document;
+    }
+
+    /**
+     * AND das facetas selecionadas, exceto a informada
+     */
+    private long[] intersect(long[][] selected, Facet except) {
+        long[] bits = universe.clone();
+        for (Facet facet : ALL_FACETS) {
+            long[] facetBits = selected[facet.ordinal()];
+            if (facet != except && facetBits != null) {
+                for (int w = 0; w < bits.length; w++) {
+                    bits[w] &= facetBits[w];
+                }
+            }
+        }
+        return bits;
+    }
+
+    private static void or(long[] target, long[] source) {
+        for (int w = 0; w < target.length; w++) {
+            target[w] |= source[w];
+        }
+    }
+
+    private static int andCount(long[] a, long[] b) {
+        int count = 0;
+        for (int w = 0; w < a.length; w++) {
+            count += Long.bitCount(a[w] & b[w]);
+        }
+        return count;
+    }
+
+    private static int cardinality(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int words(int documents) {
+        return (documents + 63) >>> 6;
+    }
+
+    private static final class Value {
+        final String key;
+        final String label;
+        final int order; // posição no enum (facetas de enum)
+        final long[] bits;
+        int cardinality;
+
+        Value(String key, String label, int order, int words) {
+            this.key = key;
+            this.label = label;
+            this.order = order;
+            this.bits = new long[words];
+        }
+
+        void seal() {
+            cardinality = MenuFacetIndex.cardinality(bits);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.ProductSubcategory;
+import com.basilios.basilios.util.TextNormalizer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Índice invertido imutável do cardápio (nome, tags, ingredientes e descrição).
+ *
+ * Termos sem acento e em minúsculas, ordenados num array: cada palavra da consulta casa com
+ * o termo exato e com os termos que começam por ela (digitação incremental), estes com peso
+ * menor. A relevância é BM25F — frequência ponderada por campo e normalizada pelo tamanho do
+ * campo — multiplicada por um bônus de popularidade (quantidade vendida). Todas as palavras
+ * da consulta precisam casar. O índice é reconstruído (em memória) a cada alteração.
+ */
+final class MenuSearchIndex {
+
+    enum Field {
+        NAME(3.0), TAGS(2.0), INGREDIENTS(1.5), DESCRIPTION(1.0);
+
+        final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Dados do produto necessários para indexar e responder sem ir ao banco
+     */
+    record Document(Long id, String name, String description, String imageUrl, ProductCategory category,
+                    ProductSubcategory subcategory, BigDecimal price, boolean paused, LocalDateTime createdAt,
+                    List<String> tags, List<String> ingredients) {
+    }
+
+    /**
+     * Consulta: texto livre + filtros (nulos/vazios = sem filtro)
+     */
+    record Query(String text, Set<Field> fields, Set<ProductCategory> categories,
+                 BigDecimal minPrice, BigDecimal maxPrice, boolean activeOnly) {
+    }
+
+    record Hit(Document document, double score) {
+    }
+
+    private static final Field[] ALL_FIELDS = Field.values();
+    private static final int FIELDS = ALL_FIELDS.length;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_FACTOR = 0.7;
+    private static final double POPULARITY_WEIGHT = 0.3;
+
+    private final Document[] documents;
+    private final double[] popularityBoosts;
+    private final double[] lengthNorms;   // [doc * FIELDS + campo]: 1 - b + b * tamanho / média
+    private final String[] terms;         // ordenados
+    private final int[][] postings;       // por termo: documentos (ordinais crescentes)
+    private final short[][] frequencies;  // por termo: [posição * FIELDS + campo]
+
+    private MenuSearchIndex(Document[] documents, double[] popularityBoosts, double[] lengthNorms,
+                            String[] terms, int[][] postings, short[][] frequencies) {
+        this.documents = documents;
+        this.popularityBoosts = popularityBoosts;
+        this.lengthNorms = lengthNorms;
+        this.terms = terms;
+        this.postings = postings;
+        this.frequencies = frequencies;
+    }
+
+    static MenuSearchIndex build(Collection<Document> source, Map<Long, Long> soldByProduct) {
+        Document[] documents = source.stream()
+                .sorted(Comparator.comparing(Document::id))
+                .toArray(Document[]::new);
+        int n = documents.length;
+
+        long maxSold = Arrays.stream(documents)
+                .mapToLong(d -> soldByProduct.getOrDefault(d.id(), 0L))
+                .max().orElse(0);
+        double[] popularityBoosts = new double[n];
+        for (int d = 0; d < n; d++) {
+            long sold = soldByProduct.getOrDefault(documents[d].id(), 0L);
+            popularityBoosts[d] = maxSold > 0
+                    ? 1 + POPULARITY_WEIGHT * Math.log1p(sold) / Math.log1p(maxSold)
+                    : 1;
+        }
+
+        Map<String, TermBuilder> builders = new HashMap<>();
+        int[] lengths = new int[n * FIELDS];
+        long[] totalLengths = new long[FIELDS];
+
+        for (int d = 0; d < n; d++) {
+            Map<String, short[]> counts = new HashMap<>();
+            for (Field field : ALL_FIELDS) {
+                for (String token : tokens(documents[d], field)) {
+                    counts.computeIfAbsent(token, t -> new short[FIELDS])[field.ordinal()]++;
+                    lengths[d * FIELDS + field.ordinal()]++;
+                    totalLengths[field.ordinal()]++;
+                }
+            }
+            int ordinal = d;
+            counts.forEach((term, frequency) -> builders.computeIfAbsent(term, t -> new TermBuilder()).add(ordinal, frequency));
+        }
+
+        double[] lengthNorms = new double[n * FIELDS];
+        for (int f = 0; f < FIELDS; f++) {
+            double average = n == 0 ? 0 : (double) totalLengths[f] / n;
+            for (int d = 0; d < n; d++) {
+                lengthNorms[d * FIELDS + f] = average > 0 ? 1 - B + B * lengths[d * FIELDS + f] / average : 1;
+            }
+        }
+
+        String[] terms = builders.keySet().toArray(String[]::new);
+        Arrays.sort(terms);
+        int[][] postings = new int[terms.length][];
+        short[][] frequencies = new short[terms.length][];
+        for (int t = 0; t < terms.length; t++) {
+            TermBuilder builder = builders.get(terms[t]);
+            postings[t] = Arrays.copyOf(builder.documents, builder.size);
+            frequencies[t] = Arrays.copyOf(builder.frequencies, builder.size * FIELDS);
+        }
+
+        return new MenuSearchIndex(documents, popularityBoosts, lengthNorms, terms, postings, frequencies);
+    }
+
+    int size() {
+        return documents.length;
+    }
+
+    int termCount() {
+        return terms.length;
+    }
+
+    /**
+     * Produtos que casam com a consulta, do mais relevante para o menos relevante.
+     * Sem texto, todos os produtos do filtro, ordenados por popularidade.
+     */
+    List<Hit> search(Query query) {
+        int n = documents.length;
+        List<String> tokens = TextNormalizer.tokens(query.text());
+        double[] scores = new double[n];
+        int[] matchedTokens = new int[n];
+
+        if (!tokens.isEmpty()) {
+            boolean[] fieldEnabled = new boolean[FIELDS];
+            for (Field field : ALL_FIELDS) {
+                fieldEnabled[field.ordinal()] = query.fields() == null || query.fields().isEmpty() || query.fields().contains(field);
+            }
+
+            double[] tokenScores = new double[n];
+            for (String token : tokens) {
+                Arrays.fill(tokenScores, 0);
+                scoreToken(token, fieldEnabled, tokenScores, matchedTokens);
+                for (int d = 0; d < n; d++) {
+                    scores[d] += tokenScores[d];
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (int d = 0; d < n; d++) {
+            if (matchedTokens[d] == tokens.size() && accepts(documents[d], query)) {
+                double relevance = tokens.isEmpty() ? 1 : scores[d];
+                hits.add(new Hit(documents[d], relevance * popularityBoosts[d]));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                .thenComparing(h -> h.document().name(), String.CASE_INSENSITIVE_ORDER));
+        return hits;
+    }
+
+    // ========== INTERNOS ==========
+
+    /**
+     * Melhor pontuação de cada documento para uma palavra (termo exato ou com o prefixo)
+     */
+    private void scoreToken(String token, boolean[] fieldEnabled, double[] tokenScores, int[] matchedTokens) {
+        int n = documents.length;
+        for (int t = lowerBound(token); t < terms.length && terms[t].startsWith(token); t++) {
+            double factor = terms[t].length() == token.length() ? 1 : PREFIX_FACTOR;
+            int[] docs = postings[t];
+            short[] frequency = frequencies[t];
+            double idf = Math.log(1 + (n - docs.length + 0.5) / (docs.length + 0.5));
+
+            for (int i = 0; i < docs.length; i++) {
+                int d = docs[i];
+                double tf = 0;
+                for (int f = 0; f < FIELDS; f++) {
+                    short count = frequency[i * FIELDS + f];
+                    if (count > 0 && fieldEnabled[f]) {
+                        tf += ALL_FIELDS[f].weight * count / lengthNorms[d * FIELDS + f];
+                    }
+                }
+                if (tf == 0) {
+                    continue;
+                }
+
+                double score = factor * idf * tf * (K1 + 1) / (tf + K1);
+                if (tokenScores[d] == 0) {
+                    matchedTokens[d]++;
+                }
+                if (score > tokenScores[d]) {
+                    tokenScores[d] = score;
+                }
+            }
+        }
+    }
+
+    private int lowerBound(String token) {
+        int index = Arrays.binarySearch(terms, token);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private static boolean accepts(Document document, Query query) {
+        if (query.activeOnly() && document.paused()) {
+            return false;
+        }
+        if (query.categories() != null && !query.categories().isEmpty() && !query.categories().contains(document.category())) {
+            return false;
+        }
+        if (query.minPrice() != null && document.price().compareTo(query.minPrice()) < 0) {
+            return false;
+        }
+        return query.maxPrice() == null || document.price().compareTo(query.maxPrice()) <= 0;
+    }
+
+    private static List<String> tokens(Document document, Field field) {
+        return switch (field) {
+            case NAME -> TextNormalizer.tokens(document.name());
+            case DESCRIPTION -> TextNormalizer.tokens(document.description());
+            case TAGS -> document.tags().stream().flatMap(t -> TextNormalizer.tokens(t).stream()).toList();
+            case INGREDIENTS -> document.ingredients().stream().flatMap(i -> TextNormalizer.tokens(i).stream()).toList();
+        };
+    }
+
+    private static final class TermBuilder {
+        int[] documents = new int[4];
+        short[] frequencies = new short[4 * FIELDS];
+        int size;
+
+        void add(int document, short[] frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2 * FIELDS);
+            }
+            documents[size] = document;
+            System.arraycopy(frequency, 0, frequencies, size * FIELDS, FIELDS);
+            size++;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.app.dto.product.FacetCountDTO;
+import com.basilios.basilios.app.dto.product.ProductFilterDTO;
+import com.basilios.basilios.app.dto.product.ProductFilterResponseDTO;
+import com.basilios.basilios.app.dto.product.ProductSearchDTO;
+import com.basilios.basilios.app.dto.product.ProductSearchHitDTO;
+import com.basilios.basilios.app.dto.product.ProductSearchResponseDTO;
+import com.basilios.basilios.core.enums.PriceBand;
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.ProductSubcategory;
+import com.basilios.basilios.core.exception.BusinessException;
+import com.basilios.basilios.core.model.Product;
+import com.basilios.basilios.core.model.events.ProductChangedEvent;
+import com.basilios.basilios.infra.repository.IngredientProductRepository;
+import com.basilios.basilios.infra.repository.ProductOrderRepository;
+import com.basilios.basilios.infra.repository.ProductRepository;
+import com.basilios.basilios.util.TextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Busca textual (GET /products/search) e filtragem por facetas (GET /products/filter) do
+ * cardápio, sem ir ao banco.
+ *
+ * Mantém em memória os dados indexáveis de cada produto, um MenuSearchIndex e um MenuFacetIndex
+ * imutáveis.
+ * A carga completa acontece na primeira busca; depois, cada ProductChangedEvent recarrega
+ * só os produtos alterados e reconstrói o índice em memória. O evento só chega na instância
+ * que fez a alteração: as demais percebem pela CatalogVersion (compartilhada pelo banco) e
+ * refazem a carga completa em até search.index.refresh-ms. A popularidade (quantidade
+ * vendida) é recarregada periodicamente.
+ */
+@Service
+@Slf4j
+public class MenuSearchService {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 100;
+    static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final ProductRepository productRepository;
+    private final IngredientProductRepository ingredientProductRepository;
+    private final ProductOrderRepository productOrderRepository;
+    private final CatalogVersion catalogVersion;
+    private final TransactionTemplate readTransaction;
+
+    // Guardados pelo monitor da instância; a busca só lê o índice (volatile)
+    private final Map<Long, MenuSearchIndex.Document> documents = new HashMap<>();
+    private Map<Long, Long> soldByProduct = Map.of();
+    private long loadedVersion; // versão do catálogo lida antes da última carga completa
+    private volatile MenuFacetIndex facets;
+    private volatile MenuSearchIndex index; // publicado por último: não nulo = carregado
+
+    public MenuSearchService(ProductRepository productRepository,
+                             IngredientProductRepository ingredientProductRepository,
+                             ProductOrderRepository productOrderRepository,
+                             CatalogVersion catalogVersion,
+                             PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.ingredientProductRepository = ingredientProductRepository;
+        this.productOrderRepository = productOrderRepository;
+        this.catalogVersion = catalogVersion;
+
+        // Transação própria: a atualização roda após o commit de quem alterou o produto
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public ProductSearchResponseDTO search(ProductSearchDTO dto) {
+        MenuSearchIndex.Query query = new MenuSearchIndex.Query(
+                dto.getQuery(),
+                toFields(dto.getSearchFields()),
+                toCategories(dto.getCategories()),
+                dto.getMinPrice(),
+                dto.getMaxPrice(),
+                !Boolean.FALSE.equals(dto.getActiveOnly()));
+
+        List<MenuSearchIndex.Hit> hits = index().search(query);
+        Comparator<MenuSearchIndex.Hit> order = toOrder(dto.getSortBy(), dto.getSortDirection());
+        if (order != null) {
+            hits.sort(order);
+        }
+
+        int limit = dto.getLimit() == null ? DEFAULT_LIMIT : Math.max(1, Math.min(dto.getLimit(), MAX_LIMIT));
+        return ProductSearchResponseDTO.builder()
+                .query(dto.getQuery())
+                .total(hits.size())
+                .results(hits.stream().limit(limit).map(hit -> toDTO(hit.document(), hit.score())).toList())
+                .build();
+    }
+
+    /**
+     * Filtra o cardápio por facetas e devolve a página pedida junto com as contagens
+     */
+    public ProductFilterResponseDTO filter(ProductFilterDTO dto) {
+        Map<MenuFacetIndex.Facet, Set<String>> selection = new EnumMap<>(MenuFacetIndex.Facet.class);
+        selection.put(MenuFacetIndex.Facet.CATEGORY, toKeys(dto.getCategories(), value -> ProductCategory.fromJson(value).name()));
+        selection.put(MenuFacetIndex.Facet.SUBCATEGORY, toKeys(dto.getSubcategories(), value -> ProductSubcategory.fromString(value).name()));
+        selection.put(MenuFacetIndex.Facet.PRICE_BAND, toKeys(dto.getPriceBands(), value -> PriceBand.fromString(value).name()));
+        selection.put(MenuFacetIndex.Facet.TAG, toKeys(dto.getTags(), MenuFacetIndex::key));
+        selection.put(MenuFacetIndex.Facet.INGREDIENT, toKeys(dto.getIngredients(), MenuFacetIndex::key));
+        if (!Boolean.FALSE.equals(dto.getActiveOnly())) {
+            selection.put(MenuFacetIndex.Facet.STATUS, Set.of(MenuFacetIndex.ACTIVE));
+        }
+
+        int page = dto.getPage() == null ? 0 : Math.max(0, dto.getPage());
+        int size = dto.getSize() == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(dto.getSize(), MAX_LIMIT));
+        Comparator<MenuSearchIndex.Document> order = toDocumentOrder(dto.getSortBy(), dto.getSortDirection());
+
+        index(); // garante a carga
+        MenuFacetIndex.Result result = facets.filter(selection);
+
+        Map<String, List<FacetCountDTO>> facetCounts = new LinkedHashMap<>();
+        result.counts().forEach((facet, counts) -> facetCounts.put(facet.key, counts.stream()
+                .map(c -> FacetCountDTO.builder()
+                        .value(c.value())
+                        .label(c.label())
+                        .count(c.count())
+                        .selected(c.selected())
+                        .build())
+                .toList()));
+
+        return ProductFilterResponseDTO.builder()
+                .total(result.documents().size())
+                .page(page)
+                .size(size)
+                .results(result.documents().stream()
+                        .sorted(order)
+                        .skip((long) page * size)
+                        .limit(size)
+                        .map(document -> toDTO(document, null))
+                        .toList())
+                .facets(facetCounts)
+                .build();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (this) {
+            if (index == null) {
+                return; // ainda não carregado: a carga completa já verá a alteração
+            }
+            readTransaction.executeWithoutResult(status -> reload(event.getProductIds()));
+            rebuild();
+        }
+        log.debug("Índice de busca atualizado: {}", event);
+    }
+
+    /**
+     * Carga completa quando a versão do catálogo mudou desde a última (alterações de outras
+     * instâncias). Alterações locais também mudam a versão, então podem ser recarregadas duas
+     * vezes; com o cardápio inteiro em poucas consultas, não compensa distinguir.
+     */
+    @Scheduled(fixedDelayString = "${search.index.refresh-ms:5000}", initialDelayString = "${search.index.refresh-ms:5000}")
+    public void refreshIfStale() {
+        synchronized (this) {
+            if (index == null || catalogVersion.current() == loadedVersion) {
+                return;
+            }
+            loadAll();
+            log.debug("Índice de busca recarregado: catálogo na versão {}", loadedVersion);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.popularity.refresh-ms:600000}", initialDelayString = "${search.popularity.refresh-ms:600000}")
+    public void refreshPopularity() {
+        synchronized (this) {
+            if (index == null) {
+                return;
+            }
+            soldByProduct = readTransaction.execute(status -> loadSold());
+            rebuild();
+        }
+    }
+
+    // ========== INTERNOS ==========
+
+    private MenuSearchIndex index() {
+        MenuSearchIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    loadAll();
+                    log.info("Índice de busca carregado: {} produtos, {} termos", index.size(), index.termCount());
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Carga completa; chamar com o monitor da instância
+     */
+    private void loadAll() {
+        // Lida antes da carga: uma alteração concorrente deixa a versão diferente e força outra
+        loadedVersion = catalogVersion.current();
+        readTransaction.executeWithoutResult(status -> {
+            documents.clear();
+            reload(null);
+            soldByProduct = loadSold();
+        });
+        rebuild();
+    }
+
+    private void rebuild() {
+        facets = MenuFacetIndex.build(documents.values());
+        index = MenuSearchIndex.build(documents.values(), soldByProduct);
+    }
+
+    /**
+     * Recarrega do banco os produtos informados (null = todos); os que sumiram saem do índice
+     */
+    private void reload(Set<Long> productIds) {
+        List<Product> products = productIds == null
+                ? productRepository.findAllWithTags()
+                : productRepository.findAllWithTagsByIdIn(productIds);
+        List<Object[]> ingredientRows = productIds == null
+                ? ingredientProductRepository.findAllProductIngredientNames()
+                : ingredientProductRepository.findProductIngredientNames(productIds);
+
+        Map<Long, List<String>> ingredientsByProduct = new HashMap<>();
+        for (Object[] row : ingredientRows) {
+            ingredientsByProduct.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        if (productIds != null) {
+            productIds.forEach(documents::remove);
+        }
+        for (Product p : products) {
+            documents.put(p.getId(), new MenuSearchIndex.Document(
+                    p.getId(), p.getName(), p.getDescription(), p.getImageUrl(), p.getCategory(), p.getSubcategory(),
+                    p.getPrice(), Boolean.TRUE.equals(p.getIsPaused()), p.getCreatedAt(),
+                    List.copyOf(p.getTags()), List.copyOf(ingredientsByProduct.getOrDefault(p.getId(), List.of()))));
+        }
+    }
+
+    private Map<Long, Long> loadSold() {
+        Map<Long, Long> sold = new HashMap<>();
+        for (Object[] row : productOrderRepository.sumQuantityByProduct()) {
+            sold.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return sold;
+    }
+
+    private static Set<MenuSearchIndex.Field> toFields(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return null;
+        }
+        Set<MenuSearchIndex.Field> fields = EnumSet.noneOf(MenuSearchIndex.Field.class);
+        for (String name : names) {
+            switch (TextNormalizer.fold(name).trim()) {
+                case "nome", "name" -> fields.add(MenuSearchIndex.Field.NAME);
+                case "descricao", "description" -> fields.add(MenuSearchIndex.Field.DESCRIPTION);
+                case "ingredientes", "ingredients" -> fields.add(MenuSearchIndex.Field.INGREDIENTS);
+                case "tags" -> fields.add(MenuSearchIndex.Field.TAGS);
+                default -> throw new BusinessException("Campo de busca inválido: " + name);
+            }
+        }
+        return fields;
+    }
+
+    private static Set<ProductCategory> toCategories(List<String> names) {
+        if (names == null || names.isEmpty()) {
+            return null;
+        }
+        Set<ProductCategory> categories = EnumSet.noneOf(ProductCategory.class);
+        for (String name : names) {
+            try {
+                categories.add(ProductCategory.fromJson(name));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException(e.getMessage());
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Chaves da seleção de uma faceta; valores inválidos viram BusinessException
+     */
+    private static Set<String> toKeys(List<String> values, Function<String, String> key) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> keys = new HashSet<>();
+        for (String value : values) {
+            try {
+                keys.add(key.apply(value));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException(e.getMessage());
+            }
+        }
+        return keys;
+    }
+
+    private static Comparator<MenuSearchIndex.Document> toDocumentOrder(String sortBy, String direction) {
+        Comparator<MenuSearchIndex.Document> order = switch (sortBy == null ? "name" : sortBy.toLowerCase(Locale.ROOT)) {
+            case "name" -> Comparator.comparing(MenuSearchIndex.Document::name, String.CASE_INSENSITIVE_ORDER);
+            case "price" -> Comparator.comparing(MenuSearchIndex.Document::price);
+            case "date" -> Comparator.comparing(MenuSearchIndex.Document::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> throw new BusinessException("Ordenação inválida: " + sortBy);
+        };
+        return "desc".equalsIgnoreCase(direction) ? order.reversed() : order;
+    }
+
+    /**
+     * Ordenação pedida; null mantém a ordem por relevância do índice
+     */
+    private static Comparator<MenuSearchIndex.Hit> toOrder(String sortBy, String direction) {
+        Comparator<MenuSearchIndex.Hit> order = switch (sortBy == null ? "relevance" : sortBy.toLowerCase(Locale.ROOT)) {
+            case "relevance" -> null;
+            case "price" -> Comparator.comparing(h -> h.document().price());
+            case "name" -> Comparator.comparing(h -> h.document().name(), String.CASE_INSENSITIVE_ORDER);
+            case "date" -> Comparator.comparing(h -> h.document().createdAt(), Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> throw new BusinessException("Ordenação inválida: " + sortBy);
+        };
+        if (order != null && "desc".equalsIgnoreCase(direction)) {
+            order = order.reversed();
+        }
+        return order;
+    }
+
+    private static ProductSearchHitDTO toDTO(MenuSearchIndex.Document d, Double score) {
+        return ProductSearchHitDTO.builder()
+                .id(d.id())
+                .name(d.name())
+                .description(d.description())
+                .imageUrl(d.imageUrl())
+                .category(d.category() != null ? d.category().name() : null)
+                .subcategory(d.subcategory() != null ? d.subcategory().getDisplayName() : null)
+                .price(d.price())
+                .isPaused(d.paused())
+                .score(score)
+                .build();
+    }
+}
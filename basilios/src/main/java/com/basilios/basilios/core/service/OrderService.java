@@ -4,41 +4,39 @@ import com.basilios.basilios.app.dto.order.OrderRequestDTO;
 import com.basilios.basilios.app.dto.order.OrderResponseDTO;
 import com.basilios.basilios.app.dto.order.OrderUpdateDTO;
 import com.basilios.basilios.app.mapper.OrderMapper;
+import com.basilios.basilios.core.enums.DeliveryZoneEnum;
 import com.basilios.basilios.core.enums.StatusPedidoEnum;
 import com.basilios.basilios.core.exception.BusinessException;
 import com.basilios.basilios.core.exception.NotFoundException;
 import com.basilios.basilios.core.model.*;
 import com.basilios.basilios.core.model.events.OrderStatusChangedEvent;
+import com.basilios.basilios.infra.logging.LogContext;
 import com.basilios.basilios.infra.messaging.NotificationEventPublisher;
 import com.basilios.basilios.infra.repository.AddressRepository;
 import com.basilios.basilios.infra.repository.OrderRepository;
 import com.basilios.basilios.infra.repository.ProductRepository;
-import com.basilios.basilios.util.DistanceCalculator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
 
-    private static final double MAX_DELIVERY_DISTANCE_KM = 7.0;
-    private static final BigDecimal BASE_DELIVERY_FEE = new BigDecimal("5.00");
-    private static final BigDecimal DELIVERY_FEE_PER_KM = new BigDecimal("2.00");
-
     private final OrderRepository orderRepository;
     private final AddressRepository addressRepository;
     private final ProductRepository productRepository;
@@ -46,12 +44,10 @@ public class OrderService {
     private final OrderMapper orderMapper;
     private final ApplicationEventPublisher eventPublisher;
     private final NotificationEventPublisher notificationEventPublisher;
-
-    @Value("${store.latitude:#{-23.550520}}")
-    private Double storeLatitude;
-
-    @Value("${store.longitude:#{-46.633308}}")
-    private Double storeLongitude;
+    private final CustomerStatsService customerStatsService;
+    private final PromotionSchedule promotionSchedule;
+    private final DeliveryQuoteService deliveryQuoteService;
+    private final StoreService storeService;
 
     /**
      * Cria novo pedido com relacionamento puro (ProductOrder)
@@ -61,23 +57,13 @@ public class OrderService {
 
     @Transactional
     public OrderResponseDTO createOrder(OrderRequestDTO request) {
-        log.info("=== CRIANDO PEDIDO ===");
-        log.info("Request recebido: addressId={}, items={}, discount={}",
-                request.getAddressId(),
-                request.getItems() != null ? request.getItems().size() : "null",
-                request.getDiscount());
-
-        log.info("Buscando usuário autenticado...");
+        log.debug("Criando pedido: addressId={}, itens={}", request.getAddressId(),
+                request.getItems() != null ? request.getItems().size() : null);
         Usuario usuario = usuarioService.getCurrentUsuario();
-        log.info("Usuário encontrado: id={}, email={}", usuario.getId(), usuario.getEmail());
 
         // Buscar endereço de entrega
-        log.info("Buscando endereço id={}", request.getAddressId());
         Address addressEntrega = addressRepository.findById(request.getAddressId())
                 .orElseThrow(() -> new NotFoundException("Endereço não encontrado: " + request.getAddressId()));
-        log.info("Endereço encontrado: id={}, ativo={}, usuarioId={}",
-                addressEntrega.getIdAddress(), addressEntrega.isAtivo(),
-                addressEntrega.getUsuario() != null ? addressEntrega.getUsuario().getId() : "null");
 
         // Verificar se endereço pertence ao usuário
         if (!addressEntrega.getUsuario().getId().equals(usuario.getId())) {
@@ -89,15 +75,21 @@ public class OrderService {
             throw new BusinessException("Endereço não está ativo");
         }
 
-        // Verificar distância
-        double distance = DistanceCalculator.calculateDistance(
-                storeLatitude, storeLongitude,
-                addressEntrega.getLatitude(), addressEntrega.getLongitude()
-        );
-        log.debug("Distância calculada: {} - Endereço: {}", distance, addressEntrega);
+        // Coordenadas longe do CEP: o cliente precisa confirmar a localização (editar o endereço)
+        if (Boolean.TRUE.equals(addressEntrega.getCoordinatesSuspect())) {
+            throw new BusinessException("Localização do endereço não confere com o CEP: confirme as coordenadas do endereço");
+        }
+
+        // Cotação de entrega pré-calculada no endereço (recalculada só se as regras mudaram)
+        DeliveryQuoteService.DeliveryQuote deliveryQuote = deliveryQuoteService.refresh(addressEntrega);
+        log.debug("Cotação de entrega: {} - Endereço: {}", deliveryQuote, addressEntrega.getIdAddress());
+
+        if (deliveryQuote.zone() == DeliveryZoneEnum.SEM_COORDENADAS) {
+            throw new BusinessException("Endereço sem coordenadas: não é possível calcular a entrega");
+        }
 
         // Se fora da área de entrega, retornar redirecionamento
-        if (distance > MAX_DELIVERY_DISTANCE_KM) {
+        if (!deliveryQuote.isDeliverable()) {
             Map<String, String> partnerLinks = new HashMap<>();
             partnerLinks.put("ifood", "https://www.ifood.com.br");
             partnerLinks.put("99food", "https://www.99food.com.br");
@@ -113,6 +105,7 @@ public class OrderService {
         Order order = Order.builder()
                 .usuario(usuario)
                 .addressEntrega(addressEntrega)
+                .store(deliveryQuote.storeId() != null ? storeService.getReference(deliveryQuote.storeId()) : null)
                 .status(StatusPedidoEnum.PENDENTE)
                 .observations(request.getObservations())
                 .build();
@@ -127,18 +120,12 @@ public class OrderService {
                 throw new BusinessException("Produto '" + product.getName() + "' não está disponível");
             }
 
-            // Determinar preço (verifica se há promoção ativa)
-            BigDecimal unitPrice = product.getFinalPrice(); // Já considera promoções
+            // Determinar preço (melhor promoção vigente vem pré-calculada da agenda)
+            PromotionSchedule.PriceQuote quote = promotionSchedule.quote(product);
+            BigDecimal unitPrice = quote.finalPrice();
             BigDecimal originalPrice = product.getPrice();
-            boolean hadPromotion = product.isOnPromotion();
-            String promotionName = null;
-
-            if (hadPromotion) {
-                Promotion promotion = product.getBestCurrentPromotion();
-                if (promotion != null) {
-                    promotionName = promotion.getTitle();
-                }
-            }
+            boolean hadPromotion = quote.isOnPromotion();
+            String promotionName = hadPromotion ? quote.promotion().getTitle() : null;
 
             // Criar ProductOrder
             ProductOrder productOrder = ProductOrder.builder()
@@ -158,9 +145,7 @@ public class OrderService {
             order.getProductOrders().add(productOrder);
         }
 
-        // Calcular taxa de entrega baseada na distância
-        BigDecimal deliveryFee = calculateDeliveryFee(distance);
-        order.setDeliveryFee(deliveryFee);
+        order.setDeliveryFee(deliveryQuote.fee());
 
         // Aplicar desconto se fornecido
         if (request.getDiscount() != null && request.getDiscount().compareTo(BigDecimal.ZERO) > 0) {
@@ -169,25 +154,15 @@ public class OrderService {
 
         // calculateTotal() será chamado automaticamente no @PrePersist
         order = orderRepository.save(order);
+        customerStatsService.registerOrder(order);
 
-        // Retornar resposta
-        return orderMapper.toResponse(order);
-    }
-
-    /**
-     * Calcula taxa de entrega baseada na distância
-     * Fórmula: BASE_FEE + (distância * FEE_PER_KM)
-     */
-    private BigDecimal calculateDeliveryFee(double distanceKm) {
-        if (distanceKm <= 0) {
-            return BASE_DELIVERY_FEE;
+        try (LogContext.Scope ignored = LogContext.order(order.getId())) {
+            log.info("Pedido {} criado: {} itens, total {}",
+                    order.getCodigoPedido(), order.getProductOrders().size(), order.getTotal());
         }
 
-        BigDecimal distanceFee = DELIVERY_FEE_PER_KM.multiply(BigDecimal.valueOf(distanceKm));
-        BigDecimal totalFee = BASE_DELIVERY_FEE.add(distanceFee);
-
-        // Arredondar para 2 casas decimais
-        return totalFee.setScale(2, RoundingMode.HALF_UP);
+        // Retornar resposta
+        return orderMapper.toResponse(order);
     }
 
     /**
@@ -203,22 +178,28 @@ public class OrderService {
     @Transactional(readOnly = true)
     public Page<OrderResponseDTO> getUserOrders(Pageable pageable) {
         Usuario usuario = usuarioService.getCurrentUsuario();
-        Page<Order> orders = orderRepository.findByUsuarioOrderByCreatedAtDesc(usuario, pageable);
-        return orders.map(orderMapper::toResponse);
+        return loadPage(orderRepository.findPageIdsByUsuario(usuario, pageable));
     }
 
     /**
      * Lista pedidos do usuário autenticado de forma simplificada (sem items)
+     * Usa projeção: uma única query, sem carregar itens nem endereços
      */
     @Transactional(readOnly = true)
     public List<OrderResponseDTO> getUserOrdersSimple() {
         Usuario usuario = usuarioService.getCurrentUsuario();
-        List<Order> orders = orderRepository.findByUsuarioOrderByCreatedAtDesc(usuario);
-        return orders.stream()
+        return orderRepository.findSummaryByUsuario(usuario).stream()
                 .map(orderMapper::toSimpleResponse)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    public Page<OrderResponseDTO> getUserOrdersSimple(Pageable pageable) {
+        Usuario usuario = usuarioService.getCurrentUsuario();
+        return orderRepository.findSummaryByUsuario(usuario, pageable)
+                .map(orderMapper::toSimpleResponse);
+    }
+
     /**
      * Busca pedido por ID (completo com items)
      */
@@ -272,8 +253,7 @@ public class OrderService {
 
     @Transactional(readOnly = true)
     public Page<OrderResponseDTO> getOrdersByStatus(StatusPedidoEnum status, Pageable pageable) {
-        Page<Order> orders = orderRepository.findByStatus(status, pageable);
-        return orders.map(orderMapper::toResponse);
+        return loadPage(orderRepository.findPageIdsByStatus(status, pageable));
     }
 
     /**
@@ -281,8 +261,22 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public Page<OrderResponseDTO> getAllOrders(Pageable pageable) {
-        Page<Order> page = orderRepository.findAll(pageable);
-        return page.map(orderMapper::toResponse);
+        return loadPage(orderRepository.findPageIds(pageable));
+    }
+
+    /**
+     * Segunda fase da paginação: carrega os pedidos da página com itens e endereço
+     * em uma única query, preservando a ordem dos ids.
+     */
+    private Page<OrderResponseDTO> loadPage(Page<Long> ids) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+
+        Map<Long, Order> byId = orderRepository.findAllWithItemsByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        return ids.map(id -> orderMapper.toResponse(byId.get(id)));
     }
 
     /**
@@ -300,8 +294,10 @@ public class OrderService {
     @Transactional
     public OrderResponseDTO updateOrder(Long id, OrderUpdateDTO dto) {
         Order order = findById(id);
+        StatusPedidoEnum oldStatus = order.getStatus();
 
         // Atualizar status se informado
+        String motivo = null;
         if (dto.getStatus() != null) {
             validateStatusTransition(order, dto.getStatus());
             switch (dto.getStatus()) {
@@ -309,7 +305,10 @@ public class OrderService {
                 case PREPARANDO -> order.iniciarPreparo();
                 case DESPACHADO -> order.despachar();
                 case ENTREGUE -> order.entregar();
-                case CANCELADO -> order.cancelar(dto.getMotivo() != null ? dto.getMotivo() : "Cancelado via API");
+                case CANCELADO -> {
+                    motivo = dto.getMotivo() != null ? dto.getMotivo() : "Cancelado via API";
+                    order.cancelar(motivo);
+                }
                 default -> throw new BusinessException("Transição de status não suportada via endpoint genérico");
             }
         }
@@ -331,15 +330,22 @@ public class OrderService {
         }
 
         order = orderRepository.save(order);
+
+        // Mesmo evento das transições dedicadas: estatísticas do cliente, painel e notificações
+        if (dto.getStatus() != null && dto.getStatus() != oldStatus) {
+            publishStatusChangedEvent(order, oldStatus, dto.getStatus(), motivo);
+        }
         return orderMapper.toResponse(order);
     }
 
     /**
-     * Soft delete (marca deletedAt via JPA @SQLDelete ou via serviço se for necessário)
+     * Soft delete (marca deletedAt via JPA @SQLDelete ou via serviço se for necessário).
+     * O pedido sai das estatísticas do cliente na mesma transação.
      */
     @Transactional
     public void softDelete(Long id) {
         Order order = findById(id);
+        customerStatsService.registerRemoval(order);
         // usar repository.delete para acionar @SQLDelete
         orderRepository.delete(order);
     }
@@ -471,28 +477,30 @@ public class OrderService {
      */
     @Transactional
     public OrderResponseDTO cancelarPedidoUsuario(Long id, String motivo) {
-        Usuario usuario = usuarioService.getCurrentUsuario();
-        Order order = findById(id);
+        try (LogContext.Scope ignored = LogContext.order(id)) {
+            Usuario usuario = usuarioService.getCurrentUsuario();
+            Order order = findById(id);
 
-        // Verificar se pedido pertence ao usuário
-        if (!order.getUsuario().getId().equals(usuario.getId())) {
-            throw new BusinessException("Pedido não pertence ao usuário");
-        }
+            // Verificar se pedido pertence ao usuário
+            if (!order.getUsuario().getId().equals(usuario.getId())) {
+                throw new BusinessException("Pedido não pertence ao usuário");
+            }
 
-        // Cliente só pode cancelar pedidos PENDENTE ou CONFIRMADO
-        if (!order.isPendente() && !order.isConfirmado()) {
-            throw new BusinessException("Não é possível cancelar pedido neste status: " + order.getStatus());
-        }
+            // Cliente só pode cancelar pedidos PENDENTE ou CONFIRMADO
+            if (!order.isPendente() && !order.isConfirmado()) {
+                throw new BusinessException("Não é possível cancelar pedido neste status: " + order.getStatus());
+            }
 
-        StatusPedidoEnum oldStatus = order.getStatus();
-        order.cancelar(motivo);
-        order = orderRepository.save(order);
+            StatusPedidoEnum oldStatus = order.getStatus();
+            order.cancelar(motivo);
+            order = orderRepository.save(order);
         
-        // Publica evento após commit (com motivo do cancelamento)
-        publishStatusChangedEvent(order, oldStatus, StatusPedidoEnum.CANCELADO, motivo);
-        log.info("Pedido {} cancelado pelo usuário. Motivo: {}", order.getCodigoPedido(), motivo);
+            // Publica evento após commit (com motivo do cancelamento)
+            publishStatusChangedEvent(order, oldStatus, StatusPedidoEnum.CANCELADO, motivo);
+            log.info("Pedido {} cancelado pelo usuário. Motivo: {}", order.getCodigoPedido(), motivo);
         
-        return orderMapper.toResponse(order);
+            return orderMapper.toResponse(order);
+        }
     }
 
     /**
@@ -510,34 +518,27 @@ public class OrderService {
     // ========== ESTATÍSTICAS ==========
 
     /**
-     * Conta total de pedidos do usuário
+     * Conta total de pedidos do usuário (lido das estatísticas acumuladas)
      */
     @Transactional(readOnly = true)
     public long countUserOrders() {
-        Usuario usuario = usuarioService.getCurrentUsuario();
-        return orderRepository.countByUsuario(usuario);
+        return customerStatsService.getCurrentUserStats().getTotalOrders();
     }
 
     /**
-     * Conta pedidos do usuário por status
+     * Conta pedidos do usuário por status (lido das estatísticas acumuladas)
      */
     @Transactional(readOnly = true)
     public long countUserOrdersByStatus(StatusPedidoEnum status) {
-        Usuario usuario = usuarioService.getCurrentUsuario();
-        return orderRepository.countByUsuarioAndStatus(usuario, status);
+        return customerStatsService.getCurrentUserStats().getOrdersByStatus().getOrDefault(status, 0L);
     }
 
     /**
-     * Calcula valor total gasto pelo usuário
+     * Calcula valor total gasto pelo usuário (lido das estatísticas acumuladas)
      */
     @Transactional(readOnly = true)
     public BigDecimal calculateUserTotalSpent() {
-        Usuario usuario = usuarioService.getCurrentUsuario();
-        List<Order> orders = orderRepository.findByUsuarioAndStatus(usuario, StatusPedidoEnum.ENTREGUE);
-
-        return orders.stream()
-                .map(Order::getTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return customerStatsService.getCurrentUserStats().getTotalSpent();
     }
 
     /**
@@ -573,14 +574,16 @@ public class OrderService {
             throw new BusinessException("Status inválido: " + statusStr);
         }
 
-        return switch (novoStatus) {
-            case CONFIRMADO -> confirmarPedido(id);
-            case PREPARANDO -> iniciarPreparo(id);
-            case DESPACHADO -> despacharPedido(id);
-            case ENTREGUE -> entregarPedido(id);
-            case CANCELADO -> cancelarPedido(id, "Cancelado via API");
-            default -> throw new BusinessException("Transição de status não suportada: " + novoStatus);
-        };
+        try (LogContext.Scope ignored = LogContext.order(id)) {
+            return switch (novoStatus) {
+                case CONFIRMADO -> confirmarPedido(id);
+                case PREPARANDO -> iniciarPreparo(id);
+                case DESPACHADO -> despacharPedido(id);
+                case ENTREGUE -> entregarPedido(id);
+                case CANCELADO -> cancelarPedido(id, "Cancelado via API");
+                default -> throw new BusinessException("Transição de status não suportada: " + novoStatus);
+            };
+        }
     }
 
     // ========== EVENTOS ==========
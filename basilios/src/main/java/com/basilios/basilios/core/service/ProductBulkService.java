@@ -0,0 +1,302 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.app.dto.product.BulkOperationResultDTO;
+import com.basilios.basilios.app.dto.product.BulkPriceUpdateDTO;
+import com.basilios.basilios.app.dto.product.BulkStatusUpdateDTO;
+import com.basilios.basilios.app.dto.product.ProductRequestDTO;
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.ProductSubcategory;
+import com.basilios.basilios.core.exception.BusinessException;
+import com.basilios.basilios.core.model.Product;
+import com.basilios.basilios.core.model.events.ProductChangedEvent;
+import com.basilios.basilios.infra.repository.ProductBatchRepository;
+import com.basilios.basilios.infra.repository.ProductRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Administração do cardápio em lote: reajuste de preço, pausa/ativação e importação CSV.
+ *
+ * Cada operação roda numa transação com poucos statements (seleção dos ids + UPDATE/INSERT
+ * em lote), sem carregar entidades nem montar DTOs por produto, e incrementa a versão do
+ * catálogo uma única vez.
+ */
+@Service
+@Slf4j
+@Transactional
+@RequiredArgsConstructor
+public class ProductBulkService {
+
+    static final BigDecimal MIN_PRICE = new BigDecimal("0.01");
+    static final int MAX_REPORTED_ERRORS = 50;
+
+    // Colunas aceitas no CSV (cabeçalho obrigatório, ordem livre)
+    static final String COL_NAME = "name";
+    static final String COL_DESCRIPTION = "description";
+    static final String COL_CATEGORY = "category";
+    static final String COL_SUBCATEGORY = "subcategory";
+    static final String COL_PRICE = "price";
+    static final String COL_TAGS = "tags";
+    static final String COL_IMAGE_URL = "imageUrl";
+
+    private final ProductRepository productRepository;
+    private final ProductBatchRepository productBatchRepository;
+    private final CatalogVersion catalogVersion;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Reajusta o preço dos produtos do filtro por percentual ou valor absoluto.
+     * Produtos cujo preço ficaria abaixo de R$ 0,01 não são alterados.
+     */
+    public BulkOperationResultDTO updatePrices(BulkPriceUpdateDTO dto) {
+        if ((dto.getPercentage() == null) == (dto.getAmount() == null)) {
+            throw new BusinessException("Informe o percentual ou o valor do reajuste (apenas um)");
+        }
+
+        List<Long> ids = findIds(dto.getCategory(), dto.getSubcategory(), dto.getTag());
+        if (ids.isEmpty()) {
+            return BulkOperationResultDTO.builder().build();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int updated = dto.getPercentage() != null
+                ? productRepository.scalePrices(ids, BigDecimal.ONE.add(dto.getPercentage().movePointLeft(2)), MIN_PRICE, now)
+                : productRepository.shiftPrices(ids, dto.getAmount(), MIN_PRICE, now);
+
+        return finish("Reajuste de preço", ids, ids.size(), updated, 0, new ArrayList<>());
+    }
+
+    /**
+     * Pausa ou ativa os produtos do filtro
+     */
+    public BulkOperationResultDTO updateStatus(BulkStatusUpdateDTO dto) {
+        List<Long> ids = findIds(dto.getCategory(), dto.getSubcategory(), dto.getTag());
+        if (ids.isEmpty()) {
+            return BulkOperationResultDTO.builder().build();
+        }
+
+        int updated = productRepository.updatePaused(ids, dto.getIsPaused(), LocalDateTime.now());
+        return finish(dto.getIsPaused() ? "Pausa" : "Ativação", ids, ids.size(), updated, 0, new ArrayList<>());
+    }
+
+    /**
+     * Importa produtos de um CSV com cabeçalho (name, description, category, price obrigatórios;
+     * subcategory, tags separadas por "|" e imageUrl opcionais).
+     * Linhas inválidas ou com nome já existente são ignoradas e listadas nos erros.
+     */
+    public BulkOperationResultDTO importCsv(Reader csv) throws IOException {
+        List<List<String>> rows = parseCsv(csv);
+        if (rows.isEmpty()) {
+            throw new BusinessException("Arquivo CSV vazio");
+        }
+
+        Map<String, Integer> header = new HashMap<>();
+        List<String> headerRow = rows.get(0);
+        for (int i = 0; i < headerRow.size(); i++) {
+            header.put(headerRow.get(i).trim(), i);
+        }
+        for (String required : List.of(COL_NAME, COL_DESCRIPTION, COL_CATEGORY, COL_PRICE)) {
+            if (!header.containsKey(required)) {
+                throw new BusinessException("Coluna obrigatória ausente no CSV: " + required);
+            }
+        }
+
+        List<String> errors = new ArrayList<>();
+        Map<String, Integer> lineByName = new LinkedHashMap<>();
+        List<Product> candidates = new ArrayList<>();
+
+        for (int r = 1; r < rows.size(); r++) {
+            int line = r + 1;
+            try {
+                Product product = toProduct(rows.get(r), header);
+                String key = product.getName().toLowerCase(Locale.ROOT);
+                Integer previous = lineByName.putIfAbsent(key, line);
+                if (previous != null) {
+                    throw new BusinessException("nome repetido (linha " + previous + ")");
+                }
+                candidates.add(product);
+            } catch (RuntimeException e) {
+                errors.add("Linha " + line + ": " + e.getMessage());
+            }
+        }
+
+        // Nomes que já existem no cardápio: uma consulta para o arquivo inteiro
+        Set<String> existing = lineByName.isEmpty()
+                ? Set.of()
+                : new HashSet<>(productRepository.findExistingNamesIgnoreCase(lineByName.keySet()));
+        List<Product> toInsert = new ArrayList<>();
+        for (Product product : candidates) {
+            String key = product.getName().toLowerCase(Locale.ROOT);
+            if (existing.contains(key)) {
+                errors.add("Linha " + lineByName.get(key) + ": produto já existe: " + product.getName());
+            } else {
+                toInsert.add(product);
+            }
+        }
+
+        int created = productBatchRepository.insertAll(toInsert);
+        return finish("Importação CSV", toInsert.stream().map(Product::getId).toList(), rows.size() - 1, 0, created, errors);
+    }
+
+    // ========== INTERNOS ==========
+
+    private List<Long> findIds(ProductCategory category, ProductSubcategory subcategory, String tag) {
+        String normalizedTag = tag != null && !tag.isBlank() ? tag.trim().toUpperCase(Locale.ROOT) : null;
+        if (category == null && subcategory == null && normalizedTag == null) {
+            throw new BusinessException("Informe ao menos um filtro: categoria, subcategoria ou tag");
+        }
+        if (category != null && subcategory != null && subcategory.getCategory() != category) {
+            throw new BusinessException("Subcategoria não pertence à categoria informada");
+        }
+        return productRepository.findIdsForBulk(category, subcategory, normalizedTag);
+    }
+
+    private BulkOperationResultDTO finish(String operation, List<Long> productIds, int matched, int updated, int created,
+                                          List<String> errors) {
+        if (updated > 0 || created > 0) {
+            catalogVersion.bump();
+            eventPublisher.publishEvent(new ProductChangedEvent(productIds));
+        }
+        log.info("{} em lote: {} encontrados, {} alterados, {} criados, {} erros",
+                operation, matched, updated, created, errors.size());
+
+        return BulkOperationResultDTO.builder()
+                .matched(matched)
+                .updated(updated)
+                .created(created)
+                .skipped(matched - updated - created)
+                .errors(errors.size() > MAX_REPORTED_ERRORS ? new ArrayList<>(errors.subList(0, MAX_REPORTED_ERRORS)) : errors)
+                .build();
+    }
+
+    /**
+     * Converte a linha e valida com as mesmas regras do cadastro individual
+     */
+    private Product toProduct(List<String> row, Map<String, Integer> header) {
+        String categoryValue = column(row, header, COL_CATEGORY);
+        String subcategoryValue = column(row, header, COL_SUBCATEGORY);
+        String priceValue = column(row, header, COL_PRICE);
+        String tagsValue = column(row, header, COL_TAGS);
+
+        ProductRequestDTO dto = ProductRequestDTO.builder()
+                .name(column(row, header, COL_NAME))
+                .description(column(row, header, COL_DESCRIPTION))
+                .imageUrl(column(row, header, COL_IMAGE_URL))
+                .category(categoryValue != null ? ProductCategory.fromJson(categoryValue) : null)
+                .subcategory(subcategoryValue != null ? ProductSubcategory.fromString(subcategoryValue) : null)
+                .price(parsePrice(priceValue))
+                .tags(tagsValue != null
+                        ? Arrays.stream(tagsValue.split("\\|")).map(String::trim).filter(t -> !t.isEmpty()).distinct().toList()
+                        : List.of())
+                .build();
+
+        Set<ConstraintViolation<ProductRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new BusinessException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .reduce((a, b) -> a + "; " + b)
+                    .orElse("inválida"));
+        }
+        if (dto.getSubcategory() != null && dto.getSubcategory().getCategory() != dto.getCategory()) {
+            throw new BusinessException("Subcategoria não pertence à categoria informada");
+        }
+
+        return Product.builder()
+                .name(dto.getName().trim())
+                .description(dto.getDescription())
+                .imageUrl(dto.getImageUrl())
+                .category(dto.getCategory())
+                .subcategory(dto.getSubcategory())
+                .tags(new ArrayList<>(dto.getTags()))
+                .price(dto.getPrice())
+                .isPaused(false)
+                .build();
+    }
+
+    private static BigDecimal parsePrice(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Preço inválido: " + value);
+        }
+    }
+
+    private static String column(List<String> row, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= row.size()) {
+            return null;
+        }
+        String value = row.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * CSV separado por vírgula, com campos entre aspas (aspas duplicadas = aspas literais)
+     * e quebras de linha dentro de aspas. Linhas em branco são ignoradas.
+     */
+    static List<List<String>> parseCsv(Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader b ? b : new BufferedReader(source);
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean rowHasContent = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+                rowHasContent = true;
+            } else if (ch == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+                rowHasContent = true;
+            } else if (ch == '\n' || ch == '\r') {
+                if (rowHasContent || field.length() > 0) {
+                    row.add(field.toString());
+                    rows.add(row);
+                }
+                row = new ArrayList<>();
+                field.setLength(0);
+                rowHasContent = false;
+            } else if (ch != '\uFEFF' || rowHasContent || field.length() > 0 || !rows.isEmpty()) {
+                field.append(ch);
+            }
+        }
+        if (rowHasContent || field.length() > 0) {
+            row.add(field.toString());
+            rows.add(row);
+        }
+        return rows;
+    }
+}
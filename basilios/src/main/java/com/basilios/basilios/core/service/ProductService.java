@@ -6,8 +6,15 @@ import com.basilios.basilios.app.dto.product.IngredientResponseDTO;
 import com.basilios.basilios.core.exception.*;
 import com.basilios.basilios.core.model.*;
 import com.basilios.basilios.infra.repository.*;
+import com.basilios.basilios.infra.repository.projection.PriceBandCountsView;
+import com.basilios.basilios.infra.repository.projection.ProductDependenciesView;
+import com.basilios.basilios.infra.repository.projection.ProductSalesView;
 import lombok.RequiredArgsConstructor;
+import com.basilios.basilios.core.model.events.ProductChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +35,10 @@ public class ProductService {
     private final ProductOrderRepository productOrderRepository;
     private final ProductComboRepository productComboRepository;
     private final PromotionRepository promotionRepository;
+    private final PromotionSchedule promotionSchedule;
+    private final CatalogVersion catalogVersion;
+    private final IngredientDictionary ingredientDictionary;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ========== CRUD BÁSICO ==========
 
@@ -64,10 +75,11 @@ public class ProductService {
                 .build();
 
         product = productRepository.save(product);
+        productChanged(product.getId());
 
         // Adicionar ingredientes se fornecidos
         if (dto.getIngredientes() != null && !dto.getIngredientes().isEmpty()) {
-            addIngredientsToProduct(product, dto.getIngredientes());
+            syncIngredients(product, dto.getIngredientes());
         }
 
         return convertToResponseDTO(product);
@@ -82,9 +94,7 @@ public class ProductService {
                 ? productRepository.findByIsPausedFalse()
                 : productRepository.findAll();
 
-        return products.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(products);
     }
 
     @Transactional(readOnly = true)
@@ -93,7 +103,7 @@ public class ProductService {
                 ? productRepository.findByIsPausedFalse(pageable)
                 : productRepository.findAll(pageable);
 
-        return products.map(this::convertToResponseDTO);
+        return new PageImpl<>(convertToResponseDTOs(products.getContent()), pageable, products.getTotalElements());
     }
 
     /**
@@ -109,6 +119,7 @@ public class ProductService {
      * Atualiza produto
      */
     public ProductResponseDTO updateProduct(Long id, ProductRequestDTO dto) {
+        productChanged(id);
         Product product = findProductOrThrow(id);
 
         // Validar nome duplicado (se mudou)
@@ -136,12 +147,9 @@ public class ProductService {
         product.setTags(dto.getTags() != null ? dto.getTags() : new ArrayList<>());
         product.setPrice(dto.getPrice());
 
-        // Atualizar ingredientes
+        // Atualizar ingredientes (só insere/remove o que mudou)
         if (dto.getIngredientes() != null) {
-            removeAllIngredientsFromProduct(product);
-            if (!dto.getIngredientes().isEmpty()) {
-                addIngredientsToProduct(product, dto.getIngredientes());
-            }
+            syncIngredients(product, dto.getIngredientes());
         }
 
         product = productRepository.save(product);
@@ -152,6 +160,7 @@ public class ProductService {
      * Deleta produto com validações
      */
     public void deleteProduct(Long id) {
+        productChanged(id);
         Product product = findProductOrThrow(id);
 
         // Verificar se está em pedidos
@@ -177,6 +186,7 @@ public class ProductService {
      * Pausa produto (desativa do menu)
      */
     public ProductResponseDTO pauseProduct(Long id) {
+        productChanged(id);
         Product product = findProductOrThrow(id);
 
         if (product.getIsPaused()) {
@@ -192,6 +202,7 @@ public class ProductService {
      * Ativa produto (volta ao menu)
      */
     public ProductResponseDTO activateProduct(Long id) {
+        productChanged(id);
         Product product = findProductOrThrow(id);
 
         if (!product.getIsPaused()) {
@@ -207,6 +218,7 @@ public class ProductService {
      * Atualiza preço do produto
      */
     public ProductResponseDTO updatePrice(Long id, BigDecimal newPrice) {
+        productChanged(id);
         if (newPrice == null || newPrice.compareTo(BigDecimal.ZERO) <= 0) {
             throw new InvalidPriceException(newPrice);
         }
@@ -221,6 +233,7 @@ public class ProductService {
      * Atualiza status do produto
      */
     public ProductResponseDTO updateStatus(Long id, Boolean isPaused) {
+        productChanged(id);
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Produto não encontrado"));
         product.setIsPaused(isPaused);
@@ -234,6 +247,7 @@ public class ProductService {
      * Adiciona ingrediente ao produto
      */
     public ProductResponseDTO addIngredient(Long productId, String name, Integer qty, String unit) {
+        productChanged(productId);
         Product product = findProductOrThrow(productId);
 
         if (name == null || name.trim().isEmpty()) {
@@ -241,12 +255,7 @@ public class ProductService {
         }
 
         // Buscar ou criar ingrediente
-        Ingredient ingredient = ingredientRepository.findByNameIgnoreCase(name.trim())
-                .orElseGet(() -> {
-                    Ingredient newIng = new Ingredient();
-                    newIng.setName(name.trim());
-                    return ingredientRepository.save(newIng);
-                });
+        Ingredient ingredient = ingredientRepository.getReferenceById(ingredientDictionary.resolve(name));
 
         // Verificar se já existe
         if (ingredientProductRepository.existsByProductAndIngredient(product, ingredient)) {
@@ -268,6 +277,7 @@ public class ProductService {
      * Remove ingrediente do produto
      */
     public ProductResponseDTO removeIngredient(Long productId, Long ingredientId) {
+        productChanged(productId);
         Product product = findProductOrThrow(productId);
 
         Ingredient ingredient = ingredientRepository.findById(ingredientId)
@@ -351,15 +361,14 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getSalesStatistics(Long productId) {
-        Product product = findProductOrThrow(productId);
-        long totalSold = productOrderRepository.countByProductId(productId);
-        BigDecimal revenue = productOrderRepository.calculateProductRevenue(productId);
+        ProductSalesView sales = productRepository.findSalesById(productId)
+                .orElseThrow(() -> new ProductNotFoundException(productId));
 
         return Map.of(
                 "productId", productId,
-                "productName", product.getName(),
-                "totalSold", totalSold,
-                "revenue", revenue != null ? revenue : BigDecimal.ZERO
+                "productName", sales.getProductName(),
+                "totalSold", sales.getTotalSold(),
+                "revenue", sales.getRevenue() != null ? sales.getRevenue() : BigDecimal.ZERO
         );
     }
 
@@ -368,16 +377,15 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getBestSellers(int limit) {
-        return productOrderRepository.findBestSellingProducts().stream()
-                .limit(limit)
-                .map(row -> {
-                    Product p = (Product) row[0];
-                    return Map.of(
-                            "id", (Object) p.getId(),
-                            "name", p.getName(),
-                            "totalSold", row[1]
-                    );
-                })
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        return productOrderRepository.findBestSellers(PageRequest.of(0, limit)).stream()
+                .map(row -> Map.of(
+                        "id", (Object) row.getId(),
+                        "name", row.getName(),
+                        "totalSold", row.getTotal()
+                ))
                 .collect(Collectors.toList());
     }
 
@@ -386,9 +394,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<ProductResponseDTO> getNeverSoldProducts() {
-        return productOrderRepository.findNeverSoldProducts().stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(productOrderRepository.findNeverSoldProducts());
     }
 
     /**
@@ -396,21 +402,13 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getLowUsageProducts(int minSales) {
-        return productRepository.findAll().stream()
-                .map(p -> {
-                    long sales = productOrderRepository.countByProductId(p.getId());
-                    return new AbstractMap.SimpleEntry<>(p, sales);
-                })
-                .filter(entry -> entry.getValue() < minSales)
-                .map(entry -> {
-                    Product p = entry.getKey();
-                    return Map.of(
-                            "id", (Object) p.getId(),
-                            "name", p.getName(),
-                            "price", p.getPrice(),
-                            "sales", entry.getValue()
-                    );
-                })
+        return productRepository.findLowUsage(minSales).stream()
+                .map(row -> Map.of(
+                        "id", (Object) row.getId(),
+                        "name", row.getName(),
+                        "price", row.getPrice(),
+                        "sales", row.getSales()
+                ))
                 .collect(Collectors.toList());
     }
 
@@ -421,14 +419,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<ProductResponseDTO> getProductsOnPromotion() {
-        LocalDate today = LocalDate.now();
-        List<Promotion> currentPromos = promotionRepository.findCurrentPromotions(today);
-
-        return currentPromos.stream()
-                .flatMap(promo -> promo.getProducts().stream())
-                .distinct()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(promotionRepository.findProductsOnCurrentPromotions(LocalDate.now()));
     }
 
     /**
@@ -473,15 +464,14 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getMostUsedInCombos(int limit) {
-        return productComboRepository.findMostUsedProductsInCombos().stream()
-                .limit(limit)
-                .map(row -> {
-                    Product p = (Product) row[0];
-                    return Map.of(
-                            "name", (Object) p.getName(),
-                            "usageCount", row[1]
-                    );
-                })
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        return productComboRepository.findMostUsedInCombos(PageRequest.of(0, limit)).stream()
+                .map(row -> Map.of(
+                        "name", (Object) row.getName(),
+                        "usageCount", row.getTotal()
+                ))
                 .collect(Collectors.toList());
     }
 
@@ -500,9 +490,7 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<ProductResponseDTO> getByCategory(String category, boolean activeOnly) {
-        return productRepository.findByPriceCategory(category.toUpperCase(), activeOnly).stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(productRepository.findByPriceCategory(category.toUpperCase(), activeOnly));
     }
 
     /**
@@ -510,14 +498,12 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Map<String, Long> getCategoryStatistics() {
-        long economic = productRepository.findByPriceCategory("ECONOMIC", false).size();
-        long medium = productRepository.findByPriceCategory("MEDIUM", false).size();
-        long premium = productRepository.findByPriceCategory("PREMIUM", false).size();
+        PriceBandCountsView counts = productRepository.countByPriceBand();
 
         return Map.of(
-                "ECONOMIC", (long) economic,
-                "MEDIUM", (long) medium,
-                "PREMIUM", (long) premium
+                "ECONOMIC", counts.getEconomic(),
+                "MEDIUM", counts.getMedium(),
+                "PREMIUM", counts.getPremium()
         );
     }
 
@@ -528,9 +514,9 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<ProductResponseDTO> getProductsWithoutIngredients() {
-        return productRepository.findAll().stream()
-                .filter(p -> ingredientProductRepository.findByProduct(p).isEmpty())
-                .map(this::convertToResponseDTO)
+        // Sem ingredientes por definição: converte sem consultar vínculos
+        return productRepository.findWithoutIngredients().stream()
+                .map(p -> toResponseDTO(p, List.of()))
                 .collect(Collectors.toList());
     }
 
@@ -564,10 +550,10 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Map<String, Object> canDeleteProduct(Long id) {
-        findProductOrThrow(id);
+        ProductDependenciesView dependencies = findDependenciesOrThrow(id);
 
-        long orderCount = productOrderRepository.countByProductId(id);
-        long comboCount = productComboRepository.countByProductId(id);
+        long orderCount = dependencies.getOrderCount();
+        long comboCount = dependencies.getComboCount();
         boolean canDelete = orderCount == 0 && comboCount == 0;
 
         return Map.of(
@@ -585,12 +571,9 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getPauseImpact(Long id) {
-        findProductOrThrow(id);
-
-        // Você precisaria de uma query customizada no ProductOrderRepository
-        // Por enquanto, retornar informações básicas
-        long totalSold = productOrderRepository.countByProductId(id);
-        long comboUsage = productComboRepository.countByProductId(id);
+        ProductDependenciesView dependencies = findDependenciesOrThrow(id);
+        long totalSold = dependencies.getOrderCount();
+        long comboUsage = dependencies.getComboCount();
 
         return Map.of(
                 "productId", id,
@@ -602,6 +585,14 @@ public class ProductService {
 
     // ========== HELPERS PRIVADOS ==========
 
+    /**
+     * Marca o produto como alterado: versão do catálogo e índices em memória (após o commit)
+     */
+    private void productChanged(Long id) {
+        catalogVersion.bump();
+        eventPublisher.publishEvent(new ProductChangedEvent(List.of(id)));
+    }
+
     /**
      * Busca produto ou lança exceção
      */
@@ -610,46 +601,64 @@ public class ProductService {
                 .orElseThrow(() -> new ProductNotFoundException(id));
     }
 
+    private ProductDependenciesView findDependenciesOrThrow(Long id) {
+        return productRepository.findDependenciesById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
+    }
+
     /**
-     * Adiciona ingredientes à lista de um produto
+     * Deixa o produto exatamente com os ingredientes informados: resolve os nomes em lote
+     * (criando os que faltam) e insere/remove só os vínculos que mudaram; os mantidos
+     * preservam quantidade e unidade.
      */
-    private void addIngredientsToProduct(Product product, List<String> names) {
-        for (String name : names) {
-            if (name == null || name.trim().isEmpty()) continue;
+    private void syncIngredients(Product product, List<String> names) {
+        Set<Long> wanted = new LinkedHashSet<>(ingredientDictionary.resolve(names));
 
-            Ingredient ing = ingredientRepository.findByNameIgnoreCase(name.trim())
-                    .orElseGet(() -> {
-                        Ingredient newIng = new Ingredient();
-                        newIng.setName(name.trim());
-                        return ingredientRepository.save(newIng);
-                    });
-
-            if (!ingredientProductRepository.existsByProductAndIngredient(product, ing)) {
-                IngredientProduct ip = new IngredientProduct();
-                ip.setProduct(product);
-                ip.setIngredient(ing);
-                ip.setQuantity(1);
-                ip.setMeasurementUnit("unidade");
-                ingredientProductRepository.save(ip);
+        Iterator<IngredientProduct> it = product.getProductIngredients().iterator();
+        while (it.hasNext()) {
+            IngredientProduct ip = it.next();
+            Long ingredientId = ip.getIngredient() != null ? ip.getIngredient().getId() : null;
+            if (!wanted.remove(ingredientId)) {
+                it.remove(); // orphanRemoval apaga o vínculo
             }
         }
+
+        for (Long ingredientId : wanted) {
+            IngredientProduct ip = new IngredientProduct();
+            ip.setProduct(product);
+            ip.setIngredient(ingredientRepository.getReferenceById(ingredientId));
+            ip.setQuantity(1);
+            ip.setMeasurementUnit("unidade");
+            product.getProductIngredients().add(ip);
+        }
     }
 
     /**
-     * Remove todos os ingredientes de um produto
+     * Converte Product para ProductResponseDTO
      */
-    private void removeAllIngredientsFromProduct(Product product) {
-        List<IngredientProduct> ips = ingredientProductRepository.findByProduct(product);
-        ingredientProductRepository.deleteAll(ips);
+    private ProductResponseDTO convertToResponseDTO(Product product) {
+        return toResponseDTO(product, ingredientProductRepository.findByProduct(product));
     }
 
     /**
-     * Converte Product para ProductResponseDTO
+     * Converte uma lista de produtos buscando os ingredientes de todos numa única consulta
      */
-    private ProductResponseDTO convertToResponseDTO(Product product) {
-        // Buscar ingredientes
+    private List<ProductResponseDTO> convertToResponseDTOs(List<Product> products) {
+        if (products.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<IngredientProduct>> linksByProduct = ingredientProductRepository
+                .findWithIngredientByProductIdIn(products.stream().map(Product::getId).toList()).stream()
+                .collect(Collectors.groupingBy(ip -> ip.getProduct().getId()));
+
+        return products.stream()
+                .map(p -> toResponseDTO(p, linksByProduct.getOrDefault(p.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private ProductResponseDTO toResponseDTO(Product product, List<IngredientProduct> links) {
         List<ProductResponseDTO.IngredientResponse> ingredients =
-                ingredientProductRepository.findByProduct(product).stream()
+                links.stream()
                         .map(ip -> ProductResponseDTO.IngredientResponse.builder()
                                 .id(ip.getIngredient().getId())
                                 .name(ip.getIngredient().getName())
@@ -658,12 +667,12 @@ public class ProductService {
                                 .build())
                         .collect(Collectors.toList());
 
-        // Buscar melhor promoção vigente
-        Promotion promo = product.getBestCurrentPromotion();
+        // Melhor promoção vigente e preço final já pré-calculados na agenda de promoções
+        PromotionSchedule.PriceQuote quote = promotionSchedule.quote(product);
+        Promotion promo = quote.promotion();
         ProductResponseDTO.PromotionSummary promoSummary = null;
         if (promo != null) {
-            BigDecimal discounted = promo.calculateDiscountedPrice(product.getPrice());
-            BigDecimal savings = product.getPrice().subtract(discounted);
+            BigDecimal savings = product.getPrice().subtract(quote.finalPrice());
             promoSummary = ProductResponseDTO.PromotionSummary.builder()
                     .id(promo.getId())
                     .title(promo.getTitle())
@@ -690,8 +699,8 @@ public class ProductService {
                         : null)
                 .ingredients(ingredients)
                 .price(product.getPrice())
-                .finalPrice(product.getFinalPrice())
-                .isOnPromotion(product.isOnPromotion())
+                .finalPrice(quote.finalPrice())
+                .isOnPromotion(quote.isOnPromotion())
                 .currentPromotion(promoSummary)
                 .isPaused(product.getIsPaused())
                 .createdAt(product.getCreatedAt())
@@ -0,0 +1,325 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.model.Product;
+import com.basilios.basilios.core.model.Promotion;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Índice em memória das promoções por produto.
+ *
+ * Mantém, para cada produto, a melhor promoção vigente e o preço final já calculados,
+ * de modo que a precificação no caminho da requisição seja uma leitura de mapa, sem
+ * datas nem varredura de promoções. O estado vira exatamente na virada do dia em que
+ * alguma promoção começa ou termina, e é atualizado incrementalmente pelo PromotionService
+ * (após o commit) e recarregado periodicamente do banco, para pegar alterações feitas
+ * por outras instâncias.
+ */
+@Component
+@Slf4j
+public class PromotionSchedule {
+
+    /**
+     * Resultado da precificação de um produto
+     */
+    public record PriceQuote(BigDecimal basePrice, BigDecimal finalPrice, Promotion promotion) {
+        public boolean isOnPromotion() {
+            return promotion != null;
+        }
+    }
+
+    /**
+     * Cópia destacada da promoção (sem produtos) + janela de vigência
+     */
+    private record Window(Promotion pricing, LocalDate startDate, LocalDate endDate, Set<Long> productIds) {
+        boolean isCurrentOn(LocalDate day) {
+            return !day.isBefore(startDate) && !day.isAfter(endDate);
+        }
+    }
+
+    /**
+     * Promoções vigentes do produto e a cotação pré-calculada para o preço conhecido
+     */
+    private record Entry(List<Promotion> active, PriceQuote quote) {
+    }
+
+    private final CatalogVersion catalogVersion;
+    private final Clock clock;
+    private final ScheduledExecutorService flipper;
+
+    // Mutado apenas sob o lock da instância
+    private final Map<Long, Window> windows = new HashMap<>();
+    private final Map<Long, Set<Long>> promotionsByProduct = new HashMap<>();
+    private final Map<Long, BigDecimal> productPrices = new HashMap<>();
+    private ScheduledFuture<?> nextFlip;
+    private int fingerprint;
+
+    // Snapshot imutável lido sem lock no caminho da requisição
+    private volatile Map<Long, Entry> entries = Map.of();
+    private volatile LocalDate day;
+
+    @Autowired
+    public PromotionSchedule(CatalogVersion catalogVersion) {
+        this(catalogVersion, Clock.systemDefaultZone());
+    }
+
+    PromotionSchedule(CatalogVersion catalogVersion, Clock clock) {
+        this.catalogVersion = catalogVersion;
+        this.clock = clock;
+        this.flipper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "promotion-schedule");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ========== LEITURA ==========
+
+    /**
+     * Cotação do produto: O(1) quando o preço é o mesmo usado no pré-cálculo
+     */
+    public PriceQuote quote(Product product) {
+        return quote(product.getId(), product.getPrice());
+    }
+
+    public PriceQuote quote(Long productId, BigDecimal price) {
+        Entry entry = productId != null ? entries.get(productId) : null;
+        if (entry == null) {
+            return new PriceQuote(price, price, null);
+        }
+        if (price != null && entry.quote().basePrice() != null
+                && price.compareTo(entry.quote().basePrice()) == 0) {
+            return entry.quote();
+        }
+        // Preço do produto mudou desde o pré-cálculo: reavalia só as promoções vigentes dele
+        return bestQuote(entry.active(), price);
+    }
+
+    // ========== ATUALIZAÇÃO ==========
+
+    /**
+     * Carga completa (startup e recarga periódica).
+     * Retorna se o conteúdo mudou em relação à carga anterior.
+     */
+    public synchronized boolean load(Collection<Promotion> promotions) {
+        windows.clear();
+        promotionsByProduct.clear();
+        productPrices.clear();
+        day = LocalDate.now(clock);
+
+        for (Promotion promotion : promotions) {
+            index(promotion);
+        }
+
+        // rebuild só recalcula os produtos informados: os que saíram da agenda também entram
+        Set<Long> affected = new HashSet<>(entries.keySet());
+        affected.addAll(promotionsByProduct.keySet());
+        rebuild(affected);
+        scheduleNextFlip();
+
+        int previous = fingerprint;
+        fingerprint = fingerprint();
+        if (fingerprint == previous) {
+            return false;
+        }
+        log.info("Agenda de promoções carregada: {} promoções, {} produtos", windows.size(), promotionsByProduct.size());
+        return true;
+    }
+
+    /**
+     * Inclui ou atualiza uma promoção, recalculando apenas os produtos afetados
+     */
+    public synchronized void upsert(Promotion promotion) {
+        if (day == null) {
+            day = LocalDate.now(clock);
+        }
+
+        Set<Long> affected = new HashSet<>(unindex(promotion.getId()));
+        affected.addAll(index(promotion));
+
+        rebuild(affected);
+        scheduleNextFlip();
+    }
+
+    /**
+     * Remove uma promoção do índice
+     */
+    public synchronized void remove(Long promotionId) {
+        Set<Long> affected = unindex(promotionId);
+        rebuild(affected);
+        scheduleNextFlip();
+    }
+
+    /**
+     * Virada de dia: descarta promoções expiradas e recalcula os produtos
+     */
+    synchronized void flip() {
+        LocalDate today = LocalDate.now(clock);
+        day = today;
+
+        Set<Long> affected = new HashSet<>();
+        for (Window window : new ArrayList<>(windows.values())) {
+            if (today.isAfter(window.endDate())) {
+                affected.addAll(unindex(window.pricing().getId()));
+            } else if (!today.isBefore(window.startDate())) {
+                affected.addAll(window.productIds());
+            }
+        }
+        affected.addAll(entries.keySet());
+
+        rebuild(affected);
+        scheduleNextFlip();
+        catalogVersion.bump();
+        log.debug("Agenda de promoções virou para {}: {} produtos recalculados", today, affected.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flipper.shutdownNow();
+    }
+
+    // ========== INTERNOS ==========
+
+    private Set<Long> index(Promotion promotion) {
+        if (!Boolean.TRUE.equals(promotion.getIsActive()) || promotion.getEndDate().isBefore(day)) {
+            return Set.of();
+        }
+
+        Set<Long> productIds = new HashSet<>();
+        for (Product product : promotion.getProducts()) {
+            productIds.add(product.getId());
+            productPrices.put(product.getId(), product.getPrice());
+            promotionsByProduct.computeIfAbsent(product.getId(), id -> new HashSet<>()).add(promotion.getId());
+        }
+
+        Promotion pricing = Promotion.builder()
+                .id(promotion.getId())
+                .title(promotion.getTitle())
+                .discountPercentage(promotion.getDiscountPercentage())
+                .discountAmount(promotion.getDiscountAmount())
+                .startDate(promotion.getStartDate())
+                .endDate(promotion.getEndDate())
+                .isActive(true)
+                .build();
+
+        windows.put(promotion.getId(), new Window(pricing, promotion.getStartDate(), promotion.getEndDate(), productIds));
+        return productIds;
+    }
+
+    /**
+     * Hash do que afeta preços: janelas, descontos, produtos e preços conhecidos
+     */
+    private int fingerprint() {
+        List<List<Object>> content = new ArrayList<>();
+        windows.values().stream()
+                .sorted(Comparator.comparing(window -> window.pricing().getId()))
+                .forEach(window -> content.add(Arrays.asList(window.pricing().getId(), window.pricing().getTitle(),
+                        window.pricing().getDiscountPercentage(), window.pricing().getDiscountAmount(),
+                        window.startDate(), window.endDate(), new TreeSet<>(window.productIds()))));
+        return Objects.hash(content, new TreeMap<>(productPrices));
+    }
+
+    private Set<Long> unindex(Long promotionId) {
+        Window removed = windows.remove(promotionId);
+        if (removed == null) {
+            return Set.of();
+        }
+
+        for (Long productId : removed.productIds()) {
+            Set<Long> promotionIds = promotionsByProduct.get(productId);
+            if (promotionIds != null) {
+                promotionIds.remove(promotionId);
+                if (promotionIds.isEmpty()) {
+                    promotionsByProduct.remove(productId);
+                    productPrices.remove(productId);
+                }
+            }
+        }
+        return removed.productIds();
+    }
+
+    /**
+     * Copy-on-write: recalcula as entradas dos produtos informados e publica um novo snapshot
+     */
+    private void rebuild(Set<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Entry> next = new HashMap<>(entries);
+        for (Long productId : productIds) {
+            List<Promotion> active = new ArrayList<>();
+            for (Long promotionId : promotionsByProduct.getOrDefault(productId, Set.of())) {
+                Window window = windows.get(promotionId);
+                if (window != null && window.isCurrentOn(day)) {
+                    active.add(window.pricing());
+                }
+            }
+
+            if (active.isEmpty()) {
+                next.remove(productId);
+            } else {
+                List<Promotion> frozen = List.copyOf(active);
+                next.put(productId, new Entry(frozen, bestQuote(frozen, productPrices.get(productId))));
+            }
+        }
+        entries = Map.copyOf(next);
+    }
+
+    private PriceQuote bestQuote(List<Promotion> active, BigDecimal price) {
+        if (price == null) {
+            return new PriceQuote(null, null, active.get(0));
+        }
+
+        Promotion best = null;
+        BigDecimal bestPrice = price;
+        for (Promotion promotion : active) {
+            BigDecimal discounted = promotion.calculateDiscountedPrice(price);
+            if (best == null || (discounted != null && discounted.compareTo(bestPrice) < 0)) {
+                best = promotion;
+                bestPrice = discounted;
+            }
+        }
+        return new PriceQuote(price, bestPrice, best);
+    }
+
+    /**
+     * Agenda a próxima virada para o início do primeiro dia em que alguma promoção começa ou expira
+     */
+    private void scheduleNextFlip() {
+        if (nextFlip != null) {
+            nextFlip.cancel(false);
+            nextFlip = null;
+        }
+
+        LocalDate flipDay = null;
+        for (Window window : windows.values()) {
+            LocalDate candidate = window.startDate().isAfter(day)
+                    ? window.startDate()
+                    : window.endDate().plusDays(1);
+            if (flipDay == null || candidate.isBefore(flipDay)) {
+                flipDay = candidate;
+            }
+        }
+
+        if (flipDay == null) {
+            return;
+        }
+
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(clock), flipDay.atStartOfDay()).toMillis());
+        nextFlip = flipper.schedule(this::flip, delayMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -9,10 +9,17 @@ import com.basilios.basilios.core.model.Promotion;
 import com.basilios.basilios.core.exception.NotFoundException;
 import com.basilios.basilios.infra.repository.ProductRepository;
 import com.basilios.basilios.infra.repository.PromotionRepository;
+import jakarta.annotation.PostConstruct;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
 import java.time.LocalDate;
 
 import java.util.List;
@@ -23,12 +30,38 @@ public class PromotionService {
 
     private final PromotionRepository promotionRepository;
     private final ProductRepository productRepository;
+    private final PromotionSchedule promotionSchedule;
+    private final CatalogVersion catalogVersion;
 
-    public PromotionService(PromotionRepository promotionRepository, ProductRepository productRepository) {
+    public PromotionService(PromotionRepository promotionRepository, ProductRepository productRepository,
+                            PromotionSchedule promotionSchedule, CatalogVersion catalogVersion) {
         this.promotionRepository = promotionRepository;
         this.productRepository = productRepository;
+        this.promotionSchedule = promotionSchedule;
+        this.catalogVersion = catalogVersion;
+    }
+
+    /**
+     * Carrega a agenda de promoções antes de o serviço atender requisições
+     */
+    @PostConstruct
+    void loadSchedule() {
+        promotionSchedule.load(promotionRepository.findNotExpiredWithProducts(LocalDate.now()));
+    }
+
+    /**
+     * Recarga periódica da agenda: promoções alteradas por outras instâncias (ou direto no banco)
+     * só chegam aqui por este caminho
+     */
+    @Scheduled(fixedDelayString = "${promotion.schedule.refresh-ms:300000}",
+            initialDelayString = "${promotion.schedule.refresh-ms:300000}")
+    public void refreshSchedule() {
+        if (promotionSchedule.load(promotionRepository.findNotExpiredWithProducts(LocalDate.now()))) {
+            catalogVersion.bump();
+        }
     }
 
+    @Transactional
     public Promotion createPromotion(CreatePromotionDTO dto) {
 
         Promotion promotion = new Promotion();
@@ -48,9 +81,15 @@ public class PromotionService {
             promotion.setProducts(products);
         }
 
-        return promotionRepository.save(promotion);
+        Promotion saved = promotionRepository.save(promotion);
+        // produtos carregados ainda na transação: a agenda é atualizada só após o commit
+        Hibernate.initialize(saved.getProducts());
+        afterCommit(() -> promotionSchedule.upsert(saved));
+        catalogVersion.bump();
+        return saved;
     }
 
+    @Transactional
     public PromotionResponseDTO createPromotionDTO(CreatePromotionDTO dto) {
         Promotion promotion = createPromotion(dto);
         return convertToResponseDTO(promotion);
@@ -107,6 +146,7 @@ public class PromotionService {
     /**
      * Atualiza uma promoção existente
      */
+    @Transactional
     public Promotion updatePromotion(Long id, UpdatePromotionDTO dto) {
         Promotion promotion = getPromotionById(id);
 
@@ -136,9 +176,15 @@ public class PromotionService {
             promotion.setProducts(products);
         }
 
-        return promotionRepository.save(promotion);
+        Promotion saved = promotionRepository.save(promotion);
+        // produtos carregados ainda na transação: a agenda é atualizada só após o commit
+        Hibernate.initialize(saved.getProducts());
+        afterCommit(() -> promotionSchedule.upsert(saved));
+        catalogVersion.bump();
+        return saved;
     }
 
+    @Transactional
     public PromotionResponseDTO updatePromotionDTO(Long id, UpdatePromotionDTO dto) {
         Promotion promotion = updatePromotion(id, dto);
         return convertToResponseDTO(promotion);
@@ -147,9 +193,29 @@ public class PromotionService {
     /**
      * Deleta uma promoção por ID
      */
+    @Transactional
     public void deletePromotion(Long id) {
         Promotion promotion = getPromotionById(id);
         promotionRepository.delete(promotion);
+        afterCommit(() -> promotionSchedule.remove(id));
+        catalogVersion.bump();
+    }
+
+    /**
+     * Agenda em memória só muda após o commit: um rollback não deixa promoção fantasma
+     * precificando pedidos, e nenhuma requisição vê preço de transação ainda não confirmada
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     /**
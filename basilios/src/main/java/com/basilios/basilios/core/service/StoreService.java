@@ -3,21 +3,57 @@ package com.basilios.basilios.core.service;
 import com.basilios.basilios.core.exception.NotFoundException;
 import com.basilios.basilios.core.model.Store;
 import com.basilios.basilios.infra.repository.StoreRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
+/**
+ * Lojas cadastradas, mantidas em memória.
+ *
+ * A tabela é pequena e muda raramente: a lista e o índice espacial são recarregados
+ * após cada alteração feita por aqui e, periodicamente, para pegar alterações feitas
+ * direto no banco. Leituras não vão ao banco.
+ *
+ * "Loja ativa" aqui é só isActive: openingHours é texto livre para exibição e não é
+ * considerado. A cotação fica gravada no endereço e vale em qualquer horário, então uma
+ * loja fechada temporariamente deve ser desativada (isActive = false).
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 @Transactional(readOnly = true)
 public class StoreService {
 
+    /**
+     * Loja que atende um endereço e a distância até ele
+     */
+    public record StoreMatch(Store store, double distanceKm) {
+    }
+
+    private record Snapshot(List<Store> stores, StoreSpatialIndex index, String version) {
+    }
+
     private final StoreRepository storeRepository;
+    private final double defaultRadiusKm;
+
+    private volatile Snapshot snapshot;
+
+    public StoreService(StoreRepository storeRepository,
+                        @Value("${delivery.max-distance-km:7.0}") double defaultRadiusKm) {
+        this.storeRepository = storeRepository;
+        this.defaultRadiusKm = defaultRadiusKm;
+    }
 
     public Store getMainStore() {
-        List<Store> stores = storeRepository.findAll();
+        List<Store> stores = snapshot().stores();
         if (stores.isEmpty()) {
             throw new NotFoundException("Nenhuma loja cadastrada");
         }
@@ -28,4 +64,103 @@ public class StoreService {
         return storeRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Loja não encontrada"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Referência (sem SELECT) para associar a loja a um pedido
+     */
+    public Store getReference(Long id) {
+        return storeRepository.getReferenceById(id);
+    }
+
+    /**
+     * Há lojas cadastradas, ativas ou não: com todas inativas nenhum endereço é atendido
+     * (a loja de store.latitude/longitude só vale quando a tabela está vazia)
+     */
+    public boolean hasStores() {
+        return !snapshot().stores().isEmpty();
+    }
+
+    /**
+     * Loja ativa mais próxima cujo raio de entrega cobre o ponto
+     */
+    public Optional<StoreMatch> findDeliveringStore(double latitude, double longitude) {
+        return snapshot().index().nearestDelivering(latitude, longitude)
+                .map(m -> new StoreMatch(m.store(), m.distanceKm()));
+    }
+
+    /**
+     * Loja ativa mais próxima, mesmo que fora do raio
+     */
+    public Optional<StoreMatch> findNearestStore(double latitude, double longitude) {
+        return snapshot().index().nearest(latitude, longitude)
+                .map(m -> new StoreMatch(m.store(), m.distanceKm()));
+    }
+
+    /**
+     * Muda sempre que posição, raio ou situação de alguma loja mudar
+     */
+    public String indexVersion() {
+        return snapshot().version();
+    }
+
+    @Transactional
+    public Store save(Store store) {
+        Store saved = storeRepository.save(store);
+        refreshAfterCommit();
+        return saved;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        storeRepository.deleteById(id);
+        refreshAfterCommit();
+    }
+
+    @Scheduled(fixedDelayString = "${store.index.refresh-ms:300000}", initialDelayString = "${store.index.refresh-ms:300000}")
+    public void refresh() {
+        List<Store> stores = storeRepository.findAll().stream()
+                .sorted(Comparator.comparing(Store::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        String version = Integer.toHexString(Objects.hash(stores.stream()
+                .map(s -> List.of(String.valueOf(s.getId()), String.valueOf(s.getLatitude()), String.valueOf(s.getLongitude()),
+                        String.valueOf(s.getDeliveryRadiusKm()), String.valueOf(s.getIsActive())))
+                .toList()));
+
+        Snapshot previous = snapshot;
+        StoreSpatialIndex index = StoreSpatialIndex.build(stores, defaultRadiusKm);
+        snapshot = new Snapshot(stores, index, version);
+
+        if (previous == null || !previous.version().equals(version)) {
+            log.info("Índice de lojas atualizado: {} lojas, {} ativas", stores.size(), index.size());
+        }
+    }
+
+    // ========== INTERNOS ==========
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.model.Store;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Árvore k-d imutável das lojas ativas (isActive; o horário de funcionamento não entra),
+ * para achar a loja que atende um endereço.
+ *
+ * Cada loja vira um ponto 3D na esfera unitária: a distância em linha reta (corda) cresce
+ * junto com a distância sobre a superfície, então a busca pelo vizinho mais próximo é exata
+ * sem Haversine por nó. A árvore é implícita num array (nó = meio do intervalo), e a busca
+ * descarta subárvores mais distantes que o melhor candidato ou que o maior raio de entrega.
+ */
+final class StoreSpatialIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    /**
+     * Loja encontrada e a distância até o endereço
+     */
+    record Match(Store store, double distanceKm) {
+    }
+
+    private final Store[] stores;
+    private final double[][] points;
+    private final double[] radiusChords;
+    private final double maxRadiusChord;
+
+    private StoreSpatialIndex(Store[] stores, double[][] points, double[] radiusChords) {
+        this.stores = stores;
+        this.points = points;
+        this.radiusChords = radiusChords;
+        this.maxRadiusChord = Arrays.stream(radiusChords).max().orElse(0);
+    }
+
+    static StoreSpatialIndex build(List<Store> candidates, double defaultRadiusKm) {
+        Node[] nodes = candidates.stream()
+                .filter(s -> !Boolean.FALSE.equals(s.getIsActive()))
+                .filter(s -> s.getLatitude() != null && s.getLongitude() != null)
+                .map(s -> new Node(s, toPoint(s.getLatitude(), s.getLongitude()),
+                        toChord(s.getDeliveryRadiusKm() != null ? s.getDeliveryRadiusKm() : defaultRadiusKm)))
+                .toArray(Node[]::new);
+
+        arrange(nodes, 0, nodes.length, 0);
+
+        Store[] stores = new Store[nodes.length];
+        double[][] points = new double[nodes.length][];
+        double[] radiusChords = new double[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            stores[i] = nodes[i].store();
+            points[i] = nodes[i].point();
+            radiusChords[i] = nodes[i].radiusChord();
+        }
+        return new StoreSpatialIndex(stores, points, radiusChords);
+    }
+
+    int size() {
+        return stores.length;
+    }
+
+    /**
+     * Loja mais próxima cujo raio de entrega cobre o ponto
+     */
+    Optional<Match> nearestDelivering(double latitude, double longitude) {
+        return search(toPoint(latitude, longitude), true);
+    }
+
+    /**
+     * Loja mais próxima, independente do raio
+     */
+    Optional<Match> nearest(double latitude, double longitude) {
+        return search(toPoint(latitude, longitude), false);
+    }
+
+    // ========== INTERNOS ==========
+
+    private record Node(Store store, double[] point, double radiusChord) {
+    }
+
+    private static final class Best {
+        int index = -1;
+        double squaredChord = Double.MAX_VALUE;
+    }
+
+    private Optional<Match> search(double[] query, boolean withinRadius) {
+        Best best = new Best();
+        search(query, withinRadius, 0, stores.length, 0, best);
+        if (best.index < 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new Match(stores[best.index], toKm(Math.sqrt(best.squaredChord))));
+    }
+
+    private void search(double[] query, boolean withinRadius, int from, int to, int depth, Best best) {
+        if (from >= to) {
+            return;
+        }
+
+        int mid = (from + to) >>> 1;
+        double[] node = points[mid];
+        double dx = query[0] - node[0];
+        double dy = query[1] - node[1];
+        double dz = query[2] - node[2];
+        double squared = dx * dx + dy * dy + dz * dz;
+
+        boolean eligible = !withinRadius || squared <= radiusChords[mid] * radiusChords[mid];
+        if (eligible && squared < best.squaredChord) {
+            best.index = mid;
+            best.squaredChord = squared;
+        }
+
+        int axis = depth % 3;
+        double diff = query[axis] - node[axis];
+        double diffSquared = diff * diff;
+
+        if (diff < 0) {
+            search(query, withinRadius, from, mid, depth + 1, best);
+        } else {
+            search(query, withinRadius, mid + 1, to, depth + 1, best);
+        }
+
+        // O outro lado só pode ter algo melhor se o plano de corte estiver mais perto
+        // que o melhor candidato (e, com raio, dentro do maior raio de entrega)
+        boolean worthCrossing = diffSquared < best.squaredChord
+                && (!withinRadius || diffSquared <= maxRadiusChord * maxRadiusChord);
+        if (worthCrossing) {
+            if (diff < 0) {
+                search(query, withinRadius, mid + 1, to, depth + 1, best);
+            } else {
+                search(query, withinRadius, from, mid, depth + 1, best);
+            }
+        }
+    }
+
+    /**
+     * Ordena o intervalo para que o nó do meio seja a mediana do eixo da profundidade
+     */
+    private static void arrange(Node[] nodes, int from, int to, int depth) {
+        if (to - from <= 1) {
+            return;
+        }
+        int axis = depth % 3;
+        Arrays.sort(nodes, from, to, Comparator.comparingDouble(n -> n.point()[axis]));
+        int mid = (from + to) >>> 1;
+        arrange(nodes, from, mid, depth + 1);
+        arrange(nodes, mid + 1, to, depth + 1);
+    }
+
+    private static double[] toPoint(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[]{cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    private static double toChord(double km) {
+        return 2 * Math.sin(Math.min(km / EARTH_RADIUS_KM, Math.PI) / 2);
+    }
+
+    private static double toKm(double chord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+    }
+}
@@ -1,5 +1,6 @@
 package com.basilios.basilios.infra.config;
 
+import com.basilios.basilios.infra.logging.MdcTaskDecorator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.context.annotation.Bean;
@@ -25,12 +26,31 @@ public class AsyncConfig implements AsyncConfigurer {
         executor.setMaxPoolSize(5);            // Threads máximas em pico
         executor.setQueueCapacity(100);        // Fila de tarefas pendentes
         executor.setThreadNamePrefix("order-event-");
+        executor.setTaskDecorator(new MdcTaskDecorator());   // userId/orderId da requisição seguem no log
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setAwaitTerminationSeconds(60);
         executor.initialize();
         return executor;
     }
 
+    /**
+     * Pool dedicado ao redimensionamento de imagens: poucas threads (decodificar uma foto
+     * ocupa dezenas de MB) e fila limitada para não acumular trabalho sem limite de memória.
+     */
+    @Bean(name = "imageExecutor")
+    public Executor imageExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("image-");
+        executor.setTaskDecorator(new MdcTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
     @Override
     public Executor getAsyncExecutor() {
         return taskExecutor();
@@ -1,25 +1,36 @@
 package com.basilios.basilios.infra.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.basilios.basilios.infra.security.RateLimitFilter;
+import com.basilios.basilios.infra.storage.UploadedImageFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    @Value("${file.upload-dir}")
-    private String uploadDir;
-
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-        String resourceLocation = "file:" + uploadPath.toString() + "/";
+    /**
+     * /uploads/** é atendido direto pelo filtro, antes da cadeia do Spring Security
+     * (JWT, rate limit) e do DispatcherServlet: imagens são públicas.
+     */
+    @Bean
+    public FilterRegistrationBean<UploadedImageFilter> uploadedImageFilterRegistration(UploadedImageFilter filter) {
+        FilterRegistrationBean<UploadedImageFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/uploads/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
 
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(resourceLocation);
+    /**
+     * O rate limit roda só dentro da cadeia do Spring Security (SecurityConfig), depois do CORS;
+     * sem isto o Boot também o registraria como filtro do servlet.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
     }
 }
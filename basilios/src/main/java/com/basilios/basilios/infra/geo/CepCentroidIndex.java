@@ -0,0 +1,175 @@
+package com.basilios.basilios.infra.geo;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Índice offline de CEP → centroide (geocodificação aproximada sem serviço externo).
+ *
+ * O arquivo traz centroides por prefixo de CEP (1 a 8 dígitos). Na carga, as entradas viram
+ * arrays primitivos paralelos ordenados pela chave (tamanho do prefixo << 32 | prefixo);
+ * a consulta tenta do prefixo mais longo para o mais curto, cada tentativa uma busca
+ * binária em long[] — sem parsing, boxing ou mapas no caminho da consulta.
+ */
+@Component
+@Slf4j
+public class CepCentroidIndex {
+
+    private static final int CEP_LENGTH = 8;
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+
+    /**
+     * Centroide encontrado para um CEP
+     */
+    public record Centroid(String prefix, double latitude, double longitude, double radiusKm) {
+    }
+
+    private final long[] keys;
+    private final String[] prefixes;
+    private final float[] latitudes;
+    private final float[] longitudes;
+    private final float[] radiiKm;
+    private final int maxPrefixLength;
+
+    public CepCentroidIndex(@Value("${geo.cep-centroids:classpath:geo/cep-centroids.csv}") Resource dataset) {
+        this(read(dataset));
+        log.info("Índice de CEP carregado: {} prefixos de {}", keys.length, dataset.getDescription());
+    }
+
+    CepCentroidIndex(List<Entry> entries) {
+        Entry[] sorted = entries.toArray(Entry[]::new);
+        Arrays.sort(sorted, Comparator.comparingLong(Entry::key));
+
+        this.keys = new long[sorted.length];
+        this.prefixes = new String[sorted.length];
+        this.latitudes = new float[sorted.length];
+        this.longitudes = new float[sorted.length];
+        this.radiiKm = new float[sorted.length];
+
+        int longest = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            keys[i] = sorted[i].key();
+            prefixes[i] = sorted[i].prefixText();
+            latitudes[i] = sorted[i].latitude();
+            longitudes[i] = sorted[i].longitude();
+            radiiKm[i] = sorted[i].radiusKm();
+            longest = Math.max(longest, sorted[i].length());
+        }
+        this.maxPrefixLength = longest;
+    }
+
+    public static CepCentroidIndex load(InputStream csv) throws IOException {
+        return new CepCentroidIndex(parse(csv));
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Centroide do prefixo mais longo que casa com o CEP (aceita "01310-100" ou "01310100")
+     */
+    public Optional<Centroid> lookup(String cep) {
+        int digits = toDigits(cep);
+        if (digits < 0) {
+            return Optional.empty();
+        }
+
+        for (int length = maxPrefixLength; length >= 1; length--) {
+            int prefix = digits / POWERS_OF_TEN[CEP_LENGTH - length];
+            int index = Arrays.binarySearch(keys, key(length, prefix));
+            if (index >= 0) {
+                return Optional.of(new Centroid(prefixes[index], latitudes[index], longitudes[index], radiiKm[index]));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // ========== INTERNOS ==========
+
+    record Entry(int length, int prefix, float latitude, float longitude, float radiusKm) {
+        long key() {
+            return CepCentroidIndex.key(length, prefix);
+        }
+
+        String prefixText() {
+            String digits = Integer.toString(prefix);
+            return "0".repeat(length - digits.length()) + digits;
+        }
+    }
+
+    private static long key(int length, int prefix) {
+        return ((long) length << 32) | prefix;
+    }
+
+    /**
+     * CEP com 8 dígitos como inteiro, ou -1 se inválido
+     */
+    private static int toDigits(String cep) {
+        if (cep == null) {
+            return -1;
+        }
+        int value = 0;
+        int count = 0;
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++count > CEP_LENGTH) {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+            } else if (c != '-' && c != '.' && c != ' ') {
+                return -1;
+            }
+        }
+        return count == CEP_LENGTH ? value : -1;
+    }
+
+    private static List<Entry> read(Resource dataset) {
+        try (InputStream in = dataset.getInputStream()) {
+            return parse(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao carregar centroides de CEP: " + dataset.getDescription(), e);
+        }
+    }
+
+    private static List<Entry> parse(InputStream csv) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] columns = line.split(",");
+            String prefix = columns[0].trim();
+            if (columns.length != 4 || prefix.isEmpty() || prefix.length() > CEP_LENGTH || !prefix.chars().allMatch(Character::isDigit)) {
+                throw new IllegalArgumentException("Linha inválida no arquivo de centroides (" + lineNumber + "): " + line);
+            }
+
+            entries.add(new Entry(prefix.length(), Integer.parseInt(prefix),
+                    Float.parseFloat(columns[1].trim()),
+                    Float.parseFloat(columns[2].trim()),
+                    Float.parseFloat(columns[3].trim())));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,184 @@
+package com.basilios.basilios.infra.housekeeping;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limpeza periódica do banco, fora do caminho das requisições.
+ *
+ * - password_reset: códigos expirados há mais que a retenção
+ * - failed_notifications: notificações já reprocessadas
+ * - endereco: endereços excluídos (soft delete) há muito tempo e não usados por pedidos
+ *   nem como endereço principal
+ *
+ * Apaga em blocos (SELECT dos ids + DELETE por id, com pausa entre blocos) para não segurar
+ * locks nem gerar uma transação gigante. Em dry-run só conta o que seria apagado.
+ * Usuários excluídos não são apagados: os pedidos continuam apontando para eles.
+ */
+@Component
+@Slf4j
+public class HousekeepingService {
+
+    /**
+     * Resultado de uma execução de um job
+     */
+    public record Report(String job, boolean dryRun, long matched, long deleted, int chunks, long elapsedMillis) {
+    }
+
+    /**
+     * Tabela, coluna de id e condição de remoção (parâmetro único: o limite da retenção)
+     */
+    record Job(String name, String table, String idColumn, String condition, Duration retention) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<Job> jobs;
+    private final int batchSize;
+    private final Duration pause;
+    private final boolean dryRun;
+    private final Clock clock;
+    private final Map<String, Report> lastReports = new ConcurrentHashMap<>();
+
+    public HousekeepingService(JdbcTemplate jdbcTemplate,
+                               @Value("${housekeeping.batch-size:500}") int batchSize,
+                               @Value("${housekeeping.pause:200ms}") Duration pause,
+                               @Value("${housekeeping.dry-run:false}") boolean dryRun,
+                               @Value("${housekeeping.password-reset.retention:1d}") Duration passwordResetRetention,
+                               @Value("${housekeeping.failed-notifications.retention:30d}") Duration failedNotificationRetention,
+                               @Value("${housekeeping.addresses.retention:90d}") Duration addressRetention) {
+        this(jdbcTemplate, batchSize, pause, dryRun,
+                defaultJobs(passwordResetRetention, failedNotificationRetention, addressRetention),
+                Clock.systemDefaultZone());
+    }
+
+    HousekeepingService(JdbcTemplate jdbcTemplate, int batchSize, Duration pause, boolean dryRun,
+                        List<Job> jobs, Clock clock) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("housekeeping.batch-size deve ser positivo");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.dryRun = dryRun;
+        this.jobs = List.copyOf(jobs);
+        this.clock = clock;
+    }
+
+    static List<Job> defaultJobs(Duration passwordResetRetention, Duration failedNotificationRetention,
+                                 Duration addressRetention) {
+        return List.of(
+                new Job("password-reset", "password_reset", "id",
+                        "password_reset.expiracao < ?", passwordResetRetention),
+                new Job("failed-notifications", "failed_notifications", "id",
+                        "failed_notifications.processed = TRUE AND failed_notifications.processed_at < ?",
+                        failedNotificationRetention),
+                new Job("addresses", "endereco", "id_endereco",
+                        "endereco.deleted_at < ?" +
+                                " AND NOT EXISTS (SELECT 1 FROM orders o WHERE o.endereco_entrega_id = endereco.id_endereco)" +
+                                " AND NOT EXISTS (SELECT 1 FROM usuario u WHERE u.endereco_principal_id = endereco.id_endereco)",
+                        addressRetention));
+    }
+
+    @Scheduled(cron = "${housekeeping.cron:0 15 3 * * *}")
+    public void scheduledRun() {
+        runAll();
+    }
+
+    /**
+     * Executa todos os jobs; a falha de um não impede os demais
+     */
+    public List<Report> runAll() {
+        List<Report> reports = new ArrayList<>();
+        for (Job job : jobs) {
+            try {
+                reports.add(run(job));
+            } catch (RuntimeException e) {
+                log.error("Housekeeping {} falhou: {}", job.name(), e.getMessage(), e);
+            }
+        }
+        return reports;
+    }
+
+    /**
+     * Último resultado de cada job (desde a subida da aplicação)
+     */
+    public Map<String, Report> lastReports() {
+        return Map.copyOf(lastReports);
+    }
+
+    // ========== INTERNOS ==========
+
+    Report run(Job job) {
+        long started = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(job.retention());
+        String where = " FROM " + job.table() + " WHERE " + job.condition();
+
+        long matched;
+        long deleted = 0;
+        int chunks = 0;
+        if (dryRun) {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*)" + where, Long.class, cutoff);
+            matched = count != null ? count : 0;
+        } else {
+            String select = "SELECT " + job.idColumn() + where + " ORDER BY " + job.idColumn() + " LIMIT ?";
+            matched = 0;
+            while (true) {
+                List<Long> ids = jdbcTemplate.queryForList(select, Long.class, cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                matched += ids.size();
+                deleted += deleteChunk(job, cutoff, ids);
+                chunks++;
+                if (ids.size() < batchSize || !pause()) {
+                    break;
+                }
+            }
+        }
+
+        Report report = new Report(job.name(), dryRun, matched, deleted, chunks,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        lastReports.put(job.name(), report);
+        if (matched > 0) {
+            log.info("Housekeeping {}{}: {} encontrados, {} apagados em {} blocos ({} ms)", job.name(),
+                    dryRun ? " (dry-run)" : "", matched, deleted, chunks, report.elapsedMillis());
+        }
+        return report;
+    }
+
+    /**
+     * Apaga os ids do bloco que ainda atendem à condição (podem ter mudado desde o SELECT)
+     */
+    private int deleteChunk(Job job, LocalDateTime cutoff, List<Long> ids) {
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] args = new Object[ids.size() + 1];
+        args[0] = cutoff;
+        for (int i = 0; i < ids.size(); i++) {
+            args[i + 1] = ids.get(i);
+        }
+        return jdbcTemplate.update("DELETE FROM " + job.table() + " WHERE " + job.condition() +
+                " AND " + job.idColumn() + " IN (" + placeholders + ")", args);
+    }
+
+    private boolean pause() {
+        if (pause.isZero() || pause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
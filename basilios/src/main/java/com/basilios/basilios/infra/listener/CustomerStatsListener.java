@@ -0,0 +1,44 @@
+package com.basilios.basilios.infra.listener;
+
+import com.basilios.basilios.core.model.events.OrderStatusChangedEvent;
+import com.basilios.basilios.core.service.CustomerStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Mantém as estatísticas do cliente em dia com as mudanças de status dos pedidos.
+ *
+ * Roda em BEFORE_COMMIT: a atualização faz parte da mesma transação do pedido,
+ * então pedido e estatísticas são gravados (ou revertidos) juntos.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStatsListener {
+
+    private final CustomerStatsService customerStatsService;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+        customerStatsService.registerStatusChange(event.getOrder(), event.getOldStatus(), event.getNewStatus());
+    }
+
+    /**
+     * Backfill inicial: popula as estatísticas a partir do histórico na primeira subida
+     */
+    @Async("taskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            customerStatsService.backfillIfEmpty();
+        } catch (Exception e) {
+            log.error("Falha no backfill das estatísticas de clientes: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.basilios.basilios.infra.listener;
 
 import com.basilios.basilios.core.model.events.OrderStatusChangedEvent;
+import com.basilios.basilios.infra.logging.LogContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -32,7 +33,7 @@ public class OrderDashboardListener {
     @Async("taskExecutor")
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
-        try {
+        try (LogContext.Scope ignored = LogContext.order(event.getOrder().getId())) {
             Map<String, Object> payload = buildPayload(event);
 
             // Envia para o tópico geral de pedidos (painel administrativo)
@@ -50,7 +51,7 @@ public class OrderDashboardListener {
             messagingTemplate.convertAndSend(userQueue, payload);
             log.debug("WebSocket: notificação enviada para {}", userQueue);
 
-            log.info("Painel atualizado via WebSocket: pedido {} → {}", 
+            log.debug("Painel atualizado via WebSocket: pedido {} → {}",
                     event.getOrder().getCodigoPedido(), 
                     event.getNewStatus());
 
@@ -39,7 +39,7 @@ public class OrderNotificationListener {
             backoff = @Backoff(delay = 1000, multiplier = 2)
     )
     public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
-        log.info("Processando notificação para pedido {}: {} → {}", 
+        log.debug("Processando notificação para pedido {}: {} → {}",
                 event.getOrder().getCodigoPedido(),
                 event.getOldStatus(),
                 event.getNewStatus());
@@ -57,7 +57,7 @@ public class OrderNotificationListener {
             default -> log.debug("Status {} não requer notificação por email", event.getNewStatus());
         }
 
-        log.info("Notificação enviada com sucesso para {} (pedido {})", email, orderCode);
+        log.debug("Notificação enviada (pedido {})", orderCode);
     }
 
     /**
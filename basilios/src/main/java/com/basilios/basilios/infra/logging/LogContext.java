@@ -0,0 +1,49 @@
+package com.basilios.basilios.infra.logging;
+
+import org.slf4j.MDC;
+
+/**
+ * Campos de correlação colocados no MDC: saem como campos próprios no log JSON
+ * e entre colchetes no log de texto (logging.pattern.correlation).
+ */
+public final class LogContext {
+
+    public static final String ORDER_ID = "orderId";
+    public static final String USER_ID = "userId";
+
+    private static final Scope NONE = () -> { };
+
+    private LogContext() {
+    }
+
+    /**
+     * Marca os logs seguintes com o pedido; o close() remove a marcação
+     */
+    public static Scope order(Long orderId) {
+        return put(ORDER_ID, orderId);
+    }
+
+    /**
+     * Marca os logs seguintes com o usuário; o close() remove a marcação
+     */
+    public static Scope user(Long userId) {
+        return put(USER_ID, userId);
+    }
+
+    private static Scope put(String key, Long value) {
+        if (value == null) {
+            return NONE;
+        }
+        MDC.put(key, value.toString());
+        return () -> MDC.remove(key);
+    }
+
+    /**
+     * Trecho marcado no MDC, para try-with-resources
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
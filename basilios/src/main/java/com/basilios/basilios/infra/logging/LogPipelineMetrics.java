@@ -0,0 +1,52 @@
+package com.basilios.basilios.infra.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Volume e vazão do pipeline de log: a cada intervalo, registra quantos eventos chegaram
+ * (por nível), quantos foram gravados, descartados pela fila e barrados pela amostragem.
+ */
+@Component
+@Slf4j
+public class LogPipelineMetrics {
+
+    private final long intervalMs;
+    private volatile LogPipelineStats.Snapshot last;
+
+    public LogPipelineMetrics(@Value("${logging.metrics-log-ms:60000}") long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    /**
+     * Contadores do último intervalo fechado (null antes do primeiro)
+     */
+    public LogPipelineStats.Snapshot metrics() {
+        return last;
+    }
+
+    @Scheduled(fixedDelayString = "${logging.metrics-log-ms:60000}")
+    public void logMetrics() {
+        LogPipelineStats.Snapshot snapshot = LogPipelineStats.drain();
+        last = snapshot;
+        if (snapshot.received() == 0 && snapshot.sampledOut() == 0) {
+            return;
+        }
+        long perSecond = snapshot.written() * 1000 / Math.max(1, intervalMs);
+        // descartes são o sinal de que a fila não está dando conta: sobe o nível
+        if (snapshot.dropped() > 0) {
+            log.warn("Log: {} eventos ({} error, {} warn, {} info, {} debug), {} gravados ({}/s), {} descartados, "
+                            + "{} amostrados, fila {}/{}",
+                    snapshot.received(), snapshot.error(), snapshot.warn(), snapshot.info(), snapshot.debug(),
+                    snapshot.written(), perSecond, snapshot.dropped(), snapshot.sampledOut(),
+                    snapshot.queued(), snapshot.capacity());
+        } else {
+            log.info("Log: {} eventos ({} error, {} warn, {} info, {} debug), {} gravados ({}/s), {} amostrados, "
+                            + "fila {}/{}",
+                    snapshot.received(), snapshot.error(), snapshot.warn(), snapshot.info(), snapshot.debug(),
+                    snapshot.written(), perSecond, snapshot.sampledOut(), snapshot.queued(), snapshot.capacity());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.basilios.basilios.infra.logging;
+
+import ch.qos.logback.classic.Level;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores do pipeline de log. O appender e o filtro de amostragem são instanciados pelo
+ * logback, fora do contexto Spring: cada RingBufferAppender se registra aqui ao iniciar e o
+ * LogPipelineMetrics lê o agregado.
+ */
+public final class LogPipelineStats {
+
+    private static final LongAdder sampledOut = new LongAdder();
+    private static final Set<RingBufferAppender> appenders = new CopyOnWriteArraySet<>();
+
+    private LogPipelineStats() {
+    }
+
+    static void sampledOut() {
+        sampledOut.increment();
+    }
+
+    static void register(RingBufferAppender appender) {
+        appenders.add(appender);
+    }
+
+    static void unregister(RingBufferAppender appender) {
+        appenders.remove(appender);
+    }
+
+    /**
+     * Leitura e zeragem dos contadores de todos os appenders (a fila é o valor do momento)
+     */
+    public static Snapshot drain() {
+        Snapshot total = new Snapshot(0, 0, 0, 0, 0, 0, sampledOut.sumThenReset(), 0, 0);
+        for (RingBufferAppender appender : appenders) {
+            total = total.plus(appender.drainCounters());
+        }
+        return total;
+    }
+
+    /**
+     * error/warn/info/debug: eventos que chegaram ao appender por nível (debug inclui trace);
+     * written: entregues ao destino; dropped: descartados pela fila; sampledOut: barrados pela amostragem
+     */
+    public record Snapshot(long error, long warn, long info, long debug, long written, long dropped,
+                           long sampledOut, int queued, int capacity) {
+
+        public long received() {
+            return error + warn + info + debug;
+        }
+
+        Snapshot plus(Snapshot other) {
+            return new Snapshot(error + other.error, warn + other.warn, info + other.info, debug + other.debug,
+                    written + other.written, dropped + other.dropped, sampledOut + other.sampledOut,
+                    queued + other.queued, capacity + other.capacity);
+        }
+    }
+
+    /**
+     * Contadores de um appender
+     */
+    static final class Counters {
+        private final LongAdder error = new LongAdder();
+        private final LongAdder warn = new LongAdder();
+        private final LongAdder info = new LongAdder();
+        private final LongAdder debug = new LongAdder();
+        private final LongAdder written = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+
+        void received(Level level) {
+            switch (level.toInt()) {
+                case Level.ERROR_INT -> error.increment();
+                case Level.WARN_INT -> warn.increment();
+                case Level.INFO_INT -> info.increment();
+                default -> debug.increment();
+            }
+        }
+
+        void written(int count) {
+            written.add(count);
+        }
+
+        void dropped() {
+            dropped.increment();
+        }
+
+        Snapshot drain(int queued, int capacity) {
+            return new Snapshot(error.sumThenReset(), warn.sumThenReset(), info.sumThenReset(),
+                    debug.sumThenReset(), written.sumThenReset(), dropped.sumThenReset(), 0, queued, capacity);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.basilios.basilios.infra.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appender assíncrono sobre um buffer circular limitado: a thread que loga só prepara o evento
+ * e o coloca na fila; uma thread própria entrega em lotes aos appenders filhos (console/JSON).
+ *
+ * Política de descarte:
+ * - acima de discardingThreshold (fração da fila), eventos abaixo de WARN são descartados;
+ * - com a fila cheia, neverBlock=true descarta o evento; neverBlock=false espera até
+ *   maxBlockMillis por espaço e só então descarta.
+ * Política de flush: a cada lote de até batchSize eventos; no stop, o que estiver na fila é
+ * entregue por até maxFlushTime ms e o restante é descartado.
+ *
+ * Configurado no logback-spring.xml com as propriedades logging.async.*.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LogPipelineStats.Counters counters = new LogPipelineStats.Counters();
+
+    private int queueSize = 8192;
+    private double discardingThreshold = 0.8;
+    private boolean neverBlock = true;
+    private int maxBlockMillis = 100;
+    private int batchSize = 256;
+    private int maxFlushTime = 2000;
+    private boolean includeCallerData = false;
+
+    private ArrayBlockingQueue<ILoggingEvent> queue;
+    private int discardAbove;
+    private Thread worker;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("Nenhum appender associado ao appender [" + name + "]");
+            return;
+        }
+        if (queueSize < 1 || batchSize < 1) {
+            addError("queueSize e batchSize precisam ser positivos");
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueSize);
+        discardAbove = (int) Math.ceil(queueSize * Math.min(1.0, Math.max(0.0, discardingThreshold)));
+        worker = new Thread(this::deliverLoop, "log-" + name);
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+        LogPipelineStats.register(this);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LogPipelineStats.unregister(this);
+        worker.interrupt();
+        try {
+            worker.join(maxFlushTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn("Flush excedeu " + maxFlushTime + " ms; " + queue.size() + " eventos descartados");
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        Level level = event.getLevel();
+        counters.received(level);
+        boolean discardable = !level.isGreaterOrEqual(Level.WARN);
+        if (discardable && queue.size() >= discardAbove) {
+            counters.dropped();
+            return;
+        }
+
+        // MDC, mensagem formatada e nome da thread são capturados aqui, na thread de origem
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        if (!enqueue(event)) {
+            counters.dropped();
+        }
+    }
+
+    private boolean enqueue(ILoggingEvent event) {
+        if (queue.offer(event)) {
+            return true;
+        }
+        if (neverBlock) {
+            return false;
+        }
+        try {
+            return queue.offer(event, maxBlockMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void deliverLoop() {
+        List<ILoggingEvent> batch = new ArrayList<>(batchSize);
+        while (isStarted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            deliver(batch);
+        }
+        // stop(): entrega o que sobrou enquanto o join de maxFlushTime esperar
+        while (queue.drainTo(batch, batchSize) > 0) {
+            deliver(batch);
+        }
+    }
+
+    private void deliver(List<ILoggingEvent> batch) {
+        for (ILoggingEvent event : batch) {
+            appenders.appendLoopOnAppenders(event);
+        }
+        counters.written(batch.size());
+        batch.clear();
+    }
+
+    /**
+     * Eventos aguardando entrega
+     */
+    public int queued() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Leitura e zeragem dos contadores deste appender
+     */
+    public LogPipelineStats.Snapshot drainCounters() {
+        return counters.drain(queued(), queueSize);
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public void setDiscardingThreshold(double discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public void setNeverBlock(boolean neverBlock) {
+        this.neverBlock = neverBlock;
+    }
+
+    public void setMaxBlockMillis(int maxBlockMillis) {
+        this.maxBlockMillis = maxBlockMillis;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String appenderName) {
+        return appenders.getAppender(appenderName);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String appenderName) {
+        return appenders.detachAppender(appenderName);
+    }
+}
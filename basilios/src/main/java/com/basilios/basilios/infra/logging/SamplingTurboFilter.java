@@ -0,0 +1,98 @@
+package com.basilios.basilios.infra.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Amostragem por logger para eventos de alta frequência: com a regra "prefixo=N", cada logger
+ * cujo nome começa com o prefixo mantém 1 de cada N eventos de INFO para baixo (o primeiro
+ * sempre passa). WARN e ERROR nunca são amostrados. Vale a regra de prefixo mais longo.
+ *
+ * Regras no formato "com.exemplo.Classe=100,org.hibernate.SQL=10" (logging.sampling.rules).
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final Sampler NONE = new Sampler(1);
+
+    private final Map<String, Long> rates = new LinkedHashMap<>();
+    private final Map<String, Sampler> samplers = new ConcurrentHashMap<>();
+    private String rules = "";
+
+    public void setRules(String rules) {
+        this.rules = rules;
+    }
+
+    @Override
+    public void start() {
+        rates.clear();
+        samplers.clear();
+        for (String rule : rules == null ? new String[0] : rules.split(",")) {
+            if (rule.isBlank()) {
+                continue;
+            }
+            int separator = rule.lastIndexOf('=');
+            try {
+                String prefix = rule.substring(0, separator).trim();
+                long rate = Long.parseLong(rule.substring(separator + 1).trim());
+                if (prefix.isEmpty() || rate < 1) {
+                    throw new IllegalArgumentException();
+                }
+                rates.put(prefix, rate);
+            } catch (RuntimeException e) {
+                addWarn("Regra de amostragem inválida ignorada: " + rule.trim());
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format nulo: chamadas isXxxEnabled(), que não geram evento
+        if (format == null || rates.isEmpty() || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        // nível desligado para o logger: o evento não sairia de qualquer forma, não conta
+        // (getEffectiveLevel, e não isEnabledFor, que chamaria este filtro de novo)
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Sampler sampler = samplers.computeIfAbsent(logger.getName(), this::samplerFor);
+        if (sampler == NONE || sampler.keep()) {
+            return FilterReply.NEUTRAL;
+        }
+        LogPipelineStats.sampledOut();
+        return FilterReply.DENY;
+    }
+
+    private Sampler samplerFor(String loggerName) {
+        String match = null;
+        for (String prefix : rates.keySet()) {
+            if (loggerName.startsWith(prefix) && (match == null || prefix.length() > match.length())) {
+                match = prefix;
+            }
+        }
+        long rate = match == null ? 1 : rates.get(match);
+        return rate <= 1 ? NONE : new Sampler(rate);
+    }
+
+    private static final class Sampler {
+        private final long rate;
+        private final AtomicLong count = new AtomicLong();
+
+        private Sampler(long rate) {
+            this.rate = rate;
+        }
+
+        private boolean keep() {
+            return count.getAndIncrement() % rate == 0;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.basilios.basilios.infra.messaging;
+
+import com.basilios.basilios.core.model.FailedNotification;
+import com.basilios.basilios.infra.repository.FailedNotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reenvia as notificações de failed_notifications em lotes, com ritmo controlado.
+ *
+ * Cada lote é reivindicado numa transação curta (SELECT ... FOR UPDATE SKIP LOCKED + reserva
+ * por {@code lease}), então várias instâncias dividem o trabalho sem repetir linhas e nenhum
+ * lock fica preso durante a publicação. As publicadas são marcadas como processadas num único
+ * UPDATE. Na primeira falha o broker é considerado fora: a linha ganha backoff exponencial com
+ * jitter (pelo attemptCount), o resto do lote é devolvido e a rodada termina. Após um
+ * apagão, o acúmulo escoa no máximo {@code batch-size * max-batches} por rodada.
+ */
+@Component
+@Slf4j
+public class FailedNotificationRetryWorker {
+
+    /**
+     * Tamanho do acúmulo: pendentes, vencidas agora e esgotadas (sem reenvio automático)
+     */
+    public record Backlog(long pending, long due, long exhausted) {
+    }
+
+    /**
+     * Resultado de uma rodada
+     */
+    public record RunResult(int republished, int failed, int batches) {
+    }
+
+    private final FailedNotificationRepository repository;
+    private final NotificationEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration lease;
+    private final Clock clock;
+
+    private final AtomicLong republishedTotal = new AtomicLong();
+    private final AtomicLong failedTotal = new AtomicLong();
+
+    public FailedNotificationRetryWorker(FailedNotificationRepository repository,
+                                         NotificationEventPublisher publisher,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${notifications.retry.batch-size:50}") int batchSize,
+                                         @Value("${notifications.retry.max-batches:10}") int maxBatches,
+                                         @Value("${notifications.retry.max-attempts:10}") int maxAttempts,
+                                         @Value("${notifications.retry.base-delay:30s}") Duration baseDelay,
+                                         @Value("${notifications.retry.max-delay:1h}") Duration maxDelay,
+                                         @Value("${notifications.retry.lease:5m}") Duration lease) {
+        this(repository, publisher, new TransactionTemplate(transactionManager), batchSize, maxBatches, maxAttempts,
+                baseDelay, maxDelay, lease, Clock.systemDefaultZone());
+    }
+
+    FailedNotificationRetryWorker(FailedNotificationRepository repository, NotificationEventPublisher publisher,
+                                  TransactionTemplate transactionTemplate, int batchSize, int maxBatches,
+                                  int maxAttempts, Duration baseDelay, Duration maxDelay, Duration lease, Clock clock) {
+        this.repository = repository;
+        this.publisher = publisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.lease = lease;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.retry.interval-ms:30000}",
+            initialDelayString = "${notifications.retry.interval-ms:30000}")
+    public void scheduledRun() {
+        try {
+            RunResult result = run();
+            if (result.republished() > 0 || result.failed() > 0) {
+                Backlog backlog = backlog();
+                log.info("Reenvio de notificações: {} reenviadas, {} falhas; acúmulo {} pendentes, {} vencidas, {} esgotadas",
+                        result.republished(), result.failed(), backlog.pending(), backlog.due(), backlog.exhausted());
+            }
+        } catch (RuntimeException e) {
+            log.error("Falha no reenvio de notificações: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Uma rodada: até {@code max-batches} lotes, parando no primeiro erro do broker
+     */
+    public RunResult run() {
+        int republished = 0;
+        int failed = 0;
+        int batches = 0;
+
+        while (batches < maxBatches) {
+            List<FailedNotification> claimed = claim();
+            if (claimed.isEmpty()) {
+                break;
+            }
+            batches++;
+
+            List<Long> done = new ArrayList<>(claimed.size());
+            boolean brokerDown = false;
+            for (int i = 0; i < claimed.size(); i++) {
+                FailedNotification notification = claimed.get(i);
+                try {
+                    publisher.republish(notification);
+                    done.add(notification.getId());
+                } catch (RuntimeException e) {
+                    failed++;
+                    recordFailure(notification, e);
+                    List<Long> untouched = claimed.subList(i + 1, claimed.size()).stream()
+                            .map(FailedNotification::getId)
+                            .toList();
+                    if (!untouched.isEmpty()) {
+                        repository.postpone(untouched, now());
+                    }
+                    brokerDown = true;
+                    break;
+                }
+            }
+
+            if (!done.isEmpty()) {
+                repository.markProcessed(done, now());
+                republished += done.size();
+            }
+            if (brokerDown || claimed.size() < batchSize) {
+                break;
+            }
+        }
+
+        republishedTotal.addAndGet(republished);
+        failedTotal.addAndGet(failed);
+        return new RunResult(republished, failed, batches);
+    }
+
+    public Backlog backlog() {
+        return new Backlog(
+                repository.countByProcessedFalse(),
+                repository.countDue(now(), maxAttempts),
+                repository.countByProcessedFalseAndAttemptCountGreaterThanEqual(maxAttempts));
+    }
+
+    public long republishedTotal() {
+        return republishedTotal.get();
+    }
+
+    public long failedTotal() {
+        return failedTotal.get();
+    }
+
+    /**
+     * Espera antes da próxima tentativa: base * 2^(tentativas - 1), limitada ao máximo,
+     * com metade fixa e metade aleatória (espalha as retomadas após um apagão)
+     */
+    static Duration backoff(int attemptCount, Duration base, Duration max) {
+        int exponent = Math.max(0, Math.min(attemptCount - 1, 30));
+        long cappedMillis = Math.min(max.toMillis(), base.toMillis() << exponent);
+        if (cappedMillis <= 0) {
+            cappedMillis = max.toMillis();
+        }
+        long half = cappedMillis / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(cappedMillis - half + 1));
+    }
+
+    // ========== INTERNOS ==========
+
+    private List<FailedNotification> claim() {
+        List<FailedNotification> claimed = transactionTemplate.execute(status -> {
+            List<FailedNotification> due = repository.findDueForUpdate(now(), maxAttempts, PageRequest.of(0, batchSize));
+            if (!due.isEmpty()) {
+                repository.postpone(due.stream().map(FailedNotification::getId).toList(), now().plus(lease));
+            }
+            return due;
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    private void recordFailure(FailedNotification notification, RuntimeException cause) {
+        int attempts = notification.getAttemptCount() + 1;
+        LocalDateTime next = now().plus(backoff(attempts, baseDelay, maxDelay));
+        repository.recordFailure(notification.getId(), next, cause.getMessage());
+        if (attempts >= maxAttempts) {
+            log.warn("Notificação {} (pedido {}) esgotou {} tentativas; só reprocessamento manual",
+                    notification.getId(), notification.getOrderCode(), attempts);
+        } else {
+            log.debug("Reenvio da notificação {} falhou ({} tentativas), próxima em {}",
+                    notification.getId(), attempts, next);
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+}
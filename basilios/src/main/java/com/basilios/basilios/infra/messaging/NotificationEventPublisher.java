@@ -1,21 +1,22 @@
 package com.basilios.basilios.infra.messaging;
 
 import com.basilios.basilios.core.enums.StatusPedidoEnum;
+import com.basilios.basilios.core.model.FailedNotification;
 import com.basilios.basilios.core.model.Order;
 import com.basilios.basilios.infra.config.RabbitMQConfig;
+import com.basilios.basilios.infra.repository.FailedNotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 
 /**
  * Publisher de eventos de notificação para o RabbitMQ.
- * Envia eventos para o microserviço email-api processar.
+ * Envia eventos (NotificationMessage, serializados pelo NotificationMessageWriter)
+ * para o microserviço email-api processar.
  */
 @Component
 @RequiredArgsConstructor
@@ -23,66 +24,52 @@ import java.util.UUID;
 public class NotificationEventPublisher {
 
     private final RabbitTemplate rabbitTemplate;
+    private final NotificationMessageWriter messageWriter;
+    private final FailedNotificationRepository failedNotificationRepository;
 
     /**
      * Publica evento de mudança de status de pedido no RabbitMQ.
+     * Se o broker recusar, o evento vai para failed_notifications e é reenviado pelo
+     * FailedNotificationRetryWorker.
      */
     public void publishOrderStatusChanged(Order order, StatusPedidoEnum oldStatus,
                                           StatusPedidoEnum newStatus, String motivo) {
+        String oldName = oldStatus != null ? oldStatus.name() : null;
         try {
-            Map<String, Object> event = new HashMap<>();
-            event.put("eventId", UUID.randomUUID().toString());
-            event.put("eventType", "ORDER_STATUS_CHANGED");
-            event.put("eventVersion", 1);
-            event.put("orderId", order.getId());
-            event.put("orderCode", order.getCodigoPedido());
-            event.put("oldStatus", oldStatus != null ? oldStatus.name() : null);
-            event.put("newStatus", newStatus.name());
-            event.put("clientEmail", order.getUsuario().getEmail());
-            event.put("clientName", order.getUsuario().getNomeUsuario());
-            event.put("motivo", motivo);
-            event.put("occurredAt", LocalDateTime.now().toString());
-            event.put("source", "basilios-monolith");
+            send(NotificationMessage.OrderStatusChanged.of(NotificationMessageWriter.newEventId(), order.getId(),
+                    order.getCodigoPedido(), oldName, newStatus.name(), order.getUsuario().getEmail(),
+                    order.getUsuario().getNomeUsuario(), motivo));
 
-            String routingKey = "order.status." + newStatus.name().toLowerCase();
-
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.EXCHANGE_NOTIFICATIONS,
-                    routingKey,
-                    event
-            );
-
-            log.info("Evento publicado no RabbitMQ: pedido={}, {} → {}, routingKey={}",
-                    order.getCodigoPedido(), oldStatus, newStatus, routingKey);
+            log.info("Evento publicado no RabbitMQ: pedido={}, {} → {}",
+                    order.getCodigoPedido(), oldStatus, newStatus);
 
         } catch (Exception e) {
             log.error("Erro ao publicar evento no RabbitMQ para pedido {}: {}",
                     order.getCodigoPedido(), e.getMessage());
+            saveForRetry(order, oldName, newStatus.name(), motivo, e);
         }
     }
 
+    /**
+     * Reenvia uma notificação que falhou. Lança exceção se o broker recusar de novo.
+     * O eventId é fixo por notificação, para o consumidor descartar entregas repetidas.
+     */
+    public void republish(FailedNotification notification) {
+        String eventId = UUID.nameUUIDFromBytes(("failed-notification:" + notification.getId())
+                .getBytes(StandardCharsets.UTF_8)).toString();
+        send(NotificationMessage.OrderStatusChanged.of(eventId, notification.getOrderId(),
+                notification.getOrderCode(), notification.getOldStatus(), notification.getNewStatus(),
+                notification.getClientEmail(), notification.getClientName(), notification.getMotivo()));
+    }
+
     /**
      * Publica evento de solicitação de reset de senha no RabbitMQ.
      */
     public void publishPasswordResetRequested(String email, String resetUrl,
                                                String userName, String expiresIn) {
         try {
-            Map<String, Object> event = new HashMap<>();
-            event.put("eventId", UUID.randomUUID().toString());
-            event.put("eventType", "PASSWORD_RESET_REQUESTED");
-            event.put("eventVersion", 1);
-            event.put("email", email);
-            event.put("resetUrl", resetUrl);
-            event.put("userName", userName);
-            event.put("expiresIn", expiresIn);
-            event.put("occurredAt", LocalDateTime.now().toString());
-            event.put("source", "basilios-monolith");
-
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.EXCHANGE_NOTIFICATIONS,
-                    "auth.password-reset",
-                    event
-            );
+            send(NotificationMessage.PasswordResetRequested.of(NotificationMessageWriter.newEventId(),
+                    email, resetUrl, userName, expiresIn));
 
             log.info("Evento de reset de senha publicado no RabbitMQ para: {}", email);
 
@@ -92,4 +79,27 @@ public class NotificationEventPublisher {
         }
     }
 
+    private void send(NotificationMessage message) {
+        rabbitTemplate.send(RabbitMQConfig.EXCHANGE_NOTIFICATIONS, message.routingKey(),
+                messageWriter.toMessage(message));
+    }
+
+    private void saveForRetry(Order order, String oldStatus, String newStatus, String motivo, Exception cause) {
+        try {
+            failedNotificationRepository.save(FailedNotification.builder()
+                    .orderId(order.getId())
+                    .orderCode(order.getCodigoPedido())
+                    .clientEmail(order.getUsuario().getEmail())
+                    .clientName(order.getUsuario().getNomeUsuario())
+                    .oldStatus(oldStatus)
+                    .newStatus(newStatus)
+                    .motivo(motivo)
+                    .errorMessage(cause.getMessage())
+                    .attemptCount(1)
+                    .build());
+        } catch (Exception e) {
+            log.error("Erro ao salvar notificação para reenvio (pedido {}): {}",
+                    order.getCodigoPedido(), e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package com.basilios.basilios.infra.messaging;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado para o microserviço email-api (exchange basilios.notifications).
+ *
+ * Cada tipo é um record imutável com versão explícita: mudança incompatível no formato
+ * exige novo {@code eventVersion}. O formato JSON é fixado pelo NotificationMessageContractTest.
+ */
+public sealed interface NotificationMessage
+        permits NotificationMessage.OrderStatusChanged, NotificationMessage.PasswordResetRequested {
+
+    String SOURCE = "basilios-monolith";
+
+    String eventId();
+
+    String eventType();
+
+    int eventVersion();
+
+    LocalDateTime occurredAt();
+
+    String source();
+
+    /**
+     * Chave de roteamento no exchange
+     */
+    String routingKey();
+
+    record OrderStatusChanged(String eventId, String eventType, int eventVersion, Long orderId, String orderCode,
+                              String oldStatus, String newStatus, String clientEmail, String clientName,
+                              String motivo, LocalDateTime occurredAt, String source)
+            implements NotificationMessage {
+
+        public static final String TYPE = "ORDER_STATUS_CHANGED";
+        public static final int VERSION = 1;
+
+        public static OrderStatusChanged of(String eventId, Long orderId, String orderCode, String oldStatus,
+                                            String newStatus, String clientEmail, String clientName, String motivo) {
+            return new OrderStatusChanged(eventId, TYPE, VERSION, orderId, orderCode, oldStatus, newStatus,
+                    clientEmail, clientName, motivo, LocalDateTime.now(), SOURCE);
+        }
+
+        @Override
+        public String routingKey() {
+            return "order.status." + newStatus.toLowerCase();
+        }
+    }
+
+    record PasswordResetRequested(String eventId, String eventType, int eventVersion, String email,
+                                  String resetUrl, String userName, String expiresIn, LocalDateTime occurredAt,
+                                  String source)
+            implements NotificationMessage {
+
+        public static final String TYPE = "PASSWORD_RESET_REQUESTED";
+        public static final int VERSION = 1;
+
+        public static PasswordResetRequested of(String eventId, String email, String resetUrl, String userName,
+                                                String expiresIn) {
+            return new PasswordResetRequested(eventId, TYPE, VERSION, email, resetUrl, userName, expiresIn,
+                    LocalDateTime.now(), SOURCE);
+        }
+
+        @Override
+        public String routingKey() {
+            return "auth.password-reset";
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.basilios.basilios.infra.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Serializa os NotificationMessage em mensagens AMQP com ObjectWriters montados uma vez por tipo.
+ *
+ * Mapper próprio (o formato não muda com a configuração global do Jackson): campos na ordem
+ * do record, nulos incluídos, datas ISO-8601. Os cabeçalhos de tipo continuam os que o
+ * Jackson2JsonMessageConverter gravava para um HashMap, para o consumidor seguir lendo um Map.
+ */
+@Component
+public class NotificationMessageWriter {
+
+    static final String LEGACY_TYPE_ID = "java.util.HashMap";
+    static final String LEGACY_ELEMENT_TYPE_ID = "java.lang.Object";
+
+    private final ObjectWriter orderStatusWriter;
+    private final ObjectWriter passwordResetWriter;
+
+    public NotificationMessageWriter() {
+        JsonMapper mapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .build();
+        this.orderStatusWriter = mapper.writerFor(NotificationMessage.OrderStatusChanged.class);
+        this.passwordResetWriter = mapper.writerFor(NotificationMessage.PasswordResetRequested.class);
+    }
+
+    /**
+     * UUID v4 aleatório sem o SecureRandom global do UUID.randomUUID (identificador, não segredo)
+     */
+    public static String newEventId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least).toString();
+    }
+
+    public byte[] toBytes(NotificationMessage message) {
+        try {
+            return switch (message) {
+                case NotificationMessage.OrderStatusChanged event -> orderStatusWriter.writeValueAsBytes(event);
+                case NotificationMessage.PasswordResetRequested event -> passwordResetWriter.writeValueAsBytes(event);
+            };
+        } catch (JsonProcessingException e) {
+            throw new MessageConversionException("Falha ao serializar " + message.eventType(), e);
+        }
+    }
+
+    public Message toMessage(NotificationMessage message) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding("UTF-8");
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setMessageId(message.eventId());
+        properties.setType(message.eventType());
+        properties.setHeader("__TypeId__", LEGACY_TYPE_ID);
+        properties.setHeader("__KeyTypeId__", LEGACY_ELEMENT_TYPE_ID);
+        properties.setHeader("__ContentTypeId__", LEGACY_ELEMENT_TYPE_ID);
+        properties.setHeader("eventVersion", message.eventVersion());
+        return new Message(toBytes(message), properties);
+    }
+}
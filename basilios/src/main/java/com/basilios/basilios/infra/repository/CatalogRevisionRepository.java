@@ -0,0 +1,24 @@
+package com.basilios.basilios.infra.repository;
+
+import com.basilios.basilios.core.model.CatalogRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface CatalogRevisionRepository extends JpaRepository<CatalogRevision, Long> {
+
+    /**
+     * Incrementa a versão; participa da transação corrente (abre uma própria se não houver).
+     * Last-Modified estritamente crescente, mesmo com duas alterações no mesmo segundo.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CatalogRevision c SET c.version = c.version + 1, c.lastModifiedSeconds = " +
+            "CASE WHEN c.lastModifiedSeconds < :now THEN :now ELSE c.lastModifiedSeconds + 1 END " +
+            "WHERE c.id = :id")
+    int increment(@Param("id") Long id, @Param("now") Long nowSeconds);
+}
@@ -2,8 +2,14 @@ package com.basilios.basilios.infra.repository;
 
 import com.basilios.basilios.core.model.Combo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ComboRepository extends JpaRepository<Combo, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT c.imageUrl FROM Combo c WHERE c.imageUrl IS NOT NULL")
+    List<String> findAllImageUrls();
+}
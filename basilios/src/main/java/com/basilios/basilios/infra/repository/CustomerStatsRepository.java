@@ -0,0 +1,52 @@
+package com.basilios.basilios.infra.repository;
+
+import com.basilios.basilios.core.model.CustomerStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CustomerStatsRepository extends JpaRepository<CustomerStats, Long> {
+
+    /**
+     * Busca com lock de escrita para que atualizações concorrentes do mesmo cliente sejam serializadas
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CustomerStats s WHERE s.usuarioId = :usuarioId")
+    Optional<CustomerStats> findForUpdate(@Param("usuarioId") Long usuarioId);
+
+    /**
+     * Todas as linhas com lock de escrita (reconstrução: pedidos em andamento esperam por ela)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CustomerStats s")
+    List<CustomerStats> findAllForUpdate();
+
+    /**
+     * Cria a linha zerada do cliente se ainda não existir. Dois primeiros pedidos simultâneos
+     * não falham por chave duplicada: o segundo espera o primeiro e é ignorado.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO customer_stats (usuario_id, total_orders, pending_orders, confirmed_orders, " +
+            "preparing_orders, dispatched_orders, delivered_orders, cancelled_orders, total_spent, " +
+            "favorite_product_quantity, updated_at) " +
+            "VALUES (:usuarioId, 0, 0, 0, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insertIfAbsent(@Param("usuarioId") Long usuarioId);
+
+    /**
+     * Cria as linhas zeradas que faltam para todos os clientes com pedidos
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO customer_stats (usuario_id, total_orders, pending_orders, confirmed_orders, " +
+            "preparing_orders, dispatched_orders, delivered_orders, cancelled_orders, total_spent, " +
+            "favorite_product_quantity, updated_at) " +
+            "SELECT DISTINCT o.usuario_id, 0, 0, 0, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP FROM orders o", nativeQuery = true)
+    int insertMissingForOrders();
+}
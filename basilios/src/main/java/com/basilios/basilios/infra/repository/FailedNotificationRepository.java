@@ -1,9 +1,58 @@
 package com.basilios.basilios.infra.repository;
 
 import com.basilios.basilios.core.model.FailedNotification;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface FailedNotificationRepository extends JpaRepository<FailedNotification, Long> {
+
+    /**
+     * Notificações pendentes com tentativa vencida, travadas para esta transação.
+     * SKIP LOCKED (lock timeout -2): linhas já reivindicadas por outra instância são puladas.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT f FROM FailedNotification f WHERE f.processed = false AND f.attemptCount < :maxAttempts " +
+            "AND (f.nextAttemptAt IS NULL OR f.nextAttemptAt <= :now) ORDER BY f.id")
+    List<FailedNotification> findDueForUpdate(@Param("now") LocalDateTime now,
+                                              @Param("maxAttempts") int maxAttempts,
+                                              Pageable pageable);
+
+    /**
+     * Adia a próxima tentativa (reserva das linhas reivindicadas, ou devolução com {@code until = now})
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FailedNotification f SET f.nextAttemptAt = :until WHERE f.id IN :ids")
+    int postpone(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FailedNotification f SET f.processed = true, f.processedAt = :now, f.nextAttemptAt = null " +
+            "WHERE f.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FailedNotification f SET f.attemptCount = f.attemptCount + 1, f.nextAttemptAt = :next, " +
+            "f.errorMessage = :error WHERE f.id = :id")
+    int recordFailure(@Param("id") Long id, @Param("next") LocalDateTime next, @Param("error") String error);
+
+    long countByProcessedFalse();
+
+    long countByProcessedFalseAndAttemptCountGreaterThanEqual(int maxAttempts);
+
+    @Query("SELECT COUNT(f) FROM FailedNotification f WHERE f.processed = false AND f.attemptCount < :maxAttempts " +
+            "AND (f.nextAttemptAt IS NULL OR f.nextAttemptAt <= :now)")
+    long countDue(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts);
 }
@@ -0,0 +1,88 @@
+package com.basilios.basilios.infra.repository;
+
+import com.basilios.basilios.core.service.IngredientDictionary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inserção de ingredientes em lote via JDBC (id IDENTITY impede o batch do Hibernate).
+ *
+ * As chaves seguem IngredientDictionary: nome normalizado (IngredientDictionary.normalize)
+ * em minúsculas. A consulta compara LOWER(name), então depende de os nomes gravados já
+ * estarem normalizados; os antigos são corrigidos uma vez por normalizeStoredNames.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IngredientBatchRepository {
+
+    private static final String INSERT = "INSERT INTO ingredients (name) VALUES (:name)";
+
+    private static final String SELECT_IDS =
+            "SELECT id, name FROM ingredients WHERE LOWER(name) IN (:names) ORDER BY id";
+
+    private static final String SELECT_ALL = "SELECT id, name FROM ingredients";
+
+    private static final String UPDATE_NAME = "UPDATE ingredients SET name = :name WHERE id = :id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Ids dos ingredientes com esses nomes (chave = nome normalizado em minúsculas; com duplicados, o mais antigo)
+     */
+    public Map<String, Long> findIdsByLowerName(Collection<String> lowerNames) {
+        Map<String, Long> ids = new HashMap<>();
+        if (lowerNames.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(SELECT_IDS, new MapSqlParameterSource("names", lowerNames), rs -> {
+            ids.putIfAbsent(key(rs.getString("name")), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    /**
+     * Insere os nomes (já normalizados) num único batch e retorna os ids gerados (chave = nome em minúsculas)
+     */
+    public Map<String, Long> insertAll(Collection<String> names) {
+        if (names.isEmpty()) {
+            return new HashMap<>();
+        }
+        jdbcTemplate.batchUpdate(INSERT, names.stream()
+                .map(name -> new MapSqlParameterSource("name", name))
+                .toArray(MapSqlParameterSource[]::new));
+
+        return findIdsByLowerName(names.stream().map(IngredientBatchRepository::key).toList());
+    }
+
+    /**
+     * Regrava normalizados os nomes com espaços sobrando (gravados antes do IngredientDictionary),
+     * para a comparação por LOWER(name) achá-los. Retorna quantos foram corrigidos.
+     */
+    public int normalizeStoredNames() {
+        List<MapSqlParameterSource> updates = new ArrayList<>();
+        jdbcTemplate.query(SELECT_ALL, rs -> {
+            String name = rs.getString("name");
+            String normalized = IngredientDictionary.normalize(name);
+            if (!normalized.equals(name)) {
+                updates.add(new MapSqlParameterSource().addValue("id", rs.getLong("id")).addValue("name", normalized));
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_NAME, updates.toArray(MapSqlParameterSource[]::new));
+        }
+        return updates.size();
+    }
+
+    private static String key(String name) {
+        return IngredientDictionary.normalize(name).toLowerCase(Locale.ROOT);
+    }
+}
@@ -6,8 +6,11 @@ import com.basilios.basilios.core.model.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +24,15 @@ public interface IngredientProductRepository extends JpaRepository<IngredientPro
     Optional<IngredientProduct> findByProductAndIngredient(Product product, Ingredient ingredient);
 
     boolean existsByProductAndIngredient(Product product, Ingredient ingredient);
-}
\ No newline at end of file
+
+    // Ingredientes de vários produtos de uma vez (conversão de listas em DTO)
+    @Query("SELECT ip FROM IngredientProduct ip JOIN FETCH ip.ingredient WHERE ip.product.id IN :productIds")
+    List<IngredientProduct> findWithIngredientByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    // [productId, nome do ingrediente] (carga dos índices em memória)
+    @Query("SELECT ip.product.id, ip.ingredient.name FROM IngredientProduct ip")
+    List<Object[]> findAllProductIngredientNames();
+
+    @Query("SELECT ip.product.id, ip.ingredient.name FROM IngredientProduct ip WHERE ip.product.id IN :productIds")
+    List<Object[]> findProductIngredientNames(@Param("productIds") Collection<Long> productIds);
+}
@@ -2,12 +2,18 @@ package com.basilios.basilios.infra.repository;
 
 import com.basilios.basilios.core.model.Ingredient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
 
     Optional<Ingredient> findByNameIgnoreCase(String name);
+
+    // [id, name] de todos os ingredientes (carga do dicionário em memória)
+    @Query("SELECT i.id, i.name FROM Ingredient i ORDER BY i.id")
+    List<Object[]> findAllIdAndName();
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.basilios.basilios.infra.repository;
 import com.basilios.basilios.core.enums.StatusPedidoEnum;
 import com.basilios.basilios.core.model.Order;
 import com.basilios.basilios.core.model.Usuario;
+import com.basilios.basilios.infra.repository.projection.OrderSummaryView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -13,33 +14,103 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    @EntityGraph(attributePaths = {"productOrders", "productOrders.product"})
+    String ORDER_SUMMARY_SELECT = """
+        SELECT o.id AS id,
+               o.codigoPedido AS codigoPedido,
+               o.status AS status,
+               o.subtotal AS subtotal,
+               o.deliveryFee AS deliveryFee,
+               o.discount AS discount,
+               o.total AS total,
+               COALESCE(o.itemCount,
+                        (SELECT SUM(po.quantity) FROM ProductOrder po WHERE po.order = o)) AS itemCount,
+               COALESCE(o.promotionDiscount,
+                        (SELECT SUM((po.originalPrice - po.unitPrice) * po.quantity) FROM ProductOrder po
+                          WHERE po.order = o AND po.hadPromotion = true AND po.originalPrice IS NOT NULL)) AS promotionDiscount,
+               o.createdAt AS createdAt,
+               a.idAddress AS addressId,
+               a.rua AS rua,
+               a.numero AS numero,
+               a.bairro AS bairro,
+               a.cep AS cep,
+               a.cidade AS cidade,
+               a.estado AS estado,
+               a.complemento AS complemento
+        FROM Order o
+        LEFT JOIN o.addressEntrega a
+    """;
+
+    /**
+     * Listagem resumida dos pedidos do usuário em uma única query (sem hidratar entidades).
+     * O COALESCE cobre pedidos antigos gravados antes de item_count/promotion_discount existirem.
+     */
+    @Query(ORDER_SUMMARY_SELECT + " WHERE o.usuario = :usuario ORDER BY o.createdAt DESC")
+    List<OrderSummaryView> findSummaryByUsuario(@Param("usuario") Usuario usuario);
+
+    @Query(value = ORDER_SUMMARY_SELECT + " WHERE o.usuario = :usuario ORDER BY o.createdAt DESC",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.usuario = :usuario")
+    Page<OrderSummaryView> findSummaryByUsuario(@Param("usuario") Usuario usuario, Pageable pageable);
+
+    @EntityGraph(Order.GRAPH_LIST)
     List<Order> findByUsuarioOrderByCreatedAtDesc(Usuario usuario);
 
-    @EntityGraph(attributePaths = {"productOrders", "productOrders.product"})
-    Page<Order> findByUsuarioOrderByCreatedAtDesc(Usuario usuario, Pageable pageable);
-
     List<Order> findByUsuario(Usuario usuario);
 
-    List<Order> findByStatus(StatusPedidoEnum status);
+    /**
+     * Detalhe do pedido já com itens, produtos, endereço e cliente (evita N+1 no OrderMapper)
+     */
+    @Override
+    @EntityGraph(Order.GRAPH_DETAIL)
+    Optional<Order> findById(Long id);
 
-    Page<Order> findByStatus(StatusPedidoEnum status, Pageable pageable);
+    @EntityGraph(Order.GRAPH_LIST)
+    List<Order> findByStatus(StatusPedidoEnum status);
 
+    @EntityGraph(Order.GRAPH_LIST)
     @Query("SELECT o FROM Order o WHERE o.status = com.basilios.basilios.core.enums.StatusPedidoEnum.PENDENTE ORDER BY o.createdAt ASC")
     List<Order> findPendingOrders();
 
+    @EntityGraph(Order.GRAPH_LIST)
     @Query("SELECT o FROM Order o WHERE o.status IN (com.basilios.basilios.core.enums.StatusPedidoEnum.CONFIRMADO, com.basilios.basilios.core.enums.StatusPedidoEnum.PREPARANDO, com.basilios.basilios.core.enums.StatusPedidoEnum.DESPACHADO) ORDER BY o.createdAt ASC")
     List<Order> findActiveOrders();
 
     List<Order> findByUsuarioAndStatus(Usuario usuario, StatusPedidoEnum status);
 
+    @EntityGraph(Order.GRAPH_LIST)
     List<Order> findByUsuarioAndCreatedAtAfter(Usuario usuario, LocalDateTime date);
 
+    /**
+     * Agregado por cliente e status para reconstrução das estatísticas:
+     * [usuarioId, status, quantidade, soma dos totais, primeiro pedido, último pedido]
+     */
+    @Query("SELECT o.usuario.id, o.status, COUNT(o), COALESCE(SUM(o.total), 0), MIN(o.createdAt), MAX(o.createdAt) " +
+            "FROM Order o GROUP BY o.usuario.id, o.status")
+    List<Object[]> aggregateStatsByUsuarioAndStatus();
+
+    // ========== PAGINAÇÃO EM DUAS FASES ==========
+    // Paginar com JOIN FETCH de coleção faz o Hibernate paginar em memória.
+    // Por isso a página é resolvida só com ids e o grafo é carregado depois por IN (:ids).
+
+    @Query("SELECT o.id FROM Order o")
+    Page<Long> findPageIds(Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status")
+    Page<Long> findPageIdsByStatus(@Param("status") StatusPedidoEnum status, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.usuario = :usuario ORDER BY o.createdAt DESC")
+    Page<Long> findPageIdsByUsuario(@Param("usuario") Usuario usuario, Pageable pageable);
+
+    @EntityGraph(Order.GRAPH_LIST)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids")
+    List<Order> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
     long countByUsuario(Usuario usuario);
 
     long countByUsuarioAndStatus(Usuario usuario, StatusPedidoEnum status);
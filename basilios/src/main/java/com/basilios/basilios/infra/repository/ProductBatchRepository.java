@@ -0,0 +1,81 @@
+package com.basilios.basilios.infra.repository;
+
+import com.basilios.basilios.core.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserção de produtos em lote via JDBC.
+ *
+ * Com id IDENTITY o Hibernate insere uma linha por statement; aqui os produtos vão num
+ * único batch, os ids vêm das chaves geradas do próprio batch (na ordem das linhas, também
+ * com rewriteBatchedStatements) e as tags vão num segundo batch. Ler os ids de volta por
+ * nome não é seguro: o nome não tem índice único e a collation do MySQL ignora maiúsculas.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductBatchRepository {
+
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO product (name, description, image_url, category, subcategory, price, is_paused, created_at, updated_at) " +
+            "VALUES (:name, :description, :imageUrl, :category, :subcategory, :price, :isPaused, :now, :now)";
+
+    private static final String INSERT_TAG = "INSERT INTO product_tags (product_id, tag) VALUES (:productId, :tag)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Insere os produtos (e suas tags) e retorna quantos foram criados
+     */
+    public int insertAll(List<Product> products) {
+        if (products.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        MapSqlParameterSource[] rows = products.stream()
+                .map(p -> new MapSqlParameterSource()
+                        .addValue("name", p.getName())
+                        .addValue("description", p.getDescription())
+                        .addValue("imageUrl", p.getImageUrl())
+                        .addValue("category", p.getCategory().name())
+                        .addValue("subcategory", p.getSubcategory() != null ? p.getSubcategory().name() : null)
+                        .addValue("price", p.getPrice())
+                        .addValue("isPaused", Boolean.TRUE.equals(p.getIsPaused()))
+                        .addValue("now", now))
+                .toArray(MapSqlParameterSource[]::new);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, rows, keys, new String[]{"id"});
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        if (generated.size() != products.size()) {
+            // sem os ids não dá para gravar as tags: a transação da importação é desfeita
+            throw new IllegalStateException("Importação de produtos: " + products.size()
+                    + " linhas inseridas, mas " + generated.size() + " ids gerados");
+        }
+
+        List<MapSqlParameterSource> tags = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            Long id = ((Number) generated.get(i).values().iterator().next()).longValue();
+            product.setId(id);
+            for (String tag : product.getTags()) {
+                tags.add(new MapSqlParameterSource().addValue("productId", id).addValue("tag", tag));
+            }
+        }
+        if (!tags.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG, tags.toArray(MapSqlParameterSource[]::new));
+        }
+        return rows.length;
+    }
+}
@@ -1,6 +1,8 @@
 package com.basilios.basilios.infra.repository;
 
 import com.basilios.basilios.core.model.ProductCombo;
+import com.basilios.basilios.infra.repository.projection.ProductRankingView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,9 +17,9 @@ public interface ProductComboRepository extends JpaRepository<ProductCombo, Long
 
     List<ProductCombo> findByProductId(Long productId);
 
-    @Query("SELECT pc.product, COUNT(pc) as usageCount " +
-            "FROM ProductCombo pc " +
-            "GROUP BY pc.product " +
-            "ORDER BY usageCount DESC")
-    List<Object[]> findMostUsedProductsInCombos();
+    @Query("SELECT p.id AS id, p.name AS name, COUNT(pc.id) AS total " +
+            "FROM ProductCombo pc JOIN pc.product p " +
+            "GROUP BY p.id, p.name " +
+            "ORDER BY COUNT(pc.id) DESC, p.id")
+    List<ProductRankingView> findMostUsedInCombos(Pageable pageable);
 }
\ No newline at end of file
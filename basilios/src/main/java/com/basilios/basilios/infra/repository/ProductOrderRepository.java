@@ -2,13 +2,15 @@ package com.basilios.basilios.infra.repository;
 
 import com.basilios.basilios.core.model.Product;
 import com.basilios.basilios.core.model.ProductOrder;
+import com.basilios.basilios.infra.repository.projection.ProductRankingView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,11 +18,16 @@ public interface ProductOrderRepository extends JpaRepository<ProductOrder, Long
 
     long countByProductId(Long productId);
 
-    @Query("SELECT po.product, SUM(po.quantity) as totalSold " +
-            "FROM ProductOrder po " +
-            "GROUP BY po.product " +
-            "ORDER BY totalSold DESC")
-    List<Object[]> findBestSellingProducts();
+    // [productId, quantidade vendida] fora pedidos cancelados (popularidade na busca)
+    @Query("SELECT po.product.id, SUM(po.quantity) FROM ProductOrder po " +
+            "WHERE po.order.status <> 'CANCELADO' GROUP BY po.product.id")
+    List<Object[]> sumQuantityByProduct();
+
+    @Query("SELECT p.id AS id, p.name AS name, SUM(po.quantity) AS total " +
+            "FROM ProductOrder po JOIN po.product p " +
+            "GROUP BY p.id, p.name " +
+            "ORDER BY SUM(po.quantity) DESC, p.id")
+    List<ProductRankingView> findBestSellers(Pageable pageable);
 
     @Query("SELECT po.product, SUM(po.quantity) as totalSold " +
             "FROM ProductOrder po " +
@@ -32,9 +39,6 @@ public interface ProductOrderRepository extends JpaRepository<ProductOrder, Long
             @Param("endDate") LocalDateTime endDate
     );
 
-    @Query("SELECT SUM(po.subtotal) FROM ProductOrder po WHERE po.product.id = :productId")
-    BigDecimal calculateProductRevenue(@Param("productId") Long productId);
-
     @Query("SELECT p FROM Product p " +
             "WHERE NOT EXISTS (SELECT po FROM ProductOrder po WHERE po.product = p)")
     List<Product> findNeverSoldProducts();
@@ -48,4 +52,36 @@ public interface ProductOrderRepository extends JpaRepository<ProductOrder, Long
 
     @Query("SELECT SUM(po.quantity) FROM ProductOrder po WHERE po.order.status = 'ENTREGUE' AND po.order.createdAt BETWEEN :startDate AND :endDate")
     Long sumQuantityByDeliveredOrdersInPeriod(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+
+    /**
+     * Quantidade entregue ao cliente de cada produto informado: [productId, productName, quantidade]
+     */
+    @Query("SELECT po.product.id, MAX(po.productName), SUM(po.quantity) FROM ProductOrder po " +
+            "WHERE po.order.usuario.id = :usuarioId " +
+            "AND po.order.status = com.basilios.basilios.core.enums.StatusPedidoEnum.ENTREGUE " +
+            "AND po.product.id IN :productIds " +
+            "GROUP BY po.product.id")
+    List<Object[]> sumDeliveredQuantityByUsuarioAndProducts(@Param("usuarioId") Long usuarioId,
+                                                           @Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Quantidade entregue ao cliente de cada produto, ignorando um pedido (que está sendo excluído):
+     * [productId, productName, quantidade]
+     */
+    @Query("SELECT po.product.id, MAX(po.productName), SUM(po.quantity) FROM ProductOrder po " +
+            "WHERE po.order.usuario.id = :usuarioId " +
+            "AND po.order.status = com.basilios.basilios.core.enums.StatusPedidoEnum.ENTREGUE " +
+            "AND po.order.id <> :excludedOrderId " +
+            "GROUP BY po.product.id")
+    List<Object[]> sumDeliveredQuantityByUsuarioExcludingOrder(@Param("usuarioId") Long usuarioId,
+                                                               @Param("excludedOrderId") Long excludedOrderId);
+
+    /**
+     * Quantidade entregue por cliente e produto (reconstrução das estatísticas):
+     * [usuarioId, productId, productName, quantidade]
+     */
+    @Query("SELECT po.order.usuario.id, po.product.id, MAX(po.productName), SUM(po.quantity) FROM ProductOrder po " +
+            "WHERE po.order.status = com.basilios.basilios.core.enums.StatusPedidoEnum.ENTREGUE " +
+            "GROUP BY po.order.usuario.id, po.product.id")
+    List<Object[]> sumDeliveredQuantityByUsuarioAndProduct();
+}
@@ -1,14 +1,25 @@
 package com.basilios.basilios.infra.repository;
 
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.ProductSubcategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import com.basilios.basilios.core.model.Product;
+import com.basilios.basilios.infra.repository.projection.PriceBandCountsView;
+import com.basilios.basilios.infra.repository.projection.ProductDependenciesView;
+import com.basilios.basilios.infra.repository.projection.ProductSalesView;
+import com.basilios.basilios.infra.repository.projection.ProductUsageView;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -19,6 +30,9 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     boolean existsByNameIgnoreCase(String name);
 
+    @Query("SELECT p.imageUrl FROM Product p WHERE p.imageUrl IS NOT NULL")
+    List<String> findAllImageUrls();
+
     @Query("SELECT p FROM Product p WHERE " +
             "CASE " +
             "WHEN :category = 'ECONOMIC' THEN p.price <= 15.0 " +
@@ -38,4 +52,82 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
             "MAX(p.price) " +
             "FROM Product p")
     Object[] getMenuStatistics();
-}
\ No newline at end of file
+
+    // ========== ANÁLISES (agregadas no banco, sem hidratar listas para contar) ==========
+
+    // Mesmos limites de PriceBand
+    @Query("SELECT " +
+            "COALESCE(SUM(CASE WHEN p.price <= 15.0 THEN 1 ELSE 0 END), 0) AS economic, " +
+            "COALESCE(SUM(CASE WHEN p.price > 15.0 AND p.price <= 30.0 THEN 1 ELSE 0 END), 0) AS medium, " +
+            "COALESCE(SUM(CASE WHEN p.price > 30.0 THEN 1 ELSE 0 END), 0) AS premium " +
+            "FROM Product p")
+    PriceBandCountsView countByPriceBand();
+
+    @Query("SELECT p FROM Product p " +
+            "WHERE NOT EXISTS (SELECT ip.id FROM IngredientProduct ip WHERE ip.product = p)")
+    List<Product> findWithoutIngredients();
+
+    @Query("SELECT p.id AS id, p.name AS name, p.price AS price, COUNT(po.id) AS sales " +
+            "FROM Product p LEFT JOIN ProductOrder po ON po.product = p " +
+            "GROUP BY p.id, p.name, p.price " +
+            "HAVING COUNT(po.id) < :minSales " +
+            "ORDER BY p.id")
+    List<ProductUsageView> findLowUsage(@Param("minSales") long minSales);
+
+    @Query("SELECT p.id AS productId, p.name AS productName, COUNT(po.id) AS totalSold, SUM(po.subtotal) AS revenue " +
+            "FROM Product p LEFT JOIN ProductOrder po ON po.product = p " +
+            "WHERE p.id = :id " +
+            "GROUP BY p.id, p.name")
+    Optional<ProductSalesView> findSalesById(@Param("id") Long id);
+
+    @Query("SELECT p.id AS productId, " +
+            "(SELECT COUNT(po.id) FROM ProductOrder po WHERE po.product = p) AS orderCount, " +
+            "(SELECT COUNT(pc.id) FROM ProductCombo pc WHERE pc.product = p) AS comboCount " +
+            "FROM Product p WHERE p.id = :id")
+    Optional<ProductDependenciesView> findDependenciesById(@Param("id") Long id);
+
+    // Carga dos índices em memória (tags junto, sem uma query por produto)
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.tags")
+    List<Product> findAllWithTags();
+
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.tags WHERE p.id IN :ids")
+    List<Product> findAllWithTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ========== OPERAÇÕES EM LOTE ==========
+    // Os UPDATEs filtram por id (e não com subquery em product) porque o MySQL não permite
+    // subquery na própria tabela alvo do UPDATE
+
+    @Query("SELECT DISTINCT p.id FROM Product p LEFT JOIN p.tags t WHERE " +
+            "(:category IS NULL OR p.category = :category) " +
+            "AND (:subcategory IS NULL OR p.subcategory = :subcategory) " +
+            "AND (:tag IS NULL OR UPPER(t) = :tag)")
+    List<Long> findIdsForBulk(@Param("category") ProductCategory category,
+                              @Param("subcategory") ProductSubcategory subcategory,
+                              @Param("tag") String tag);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.price = ROUND(p.price * :factor, 2), p.updatedAt = :now " +
+            "WHERE p.id IN :ids AND ROUND(p.price * :factor, 2) >= :minPrice")
+    int scalePrices(@Param("ids") Collection<Long> ids,
+                    @Param("factor") BigDecimal factor,
+                    @Param("minPrice") BigDecimal minPrice,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.price = p.price + :amount, p.updatedAt = :now " +
+            "WHERE p.id IN :ids AND p.price + :amount >= :minPrice")
+    int shiftPrices(@Param("ids") Collection<Long> ids,
+                    @Param("amount") BigDecimal amount,
+                    @Param("minPrice") BigDecimal minPrice,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.isPaused = :paused, p.updatedAt = :now " +
+            "WHERE p.id IN :ids AND p.isPaused <> :paused")
+    int updatePaused(@Param("ids") Collection<Long> ids,
+                     @Param("paused") boolean paused,
+                     @Param("now") LocalDateTime now);
+
+    @Query("SELECT LOWER(p.name) FROM Product p WHERE LOWER(p.name) IN :names")
+    List<String> findExistingNamesIgnoreCase(@Param("names") Collection<String> names);
+}
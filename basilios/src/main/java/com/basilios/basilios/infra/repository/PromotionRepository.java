@@ -1,5 +1,6 @@
 package com.basilios.basilios.infra.repository;
 
+import com.basilios.basilios.core.model.Product;
 import com.basilios.basilios.core.model.Promotion;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -16,12 +17,22 @@ public interface PromotionRepository extends JpaRepository<Promotion, Long> {
             "AND p.startDate <= :today AND p.endDate >= :today")
     List<Promotion> findCurrentPromotions(@Param("today") LocalDate today);
 
+    @Query("SELECT DISTINCT prod FROM Promotion p JOIN p.products prod " +
+            "WHERE p.isActive = true AND p.startDate <= :today AND p.endDate >= :today")
+    List<Product> findProductsOnCurrentPromotions(@Param("today") LocalDate today);
+
     @Query("SELECT p FROM Promotion p JOIN p.products prod " +
             "WHERE prod.id = :productId AND p.isActive = true " +
             "AND p.startDate <= :today AND p.endDate >= :today")
     List<Promotion> findCurrentPromotionsByProductId(@Param("productId") Long productId,
                                                      @Param("today") LocalDate today);
 
+    /**
+     * Promoções ainda não expiradas com seus produtos (carga da agenda de promoções)
+     */
+    @Query("SELECT DISTINCT p FROM Promotion p LEFT JOIN FETCH p.products WHERE p.endDate >= :today")
+    List<Promotion> findNotExpiredWithProducts(@Param("today") LocalDate today);
+
     /**
      * Query otimizada usando Native SQL para evitar problemas com lazy loading
      */
@@ -2,8 +2,13 @@ package com.basilios.basilios.infra.repository;
 
 import com.basilios.basilios.core.enums.RoleEnum;
 import com.basilios.basilios.core.model.Usuario;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +27,22 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      */
     Optional<Usuario> findByEmail(String email);
 
+    /**
+     * Busca usuário por email já com as roles (login: uma consulta só)
+     */
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM Usuario u WHERE u.email = :email")
+    Optional<Usuario> findWithRolesByEmail(@Param("email") String email);
+
+    /**
+     * Troca o hash da senha só se ainda for o esperado (rehash no login não sobrescreve
+     * uma redefinição de senha concorrente)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Usuario u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+
     /**
      * Busca usuário por nomeUsuario
      */
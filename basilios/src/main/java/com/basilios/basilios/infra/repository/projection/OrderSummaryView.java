@@ -0,0 +1,52 @@
+package com.basilios.basilios.infra.repository.projection;
+
+import com.basilios.basilios.core.enums.StatusPedidoEnum;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projeção enxuta de pedido para listagens.
+ * Lê apenas as colunas exibidas e o resumo do endereço de entrega (via JOIN),
+ * sem hidratar Order, ProductOrder ou Address.
+ */
+public interface OrderSummaryView {
+
+    Long getId();
+
+    String getCodigoPedido();
+
+    StatusPedidoEnum getStatus();
+
+    BigDecimal getSubtotal();
+
+    BigDecimal getDeliveryFee();
+
+    BigDecimal getDiscount();
+
+    BigDecimal getTotal();
+
+    Integer getItemCount();
+
+    BigDecimal getPromotionDiscount();
+
+    LocalDateTime getCreatedAt();
+
+    // Endereço de entrega (null se o endereço foi removido)
+
+    Long getAddressId();
+
+    String getRua();
+
+    String getNumero();
+
+    String getBairro();
+
+    String getCep();
+
+    String getCidade();
+
+    String getEstado();
+
+    String getComplemento();
+}
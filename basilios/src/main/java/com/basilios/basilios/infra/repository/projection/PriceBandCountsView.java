@@ -0,0 +1,13 @@
+package com.basilios.basilios.infra.repository.projection;
+
+/**
+ * Quantidade de produtos por faixa de preço (PriceBand)
+ */
+public interface PriceBandCountsView {
+
+    Long getEconomic();
+
+    Long getMedium();
+
+    Long getPremium();
+}
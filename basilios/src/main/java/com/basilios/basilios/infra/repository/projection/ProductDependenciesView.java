@@ -0,0 +1,13 @@
+package com.basilios.basilios.infra.repository.projection;
+
+/**
+ * Quantos itens de pedido e combos referenciam o produto
+ */
+public interface ProductDependenciesView {
+
+    Long getProductId();
+
+    Long getOrderCount();
+
+    Long getComboCount();
+}
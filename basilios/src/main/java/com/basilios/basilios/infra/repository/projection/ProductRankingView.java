@@ -0,0 +1,13 @@
+package com.basilios.basilios.infra.repository.projection;
+
+/**
+ * Linha de ranking de produtos (mais vendidos, mais usados em combos)
+ */
+public interface ProductRankingView {
+
+    Long getId();
+
+    String getName();
+
+    Long getTotal();
+}
@@ -0,0 +1,17 @@
+package com.basilios.basilios.infra.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Vendas de um produto (itens de pedido e receita) numa única consulta agregada
+ */
+public interface ProductSalesView {
+
+    Long getProductId();
+
+    String getProductName();
+
+    Long getTotalSold();
+
+    BigDecimal getRevenue(); // null se nunca vendido
+}
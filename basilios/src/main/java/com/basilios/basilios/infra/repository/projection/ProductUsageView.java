@@ -0,0 +1,17 @@
+package com.basilios.basilios.infra.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Produto com a quantidade de itens de pedido em que aparece (LEFT JOIN + GROUP BY)
+ */
+public interface ProductUsageView {
+
+    Long getId();
+
+    String getName();
+
+    BigDecimal getPrice();
+
+    Long getSales();
+}
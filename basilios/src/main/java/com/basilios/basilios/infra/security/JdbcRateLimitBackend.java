@@ -0,0 +1,150 @@
+package com.basilios.basilios.infra.security;
+
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Baldes compartilhados entre instâncias, na tabela rate_limit_bucket do banco da aplicação.
+ *
+ * Usa o proxy compare-and-swap do bucket4j: lê o estado serializado e grava o novo só se a
+ * versão não mudou (senão o bucket4j repete). Cada requisição limitada custa um SELECT e um
+ * UPDATE, então é opcional (rate-limit.backend=jdbc); numa instância só, o local basta.
+ * Linhas de baldes que já estariam cheios de novo são apagadas periodicamente.
+ * A tabela é mapeada pela entidade RateLimitBucket (schema criado/validado pelo JPA).
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "jdbc")
+@Slf4j
+public class JdbcRateLimitBackend extends AbstractCompareAndSwapBasedProxyManager<String> implements RateLimitBackend {
+
+    private static final String SELECT = "SELECT state, version FROM rate_limit_bucket WHERE bucket_key = ?";
+    private static final String INSERT = "INSERT INTO rate_limit_bucket (bucket_key, state, version, expires_at) VALUES (?, ?, 0, ?)";
+    private static final String UPDATE = "UPDATE rate_limit_bucket SET state = ?, version = version + 1, expires_at = ? " +
+            "WHERE bucket_key = ? AND version = ?";
+    private static final String DELETE = "DELETE FROM rate_limit_bucket WHERE bucket_key = ?";
+    private static final String DELETE_EXPIRED = "DELETE FROM rate_limit_bucket WHERE expires_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcRateLimitBackend(JdbcTemplate jdbcTemplate) {
+        super(ClientSideConfig.getDefault());
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, RateLimitPolicy policy) {
+        return builder()
+                .build(policy.getName() + ':' + key, policy::getConfiguration)
+                .tryConsumeAndReturnRemaining(1);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.jdbc.cleanup-ms:600000}")
+    public void purgeExpired() {
+        int removed = jdbcTemplate.update(DELETE_EXPIRED, System.currentTimeMillis());
+        if (removed > 0) {
+            log.debug("Rate limit: {} baldes expirados removidos", removed);
+        }
+    }
+
+    @Override
+    protected CompareAndSwapOperation beginCompareAndSwapOperation(String key) {
+        return new CompareAndSwapOperation() {
+            private long version;
+
+            @Override
+            public Optional<byte[]> getStateData(Optional<Long> timeoutNanos) {
+                List<byte[]> rows = jdbcTemplate.query(SELECT, (rs, i) -> {
+                    version = rs.getLong("version");
+                    return rs.getBytes("state");
+                }, key);
+                return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+            }
+
+            @Override
+            public boolean compareAndSwap(byte[] originalData, byte[] newData, RemoteBucketState newState,
+                                          Optional<Long> timeoutNanos) {
+                long expiresAt = expiresAt(newState);
+                if (originalData == null) {
+                    try {
+                        return jdbcTemplate.update(INSERT, key, newData, expiresAt) == 1;
+                    } catch (DuplicateKeyException e) {
+                        return false; // outra instância criou o balde primeiro
+                    }
+                }
+                return jdbcTemplate.update(UPDATE, newData, expiresAt, key, version) == 1;
+            }
+        };
+    }
+
+    /**
+     * O JDBC é bloqueante: a versão assíncrona executa a síncrona e devolve futures já concluídos
+     * (isAsyncModeSupported continua false, então o bucket4j não a usa por conta própria)
+     */
+    @Override
+    protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(String key) {
+        CompareAndSwapOperation operation = beginCompareAndSwapOperation(key);
+        return new AsyncCompareAndSwapOperation() {
+            @Override
+            public CompletableFuture<Optional<byte[]>> getStateData(Optional<Long> timeoutNanos) {
+                return completed(() -> operation.getStateData(timeoutNanos));
+            }
+
+            @Override
+            public CompletableFuture<Boolean> compareAndSwap(byte[] originalData, byte[] newData,
+                                                             RemoteBucketState newState, Optional<Long> timeoutNanos) {
+                return completed(() -> operation.compareAndSwap(originalData, newData, newState, timeoutNanos));
+            }
+        };
+    }
+
+    @Override
+    public void removeProxy(String key) {
+        jdbcTemplate.update(DELETE, key);
+    }
+
+    @Override
+    protected CompletableFuture<Void> removeAsync(String key) {
+        return completed(() -> {
+            removeProxy(key);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean isAsyncModeSupported() {
+        return false;
+    }
+
+    private static <T> CompletableFuture<T> completed(Supplier<T> call) {
+        try {
+            return CompletableFuture.completedFuture(call.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Momento em que o balde estará cheio de novo (a partir daí a linha pode ser apagada)
+     */
+    private static long expiresAt(RemoteBucketState state) {
+        long nowMillis = System.currentTimeMillis();
+        long refillNanos = state.calculateFullRefillingTime(TimeUnit.MILLISECONDS.toNanos(nowMillis));
+        return nowMillis + TimeUnit.NANOSECONDS.toMillis(refillNanos) + 1;
+    }
+}
@@ -1,5 +1,6 @@
 package com.basilios.basilios.infra.security;
 
+import com.basilios.basilios.infra.logging.LogContext;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,6 +34,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String username = null;
         String jwt = null;
+        Long userId = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
@@ -52,8 +54,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                 userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                userId = jwtUtil.extractUserId(jwt);
             }
         }
-        chain.doFilter(request, response);
+
+        // userId no MDC: todo log desta requisição sai correlacionado ao usuário
+        try (LogContext.Scope ignored = LogContext.user(userId)) {
+            chain.doFilter(request, response);
+        }
     }
 }
@@ -0,0 +1,108 @@
+package com.basilios.basilios.infra.security;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Baldes em memória, num mapa limitado e dividido em faixas (sem lock global).
+ *
+ * Cada faixa é um LinkedHashMap em ordem de acesso protegido pelo próprio lock, usado só para
+ * achar/criar o balde; o consumo acontece fora do lock (os baldes do bucket4j são lock-free).
+ * Um balde ocioso por mais que o período da política já está cheio de novo, equivalente a um
+ * novo, então sai do mapa quando a faixa recebe uma chave nova. Acima do limite de chaves,
+ * sai o menos usado recentemente.
+ */
+@Component
+@ConditionalOnProperty(name = "rate-limit.backend", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    static final int STRIPES = 64; // potência de 2
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public LocalRateLimitBackend(@Value("${rate-limit.local.max-keys:100000}") int maxKeys) {
+        int perStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    @Override
+    public ConsumptionProbe tryConsume(String key, RateLimitPolicy policy) {
+        String bucketKey = policy.getName() + ':' + key;
+        int hash = bucketKey.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        return stripe.bucket(bucketKey, policy, System.nanoTime()).tryConsumeAndReturnRemaining(1);
+    }
+
+    /**
+     * Chaves em memória (todas as faixas)
+     */
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private static final class Entry {
+        final Bucket bucket;
+        final long idleNanos;
+        long lastAccess;
+
+        Entry(Bucket bucket, long idleNanos) {
+            this.bucket = bucket;
+            this.idleNanos = idleNanos;
+        }
+    }
+
+    private static final class Stripe {
+        private final int maxEntries;
+        private final LinkedHashMap<String, Entry> entries;
+
+        Stripe(int maxEntries) {
+            this.maxEntries = maxEntries;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > Stripe.this.maxEntries;
+                }
+            };
+        }
+
+        synchronized Bucket bucket(String key, RateLimitPolicy policy, long now) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                evictIdle(now);
+                entry = new Entry(policy.newLocalBucket(), policy.getPeriod().toNanos());
+                entries.put(key, entry);
+            }
+            entry.lastAccess = now;
+            return entry.bucket;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        // Em ordem de acesso o mais antigo vem primeiro: para no primeiro ainda ativo
+        private void evictIdle(long now) {
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (now - entry.lastAccess <= entry.idleNanos) {
+                    return;
+                }
+                it.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.basilios.basilios.infra.security;
+
+import com.basilios.basilios.core.exception.ServiceBusyException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Hash e verificação de senha (BCrypt) num pool próprio, limitado em threads e fila.
+ *
+ * O BCrypt é caro de propósito; rodando nas threads do Tomcat, uma rajada de logins toma a CPU
+ * e as threads de todos os outros endpoints. Aqui no máximo {@code threads} hashes rodam ao
+ * mesmo tempo; com a fila cheia (ou espera acima de {@code max-wait}) a requisição recebe 503
+ * em vez de enfileirar sem limite. Tempo em fila, tempo de hash e recusas são contabilizados
+ * e registrados periodicamente no log.
+ */
+@Component
+@Slf4j
+public class PasswordHashingService {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+    private static final String BUSY_MESSAGE = "Servidor ocupado. Tente novamente em instantes.";
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final Duration maxWait;
+    private final ThreadPoolExecutor executor;
+    private final String dummyHash;
+
+    // janela atual das métricas (zerada a cada registro no log)
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${security.password.bcrypt-strength:10}") int strength,
+                                  @Value("${security.password.threads:0}") int threads,
+                                  @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password.max-wait:5s}") Duration maxWait) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        this.maxWait = maxWait;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // Hash de referência: e-mail inexistente custa o mesmo que senha errada (sem enumeração por tempo)
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Gera o hash da senha com o custo configurado
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Confere a senha; com {@code encodedPassword} nulo compara com um hash qualquer, no mesmo tempo
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        String hash = encodedPassword != null ? encodedPassword : dummyHash;
+        boolean matches = run(() -> passwordEncoder.matches(rawPassword, hash));
+        return encodedPassword != null && matches;
+    }
+
+    /**
+     * Se o hash foi gerado com outro custo (ou formato) e deve ser refeito no próximo login
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        if (matcher.find()) {
+            return Integer.parseInt(matcher.group(1)) != strength;
+        }
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Métricas acumuladas desde o último registro no log
+     */
+    public Metrics metrics() {
+        long count = completed.sum();
+        return new Metrics(count, rejected.sum(), executor.getQueue().size(), executor.getActiveCount(),
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(queueNanos.sum() / count),
+                TimeUnit.NANOSECONDS.toMicros(maxQueueNanos.get()),
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(hashNanos.sum() / count));
+    }
+
+    @Scheduled(fixedDelayString = "${security.password.metrics-log-ms:300000}")
+    public void logMetrics() {
+        Metrics metrics = metrics();
+        if (metrics.completed() == 0 && metrics.rejected() == 0) {
+            return;
+        }
+        log.info("Hash de senha: {} concluídos, {} recusados, fila média {} µs (máx. {} µs), hash médio {} µs",
+                metrics.completed(), metrics.rejected(), metrics.averageQueueMicros(), metrics.maxQueueMicros(),
+                metrics.averageHashMicros());
+        completed.reset();
+        rejected.reset();
+        queueNanos.reset();
+        hashNanos.reset();
+        maxQueueNanos.set(0);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ========== INTERNOS ==========
+
+    private <T> T run(Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                long queued = started - submitted;
+                queueNanos.add(queued);
+                maxQueueNanos.accumulateAndGet(queued, Math::max);
+                try {
+                    return task.call();
+                } finally {
+                    hashNanos.add(System.nanoTime() - started);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Pool de hash de senha cheio ({} na fila), requisição recusada", executor.getQueue().size());
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        }
+
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            log.warn("Hash de senha não concluído em {} ms", maxWait.toMillis());
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Falha no hash de senha", e.getCause());
+        }
+    }
+
+    /**
+     * Contadores da janela atual; tempos em microssegundos
+     */
+    public record Metrics(long completed, long rejected, int queued, int active,
+                          long averageQueueMicros, long maxQueueMicros, long averageHashMicros) {
+    }
+}
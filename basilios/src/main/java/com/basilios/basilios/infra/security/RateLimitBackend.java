@@ -0,0 +1,15 @@
+package com.basilios.basilios.infra.security;
+
+import io.github.bucket4j.ConsumptionProbe;
+
+/**
+ * Onde ficam os baldes do rate limit: em memória (uma instância) ou no banco (várias instâncias
+ * compartilhando o limite). Escolhido por rate-limit.backend (local | jdbc).
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Consome uma ficha do balde da chave na política informada
+     */
+    ConsumptionProbe tryConsume(String key, RateLimitPolicy policy);
+}
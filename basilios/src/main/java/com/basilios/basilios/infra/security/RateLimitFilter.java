@@ -1,25 +1,150 @@
 package com.basilios.basilios.infra.security;
 
+import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Rate limit desativado por decisao de produto.
+ * Rate limit por rota (OWASP - proteção contra brute force e abuso).
+ *
+ * - auth: POST /auth/** (login, cadastro, recuperação de senha; BCrypt caro) por IP
+ * - orders: POST /orders por usuário (subject do JWT; sem token, por IP)
+ * - default: demais rotas da API por IP
+ *
+ * Toda resposta limitada leva X-RateLimit-Limit/Remaining; acima do limite, 429 com
+ * Retry-After e X-RateLimit-Reset (segundos). Se o backend falhar, a requisição passa.
+ * O IP é o remoteAddr: atrás de proxy, configurar server.forward-headers-strategy.
  */
 @Component
+@Slf4j
 public class RateLimitFilter extends OncePerRequestFilter {
 
+    static final String HEADER_LIMIT = "X-RateLimit-Limit";
+    static final String HEADER_REMAINING = "X-RateLimit-Remaining";
+    static final String HEADER_RESET = "X-RateLimit-Reset";
+
+    private static final Set<String> AUTH_PATHS = Set.of("/auth/login", "/auth/register", "/auth/esqueci-senha", "/auth/reset-senha");
+    private static final String[] SKIPPED_PREFIXES = {"/uploads/", "/swagger-ui", "/v3/api-docs", "/ws"};
+
+    private final RateLimitBackend backend;
+    private final JwtUtil jwtUtil;
+    private final boolean enabled;
+    private final RateLimitPolicy authPolicy;
+    private final RateLimitPolicy ordersPolicy;
+    private final RateLimitPolicy defaultPolicy;
+
+    public RateLimitFilter(RateLimitBackend backend,
+                           JwtUtil jwtUtil,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.auth.capacity:10}") long authCapacity,
+                           @Value("${rate-limit.auth.period:1m}") Duration authPeriod,
+                           @Value("${rate-limit.orders.capacity:10}") long ordersCapacity,
+                           @Value("${rate-limit.orders.period:1m}") Duration ordersPeriod,
+                           @Value("${rate-limit.default.capacity:300}") long defaultCapacity,
+                           @Value("${rate-limit.default.period:1m}") Duration defaultPeriod) {
+        this.backend = backend;
+        this.jwtUtil = jwtUtil;
+        this.enabled = enabled;
+        this.authPolicy = new RateLimitPolicy("auth", authCapacity, authPeriod, RateLimitPolicy.KeyType.IP);
+        this.ordersPolicy = new RateLimitPolicy("orders", ordersCapacity, ordersPeriod, RateLimitPolicy.KeyType.USER);
+        this.defaultPolicy = new RateLimitPolicy("default", defaultCapacity, defaultPeriod, RateLimitPolicy.KeyType.IP);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        for (String prefix : SKIPPED_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
-        filterChain.doFilter(request, response);
+        RateLimitPolicy policy = policyFor(request);
+
+        ConsumptionProbe probe;
+        try {
+            probe = backend.tryConsume(keyFor(request, policy), policy);
+        } catch (RuntimeException e) {
+            log.warn("Rate limit indisponível, requisição liberada: {}", e.getMessage());
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(HEADER_LIMIT, Long.toString(policy.getCapacity()));
+        response.setHeader(HEADER_REMAINING, Long.toString(probe.getRemainingTokens()));
+        if (probe.isConsumed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = Math.max(1, toSeconds(probe.getNanosToWaitForRefill()));
+        log.debug("Rate limit {} excedido: {} {} ({})", policy.getName(), request.getMethod(), request.getRequestURI(),
+                request.getRemoteAddr());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setHeader(HEADER_RESET, Long.toString(toSeconds(probe.getNanosToWaitForReset())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\"," +
+                "\"message\":\"Muitas requisições. Tente novamente em " + retryAfter + " segundos.\"}");
+    }
+
+    // ========== INTERNOS ==========
+
+    RateLimitPolicy policyFor(HttpServletRequest request) {
+        if (HttpMethod.POST.matches(request.getMethod())) {
+            String path = request.getServletPath();
+            if (AUTH_PATHS.contains(path)) {
+                return authPolicy;
+            }
+            if (path.equals("/orders")) {
+                return ordersPolicy;
+            }
+        }
+        return defaultPolicy;
+    }
+
+    private String keyFor(HttpServletRequest request, RateLimitPolicy policy) {
+        if (policy.getKeyType() == RateLimitPolicy.KeyType.USER) {
+            String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (authorization != null && authorization.startsWith("Bearer ")) {
+                try {
+                    return "user:" + jwtUtil.extractUsername(authorization.substring(7));
+                } catch (Exception e) {
+                    // token inválido/expirado: conta pelo IP (a autenticação recusa depois)
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.basilios.basilios.infra.security;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Política de limite de uma rota: até {@code capacity} requisições por {@code period},
+ * com reposição contínua (greedy), contadas por IP ou por usuário autenticado.
+ */
+@Getter
+public final class RateLimitPolicy {
+
+    public enum KeyType {
+        IP,
+        USER // subject do JWT; sem token válido, cai para o IP
+    }
+
+    private final String name;
+    private final long capacity;
+    private final Duration period;
+    private final KeyType keyType;
+    private final BucketConfiguration configuration;
+
+    public RateLimitPolicy(String name, long capacity, Duration period, KeyType keyType) {
+        if (capacity <= 0 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Política de rate limit inválida: " + name);
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.period = period;
+        this.keyType = keyType;
+        this.configuration = BucketConfiguration.builder()
+                .addLimit(limit -> limit.capacity(capacity).refillGreedy(capacity, period))
+                .build();
+    }
+
+    Bucket newLocalBucket() {
+        return Bucket.builder()
+                .addLimit(limit -> limit.capacity(capacity).refillGreedy(capacity, period))
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + capacity + "/" + period + " por " + keyType + ")";
+    }
+}
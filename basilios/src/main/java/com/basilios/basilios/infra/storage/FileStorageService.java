@@ -6,12 +6,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 public class FileStorageService {
@@ -25,9 +32,12 @@ public class FileStorageService {
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
 
     private final Path uploadDir;
+    private final ImageVariantService imageVariantService;
 
-    public FileStorageService(@Value("${file.upload-dir}") String uploadDir) throws IOException {
+    public FileStorageService(@Value("${file.upload-dir}") String uploadDir,
+                              ImageVariantService imageVariantService) throws IOException {
         this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.imageVariantService = imageVariantService;
         Files.createDirectories(this.uploadDir);
     }
 
@@ -55,17 +65,51 @@ public class FileStorageService {
             throw new BusinessException("Extensão de arquivo não permitida. Extensões aceitas: .jpg, .jpeg, .png, .webp, .gif");
         }
 
-        String fileName = UUID.randomUUID() + extension;
-        Path targetLocation = this.uploadDir.resolve(fileName).normalize();
+        // Nome = SHA-256 do conteúdo: o mesmo arquivo enviado de novo reaproveita o existente
+        Path tempFile = Files.createTempFile(this.uploadDir, ".upload-", ".tmp");
+        String fileName;
+        try {
+            MessageDigest digest = newDigest();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            fileName = HexFormat.of().formatHex(digest.digest()) + extension;
 
-        // Prevenir path traversal
-        if (!targetLocation.startsWith(this.uploadDir)) {
-            throw new BusinessException("Caminho de arquivo inválido");
+            Path targetLocation = this.uploadDir.resolve(fileName).normalize();
+
+            // Prevenir path traversal
+            if (!targetLocation.startsWith(this.uploadDir)) {
+                throw new BusinessException("Caminho de arquivo inválido");
+            }
+
+            if (Files.exists(targetLocation)) {
+                // Renova a data para o arquivo não ser coletado antes de ser referenciado
+                Files.setLastModifiedTime(targetLocation, FileTime.from(Instant.now()));
+                return fileName;
+            }
+
+            try {
+                Files.move(tempFile, targetLocation, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Upload concorrente do mesmo conteúdo
+                return fileName;
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
         }
 
-        Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+        // Variantes redimensionadas são geradas em segundo plano
+        imageVariantService.scheduleVariants(fileName);
 
         // devolve só o nome; quem monta a URL é o controller
         return fileName;
     }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
 }
@@ -0,0 +1,33 @@
+package com.basilios.basilios.infra.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gera as variantes das imagens já existentes quando a aplicação sobe com --backfill-images.
+ * Ex.: java -jar basilios.jar --backfill-images
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageBackfillRunner implements ApplicationRunner {
+
+    static final String OPTION = "backfill-images";
+
+    private final ImageVariantService imageVariantService;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        log.info("Iniciando backfill de variantes de imagem com {} threads", parallelism);
+        int processed = imageVariantService.backfill(parallelism);
+        log.info("Backfill de variantes concluído: {} imagens processadas", processed);
+    }
+}
@@ -0,0 +1,38 @@
+package com.basilios.basilios.infra.storage;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Tamanhos pré-gerados das imagens enviadas (lado maior, em pixels)
+ */
+public enum ImageVariant {
+    THUMBNAIL("thumb", 160),
+    CARD("card", 480),
+    DETAIL("detail", 1080);
+
+    private final String param;
+    private final int maxSize;
+
+    ImageVariant(String param, int maxSize) {
+        this.param = param;
+        this.maxSize = maxSize;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public static Optional<ImageVariant> fromParam(String param) {
+        if (param == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values())
+                .filter(v -> v.param.equalsIgnoreCase(param))
+                .findFirst();
+    }
+}
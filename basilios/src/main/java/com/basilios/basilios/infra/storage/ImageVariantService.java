@@ -0,0 +1,264 @@
+package com.basilios.basilios.infra.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Gera as variantes redimensionadas (thumb/card/detail) das imagens enviadas.
+ *
+ * Layout em disco, ao lado do original:
+ *   uploads/{sha256}.jpg                      original (nome = SHA-256 do conteúdo, ver FileStorageService)
+ *   uploads/variants/{sha256}/thumb.jpg       variantes (JPEG, ou PNG se houver transparência)
+ *   uploads/variants/{sha256}/manifest.json   gravado por último: sua presença indica variantes completas
+ */
+@Service
+@Slf4j
+public class ImageVariantService {
+
+    static final String VARIANTS_DIR = "variants";
+    static final String MANIFEST_FILE = "manifest.json";
+
+    private static final float JPEG_QUALITY = 0.8f;
+    private static final Set<String> PROCESSABLE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif");
+
+    /**
+     * Conteúdo do manifest.json
+     */
+    public record ImageManifest(String original, int width, int height, Map<String, VariantInfo> variants) {
+    }
+
+    public record VariantInfo(String file, int width, int height, long bytes) {
+    }
+
+    private final Path uploadDir;
+    private final Path variantsDir;
+    private final Executor imageExecutor;
+    private final ObjectMapper objectMapper;
+
+    public ImageVariantService(@Value("${file.upload-dir}") String uploadDir,
+                               @Qualifier("imageExecutor") Executor imageExecutor,
+                               ObjectMapper objectMapper) {
+        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.variantsDir = this.uploadDir.resolve(VARIANTS_DIR);
+        this.imageExecutor = imageExecutor;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Agenda a geração das variantes no executor de imagens (não bloqueia o upload).
+     * Se a fila estiver cheia a imagem continua servida pelo original e pode ser reprocessada pelo backfill.
+     */
+    public void scheduleVariants(String fileName) {
+        try {
+            imageExecutor.execute(() -> {
+                try {
+                    generate(fileName);
+                } catch (Exception e) {
+                    log.error("Falha ao gerar variantes de {}: {}", fileName, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Fila de processamento de imagens cheia; variantes de {} ficam para o backfill", fileName);
+        }
+    }
+
+    /**
+     * Caminho da variante pronta, se existir
+     */
+    public Optional<Path> resolveVariant(String fileName, ImageVariant variant) {
+        if (!isProcessable(fileName)) {
+            return Optional.empty();
+        }
+        Path dir = variantsDir.resolve(baseName(fileName)).normalize();
+        if (!dir.startsWith(variantsDir)) {
+            return Optional.empty();
+        }
+
+        for (String extension : List.of("jpg", "png")) {
+            Path candidate = dir.resolve(variant.getParam() + "." + extension);
+            if (Files.isRegularFile(candidate)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gera todas as variantes de um arquivo do diretório de uploads
+     */
+    public Optional<ImageManifest> generate(String fileName) throws IOException {
+        Path source = uploadDir.resolve(fileName).normalize();
+        if (!source.startsWith(uploadDir) || !Files.isRegularFile(source) || !isProcessable(fileName)) {
+            return Optional.empty();
+        }
+
+        BufferedImage original = ImageIO.read(source.toFile());
+        if (original == null) {
+            log.warn("Formato de imagem não suportado para redimensionamento: {}", fileName);
+            return Optional.empty();
+        }
+
+        boolean hasAlpha = original.getColorModel().hasAlpha();
+        String extension = hasAlpha ? "png" : "jpg";
+
+        Path targetDir = variantsDir.resolve(baseName(fileName));
+        Files.createDirectories(targetDir);
+
+        Map<String, VariantInfo> variants = new LinkedHashMap<>();
+        for (ImageVariant variant : ImageVariant.values()) {
+            BufferedImage resized = resize(original, variant.getMaxSize(), hasAlpha);
+            Path target = targetDir.resolve(variant.getParam() + "." + extension);
+            long bytes = writeAtomically(resized, target, hasAlpha);
+            variants.put(variant.getParam(), new VariantInfo(target.getFileName().toString(),
+                    resized.getWidth(), resized.getHeight(), bytes));
+        }
+
+        ImageManifest manifest = new ImageManifest(fileName, original.getWidth(), original.getHeight(), variants);
+        Path manifestTmp = targetDir.resolve(MANIFEST_FILE + ".tmp");
+        objectMapper.writeValue(manifestTmp.toFile(), manifest);
+        Files.move(manifestTmp, targetDir.resolve(MANIFEST_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.debug("Variantes geradas para {}: {}", fileName, variants.keySet());
+        return Optional.of(manifest);
+    }
+
+    /**
+     * Processa em paralelo as imagens existentes que ainda não têm manifest
+     *
+     * @return quantidade de imagens processadas
+     */
+    public int backfill(int parallelism) throws IOException {
+        List<String> pending;
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            pending = files
+                    .filter(Files::isRegularFile)
+                    .map(p -> p.getFileName().toString())
+                    .filter(this::isProcessable)
+                    .filter(name -> !Files.exists(variantsDir.resolve(baseName(name)).resolve(MANIFEST_FILE)))
+                    .toList();
+        }
+
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        AtomicInteger processed = new AtomicInteger();
+        try {
+            CompletableFuture.allOf(pending.stream()
+                    .map(name -> CompletableFuture.runAsync(() -> {
+                        try {
+                            if (generate(name).isPresent()) {
+                                processed.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            log.error("Backfill: falha ao processar {}: {}", name, e.getMessage());
+                        }
+                    }, pool))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            pool.shutdown();
+        }
+
+        log.info("Backfill de imagens: {}/{} processadas", processed.get(), pending.size());
+        return processed.get();
+    }
+
+    // ========== INTERNOS ==========
+
+    private boolean isProcessable(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 && PROCESSABLE_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase());
+    }
+
+    private String baseName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    /**
+     * Redução em etapas de no máximo 2x com interpolação bilinear:
+     * qualidade próxima do bicúbico a uma fração do custo. Nunca amplia.
+     */
+    private BufferedImage resize(BufferedImage source, int maxSize, boolean hasAlpha) {
+        int type = hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D g = step.createGraphics();
+            try {
+                if (!hasAlpha) {
+                    // Fundo branco para imagens sem transparência (evita preto em GIF/PNG paletizados)
+                    g.setColor(Color.WHITE);
+                    g.fillRect(0, 0, width, height);
+                }
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private long writeAtomically(BufferedImage image, Path target, boolean png) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        if (png) {
+            ImageIO.write(image, "png", tmp.toFile());
+        } else {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (OutputStream out = Files.newOutputStream(tmp);
+                 ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(ios);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+        }
+
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(target);
+    }
+}
@@ -0,0 +1,164 @@
+package com.basilios.basilios.infra.storage;
+
+import com.basilios.basilios.infra.repository.ComboRepository;
+import com.basilios.basilios.infra.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Remove do diretório de uploads os arquivos que nenhum Product.imageUrl/Combo.imageUrl referencia.
+ *
+ * Só coleta arquivos mais antigos que o período de carência: entre o upload e o save do
+ * produto a imagem ainda não é referenciada. As variantes do arquivo removido vão junto,
+ * e o arquivo sai do cache de metadados do UploadedImageFilter.
+ */
+@Component
+@Slf4j
+public class UploadGarbageCollector {
+
+    public record Report(int scanned, int removed, long freedBytes) {
+    }
+
+    private final Path uploadDir;
+    private final Path variantsDir;
+    private final Duration gracePeriod;
+    private final ProductRepository productRepository;
+    private final ComboRepository comboRepository;
+    private final UploadedImageFilter imageFilter;
+    private final Clock clock;
+
+    public UploadGarbageCollector(@Value("${file.upload-dir}") String uploadDir,
+                                  @Value("${file.gc.grace-period:24h}") Duration gracePeriod,
+                                  ProductRepository productRepository,
+                                  ComboRepository comboRepository,
+                                  UploadedImageFilter imageFilter) {
+        this(uploadDir, gracePeriod, productRepository, comboRepository, imageFilter, Clock.systemDefaultZone());
+    }
+
+    UploadGarbageCollector(String uploadDir, Duration gracePeriod, ProductRepository productRepository,
+                           ComboRepository comboRepository, UploadedImageFilter imageFilter, Clock clock) {
+        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.variantsDir = this.uploadDir.resolve(ImageVariantService.VARIANTS_DIR);
+        this.gracePeriod = gracePeriod;
+        this.productRepository = productRepository;
+        this.comboRepository = comboRepository;
+        this.imageFilter = imageFilter;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${file.gc.cron:0 30 4 * * *}")
+    public void scheduledCollect() {
+        try {
+            collect();
+        } catch (IOException e) {
+            log.error("Falha na coleta de uploads órfãos: {}", e.getMessage());
+        }
+    }
+
+    public Report collect() throws IOException {
+        if (!Files.isDirectory(uploadDir)) {
+            return new Report(0, 0, 0);
+        }
+
+        Set<String> referenced = referencedFileNames();
+        Instant cutoff = clock.instant().minus(gracePeriod);
+
+        int scanned = 0;
+        int removed = 0;
+        long freedBytes = 0;
+
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(uploadDir)) {
+            files = stream.filter(Files::isRegularFile).toList();
+        }
+
+        for (Path file : files) {
+            scanned++;
+            String name = file.getFileName().toString();
+            if (referenced.contains(normalize(name))) {
+                continue;
+            }
+            if (Files.getLastModifiedTime(file).toInstant().isAfter(cutoff)) {
+                continue;
+            }
+
+            long size = Files.size(file);
+            if (Files.deleteIfExists(file)) {
+                removed++;
+                freedBytes += size;
+                deleteVariants(name);
+                // sem isso o sendfile ainda anunciaria o Content-Length do arquivo apagado
+                imageFilter.evict(name);
+            }
+        }
+
+        log.info("Coleta de uploads: {} arquivos analisados, {} removidos, {} KB liberados",
+                scanned, removed, freedBytes / 1024);
+        return new Report(scanned, removed, freedBytes);
+    }
+
+    // ========== INTERNOS ==========
+
+    private Set<String> referencedFileNames() {
+        Set<String> names = new HashSet<>();
+        Stream.concat(productRepository.findAllImageUrls().stream(), comboRepository.findAllImageUrls().stream())
+                .map(UploadGarbageCollector::fileNameOf)
+                .filter(name -> !name.isBlank())
+                .forEach(names::add);
+        return names;
+    }
+
+    /**
+     * As URLs gravadas são absolutas (http://host/uploads/{arquivo}[?size=...]): interessa só o nome.
+     * Decodificado como o UploadedImageFilter decodifica a requisição ("foto%20-%20Copia.jpg"
+     * referencia "foto - Copia.jpg") e normalizado para comparar com o nome em disco.
+     */
+    static String fileNameOf(String imageUrl) {
+        String path = imageUrl;
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        String name = path.substring(path.lastIndexOf('/') + 1).trim();
+        try {
+            name = UriUtils.decode(name, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // "%" solto: o nome gravado é literal
+        }
+        return normalize(name);
+    }
+
+    /**
+     * Mesma forma Unicode (NFC) para nomes vindos do banco e do disco
+     */
+    static String normalize(String fileName) {
+        return Normalizer.normalize(fileName, Normalizer.Form.NFC);
+    }
+
+    private void deleteVariants(String fileName) throws IOException {
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        Path dir = variantsDir.resolve(baseName).normalize();
+        if (dir.startsWith(variantsDir) && !dir.equals(variantsDir)) {
+            FileSystemUtils.deleteRecursively(dir);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.basilios.basilios.infra.storage;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Entrega das imagens de /uploads/** fora do Spring MVC e da cadeia de segurança.
+ *
+ * Registrado antes do Spring Security (WebConfig): imagens são públicas e não precisam
+ * de JWT, rate limit nem dispatcher. O corpo sai por sendfile do Tomcat quando o conector
+ * suporta, senão por FileChannel.transferTo. Suporta Range (um intervalo), If-None-Match,
+ * If-Range, HEAD e ?size=thumb|card|detail (variantes do ImageVariantService).
+ *
+ * Os nomes são o hash do conteúdo e as variantes nunca mudam de conteúdo, então os
+ * metadados (tamanho, ETag, content-type) e o caminho das variantes prontas ficam em cache.
+ * A coleta de órfãos tira do cache o que apaga (evict) antes que o sendfile use um tamanho
+ * antigo; um arquivo removido por fora é detectado na abertura (transferTo) e sai do cache.
+ */
+@Component
+public class UploadedImageFilter extends OncePerRequestFilter {
+
+    static final String PATH_PREFIX = "/uploads/";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String CACHE_PENDING_VARIANT = "public, max-age=60";
+    private static final int MAX_CACHED_FILES = 10_000;
+
+    /**
+     * Metadados de um arquivo servido
+     */
+    record FileMeta(Path path, long length, String etag, long lastModified, String contentType) {
+    }
+
+    /**
+     * Intervalo de bytes pedido, com fim inclusivo
+     */
+    record ByteRange(long start, long end) {
+        static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+        long length() {
+            return end - start + 1;
+        }
+    }
+
+    private final Path uploadDir;
+    private final ImageVariantService imageVariantService;
+    private final Map<Path, FileMeta> metadata = new ConcurrentHashMap<>();
+    // "{arquivo}?{size}" -> variante pronta; variantes pendentes não entram (ficam prontas a qualquer momento)
+    private final Map<String, Path> variantPaths = new ConcurrentHashMap<>();
+
+    public UploadedImageFilter(@Value("${file.upload-dir}") String uploadDir,
+                               ImageVariantService imageVariantService) {
+        this.uploadDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.imageVariantService = imageVariantService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method))
+                || !relativePath(request).startsWith(PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String fileName = relativePath(request).substring(PATH_PREFIX.length());
+        Path original = uploadDir.resolve(fileName).normalize();
+        if (fileName.isEmpty() || !original.startsWith(uploadDir) || original.equals(uploadDir)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // ?size= escolhe a variante; enquanto ela não existe, serve o original com cache curto
+        Optional<ImageVariant> variant = Optional.ofNullable(request.getParameter("size"))
+                .flatMap(ImageVariant::fromParam);
+        // map() com resultado nulo (variante pendente) vira vazio e cai no original
+        Path target = variant.map(v -> variantPath(fileName, v)).orElse(original);
+        String cacheControl = variant.isPresent() && target == original ? CACHE_PENDING_VARIANT : CACHE_IMMUTABLE;
+
+        FileMeta meta = meta(target);
+        if (meta == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, meta.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, meta.lastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), meta.etag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        ByteRange range = null;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(meta.etag()))) {
+            range = parseRange(rangeHeader, meta.length());
+            if (range == ByteRange.UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + meta.length());
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long start = 0;
+        long length = meta.length();
+        if (range != null) {
+            start = range.start();
+            length = range.length();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.start() + "-" + range.end() + "/" + meta.length());
+        }
+
+        response.setContentType(meta.contentType());
+        response.setContentLengthLong(length);
+
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // O Tomcat envia o arquivo direto do page cache para o socket
+            request.setAttribute(SENDFILE_FILENAME, meta.path().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+
+        transfer(meta, start, length, response);
+    }
+
+    /**
+     * Esquece os metadados do arquivo e de suas variantes (chamado pela coleta ao apagá-lo)
+     */
+    public void evict(String fileName) {
+        metadata.remove(uploadDir.resolve(fileName).normalize());
+        String prefix = fileName + "?";
+        variantPaths.entrySet().removeIf(entry -> {
+            if (entry.getKey().startsWith(prefix)) {
+                metadata.remove(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    // ========== INTERNOS ==========
+
+    private Path variantPath(String fileName, ImageVariant variant) {
+        String key = fileName + "?" + variant.getParam();
+        Path cached = variantPaths.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Path path = imageVariantService.resolveVariant(fileName, variant).orElse(null);
+        if (path != null) {
+            if (variantPaths.size() >= MAX_CACHED_FILES) {
+                variantPaths.clear();
+            }
+            variantPaths.put(key, path);
+        }
+        return path;
+    }
+
+    private String relativePath(HttpServletRequest request) {
+        return UriUtils.decode(request.getRequestURI().substring(request.getContextPath().length()),
+                StandardCharsets.UTF_8);
+    }
+
+    private FileMeta meta(Path path) throws IOException {
+        FileMeta cached = metadata.get(path);
+        if (cached != null) {
+            return cached;
+        }
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (!attributes.isRegularFile()) {
+            return null;
+        }
+
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        FileMeta meta = new FileMeta(path, attributes.size(),
+                "\"" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified) + "\"",
+                lastModified,
+                MediaTypeFactory.getMediaType(path.getFileName().toString())
+                        .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        if (metadata.size() >= MAX_CACHED_FILES) {
+            metadata.clear();
+        }
+        metadata.put(path, meta);
+        return meta;
+    }
+
+    private void transfer(FileMeta meta, long start, long length, HttpServletResponse response) throws IOException {
+        FileChannel file;
+        try {
+            file = FileChannel.open(meta.path(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            metadata.remove(meta.path());
+            response.reset();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        try (file) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + length;
+            while (position < end) {
+                long sent = file.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Interpreta um único intervalo (bytes=a-b, bytes=a-, bytes=-n).
+     * Múltiplos intervalos ou sintaxe inválida devolvem null e o arquivo vai inteiro;
+     * intervalo fora do arquivo devolve UNSATISFIABLE (416).
+     */
+    static ByteRange parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.contains(",")) {
+            return null;
+        }
+
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+
+            if (from.isEmpty()) {
+                long suffix = Long.parseLong(to);
+                if (suffix <= 0 || length == 0) {
+                    return ByteRange.UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+
+            long start = Long.parseLong(from);
+            long requestedEnd = to.isEmpty() ? Long.MAX_VALUE : Long.parseLong(to);
+            if (requestedEnd < start) {
+                return null;
+            }
+            if (start >= length) {
+                return ByteRange.UNSATISFIABLE;
+            }
+            long end = Math.min(requestedEnd, length - 1);
+            return new ByteRange(start, end);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
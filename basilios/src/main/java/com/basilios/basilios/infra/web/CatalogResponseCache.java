@@ -0,0 +1,204 @@
+package com.basilios.basilios.infra.web;
+
+import com.basilios.basilios.core.service.CatalogVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respostas públicas do catálogo (GET /products, /promotions/current) já serializadas e
+ * comprimidas, uma vez por versão do catálogo e combinação de parâmetros.
+ *
+ * O corpo é gerado com o ObjectMapper da aplicação (mesmo JSON que o controller devolveria)
+ * e guardado em identity, gzip e deflate; a requisição só escolhe pelo Accept-Encoding e
+ * copia os bytes, com Content-Length conhecido. Ao mudar a versão do catálogo, tudo é
+ * descartado e a próxima requisição de cada página renderiza de novo.
+ */
+@Component
+public class CatalogResponseCache {
+
+    // páginas/filtros distintos guardados por versão; acima disso renderiza sem guardar
+    private static final int MAX_ENTRIES = 256;
+
+    public enum Encoding {
+        IDENTITY(null), GZIP("gzip"), DEFLATE("deflate");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        /**
+         * ETag da representação nesta codificação (cada codificação é um corpo diferente)
+         */
+        public String etag(String etag) {
+            return token == null ? etag : etag.substring(0, etag.length() - 1) + "-" + token + "\"";
+        }
+
+        /**
+         * Escolhe pelo Accept-Encoding: gzip, depois deflate, senão identity.
+         * Codificações com q=0 são recusadas; "*" vale para as não citadas.
+         */
+        public static Encoding negotiate(String acceptEncoding) {
+            if (acceptEncoding == null || acceptEncoding.isBlank()) {
+                return IDENTITY;
+            }
+            double gzip = -1;
+            double deflate = -1;
+            double any = -1;
+            for (String part : acceptEncoding.split(",")) {
+                String[] fields = part.split(";");
+                double q = 1;
+                for (int i = 1; i < fields.length; i++) {
+                    String param = fields[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            q = Double.parseDouble(param.substring(2));
+                        } catch (NumberFormatException e) {
+                            q = 0;
+                        }
+                    }
+                }
+                switch (fields[0].trim().toLowerCase(Locale.ROOT)) {
+                    case "gzip", "x-gzip" -> gzip = q;
+                    case "deflate" -> deflate = q;
+                    case "*" -> any = q;
+                    default -> { }
+                }
+            }
+            gzip = gzip < 0 ? any : gzip;
+            deflate = deflate < 0 ? any : deflate;
+            if (gzip > 0 && gzip >= deflate) {
+                return GZIP;
+            }
+            return deflate > 0 ? DEFLATE : IDENTITY;
+        }
+    }
+
+    /**
+     * Corpo de uma versão do catálogo nas três codificações
+     */
+    public record Rendered(String etag, long lastModified, byte[] identity, byte[] gzip, byte[] deflate) {
+
+        public byte[] body(Encoding encoding) {
+            return switch (encoding) {
+                case IDENTITY -> identity;
+                case GZIP -> gzip;
+                case DEFLATE -> deflate;
+            };
+        }
+    }
+
+    private final CatalogVersion catalogVersion;
+    private final ObjectWriter writer;
+    private final Map<String, Rendered> entries = new ConcurrentHashMap<>();
+    private volatile long entriesVersion = -1;
+
+    public CatalogResponseCache(CatalogVersion catalogVersion, ObjectMapper objectMapper) {
+        this.catalogVersion = catalogVersion;
+        this.writer = objectMapper.writer();
+    }
+
+    /**
+     * Corpo da versão atual para o recurso e parâmetros; renderiza a partir de body se ainda não há
+     */
+    public Rendered get(String resource, Map<String, String[]> parameters, Supplier<?> body) {
+        // versão lida antes dos dados: o que for renderizado é no mínimo desta versão
+        long version = catalogVersion.current();
+        String etag = catalogVersion.etag(parameters);
+        long lastModified = catalogVersion.lastModified();
+        evictIfStale(version);
+
+        String key = resource + " " + etag;
+        Rendered rendered = entries.get(key);
+        if (rendered != null) {
+            return rendered;
+        }
+        rendered = render(etag, lastModified, body.get());
+        if (entries.size() < MAX_ENTRIES) {
+            entries.put(key, rendered);
+        }
+        return rendered;
+    }
+
+    /**
+     * Resposta 200 com os bytes da codificação escolhida e os headers de cache do catálogo
+     */
+    public ResponseEntity<byte[]> toResponse(Rendered rendered, Encoding encoding) {
+        byte[] body = rendered.body(encoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length)
+                .eTag(encoding.etag(rendered.etag()))
+                .lastModified(rendered.lastModified())
+                .cacheControl(CacheControl.noCache().cachePublic())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (encoding.token != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, encoding.token);
+        }
+        return response.body(body);
+    }
+
+    private void evictIfStale(long version) {
+        if (version == entriesVersion) {
+            return;
+        }
+        synchronized (this) {
+            if (version > entriesVersion) {
+                entries.clear();
+                entriesVersion = version;
+            }
+        }
+    }
+
+    private Rendered render(String etag, long lastModified, Object body) {
+        try {
+            byte[] identity = writer.writeValueAsBytes(body);
+            return new Rendered(etag, lastModified, identity, compress(identity, true), compress(identity, false));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Compressão máxima: é paga uma vez por versão, não por requisição
+    private static byte[] compress(byte[] data, boolean gzip) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        if (gzip) {
+            try (OutputStream out = new BestGzipOutputStream(buffer)) {
+                out.write(data);
+            }
+        } else {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (OutputStream out = new DeflaterOutputStream(buffer, deflater)) {
+                out.write(data);
+            } finally {
+                deflater.end();
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    private static final class BestGzipOutputStream extends GZIPOutputStream {
+        private BestGzipOutputStream(OutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.basilios.basilios;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Benchmark de subida do jar empacotado: tempo até a primeira requisição bem-sucedida
+ * (GET /products) e RSS do processo nesse momento, no modo padrão e no fast-start
+ * (AOT + AppCDS + ddl-auto=validate + OpenAPI estático).
+ *
+ * Sobe processos java de verdade com o perfil production, então precisa do mesmo ambiente
+ * da aplicação (DB_URL, DB_USERNAME, DB_PASSWORD com o schema já criado). O RSS vem de
+ * /proc, só no Linux. Não roda no build normal (nome fora do padrão do surefire):
+ *   mvn -Pfast-start package
+ *   mvn test -Dtest=StartupBenchmark -Dsurefire.failIfNoSpecifiedTests=false -Dstartup.runs=5
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de subida")
+class StartupBenchmark {
+
+    private static final int RUNS = Integer.getInteger("startup.runs", 5);
+    private static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("startup.timeout-seconds", 120));
+    private static final Path TARGET = Path.of("target");
+    private static final Path FAST_START = TARGET.resolve("fast-start");
+
+    private record Sample(long millis, long rssKb) {
+    }
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        Path jar = findJar(TARGET);
+        assumeTrue(jar != null, "jar não encontrado em target/: rode mvn package antes");
+
+        List<String> standard = List.of("-jar", jar.toString(), "--spring.profiles.active=production");
+        report("padrão", measure(standard));
+
+        Path fastJar = findJar(FAST_START);
+        if (fastJar == null) {
+            System.out.println("fast-start: target/fast-start não encontrado (mvn -Pfast-start package)");
+            return;
+        }
+        List<String> fast = new ArrayList<>();
+        Path archive = FAST_START.resolve("basilios.jsa");
+        if (Files.exists(archive)) {
+            fast.add("-XX:SharedArchiveFile=" + archive);
+        }
+        fast.addAll(List.of("-Dspring.aot.enabled=true", "-jar", fastJar.toString(),
+                "--spring.profiles.active=production,fast-start"));
+        report("fast-start" + (Files.exists(archive) ? "" : " (sem CDS)"), measure(fast));
+    }
+
+    private List<Sample> measure(List<String> args) throws Exception {
+        List<Sample> samples = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            samples.add(start(args));
+        }
+        return samples;
+    }
+
+    private Sample start(List<String> args) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(args);
+        command.add("--server.port=" + port);
+        if (System.getenv("PASSWORD_RESET_BASE_URL") == null) {
+            command.add("--app.password-reset.base-url=http://localhost/reset-password?token=");
+        }
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/products?size=1"))
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            long deadline = started + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("processo terminou na subida (código " + process.exitValue() + ")");
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = (System.nanoTime() - started) / 1_000_000;
+                        return new Sample(millis, rssKb(process.pid()));
+                    }
+                } catch (IOException e) {
+                    // porta ainda fechada
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("sem resposta em " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static void report(String mode, List<Sample> samples) {
+        long[] millis = samples.stream().mapToLong(Sample::millis).sorted().toArray();
+        long[] rss = samples.stream().mapToLong(Sample::rssKb).sorted().toArray();
+        System.out.printf("Subida %-22s (%d execuções): 1ª requisição mediana %d ms (mín %d) | RSS mediano %d MB%n",
+                mode, samples.size(), millis[millis.length / 2], millis[0], rss[rss.length / 2] / 1024);
+    }
+
+    private static long rssKb(long pid) {
+        try (Stream<String> lines = Files.lines(Path.of("/proc", String.valueOf(pid), "status"))) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.replaceAll("\\D", ""))
+                    .mapToLong(Long::parseLong)
+                    .findFirst().orElse(0);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static Path findJar(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().matches("basilios-.*\\.jar"))
+                    .findFirst().orElse(null);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
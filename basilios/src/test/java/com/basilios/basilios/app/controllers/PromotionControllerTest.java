@@ -0,0 +1,131 @@
+package com.basilios.basilios.app.controllers;
+
+import com.basilios.basilios.app.dto.promotion.PromotionCurrentDTO;
+import com.basilios.basilios.core.service.CatalogVersion;
+import com.basilios.basilios.core.service.PromotionService;
+import com.basilios.basilios.infra.web.CatalogResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class PromotionControllerTest {
+
+    private MockMvc mockMvc;
+    private PromotionService promotionService;
+    private CatalogVersion catalogVersion;
+
+    @BeforeEach
+    void setUp() {
+        promotionService = mock(PromotionService.class);
+        catalogVersion = new CatalogVersion();
+
+        PromotionController controller = new PromotionController(promotionService, catalogVersion,
+                new CatalogResponseCache(catalogVersion, Jackson2ObjectMapperBuilder.json().build()));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+
+        when(promotionService.getCurrentPromotionsDTO(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(PromotionCurrentDTO.builder().id(1L).title("Combo").build()), PageRequest.of(0, 10), 1));
+    }
+
+    @Test
+    @DisplayName("GET /promotions/current - Deve retornar ETag, Last-Modified e Cache-Control")
+    void getCurrentPromotions_DeveRetornarHeadersDeCache() throws Exception {
+        mockMvc.perform(get("/promotions/current"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"));
+    }
+
+    @Test
+    @DisplayName("GET /promotions/current - Deve responder 304 sem consultar o serviço quando a ETag confere")
+    void getCurrentPromotions_DeveResponder304SemConsultarServico() throws Exception {
+        String etag = mockMvc.perform(get("/promotions/current"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/promotions/current").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        verify(promotionService, times(1)).getCurrentPromotionsDTO(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /promotions/current - Alteração no catálogo deve invalidar a ETag")
+    void getCurrentPromotions_DeveInvalidarETagAposAlteracao() throws Exception {
+        String etag = mockMvc.perform(get("/promotions/current"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        catalogVersion.bump();
+
+        mockMvc.perform(get("/promotions/current").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /promotions/current - Páginas diferentes devem ter ETags diferentes")
+    void getCurrentPromotions_DeveVariarETagPorPagina() throws Exception {
+        String first = mockMvc.perform(get("/promotions/current").param("page", "0"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/promotions/current").param("page", "1").header(HttpHeaders.IF_NONE_MATCH, first))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /promotions/current - Deve servir o corpo pré-comprimido em gzip com Content-Length")
+    void getCurrentPromotions_DeveServirGzipPreComprimido() throws Exception {
+        MockHttpServletResponse identity = mockMvc.perform(get("/promotions/current"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse();
+
+        MockHttpServletResponse gzip = mockMvc.perform(get("/promotions/current").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse();
+
+        byte[] compressed = gzip.getContentAsByteArray();
+        assertEquals(compressed.length, gzip.getContentLength());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals(identity.getContentAsString(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertNotEquals(identity.getHeader(HttpHeaders.ETAG), gzip.getHeader(HttpHeaders.ETAG));
+        verify(promotionService, times(1)).getCurrentPromotionsDTO(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("GET /promotions/current - ETag da versão gzip deve gerar 304 para o mesmo Accept-Encoding")
+    void getCurrentPromotions_DeveResponder304ParaETagGzip() throws Exception {
+        String etag = mockMvc.perform(get("/promotions/current").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/promotions/current").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/promotions/current").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+}
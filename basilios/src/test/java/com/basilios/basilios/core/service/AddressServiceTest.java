@@ -2,10 +2,13 @@ package com.basilios.basilios.core.service;
 
 import com.basilios.basilios.app.dto.endereco.AddressRequestDTO;
 import com.basilios.basilios.app.dto.endereco.AddressResponseDTO;
+import com.basilios.basilios.core.enums.DeliveryZoneEnum;
 import com.basilios.basilios.core.exception.NotFoundException;
 import com.basilios.basilios.core.model.Address;
 import com.basilios.basilios.core.model.Usuario;
+import com.basilios.basilios.infra.geo.CepCentroidIndex;
 import com.basilios.basilios.infra.repository.AddressRepository;
+import com.basilios.basilios.infra.repository.StoreRepository;
 import com.basilios.basilios.infra.repository.UsuarioRepository;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -14,8 +17,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.security.access.AccessDeniedException;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +40,17 @@ class AddressServicePartialTest {
     @Mock
     private UsuarioService usuarioService;
 
+    // Sem lojas cadastradas: vale a loja configurada
+    @Spy
+    private StoreService storeService = new StoreService(mock(StoreRepository.class), 7.0);
+
+    @Spy
+    private DeliveryQuoteService deliveryQuoteService = new DeliveryQuoteService(
+            storeService, -23.550520, -46.633308, 7.0, new BigDecimal("5.00"), new BigDecimal("2.00"));
+
+    @Spy
+    private CepCentroidIndex cepCentroidIndex = new CepCentroidIndex(new ClassPathResource("geo/cep-centroids.csv"));
+
     @InjectMocks
     private AddressService addressService;
 
@@ -232,6 +249,102 @@ class AddressServicePartialTest {
         verify(addressRepository).save(address1);
     }
 
+    @Test
+    @DisplayName("createAddress() — Deve gravar a cotação de entrega no endereço")
+    void createAddress_DeveGravarCotacaoDeEntrega() {
+        AddressRequestDTO request = AddressRequestDTO.builder()
+                .rua("Rua Perto").numero("1").bairro("Centro")
+                .cep("01000-000").cidade("São Paulo").estado("SP")
+                .latitude(-23.555520).longitude(-46.638308).build();
+
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+        when(addressRepository.save(any(Address.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AddressResponseDTO result = addressService.createAddress(request);
+
+        assertEquals(DeliveryZoneEnum.DENTRO_DA_AREA, result.getZonaEntrega());
+        assertEquals(new BigDecimal("6.51"), result.getTaxaEntrega());
+        verify(addressRepository).save(argThat(a ->
+                deliveryQuoteService.getVersion().equals(a.getDeliveryQuoteVersion())
+                        && new BigDecimal("6.51").equals(a.getDeliveryFee())));
+    }
+
+    @Test
+    @DisplayName("createAddress() — Sem coordenadas deve usar o centroide do CEP")
+    void createAddress_DevePreencherCoordenadasPeloCep() {
+        AddressRequestDTO request = AddressRequestDTO.builder()
+                .rua("Av. Paulista").numero("1000").bairro("Bela Vista")
+                .cep("01310-100").cidade("São Paulo").estado("SP").build();
+
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+        when(addressRepository.save(any(Address.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AddressResponseDTO result = addressService.createAddress(request);
+
+        assertEquals(-23.5614, result.getLatitude(), 0.0001);
+        assertEquals(-46.6559, result.getLongitude(), 0.0001);
+        assertTrue(result.getCoordenadasAproximadas());
+        assertFalse(result.getCoordenadasSuspeitas());
+        assertEquals(DeliveryZoneEnum.DENTRO_DA_AREA, result.getZonaEntrega());
+    }
+
+    @Test
+    @DisplayName("createAddress() — Centroide impreciso não deve virar coordenada")
+    void createAddress_NaoDevePreencherCoordenadasComCentroideImpreciso() {
+        // Prefixo "02" (raio de 10 km): incerteza maior que o raio de entrega
+        AddressRequestDTO request = AddressRequestDTO.builder()
+                .rua("Rua Voluntários da Pátria").numero("100").bairro("Santana")
+                .cep("02010-000").cidade("São Paulo").estado("SP").build();
+
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+        when(addressRepository.save(any(Address.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AddressResponseDTO result = addressService.createAddress(request);
+
+        assertNull(result.getLatitude());
+        assertNull(result.getLongitude());
+        assertFalse(result.getCoordenadasAproximadas());
+        assertEquals(DeliveryZoneEnum.SEM_COORDENADAS, result.getZonaEntrega());
+        assertNull(result.getTaxaEntrega());
+    }
+
+    @Test
+    @DisplayName("createAddress() — Coordenadas longe do CEP devem ser marcadas como suspeitas")
+    void createAddress_DeveMarcarCoordenadasSuspeitas() {
+        AddressRequestDTO request = AddressRequestDTO.builder()
+                .rua("Av. Paulista").numero("1000").bairro("Bela Vista")
+                .cep("01310-100").cidade("São Paulo").estado("SP")
+                .latitude(-22.9068).longitude(-43.1729).build(); // Rio de Janeiro
+
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+        when(addressRepository.save(any(Address.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AddressResponseDTO result = addressService.createAddress(request);
+
+        assertTrue(result.getCoordenadasSuspeitas());
+        assertFalse(result.getCoordenadasAproximadas());
+        assertEquals(-22.9068, result.getLatitude());
+    }
+
+    @Test
+    @DisplayName("updateAddress() — Endereço fora do raio deve ficar sem taxa")
+    void updateAddress_DeveMarcarForaDaArea() {
+        AddressRequestDTO request = AddressRequestDTO.builder()
+                .rua("Rua Longe").numero("1").bairro("Centro")
+                .cep("20000000").cidade("Rio").estado("RJ")
+                .latitude(-22.9).longitude(-43.2).build();
+
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+        when(addressRepository.findById(10L)).thenReturn(Optional.of(address1));
+        when(addressRepository.save(any(Address.class))).thenReturn(address1);
+
+        AddressResponseDTO result = addressService.updateAddress(10L, request);
+
+        assertEquals(DeliveryZoneEnum.FORA_DA_AREA, result.getZonaEntrega());
+        assertNull(result.getTaxaEntrega());
+        assertEquals(DeliveryZoneEnum.FORA_DA_AREA, address1.getDeliveryZone());
+    }
+
     @Test
     @DisplayName("updateAddress() — Deve lançar AccessDeniedException quando endereço for de outro usuário")
     void updateAddress_DeveLancarAccessDenied_QuandoEnderecoNaoPertenceAoUsuario() {
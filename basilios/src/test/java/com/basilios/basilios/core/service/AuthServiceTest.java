@@ -10,16 +10,12 @@ import com.basilios.basilios.core.model.Usuario;
 import com.basilios.basilios.infra.repository.UsuarioRepository;
 import com.basilios.basilios.infra.messaging.NotificationEventPublisher;
 import com.basilios.basilios.infra.security.JwtUtil;
+import com.basilios.basilios.infra.security.PasswordHashingService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
 import java.util.Optional;
@@ -34,17 +30,11 @@ class AuthServiceTest {
     private UsuarioRepository usuarioRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
-
-    @Mock
-    private AuthenticationManager authenticationManager;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private JwtUtil jwtUtil;
 
-    @Mock
-    private UserDetailsService userDetailsService;
-
     @Mock
     private EmailService emailService;
 
@@ -55,7 +45,6 @@ class AuthServiceTest {
     private AuthService authService;
 
     private Usuario usuario;
-    private UserDetails userDetails;
 
     @BeforeEach
     void setup() {
@@ -67,8 +56,7 @@ class AuthServiceTest {
         usuario.setEnabled(true);
         usuario.setNomeUsuario("Mouras");
         usuario.setRoles(List.of(RoleEnum.ROLE_CLIENTE));
-
-        userDetails = mock(UserDetails.class);
+        usuario.setPassword("hash-atual");
     }
 
     // ============================================================
@@ -87,10 +75,8 @@ class AuthServiceTest {
 
         when(usuarioRepository.existsByEmail(dto.getEmail())).thenReturn(false);
         when(usuarioRepository.existsByCpf("12345678900")).thenReturn(false);
-        when(passwordEncoder.encode("123")).thenReturn("encoded");
+        when(passwordHashingService.encode("123")).thenReturn("encoded");
         when(usuarioRepository.save(any(Usuario.class))).thenReturn(usuario);
-        when(userDetailsService.loadUserByUsername(usuario.getEmail())).thenReturn(userDetails);
-        when(userDetails.getUsername()).thenReturn("teste@teste.com");
         when(jwtUtil.generateToken(eq("teste@teste.com"), anyList(), eq(1L))).thenReturn("jwt-token");
 
         UsuarioTokenDTO result = authService.register(dto);
@@ -125,15 +111,12 @@ class AuthServiceTest {
     // ============================================================
 
     @Test
-    @DisplayName("Deve retornar token JWT quando as credenciais forem válidas no login")
+    @DisplayName("Deve retornar token JWT quando as credenciais forem válidas no login, com uma única busca")
     void login_DeveRetornarTokenQuandoCredenciaisValidas() {
-        UsuarioLoginDTO dto = new UsuarioLoginDTO();
-        dto.setEmail("teste@teste.com");
-        dto.setPassword("123");
+        UsuarioLoginDTO dto = login("123");
 
-        when(usuarioRepository.findByEmail(dto.getEmail())).thenReturn(Optional.of(usuario));
-        when(userDetailsService.loadUserByUsername(usuario.getEmail())).thenReturn(userDetails);
-        when(userDetails.getUsername()).thenReturn("teste@teste.com");
+        when(usuarioRepository.findWithRolesByEmail(dto.getEmail())).thenReturn(Optional.of(usuario));
+        when(passwordHashingService.matches("123", "hash-atual")).thenReturn(true);
         when(jwtUtil.generateToken(eq("teste@teste.com"), anyList(), eq(1L))).thenReturn("jwt-token");
 
         UsuarioTokenDTO result = authService.login(dto);
@@ -141,27 +124,74 @@ class AuthServiceTest {
         assertNotNull(result);
         assertEquals("jwt-token", result.getToken());
         assertEquals("Mouras", result.getNomeUsuario());
-        verify(authenticationManager).authenticate(any());
+        verify(usuarioRepository, times(1)).findWithRolesByEmail(dto.getEmail());
+        verify(usuarioRepository, never()).findByEmail(any());
+        verify(usuarioRepository, never()).updatePasswordHash(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve refazer o hash no login quando o custo configurado mudou")
+    void login_DeveRefazerHashQuandoCustoMudou() {
+        UsuarioLoginDTO dto = login("123");
+
+        when(usuarioRepository.findWithRolesByEmail(dto.getEmail())).thenReturn(Optional.of(usuario));
+        when(passwordHashingService.matches("123", "hash-atual")).thenReturn(true);
+        when(passwordHashingService.needsRehash("hash-atual")).thenReturn(true);
+        when(passwordHashingService.encode("123")).thenReturn("hash-novo");
+        when(usuarioRepository.updatePasswordHash(1L, "hash-atual", "hash-novo")).thenReturn(1);
+        when(jwtUtil.generateToken(eq("teste@teste.com"), anyList(), eq(1L))).thenReturn("jwt-token");
+
+        assertEquals("jwt-token", authService.login(dto).getToken());
+        verify(usuarioRepository).updatePasswordHash(1L, "hash-atual", "hash-novo");
     }
 
     // ============================================================
-    //  login() → NEGATIVO (senha incorreta)
+    //  login() → NEGATIVO
     // ============================================================
 
     @Test
     @DisplayName("Deve lançar AuthenticationException quando a senha estiver incorreta no login")
     void login_DeveLancarAuthenticationException_QuandoSenhaIncorreta() {
-        UsuarioLoginDTO dto = new UsuarioLoginDTO();
-        dto.setEmail("teste@teste.com");
-        dto.setPassword("senhaErrada");
+        UsuarioLoginDTO dto = login("senhaErrada");
 
-        doThrow(new BadCredentialsException("Credenciais inválidas"))
-                .when(authenticationManager)
-                .authenticate(any());
+        when(usuarioRepository.findWithRolesByEmail(dto.getEmail())).thenReturn(Optional.of(usuario));
+        when(passwordHashingService.matches("senhaErrada", "hash-atual")).thenReturn(false);
 
         assertThrows(AuthenticationException.class, () -> authService.login(dto));
 
-        verify(authenticationManager, times(1)).authenticate(any());
-        verify(usuarioRepository, never()).findByEmail(any());
+        verify(jwtUtil, never()).generateToken(any(), anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Email inexistente deve passar pela verificação de senha e ter a mesma resposta")
+    void login_DeveVerificarSenhaMesmoSemUsuario() {
+        UsuarioLoginDTO dto = login("123");
+
+        when(usuarioRepository.findWithRolesByEmail(dto.getEmail())).thenReturn(Optional.empty());
+
+        AuthenticationException ex = assertThrows(AuthenticationException.class, () -> authService.login(dto));
+
+        assertEquals("Credenciais invalidas", ex.getMessage());
+        verify(passwordHashingService).matches("123", null);
+    }
+
+    @Test
+    @DisplayName("Usuário desativado não deve receber token")
+    void login_DeveRecusarUsuarioDesativado() {
+        UsuarioLoginDTO dto = login("123");
+        usuario.setEnabled(false);
+
+        when(usuarioRepository.findWithRolesByEmail(dto.getEmail())).thenReturn(Optional.of(usuario));
+        when(passwordHashingService.matches("123", "hash-atual")).thenReturn(true);
+
+        assertThrows(AuthenticationException.class, () -> authService.login(dto));
+        verify(jwtUtil, never()).generateToken(any(), anyList(), any());
+    }
+
+    private UsuarioLoginDTO login(String password) {
+        UsuarioLoginDTO dto = new UsuarioLoginDTO();
+        dto.setEmail("teste@teste.com");
+        dto.setPassword(password);
+        return dto;
     }
 }
@@ -0,0 +1,84 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.model.CatalogRevision;
+import com.basilios.basilios.infra.repository.CatalogRevisionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes da CatalogVersion compartilhada")
+class CatalogVersionTest {
+
+    @Mock
+    private CatalogRevisionRepository repository;
+
+    private CatalogVersion catalogVersion;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new CatalogVersion(repository);
+    }
+
+    @Test
+    @DisplayName("Deve criar a linha da versão na subida e adotar o valor do banco")
+    void init_DeveCriarLinhaEAdotarVersao() {
+        when(repository.existsById(1L)).thenReturn(false);
+        when(repository.findById(1L)).thenReturn(Optional.of(new CatalogRevision(1L, 7L, 1_700_000_000L)));
+
+        catalogVersion.init();
+
+        verify(repository).save(any(CatalogRevision.class));
+        assertEquals(7L, catalogVersion.current());
+        assertEquals(1_700_000_000_000L, catalogVersion.lastModified());
+    }
+
+    @Test
+    @DisplayName("Alteração feita em outra instância deve mudar a ETag no próximo sync")
+    void sync_DeveAdotarVersaoDeOutraInstancia() {
+        when(repository.findById(1L)).thenReturn(Optional.of(new CatalogRevision(1L, 3L, 1_700_000_000L)));
+        catalogVersion.sync();
+        String before = catalogVersion.etag(Map.of());
+
+        when(repository.findById(1L)).thenReturn(Optional.of(new CatalogRevision(1L, 4L, 1_700_000_060L)));
+        catalogVersion.sync();
+
+        assertNotEquals(before, catalogVersion.etag(Map.of()));
+        assertEquals(4L, catalogVersion.current());
+    }
+
+    @Test
+    @DisplayName("bump deve incrementar no banco e adotar o novo valor")
+    void bump_DeveIncrementarNoBanco() {
+        when(repository.findById(1L)).thenReturn(Optional.of(new CatalogRevision(1L, 1L, 1_700_000_000L)));
+
+        catalogVersion.bump();
+
+        verify(repository).increment(eq(1L), anyLong());
+        assertEquals(1L, catalogVersion.current());
+    }
+
+    @Test
+    @DisplayName("ETag deve ser igual entre instâncias na mesma versão")
+    void etag_DeveSerIgualEntreInstancias() {
+        CatalogVersion other = new CatalogVersion(repository);
+        when(repository.findById(1L)).thenReturn(Optional.of(new CatalogRevision(1L, 5L, 1_700_000_000L)));
+
+        catalogVersion.sync();
+        other.sync();
+
+        assertEquals(catalogVersion.etag(Map.of("page", new String[]{"0"})), other.etag(Map.of("page", new String[]{"0"})));
+    }
+}
@@ -0,0 +1,238 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.app.dto.user.CustomerStatsResponse;
+import com.basilios.basilios.core.enums.StatusPedidoEnum;
+import com.basilios.basilios.core.model.CustomerStats;
+import com.basilios.basilios.core.model.Order;
+import com.basilios.basilios.core.model.Product;
+import com.basilios.basilios.core.model.ProductOrder;
+import com.basilios.basilios.core.model.Usuario;
+import com.basilios.basilios.infra.repository.CustomerStatsRepository;
+import com.basilios.basilios.infra.repository.OrderRepository;
+import com.basilios.basilios.infra.repository.ProductOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CustomerStatsService")
+class CustomerStatsServiceTest {
+
+    @Mock
+    private CustomerStatsRepository customerStatsRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductOrderRepository productOrderRepository;
+
+    @Mock
+    private UsuarioService usuarioService;
+
+    @InjectMocks
+    private CustomerStatsService customerStatsService;
+
+    private Usuario usuario;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new Usuario();
+        usuario.setId(1L);
+
+        Product product = new Product();
+        product.setId(10L);
+        product.setName("X-Burger");
+
+        order = new Order();
+        order.setId(100L);
+        order.setUsuario(usuario);
+        order.setStatus(StatusPedidoEnum.PENDENTE);
+        order.setTotal(new BigDecimal("50.00"));
+        order.setCreatedAt(LocalDateTime.of(2025, 1, 10, 12, 0));
+        order.setProductOrders(new ArrayList<>(List.of(
+                ProductOrder.builder().product(product).order(order).quantity(2).unitPrice(new BigDecimal("25.00")).build()
+        )));
+    }
+
+    @Test
+    @DisplayName("Deve criar a linha de estatísticas no primeiro pedido do cliente")
+    void registerOrder_DeveCriarEstatisticasNoPrimeiroPedido() {
+        when(customerStatsRepository.existsById(1L)).thenReturn(false);
+        when(customerStatsRepository.findForUpdate(1L)).thenReturn(Optional.of(CustomerStats.empty(1L)));
+
+        customerStatsService.registerOrder(order);
+
+        // linha criada por INSERT IGNORE (sem erro de chave duplicada com pedidos simultâneos) e então travada
+        InOrder inOrder = inOrder(customerStatsRepository);
+        inOrder.verify(customerStatsRepository).insertIfAbsent(1L);
+        inOrder.verify(customerStatsRepository).findForUpdate(1L);
+        ArgumentCaptor<CustomerStats> captor = ArgumentCaptor.forClass(CustomerStats.class);
+        verify(customerStatsRepository).save(captor.capture());
+        CustomerStats stats = captor.getValue();
+        assertEquals(1L, stats.getTotalOrders());
+        assertEquals(1L, stats.getPendingOrders());
+        assertEquals(order.getCreatedAt(), stats.getFirstOrderAt());
+        assertEquals(order.getCreatedAt(), stats.getLastOrderAt());
+    }
+
+    @Test
+    @DisplayName("Deve mover contadores de status sem alterar o gasto antes da entrega")
+    void registerStatusChange_DeveMoverContadores() {
+        CustomerStats stats = CustomerStats.builder().usuarioId(1L).totalOrders(1L).pendingOrders(1L).build();
+        when(customerStatsRepository.findForUpdate(1L)).thenReturn(Optional.of(stats));
+
+        customerStatsService.registerStatusChange(order, StatusPedidoEnum.PENDENTE, StatusPedidoEnum.CONFIRMADO);
+
+        assertEquals(0L, stats.getPendingOrders());
+        assertEquals(1L, stats.getConfirmedOrders());
+        assertEquals(0, BigDecimal.ZERO.compareTo(stats.getTotalSpent()));
+        verifyNoInteractions(productOrderRepository);
+    }
+
+    @Test
+    @DisplayName("Na entrega deve acumular gasto e atualizar o produto favorito")
+    void registerStatusChange_DeveAcumularGastoEFavoritoNaEntrega() {
+        CustomerStats stats = CustomerStats.builder()
+                .usuarioId(1L).totalOrders(1L).dispatchedOrders(1L)
+                .totalSpent(new BigDecimal("30.00")).deliveredOrders(1L)
+                .favoriteProductId(20L).favoriteProductName("Batata").favoriteProductQuantity(3L)
+                .build();
+        when(customerStatsRepository.findForUpdate(1L)).thenReturn(Optional.of(stats));
+        when(productOrderRepository.sumDeliveredQuantityByUsuarioAndProducts(eq(1L), anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, "X-Burger", 5L}));
+
+        customerStatsService.registerStatusChange(order, StatusPedidoEnum.DESPACHADO, StatusPedidoEnum.ENTREGUE);
+
+        assertEquals(0L, stats.getDispatchedOrders());
+        assertEquals(2L, stats.getDeliveredOrders());
+        assertEquals(new BigDecimal("80.00"), stats.getTotalSpent());
+        assertEquals(new BigDecimal("40.00"), stats.getAverageTicket());
+        assertEquals(10L, stats.getFavoriteProductId());
+        assertEquals(5L, stats.getFavoriteProductQuantity());
+    }
+
+    @Test
+    @DisplayName("Exclusão de pedido entregue deve descontar contadores e gasto e reavaliar o favorito")
+    void registerRemoval_DeveDescontarPedidoEntregue() {
+        order.setStatus(StatusPedidoEnum.ENTREGUE);
+        CustomerStats stats = CustomerStats.builder()
+                .usuarioId(1L).totalOrders(3L).deliveredOrders(2L).pendingOrders(1L)
+                .totalSpent(new BigDecimal("80.00"))
+                .favoriteProductId(10L).favoriteProductName("X-Burger").favoriteProductQuantity(4L)
+                .build();
+        when(customerStatsRepository.existsById(1L)).thenReturn(true);
+        when(customerStatsRepository.findForUpdate(1L)).thenReturn(Optional.of(stats));
+        when(productOrderRepository.sumDeliveredQuantityByUsuarioExcludingOrder(1L, 100L))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, "X-Burger", 2L}, new Object[]{20L, "Batata", 3L}));
+
+        customerStatsService.registerRemoval(order);
+
+        assertEquals(2L, stats.getTotalOrders());
+        assertEquals(1L, stats.getDeliveredOrders());
+        assertEquals(1L, stats.getPendingOrders());
+        assertEquals(new BigDecimal("30.00"), stats.getTotalSpent());
+        assertEquals(20L, stats.getFavoriteProductId());
+        assertEquals(3L, stats.getFavoriteProductQuantity());
+        verify(customerStatsRepository).save(stats);
+    }
+
+    @Test
+    @DisplayName("Exclusão de pedido não entregue não deve mexer no gasto nem no favorito")
+    void registerRemoval_NaoDeveAlterarGastoDePedidoPendente() {
+        CustomerStats stats = CustomerStats.builder()
+                .usuarioId(1L).totalOrders(1L).pendingOrders(1L)
+                .totalSpent(new BigDecimal("30.00")).favoriteProductId(10L).favoriteProductQuantity(1L)
+                .build();
+        when(customerStatsRepository.existsById(1L)).thenReturn(true);
+        when(customerStatsRepository.findForUpdate(1L)).thenReturn(Optional.of(stats));
+
+        customerStatsService.registerRemoval(order);
+
+        assertEquals(0L, stats.getTotalOrders());
+        assertEquals(0L, stats.getPendingOrders());
+        assertEquals(new BigDecimal("30.00"), stats.getTotalSpent());
+        assertEquals(10L, stats.getFavoriteProductId());
+        assertNull(stats.getFirstOrderAt());
+        verifyNoInteractions(productOrderRepository);
+    }
+
+    @Test
+    @DisplayName("Deve reconstruir estatísticas a partir das consultas agregadas, com as linhas travadas")
+    @SuppressWarnings("unchecked")
+    void rebuildAll_DeveReconstruirAPartirDosAgregados() {
+        when(customerStatsRepository.findAllForUpdate()).thenReturn(List.of(
+                CustomerStats.builder().usuarioId(1L).totalOrders(9L).build(),
+                CustomerStats.builder().usuarioId(2L).totalOrders(2L).build()));
+        LocalDateTime first = LocalDateTime.of(2025, 1, 1, 10, 0);
+        LocalDateTime last = LocalDateTime.of(2025, 3, 1, 10, 0);
+        when(orderRepository.aggregateStatsByUsuarioAndStatus()).thenReturn(List.of(
+                new Object[]{1L, StatusPedidoEnum.ENTREGUE, 3L, new BigDecimal("120.00"), first, last},
+                new Object[]{1L, StatusPedidoEnum.CANCELADO, 1L, new BigDecimal("40.00"), first, first}
+        ));
+        when(productOrderRepository.sumDeliveredQuantityByUsuarioAndProduct()).thenReturn(List.of(
+                new Object[]{1L, 10L, "X-Burger", 4L},
+                new Object[]{1L, 20L, "Batata", 6L}
+        ));
+
+        int customers = customerStatsService.rebuildAll();
+
+        assertEquals(2, customers);
+        ArgumentCaptor<Collection<CustomerStats>> captor = ArgumentCaptor.forClass(Collection.class);
+        InOrder inOrder = inOrder(customerStatsRepository, orderRepository);
+        inOrder.verify(customerStatsRepository).insertMissingForOrders();
+        inOrder.verify(customerStatsRepository).findAllForUpdate();
+        inOrder.verify(orderRepository).aggregateStatsByUsuarioAndStatus();
+        verify(customerStatsRepository, never()).deleteAllInBatch();
+        verify(customerStatsRepository).saveAll(captor.capture());
+        Iterator<CustomerStats> saved = captor.getValue().iterator();
+        CustomerStats stats = saved.next();
+        assertEquals(4L, stats.getTotalOrders());
+        assertEquals(3L, stats.getDeliveredOrders());
+        assertEquals(1L, stats.getCancelledOrders());
+        assertEquals(new BigDecimal("120.00"), stats.getTotalSpent());
+        assertEquals(first, stats.getFirstOrderAt());
+        assertEquals(last, stats.getLastOrderAt());
+        assertEquals(20L, stats.getFavoriteProductId());
+
+        // cliente sem pedidos no histórico volta a zero
+        CustomerStats withoutOrders = saved.next();
+        assertEquals(2L, withoutOrders.getUsuarioId());
+        assertEquals(0L, withoutOrders.getTotalOrders());
+    }
+
+    @Test
+    @DisplayName("Deve retornar estatísticas zeradas para cliente sem pedidos")
+    void getCurrentUserStats_DeveRetornarZeradoSemPedidos() {
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+        when(customerStatsRepository.findById(1L)).thenReturn(Optional.empty());
+
+        CustomerStatsResponse response = customerStatsService.getCurrentUserStats();
+
+        assertEquals(0L, response.getTotalOrders());
+        assertEquals(0, BigDecimal.ZERO.compareTo(response.getTotalSpent()));
+        assertEquals(0L, response.getOrdersByStatus().get(StatusPedidoEnum.ENTREGUE));
+        verify(orderRepository, never()).findByUsuarioAndStatus(any(), any());
+    }
+}
@@ -0,0 +1,63 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.enums.DeliveryZoneEnum;
+import com.basilios.basilios.core.model.Store;
+import com.basilios.basilios.infra.repository.StoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do DeliveryQuoteService")
+class DeliveryQuoteServiceTest {
+
+    @Mock
+    private StoreRepository storeRepository;
+
+    private DeliveryQuoteService deliveryQuoteService;
+
+    @BeforeEach
+    void setUp() {
+        StoreService storeService = new StoreService(storeRepository, 7.0);
+        deliveryQuoteService = new DeliveryQuoteService(
+                storeService, -23.550520, -46.633308, 7.0, new BigDecimal("5.00"), new BigDecimal("2.00"));
+    }
+
+    @Test
+    @DisplayName("Sem lojas cadastradas deve cotar pela loja configurada")
+    void quote_SemLojasDeveUsarLojaConfigurada() {
+        when(storeRepository.findAll()).thenReturn(List.of());
+
+        DeliveryQuoteService.DeliveryQuote quote = deliveryQuoteService.quote(-23.5614, -46.6559);
+
+        assertEquals(DeliveryZoneEnum.DENTRO_DA_AREA, quote.zone());
+        assertNull(quote.storeId());
+        assertNotNull(quote.fee());
+    }
+
+    @Test
+    @DisplayName("Com todas as lojas inativas nenhum endereço deve ser atendido")
+    void quote_TodasLojasInativasDeveFicarForaDaArea() {
+        Store fechada = new Store();
+        fechada.setId(1L);
+        fechada.setLatitude(-23.550520);
+        fechada.setLongitude(-46.633308);
+        fechada.setIsActive(false);
+        when(storeRepository.findAll()).thenReturn(List.of(fechada));
+
+        DeliveryQuoteService.DeliveryQuote quote = deliveryQuoteService.quote(-23.550520, -46.633308);
+
+        assertEquals(DeliveryZoneEnum.FORA_DA_AREA, quote.zone());
+        assertFalse(quote.isDeliverable());
+        assertNull(quote.fee());
+    }
+}
@@ -0,0 +1,66 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.infra.repository.IngredientBatchRepository;
+import com.basilios.basilios.infra.repository.IngredientRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do IngredientDictionary")
+class IngredientDictionaryTest {
+
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    @Mock
+    private IngredientBatchRepository ingredientBatchRepository;
+
+    @InjectMocks
+    private IngredientDictionary ingredientDictionary;
+
+    @Test
+    @DisplayName("Nomes conhecidos devem ser resolvidos sem ir ao banco, ignorando maiúsculas e espaços")
+    void resolve_DeveUsarDicionarioParaNomesConhecidos() {
+        when(ingredientRepository.findAllIdAndName()).thenReturn(rows(new Object[]{1L, "Bacon"}, new Object[]{2L, "Queijo Cheddar"}));
+
+        List<Long> ids = ingredientDictionary.resolve(List.of(" bacon ", "QUEIJO   cheddar", "Bacon", ""));
+
+        assertEquals(List.of(1L, 2L), ids);
+        verify(ingredientRepository, times(1)).findAllIdAndName();
+        verifyNoInteractions(ingredientBatchRepository);
+    }
+
+    @Test
+    @DisplayName("Deve conferir desconhecidos numa consulta e inserir os que faltam num único batch")
+    void resolve_DeveInserirFaltantesEmLote() {
+        when(ingredientRepository.findAllIdAndName()).thenReturn(rows(new Object[]{1L, "Bacon"}));
+        when(ingredientBatchRepository.findIdsByLowerName(List.of("alface", "tomate")))
+                .thenReturn(Map.of("tomate", 7L)); // criado por outra instância
+        when(ingredientBatchRepository.insertAll(List.of("Alface"))).thenReturn(Map.of("alface", 8L));
+
+        List<Long> ids = ingredientDictionary.resolve(List.of("Bacon", "Alface", "Tomate"));
+
+        assertEquals(List.of(1L, 8L, 7L), ids);
+        verify(ingredientBatchRepository, times(1)).insertAll(anyCollection());
+
+        // Aprendidos: a segunda chamada não vai ao banco
+        assertEquals(List.of(8L, 7L), ingredientDictionary.resolve(List.of("alface", "TOMATE")));
+        verify(ingredientBatchRepository, times(1)).findIdsByLowerName(anyCollection());
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return Arrays.asList(rows);
+    }
+}
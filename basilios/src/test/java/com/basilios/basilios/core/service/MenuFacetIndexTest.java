@@ -0,0 +1,174 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.enums.PriceBand;
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.ProductSubcategory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do MenuFacetIndex")
+class MenuFacetIndexTest {
+
+    private static final String[] TAGS = {"ARTESANAL", "PICANTE", "Vegano", "Gelada", "Novo"};
+    private static final String[] INGREDIENTS = {"Bacon", "Cheddar", "Alface", "Tomate", "Pão Brioche", "Cebola"};
+
+    private final List<MenuSearchIndex.Document> documents = List.of(
+            doc(1L, ProductCategory.BURGER, ProductSubcategory.BEEF, "32.00", false, List.of("ARTESANAL"), List.of("Bacon", "Cheddar")),
+            doc(2L, ProductCategory.BURGER, ProductSubcategory.CHICKEN, "25.00", false, List.of("Picante"), List.of("Alface")),
+            doc(3L, ProductCategory.BURGER, ProductSubcategory.VEGAN, "28.00", true, List.of("Vegano"), List.of("Alface", "Tomate")),
+            doc(4L, ProductCategory.DRINK, ProductSubcategory.SODA, "8.00", false, List.of("Gelada"), List.of()),
+            doc(5L, ProductCategory.SIDE, ProductSubcategory.FRIES, "15.00", false, List.of(), List.of("Cheddar", "Bacon")));
+
+    @Test
+    @DisplayName("Deve combinar valores da faceta com OU e facetas diferentes com E")
+    void filter_DeveCombinarFacetas() {
+        MenuFacetIndex index = MenuFacetIndex.build(documents);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(index.filter(Map.of(
+                MenuFacetIndex.Facet.CATEGORY, Set.of("BURGER", "DRINK")))));
+        assertEquals(List.of(1L, 5L), ids(index.filter(Map.of(
+                MenuFacetIndex.Facet.INGREDIENT, Set.of("bacon")))));
+        assertEquals(List.of(1L), ids(index.filter(Map.of(
+                MenuFacetIndex.Facet.CATEGORY, Set.of("BURGER"),
+                MenuFacetIndex.Facet.INGREDIENT, Set.of("bacon")))));
+        assertEquals(List.of(5L), ids(index.filter(Map.of(
+                MenuFacetIndex.Facet.PRICE_BAND, Set.of("ECONOMIC"),
+                MenuFacetIndex.Facet.STATUS, Set.of(MenuFacetIndex.ACTIVE),
+                MenuFacetIndex.Facet.INGREDIENT, Set.of("cheddar")))));
+    }
+
+    @Test
+    @DisplayName("Contagem de uma faceta deve ignorar o próprio filtro e respeitar os demais")
+    void filter_DeveContarDeFormaDisjuntiva() {
+        MenuFacetIndex index = MenuFacetIndex.build(documents);
+
+        MenuFacetIndex.Result result = index.filter(Map.of(
+                MenuFacetIndex.Facet.CATEGORY, Set.of("BURGER"),
+                MenuFacetIndex.Facet.STATUS, Set.of(MenuFacetIndex.ACTIVE)));
+
+        assertEquals(List.of(1L, 2L), ids(result));
+        // categorias: só o status filtra (3 está pausado)
+        assertEquals(Map.of("BURGER", 2, "DRINK", 1, "SIDE", 1), counts(result, MenuFacetIndex.Facet.CATEGORY));
+        // status: só a categoria filtra
+        assertEquals(Map.of("ACTIVE", 2, "PAUSED", 1), counts(result, MenuFacetIndex.Facet.STATUS));
+        // demais facetas: os dois filtros
+        assertEquals(Map.of("bacon", 1, "cheddar", 1, "alface", 1), counts(result, MenuFacetIndex.Facet.INGREDIENT));
+        assertTrue(result.counts().get(MenuFacetIndex.Facet.CATEGORY).stream()
+                .filter(MenuFacetIndex.Count::selected)
+                .allMatch(c -> c.value().equals("BURGER")));
+    }
+
+    @Test
+    @DisplayName("Tags e ingredientes devem ignorar acento e maiúsculas; valor desconhecido não casa")
+    void filter_DeveNormalizarValores() {
+        MenuFacetIndex index = MenuFacetIndex.build(documents);
+
+        assertEquals(List.of(3L), ids(index.filter(Map.of(MenuFacetIndex.Facet.TAG, Set.of(MenuFacetIndex.key(" VEGANO "))))));
+        assertEquals(List.of(2L), ids(index.filter(Map.of(MenuFacetIndex.Facet.TAG, Set.of("picante")))));
+
+        MenuFacetIndex.Result result = index.filter(Map.of(MenuFacetIndex.Facet.TAG, Set.of("inexistente")));
+        assertTrue(ids(result).isEmpty());
+        assertEquals(Map.of("artesanal", 1, "picante", 1, "vegano", 1, "gelada", 1), counts(result, MenuFacetIndex.Facet.TAG));
+    }
+
+    @Test
+    @DisplayName("Resultados e contagens devem bater com a varredura completa")
+    void filter_DeveBaterComVarredura() {
+        Random random = new Random(42);
+        List<MenuSearchIndex.Document> catalog = new ArrayList<>();
+        ProductSubcategory[] subcategories = ProductSubcategory.values();
+        for (long id = 1; id <= 300; id++) {
+            ProductSubcategory subcategory = subcategories[random.nextInt(subcategories.length)];
+            catalog.add(doc(id, subcategory.getCategory(), subcategory,
+                    BigDecimal.valueOf(500 + random.nextInt(4000), 2).toPlainString(), random.nextInt(5) == 0,
+                    pick(random, TAGS), pick(random, INGREDIENTS)));
+        }
+        MenuFacetIndex index = MenuFacetIndex.build(catalog);
+
+        for (int i = 0; i < 200; i++) {
+            Map<MenuFacetIndex.Facet, Set<String>> selection = new EnumMap<>(MenuFacetIndex.Facet.class);
+            if (random.nextBoolean()) {
+                selection.put(MenuFacetIndex.Facet.CATEGORY, Set.of(ProductCategory.values()[random.nextInt(4)].name()));
+            }
+            if (random.nextBoolean()) {
+                selection.put(MenuFacetIndex.Facet.PRICE_BAND, new HashSet<>(List.of(PriceBand.values()[random.nextInt(3)].name(),
+                        PriceBand.values()[random.nextInt(3)].name())));
+            }
+            if (random.nextBoolean()) {
+                selection.put(MenuFacetIndex.Facet.INGREDIENT, Set.of(MenuFacetIndex.key(INGREDIENTS[random.nextInt(INGREDIENTS.length)])));
+            }
+            if (random.nextBoolean()) {
+                selection.put(MenuFacetIndex.Facet.STATUS, Set.of(MenuFacetIndex.ACTIVE));
+            }
+
+            MenuFacetIndex.Result result = index.filter(selection);
+
+            List<Long> expected = catalog.stream().filter(d -> matches(d, selection, null)).map(MenuSearchIndex.Document::id).toList();
+            assertEquals(expected, ids(result));
+
+            for (MenuFacetIndex.Count count : result.counts().get(MenuFacetIndex.Facet.INGREDIENT)) {
+                Predicate<MenuSearchIndex.Document> hasIngredient = d -> d.ingredients().stream()
+                        .anyMatch(name -> MenuFacetIndex.key(name).equals(count.value()));
+                long brute = catalog.stream()
+                        .filter(d -> matches(d, selection, MenuFacetIndex.Facet.INGREDIENT))
+                        .filter(hasIngredient)
+                        .count();
+                assertEquals(brute, count.count(), count.value());
+            }
+        }
+    }
+
+    private static boolean matches(MenuSearchIndex.Document d, Map<MenuFacetIndex.Facet, Set<String>> selection,
+                                   MenuFacetIndex.Facet except) {
+        for (var entry : selection.entrySet()) {
+            if (entry.getKey() == except) {
+                continue;
+            }
+            Set<String> keys = entry.getValue();
+            boolean ok = switch (entry.getKey()) {
+                case CATEGORY -> keys.contains(d.category().name());
+                case SUBCATEGORY -> keys.contains(d.subcategory().name());
+                case PRICE_BAND -> keys.contains(PriceBand.of(d.price()).name());
+                case TAG -> d.tags().stream().anyMatch(t -> keys.contains(MenuFacetIndex.key(t)));
+                case INGREDIENT -> d.ingredients().stream().anyMatch(i -> keys.contains(MenuFacetIndex.key(i)));
+                case STATUS -> keys.contains(d.paused() ? MenuFacetIndex.PAUSED : MenuFacetIndex.ACTIVE);
+            };
+            if (!ok) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> pick(Random random, String[] values) {
+        List<String> picked = new ArrayList<>();
+        for (String value : values) {
+            if (random.nextInt(3) == 0) {
+                picked.add(value);
+            }
+        }
+        return picked;
+    }
+
+    private static Map<String, Integer> counts(MenuFacetIndex.Result result, MenuFacetIndex.Facet facet) {
+        Map<String, Integer> counts = new HashMap<>();
+        result.counts().get(facet).forEach(c -> counts.put(c.value(), c.count()));
+        return counts;
+    }
+
+    private static List<Long> ids(MenuFacetIndex.Result result) {
+        return result.documents().stream().map(MenuSearchIndex.Document::id).toList();
+    }
+
+    private static MenuSearchIndex.Document doc(Long id, ProductCategory category, ProductSubcategory subcategory,
+                                                String price, boolean paused, List<String> tags, List<String> ingredients) {
+        return new MenuSearchIndex.Document(id, "Produto " + id, "Descrição", null, category, subcategory,
+                new BigDecimal(price), paused, null, tags, ingredients);
+    }
+}
@@ -0,0 +1,108 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.enums.ProductCategory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latência da busca do cardápio sobre um catálogo sintético (bem maior que o real).
+ * Não roda no build normal (nome fora do padrão do surefire):
+ *   mvn test -Dtest=MenuSearchBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark da busca do cardápio")
+class MenuSearchBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int WARMUP_QUERIES = 50_000;
+    private static final int MEASURED_QUERIES = 200_000;
+
+    private static final String[] WORDS = {
+            "bacon", "cheddar", "costela", "frango", "picanha", "cebola", "caramelizada", "pão", "brioche",
+            "australiano", "alface", "tomate", "maionese", "defumada", "barbecue", "picles", "catupiry",
+            "batata", "rústica", "onion", "rings", "açaí", "morango", "chocolate", "guaraná", "laranja",
+            "maracujá", "artesanal", "vegano", "picante", "duplo", "triplo", "especial", "casa"};
+
+    private static final String[] QUERIES = {"bacon", "pao bri", "x", "cheddar cebola", "acai morango", "picante duplo",
+            "ba", "vegano", "frango catupiry", "chocolate"};
+
+    @Test
+    void searchLatency() {
+        Random random = new Random(7);
+        List<MenuSearchIndex.Document> documents = new ArrayList<>();
+        Map<Long, Long> sold = new HashMap<>();
+        for (long id = 1; id <= PRODUCTS; id++) {
+            documents.add(new MenuSearchIndex.Document(id, "X-" + words(random, 3), words(random, 12), null,
+                    ProductCategory.values()[random.nextInt(ProductCategory.values().length)], null,
+                    BigDecimal.valueOf(10 + random.nextInt(40)), random.nextInt(10) == 0, null,
+                    List.of(WORDS[random.nextInt(WORDS.length)]), List.of(words(random, 2), words(random, 2), words(random, 2))));
+            sold.put(id, (long) random.nextInt(1000));
+        }
+
+        long start = System.nanoTime();
+        MenuSearchIndex index = MenuSearchIndex.build(documents, sold);
+        double buildMillis = (System.nanoTime() - start) / 1e6;
+
+        int hits = 0;
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            hits += index.search(query(QUERIES[i % QUERIES.length])).size();
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            hits += index.search(query(QUERIES[i % QUERIES.length])).size();
+        }
+        double microsPerQuery = (System.nanoTime() - start) / 1e3 / MEASURED_QUERIES;
+
+        System.out.printf("Índice: %d produtos, %d termos, construído em %.1f ms%n", index.size(), index.termCount(), buildMillis);
+        System.out.printf("Busca:  %.1f µs por consulta (%d resultados no total)%n", microsPerQuery, hits);
+        assertTrue(microsPerQuery < 1_000);
+
+        // Facetas: filtros combinados + contagens de todas as facetas
+        start = System.nanoTime();
+        MenuFacetIndex facets = MenuFacetIndex.build(documents);
+        buildMillis = (System.nanoTime() - start) / 1e6;
+
+        List<Map<MenuFacetIndex.Facet, Set<String>>> selections = List.of(
+                Map.of(),
+                Map.of(MenuFacetIndex.Facet.STATUS, Set.of(MenuFacetIndex.ACTIVE)),
+                Map.of(MenuFacetIndex.Facet.CATEGORY, Set.of("BURGER", "SIDE"), MenuFacetIndex.Facet.STATUS, Set.of(MenuFacetIndex.ACTIVE)),
+                Map.of(MenuFacetIndex.Facet.PRICE_BAND, Set.of("MEDIUM"), MenuFacetIndex.Facet.INGREDIENT, Set.of("bacon cheddar")),
+                Map.of(MenuFacetIndex.Facet.TAG, Set.of("vegano", "picante"), MenuFacetIndex.Facet.CATEGORY, Set.of("BURGER")));
+
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            hits += facets.filter(selections.get(i % selections.size())).documents().size();
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            hits += facets.filter(selections.get(i % selections.size())).documents().size();
+        }
+        double microsPerFilter = (System.nanoTime() - start) / 1e3 / MEASURED_QUERIES;
+
+        System.out.printf("Facetas: construídas em %.1f ms, %.1f µs por filtro com contagens%n", buildMillis, microsPerFilter);
+        assertTrue(microsPerFilter < 1_000);
+    }
+
+    private static MenuSearchIndex.Query query(String text) {
+        return new MenuSearchIndex.Query(text, null, null, null, null, true);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i > 0 ? " " : "").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.ProductSubcategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do MenuSearchIndex")
+class MenuSearchIndexTest {
+
+    private List<MenuSearchIndex.Document> documents;
+
+    @BeforeEach
+    void setUp() {
+        documents = List.of(
+                doc(1L, "X-Bacon", "Pão brioche, hambúrguer e bacon crocante", ProductCategory.BURGER, "32.00", false,
+                        List.of("ARTESANAL"), List.of("Pão Brioche", "Bacon", "Queijo Cheddar")),
+                doc(2L, "Batata com Cheddar e Bacon", "Porção de fritas", ProductCategory.SIDE, "24.00", false,
+                        List.of(), List.of("Batata", "Cheddar", "Bacon")),
+                doc(3L, "Pão de Açúcar Burger", "Hambúrguer doce da casa", ProductCategory.BURGER, "29.00", false,
+                        List.of("PICANTE"), List.of("Pão Australiano")),
+                doc(4L, "Suco de Maracujá", "Natural, 500ml", ProductCategory.DRINK, "12.00", true,
+                        List.of(), List.of("Maracujá")));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar acentos e maiúsculas na consulta e no conteúdo")
+    void search_DeveIgnorarAcentos() {
+        MenuSearchIndex index = MenuSearchIndex.build(documents, Map.of());
+
+        assertEquals(List.of(3L), ids(index.search(query("ACUCAR"))));
+        assertEquals(List.of(3L), ids(index.search(query("açúcar"))));
+    }
+
+    @Test
+    @DisplayName("Deve casar prefixo da palavra (autocomplete) e exigir todas as palavras")
+    void search_DeveCasarPrefixoETodasAsPalavras() {
+        MenuSearchIndex index = MenuSearchIndex.build(documents, Map.of());
+
+        assertEquals(Set.of(1L, 2L), Set.copyOf(ids(index.search(query("bac")))));
+        assertEquals(List.of(2L), ids(index.search(query("batata bac"))));
+        assertTrue(index.search(query("bacon sorvete")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Casar no nome deve pesar mais que casar só na descrição")
+    void search_DevePriorizarNome() {
+        MenuSearchIndex index = MenuSearchIndex.build(documents, Map.of());
+
+        // "cheddar": nome de 2, só ingrediente de 1
+        assertEquals(List.of(2L, 1L), ids(index.search(query("cheddar"))));
+    }
+
+    @Test
+    @DisplayName("Popularidade deve desempatar/impulsionar produtos mais vendidos")
+    void search_DeveAplicarBonusDePopularidade() {
+        List<MenuSearchIndex.Document> refrigerantes = List.of(
+                doc(10L, "Refrigerante Cola", "Lata 350ml", ProductCategory.DRINK, "6.00", false, List.of(), List.of()),
+                doc(11L, "Refrigerante Guaraná", "Lata 350ml", ProductCategory.DRINK, "6.00", false, List.of(), List.of()));
+
+        MenuSearchIndex semVendas = MenuSearchIndex.build(refrigerantes, Map.of());
+        MenuSearchIndex comVendas = MenuSearchIndex.build(refrigerantes, Map.of(10L, 3L, 11L, 200L));
+
+        assertEquals(List.of(10L, 11L), ids(semVendas.search(query("refri"))));
+        assertEquals(List.of(11L, 10L), ids(comVendas.search(query("refri"))));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar filtros de campo, categoria, preço e pausados")
+    void search_DeveAplicarFiltros() {
+        MenuSearchIndex index = MenuSearchIndex.build(documents, Map.of());
+
+        assertEquals(List.of(2L), ids(index.search(new MenuSearchIndex.Query(
+                "bacon", null, Set.of(ProductCategory.SIDE), null, null, true))));
+        assertEquals(List.of(2L), ids(index.search(new MenuSearchIndex.Query(
+                "bacon", null, null, null, new BigDecimal("25.00"), true))));
+        assertEquals(List.of(2L), ids(index.search(new MenuSearchIndex.Query(
+                "batata", Set.of(MenuSearchIndex.Field.NAME), null, null, null, true))));
+        assertTrue(index.search(new MenuSearchIndex.Query(
+                "brioche", Set.of(MenuSearchIndex.Field.NAME), null, null, null, true)).isEmpty());
+
+        assertTrue(index.search(query("maracuja")).isEmpty());
+        assertEquals(List.of(4L), ids(index.search(new MenuSearchIndex.Query(
+                "maracuja", null, null, null, null, false))));
+    }
+
+    @Test
+    @DisplayName("Sem texto deve listar todos os produtos ativos")
+    void search_SemTextoDeveListarTodos() {
+        MenuSearchIndex index = MenuSearchIndex.build(documents, Map.of(3L, 10L));
+
+        List<Long> ids = ids(index.search(query("  ")));
+        assertEquals(3, ids.size());
+        assertEquals(3L, ids.get(0));
+    }
+
+    private static MenuSearchIndex.Query query(String text) {
+        return new MenuSearchIndex.Query(text, null, null, null, null, true);
+    }
+
+    private static List<Long> ids(List<MenuSearchIndex.Hit> hits) {
+        return hits.stream().map(h -> h.document().id()).toList();
+    }
+
+    static MenuSearchIndex.Document doc(Long id, String name, String description, ProductCategory category,
+                                        String price, boolean paused, List<String> tags, List<String> ingredients) {
+        ProductSubcategory subcategory = null;
+        return new MenuSearchIndex.Document(id, name, description, null, category, subcategory,
+                new BigDecimal(price), paused, null, tags, ingredients);
+    }
+}
@@ -0,0 +1,196 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.app.dto.product.ProductFilterDTO;
+import com.basilios.basilios.app.dto.product.ProductFilterResponseDTO;
+import com.basilios.basilios.app.dto.product.ProductSearchDTO;
+import com.basilios.basilios.app.dto.product.ProductSearchResponseDTO;
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.exception.BusinessException;
+import com.basilios.basilios.core.model.Product;
+import com.basilios.basilios.core.model.events.ProductChangedEvent;
+import com.basilios.basilios.infra.repository.IngredientProductRepository;
+import com.basilios.basilios.infra.repository.ProductOrderRepository;
+import com.basilios.basilios.infra.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do MenuSearchService")
+class MenuSearchServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private IngredientProductRepository ingredientProductRepository;
+
+    @Mock
+    private ProductOrderRepository productOrderRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogVersion catalogVersion;
+
+    private MenuSearchService menuSearchService;
+
+    private Product xBacon;
+    private Product xSalada;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new CatalogVersion();
+        menuSearchService = new MenuSearchService(productRepository, ingredientProductRepository,
+                productOrderRepository, catalogVersion, transactionManager);
+
+        xBacon = product(1L, "X-Bacon", "32.00");
+        xSalada = product(2L, "X-Salada", "28.00");
+        when(productRepository.findAllWithTags()).thenReturn(List.of(xBacon, xSalada));
+        when(ingredientProductRepository.findAllProductIngredientNames())
+                .thenReturn(List.<Object[]>of(new Object[]{2L, "Alface Americana"}));
+        when(productOrderRepository.sumQuantityByProduct()).thenReturn(new ArrayList<>());
+    }
+
+    @Test
+    @DisplayName("Deve carregar o índice uma vez e responder as buscas da memória")
+    void search_DeveCarregarUmaVez() {
+        assertEquals(1, search("bacon").getTotal());
+        assertEquals(2L, search("alface").getResults().get(0).getId());
+
+        verify(productRepository, times(1)).findAllWithTags();
+        verify(ingredientProductRepository, times(1)).findAllProductIngredientNames();
+    }
+
+    @Test
+    @DisplayName("Alteração de produto deve recarregar só os produtos alterados")
+    void onProductChanged_DeveAtualizarIncrementalmente() {
+        search("bacon");
+
+        Product renamed = product(1L, "X-Costela", "35.00");
+        when(productRepository.findAllWithTagsByIdIn(Set.of(1L))).thenReturn(List.of(renamed));
+        when(ingredientProductRepository.findProductIngredientNames(Set.of(1L))).thenReturn(List.of());
+
+        menuSearchService.onProductChanged(new ProductChangedEvent(List.of(1L)));
+
+        assertEquals(0, search("bacon").getTotal());
+        assertEquals(1L, search("costela").getResults().get(0).getId());
+        assertEquals(1, search("alface").getTotal());
+        verify(productRepository, times(1)).findAllWithTags();
+    }
+
+    @Test
+    @DisplayName("Mudança na versão do catálogo deve recarregar o índice inteiro")
+    void refreshIfStale_DeveRecarregarQuandoVersaoMuda() {
+        search("bacon");
+        menuSearchService.refreshIfStale();
+        verify(productRepository, times(1)).findAllWithTags();
+
+        // Alteração feita em outra instância: só a versão compartilhada muda
+        when(productRepository.findAllWithTags()).thenReturn(List.of(product(1L, "X-Costela", "35.00"), xSalada));
+        catalogVersion.bump();
+        menuSearchService.refreshIfStale();
+
+        assertEquals(0, search("bacon").getTotal());
+        assertEquals(1L, search("costela").getResults().get(0).getId());
+        verify(productRepository, times(2)).findAllWithTags();
+    }
+
+    @Test
+    @DisplayName("Produto excluído deve sair do índice")
+    void onProductChanged_DeveRemoverExcluido() {
+        search("x");
+        when(productRepository.findAllWithTagsByIdIn(Set.of(2L))).thenReturn(List.of());
+        when(ingredientProductRepository.findProductIngredientNames(Set.of(2L))).thenReturn(List.of());
+
+        menuSearchService.onProductChanged(new ProductChangedEvent(List.of(2L)));
+
+        assertEquals(1, search("x").getTotal());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por preço e limitar a quantidade de resultados")
+    void search_DeveOrdenarELimitar() {
+        ProductSearchResponseDTO response = menuSearchService.search(ProductSearchDTO.builder()
+                .query("x")
+                .sortBy("price")
+                .sortDirection("asc")
+                .limit(1)
+                .build());
+
+        assertEquals(2, response.getTotal());
+        assertEquals(1, response.getResults().size());
+        assertEquals(2L, response.getResults().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Deve recusar campo de busca ou ordenação inválidos")
+    void search_DeveValidarParametros() {
+        assertThrows(BusinessException.class, () -> menuSearchService.search(ProductSearchDTO.builder()
+                .query("x").searchFields(List.of("preco")).build()));
+        assertThrows(BusinessException.class, () -> menuSearchService.search(ProductSearchDTO.builder()
+                .query("x").sortBy("calorias").build()));
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por facetas, paginar e devolver as contagens")
+    void filter_DeveFiltrarPaginarEContar() {
+        ProductFilterResponseDTO response = menuSearchService.filter(ProductFilterDTO.builder()
+                .categories(List.of("burger"))
+                .ingredients(List.of("ALFACE AMERICANA"))
+                .build());
+
+        assertEquals(1, response.getTotal());
+        assertEquals(2L, response.getResults().get(0).getId());
+        assertNull(response.getResults().get(0).getScore());
+        assertEquals(List.of("category", "subcategory", "priceBand", "tags", "ingredients", "status"),
+                List.copyOf(response.getFacets().keySet()));
+        // faixa de preço: X-Salada (28,00) é MEDIUM
+        assertEquals("MEDIUM", response.getFacets().get("priceBand").get(0).getValue());
+
+        ProductFilterResponseDTO page = menuSearchService.filter(ProductFilterDTO.builder()
+                .sortBy("price").sortDirection("desc").size(1).page(1).build());
+        assertEquals(2, page.getTotal());
+        assertEquals(List.of(2L), page.getResults().stream().map(r -> r.getId()).toList());
+        verify(productRepository, times(1)).findAllWithTags();
+    }
+
+    @Test
+    @DisplayName("Deve recusar valor de faceta inválido")
+    void filter_DeveValidarFacetas() {
+        assertEquals(2, menuSearchService.filter(ProductFilterDTO.builder().build()).getTotal());
+
+        assertThrows(BusinessException.class, () -> menuSearchService.filter(ProductFilterDTO.builder()
+                .priceBands(List.of("barato")).build()));
+        assertThrows(BusinessException.class, () -> menuSearchService.filter(ProductFilterDTO.builder()
+                .subcategories(List.of("sushi")).build()));
+    }
+
+    private ProductSearchResponseDTO search(String query) {
+        return menuSearchService.search(ProductSearchDTO.builder().query(query).build());
+    }
+
+    private static Product product(Long id, String name, String price) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description("Hambúrguer artesanal")
+                .category(ProductCategory.BURGER)
+                .price(new BigDecimal(price))
+                .isPaused(false)
+                .tags(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.app.dto.order.OrderResponseDTO;
+import com.basilios.basilios.app.mapper.OrderMapper;
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.StatusPedidoEnum;
+import com.basilios.basilios.core.model.Address;
+import com.basilios.basilios.core.model.Order;
+import com.basilios.basilios.core.model.Product;
+import com.basilios.basilios.core.model.Usuario;
+import com.basilios.basilios.infra.messaging.NotificationEventPublisher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Regressão de N+1: limita o número de statements por caso de uso de listagem/detalhe.
+ * Roda sobre H2 com as estatísticas do Hibernate ligadas.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderService.class, OrderMapper.class, PromotionSchedule.class, CatalogVersion.class, DeliveryQuoteService.class, StoreService.class})
+class OrderServiceQueryCountTest {
+
+    private static final int ORDERS = 6;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private UsuarioService usuarioService;
+
+    @MockitoBean
+    private NotificationEventPublisher notificationEventPublisher;
+
+    @MockitoBean
+    private CustomerStatsService customerStatsService;
+
+    private Statistics statistics;
+    private Usuario usuario;
+    private Long firstOrderId;
+
+    @BeforeEach
+    void setUp() {
+        usuario = Usuario.builder()
+                .nomeUsuario("cliente")
+                .email("cliente@basilios.com")
+                .password("senha-hash")
+                .cpf("12345678901")
+                .telefone("11999999999")
+                .build();
+        entityManager.persist(usuario);
+
+        Address address = Address.builder()
+                .usuario(usuario)
+                .rua("Rua das Flores")
+                .numero("100")
+                .bairro("Centro")
+                .cep("01001000")
+                .cidade("São Paulo")
+                .estado("SP")
+                .build();
+        entityManager.persist(address);
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            Product product = Product.builder()
+                    .name("Produto " + i)
+                    .category(ProductCategory.BURGER)
+                    .price(new BigDecimal("25.00"))
+                    .build();
+            entityManager.persist(product);
+            products.add(product);
+        }
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = Order.builder()
+                    .usuario(usuario)
+                    .addressEntrega(address)
+                    .codigoPedido("PED-TESTE-" + i)
+                    .status(i % 2 == 0 ? StatusPedidoEnum.PENDENTE : StatusPedidoEnum.CONFIRMADO)
+                    .deliveryFee(new BigDecimal("5.00"))
+                    .build();
+            products.forEach(p -> order.addProduct(p, 2, p.getPrice()));
+            order.calculateTotal();
+            entityManager.persist(order);
+            if (i == 0) {
+                firstOrderId = order.getId();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Listagem paginada por status deve usar count + ids + grafo, independente do tamanho da página")
+    void getOrdersByStatusPaged_DeveExecutarNoMaximoTresStatements() {
+        Page<OrderResponseDTO> page = orderService.getOrdersByStatus(
+                StatusPedidoEnum.PENDENTE, PageRequest.of(0, 10, Sort.by("createdAt")));
+
+        assertThat(page.getContent()).hasSize(ORDERS / 2);
+        assertThat(page.getContent()).allSatisfy(o -> assertThat(o.getItems()).hasSize(ITEMS_PER_ORDER));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Listagem paginada de todos os pedidos (admin) não deve gerar N+1")
+    void getAllOrdersPaged_DeveExecutarNoMaximoTresStatements() {
+        Page<OrderResponseDTO> page = orderService.getAllOrders(PageRequest.of(0, 4));
+
+        assertThat(page.getContent()).hasSize(4);
+        assertThat(page.getTotalElements()).isEqualTo(ORDERS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Listagens de cozinha (pendentes/ativos) devem usar uma única query")
+    void pendingEActiveOrders_DevemUsarUmStatementCada() {
+        List<OrderResponseDTO> pending = orderService.getOrdersByStatus(StatusPedidoEnum.PENDENTE);
+
+        assertThat(pending).allSatisfy(o -> assertThat(o.getItems()).hasSize(ITEMS_PER_ORDER));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Pedidos do cliente devem ser carregados sem uma query por pedido")
+    void getUserOrders_DeveExecutarUmStatement() {
+        List<OrderResponseDTO> orders = orderService.getUserOrders();
+
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Resumo de pedidos do cliente deve vir de uma única projeção")
+    void getUserOrdersSimple_DeveExecutarUmStatement() {
+        List<OrderResponseDTO> orders = orderService.getUserOrdersSimple();
+
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(orders).allSatisfy(o -> assertThat(o.getTotalItems()).isEqualTo(ITEMS_PER_ORDER * 2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Detalhe do pedido deve carregar itens, produtos e endereço em uma única query")
+    void getOrderById_DeveExecutarUmStatement() {
+        OrderResponseDTO order = orderService.getOrderById(firstOrderId);
+
+        assertThat(order.getItems()).hasSize(ITEMS_PER_ORDER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
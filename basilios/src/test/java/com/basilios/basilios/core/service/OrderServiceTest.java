@@ -2,7 +2,9 @@ package com.basilios.basilios.core.service;
 
 import com.basilios.basilios.app.dto.order.OrderRequestDTO;
 import com.basilios.basilios.app.dto.order.OrderResponseDTO;
+import com.basilios.basilios.app.dto.user.CustomerStatsResponse;
 import com.basilios.basilios.app.mapper.OrderMapper;
+import com.basilios.basilios.core.enums.DeliveryZoneEnum;
 import com.basilios.basilios.core.enums.StatusPedidoEnum;
 import com.basilios.basilios.core.exception.BusinessException;
 import com.basilios.basilios.core.exception.NotFoundException;
@@ -10,20 +12,24 @@ import com.basilios.basilios.core.model.*;
 import com.basilios.basilios.infra.repository.AddressRepository;
 import com.basilios.basilios.infra.repository.OrderRepository;
 import com.basilios.basilios.infra.repository.ProductRepository;
+import com.basilios.basilios.infra.repository.StoreRepository;
+import com.basilios.basilios.infra.repository.projection.OrderSummaryView;
 import com.basilios.basilios.infra.messaging.NotificationEventPublisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -56,6 +62,20 @@ class OrderServiceTest {
     @Mock
     private NotificationEventPublisher notificationEventPublisher;
 
+    @Mock
+    private CustomerStatsService customerStatsService;
+
+    @Spy
+    private PromotionSchedule promotionSchedule = new PromotionSchedule(new CatalogVersion());
+
+    // Sem lojas cadastradas: vale a loja configurada
+    @Spy
+    private StoreService storeService = new StoreService(mock(StoreRepository.class), 7.0);
+
+    @Spy
+    private DeliveryQuoteService deliveryQuoteService = new DeliveryQuoteService(
+            storeService, -23.550520, -46.633308, 7.0, new BigDecimal("5.00"), new BigDecimal("2.00"));
+
     @InjectMocks
     private OrderService orderService;
 
@@ -68,10 +88,6 @@ class OrderServiceTest {
 
     @BeforeEach
     void setUp() {
-        // Configurar coordenadas da loja usando ReflectionTestUtils
-        ReflectionTestUtils.setField(orderService, "storeLatitude", -23.550520);
-        ReflectionTestUtils.setField(orderService, "storeLongitude", -46.633308);
-
         // Criar usuário mock
         usuario = new Usuario();
         usuario.setId(1L);
@@ -146,6 +162,7 @@ class OrderServiceTest {
         assertNotNull(result);
         assertEquals(StatusPedidoEnum.PENDENTE, result.getStatus());
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(customerStatsService, times(1)).registerOrder(order);
         verify(orderMapper, times(1)).toResponse(any(Order.class));
     }
 
@@ -183,6 +200,70 @@ class OrderServiceTest {
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    @Test
+    @DisplayName("Deve usar a cotação de entrega gravada no endereço quando está na versão atual")
+    void createOrder_DeveUsarCotacaoGravadaNoEndereco() {
+        address.setDeliveryZone(DeliveryZoneEnum.DENTRO_DA_AREA);
+        address.setDeliveryDistanceKm(0.5);
+        address.setDeliveryFee(new BigDecimal("9.90"));
+        address.setDeliveryQuoteVersion(deliveryQuoteService.getVersion());
+
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(address));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.createOrder(orderRequestDTO);
+
+        verify(orderRepository).save(argThat(o -> new BigDecimal("9.90").equals(o.getDeliveryFee())));
+        verify(deliveryQuoteService, never()).apply(any(Address.class));
+    }
+
+    @Test
+    @DisplayName("Deve recalcular a cotação gravada quando as regras de entrega mudaram")
+    void createOrder_DeveRecalcularCotacaoDeVersaoAntiga() {
+        address.setDeliveryZone(DeliveryZoneEnum.DENTRO_DA_AREA);
+        address.setDeliveryFee(new BigDecimal("9.90"));
+        address.setDeliveryQuoteVersion("antiga");
+
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(address));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.createOrder(orderRequestDTO);
+
+        assertEquals(deliveryQuoteService.getVersion(), address.getDeliveryQuoteVersion());
+        assertNotEquals(new BigDecimal("9.90"), address.getDeliveryFee());
+        verify(orderRepository).save(argThat(o -> address.getDeliveryFee().equals(o.getDeliveryFee())));
+    }
+
+    @Test
+    @DisplayName("Deve lançar BusinessException quando o endereço não tem coordenadas")
+    void createOrder_DeveLancarExcecaoQuandoEnderecoSemCoordenadas() {
+        address.setLatitude(null);
+        address.setLongitude(null);
+
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(address));
+
+        assertThrows(BusinessException.class, () -> orderService.createOrder(orderRequestDTO));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar BusinessException quando as coordenadas do endereço são suspeitas")
+    void createOrder_DeveLancarExcecaoQuandoCoordenadasSuspeitas() {
+        address.setCoordinatesSuspect(true);
+
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+        when(addressRepository.findById(1L)).thenReturn(Optional.of(address));
+
+        BusinessException exception = assertThrows(BusinessException.class, () -> orderService.createOrder(orderRequestDTO));
+        assertTrue(exception.getMessage().contains("confirme"));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
     @Test
     @DisplayName("Deve redirecionar para parceiros quando endereço está fora da área de entrega")
     void createOrder_DeveRedirecionarParaParceirosQuandoForaDaAreaDeEntrega() {
@@ -313,6 +394,26 @@ class OrderServiceTest {
         assertEquals(2, result.size());
     }
 
+    // ========== TESTES DO MÉTODO getUserOrdersSimple() ==========
+
+    @Test
+    @DisplayName("Deve listar pedidos resumidos via projeção sem carregar entidades")
+    void getUserOrdersSimple_DeveUsarProjecaoSemCarregarEntidades() {
+        // Arrange
+        OrderSummaryView view = mock(OrderSummaryView.class);
+        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
+        when(orderRepository.findSummaryByUsuario(usuario)).thenReturn(List.of(view));
+        when(orderMapper.toSimpleResponse(view)).thenReturn(orderResponseDTO);
+
+        // Act
+        List<OrderResponseDTO> result = orderService.getUserOrdersSimple();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(orderResponseDTO, result.get(0));
+        verify(orderRepository, never()).findByUsuarioOrderByCreatedAtDesc(any(Usuario.class));
+    }
+
     // ========== TESTES DO MÉTODO findByUsuario() ==========
 
     @Test
@@ -621,12 +722,30 @@ class OrderServiceTest {
     // ========== TESTES DE ESTATÍSTICAS ==========
 
     @Test
-    @DisplayName("countUserOrders() — Deve retornar contagem de pedidos do usuário")
+    @DisplayName("countUserOrders() — Deve retornar contagem de pedidos do usuário a partir das estatísticas")
     void countUserOrders_DeveRetornarContagem() {
-        when(usuarioService.getCurrentUsuario()).thenReturn(usuario);
-        when(orderRepository.countByUsuario(usuario)).thenReturn(5L);
+        when(customerStatsService.getCurrentUserStats()).thenReturn(CustomerStatsResponse.builder()
+                .totalOrders(5L)
+                .ordersByStatus(Map.of(StatusPedidoEnum.ENTREGUE, 3L))
+                .build());
 
         assertEquals(5L, orderService.countUserOrders());
+        assertEquals(3L, orderService.countUserOrdersByStatus(StatusPedidoEnum.ENTREGUE));
+        assertEquals(0L, orderService.countUserOrdersByStatus(StatusPedidoEnum.CANCELADO));
+        verify(orderRepository, never()).countByUsuario(any());
+        verify(orderRepository, never()).countByUsuarioAndStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("softDelete() — Deve descontar o pedido das estatísticas do cliente")
+    void softDelete_DeveDescontarEstatisticas() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        orderService.softDelete(1L);
+
+        InOrder inOrder = inOrder(customerStatsService, orderRepository);
+        inOrder.verify(customerStatsService).registerRemoval(order);
+        inOrder.verify(orderRepository).delete(order);
     }
 
     @Test
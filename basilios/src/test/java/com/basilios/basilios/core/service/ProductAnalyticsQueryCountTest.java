@@ -0,0 +1,253 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.app.dto.product.ProductResponseDTO;
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.StatusPedidoEnum;
+import com.basilios.basilios.core.model.*;
+import com.basilios.basilios.infra.repository.IngredientBatchRepository;
+import com.basilios.basilios.infra.repository.ProductBatchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regressão de N+1 nas análises do cardápio: cada método deve executar um número fixo de
+ * statements, independente do tamanho do catálogo (milhares de produtos no H2).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ProductService.class, PromotionSchedule.class, CatalogVersion.class, IngredientDictionary.class,
+        IngredientBatchRepository.class, ProductBatchRepository.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+class ProductAnalyticsQueryCountTest {
+
+    private static final int PRODUCTS = 3_000;
+    private static final int WITH_INGREDIENTS = 1_000;  // os primeiros têm 2 ingredientes
+    private static final int ORDERS = 20;
+    private static final int ITEMS_PER_ORDER = 5;       // produtos 0..99 vendidos, um item cada
+    private static final int COMBOS = 3;
+    private static final int ON_PROMOTION = 10;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductBatchRepository productBatchRepository;
+
+    @Autowired
+    private IngredientBatchRepository ingredientBatchRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private List<Long> productIds;
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = new ArrayList<>();
+        BigDecimal[] prices = {new BigDecimal("10.00"), new BigDecimal("20.00"), new BigDecimal("40.00")};
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .name("Produto " + i)
+                    .description("Produto de teste")
+                    .category(ProductCategory.BURGER)
+                    .price(prices[i % prices.length])
+                    .isPaused(false)
+                    .tags(new ArrayList<>())
+                    .build());
+        }
+        productBatchRepository.insertAll(products);
+        productIds = products.stream().map(Product::getId).toList();
+
+        List<Long> ingredientIds = List.copyOf(ingredientBatchRepository.insertAll(List.of("Pão", "Carne")).values());
+        List<MapSqlParameterSource> links = new ArrayList<>();
+        for (int i = 0; i < WITH_INGREDIENTS; i++) {
+            for (Long ingredientId : ingredientIds) {
+                links.add(new MapSqlParameterSource()
+                        .addValue("productId", productIds.get(i))
+                        .addValue("ingredientId", ingredientId));
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ingredient_product (product_id, ingredient_id, quantity, measurement_unit) " +
+                "VALUES (:productId, :ingredientId, 1, 'unidade')", links.toArray(MapSqlParameterSource[]::new));
+
+        Usuario usuario = Usuario.builder()
+                .nomeUsuario("cliente")
+                .email("cliente@basilios.com")
+                .password("senha-hash")
+                .cpf("12345678901")
+                .telefone("11999999999")
+                .build();
+        entityManager.persist(usuario);
+        Address address = Address.builder()
+                .usuario(usuario)
+                .rua("Rua das Flores")
+                .numero("100")
+                .bairro("Centro")
+                .cep("01001000")
+                .cidade("São Paulo")
+                .estado("SP")
+                .build();
+        entityManager.persist(address);
+
+        for (int o = 0; o < ORDERS; o++) {
+            Order order = Order.builder()
+                    .usuario(usuario)
+                    .addressEntrega(address)
+                    .codigoPedido("PED-ANALISE-" + o)
+                    .status(StatusPedidoEnum.ENTREGUE)
+                    .deliveryFee(new BigDecimal("5.00"))
+                    .build();
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                Product product = products.get(o * ITEMS_PER_ORDER + i);
+                order.addProduct(product(product.getId()), 1, product.getPrice());
+            }
+            order.calculateTotal();
+            entityManager.persist(order);
+        }
+
+        for (int c = 0; c < COMBOS; c++) {
+            Combo combo = Combo.builder()
+                    .name("Combo " + c)
+                    .price(new BigDecimal("50.00"))
+                    .build();
+            combo.addProduct(product(productIds.get(0)), 1);
+            combo.addProduct(product(productIds.get(c + 1)), 1);
+            entityManager.persist(combo);
+        }
+
+        Promotion promotion = Promotion.builder()
+                .title("Promoção de teste")
+                .discountPercentage(new BigDecimal("10"))
+                .startDate(LocalDate.now().minusDays(1))
+                .endDate(LocalDate.now().plusDays(1))
+                .build();
+        for (int i = 0; i < ON_PROMOTION; i++) {
+            promotion.getProducts().add(product(productIds.get(PRODUCTS - 1 - i)));
+        }
+        entityManager.persist(promotion);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Baixo uso: um único LEFT JOIN ... GROUP BY ... HAVING")
+    void getLowUsageProducts_DeveExecutarUmStatement() {
+        List<Map<String, Object>> result = productService.getLowUsageProducts(1);
+
+        assertThat(result).hasSize(PRODUCTS - ORDERS * ITEMS_PER_ORDER);
+        assertThat(result).allSatisfy(row -> assertThat(row.get("sales")).isEqualTo(0L));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Sem ingredientes: um único NOT EXISTS, sem consultar vínculos por produto")
+    void getProductsWithoutIngredients_DeveExecutarUmStatement() {
+        List<ProductResponseDTO> result = productService.getProductsWithoutIngredients();
+
+        assertThat(result).hasSize(PRODUCTS - WITH_INGREDIENTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Estatística por faixa de preço: uma agregação, sem carregar produtos")
+    void getCategoryStatistics_DeveExecutarUmStatement() {
+        Map<String, Long> result = productService.getCategoryStatistics();
+
+        assertThat(result).containsEntry("ECONOMIC", (long) PRODUCTS / 3)
+                .containsEntry("MEDIUM", (long) PRODUCTS / 3)
+                .containsEntry("PREMIUM", (long) PRODUCTS / 3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Vendas do produto: nome, quantidade e receita numa única consulta")
+    void getSalesStatistics_DeveExecutarUmStatement() {
+        Map<String, Object> result = productService.getSalesStatistics(productIds.get(0));
+
+        assertThat(result).containsEntry("productName", "Produto 0").containsEntry("totalSold", 1L);
+        assertThat((BigDecimal) result.get("revenue")).isEqualByComparingTo("10.00");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Pode excluir / impacto da pausa: contagens de pedidos e combos numa única consulta")
+    void canDeleteProduct_DeveExecutarUmStatement() {
+        Map<String, Object> result = productService.canDeleteProduct(productIds.get(0));
+
+        assertThat(result).containsEntry("canDelete", false)
+                .containsEntry("orderCount", 1L)
+                .containsEntry("comboCount", (long) COMBOS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        assertThat(productService.getPauseImpact(productIds.get(PRODUCTS - 1))).containsEntry("totalTimesSold", 0L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Rankings: o limite vai para o banco e não hidrata produtos")
+    void rankings_DevemExecutarUmStatement() {
+        assertThat(productService.getBestSellers(5)).hasSize(5);
+        assertThat(productService.getMostUsedInCombos(1)).singleElement()
+                .satisfies(row -> assertThat(row).containsEntry("usageCount", (long) COMBOS));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Listas convertidas em DTO: produtos + ingredientes de todos numa única consulta")
+    void listas_DevemBuscarIngredientesEmLote() {
+        List<ProductResponseDTO> neverSold = productService.getNeverSoldProducts();
+        assertThat(neverSold).hasSize(PRODUCTS - ORDERS * ITEMS_PER_ORDER);
+        assertThat(neverSold).filteredOn(p -> p.getId().equals(productIds.get(WITH_INGREDIENTS - 1)))
+                .singleElement().satisfies(p -> assertThat(p.getIngredients()).hasSize(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        assertThat(productService.getProductsOnPromotion()).hasSize(ON_PROMOTION);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        Page<ProductResponseDTO> page = productService.getAllProducts(false, PageRequest.of(0, 50));
+        assertThat(page.getContent()).hasSize(50);
+        assertThat(page.getTotalElements()).isEqualTo(PRODUCTS);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    private Product product(Long id) {
+        return entityManager.getReference(Product.class, id);
+    }
+}
@@ -0,0 +1,231 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.app.dto.product.BulkOperationResultDTO;
+import com.basilios.basilios.app.dto.product.BulkPriceUpdateDTO;
+import com.basilios.basilios.app.dto.product.BulkStatusUpdateDTO;
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.ProductSubcategory;
+import com.basilios.basilios.core.exception.BusinessException;
+import com.basilios.basilios.core.model.Product;
+import com.basilios.basilios.infra.repository.ProductBatchRepository;
+import com.basilios.basilios.infra.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Operações em lote do cardápio rodando sobre H2, conferindo o resultado no banco
+ * e o número de statements.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ProductBulkService.class, ProductBatchRepository.class, CatalogVersion.class})
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+class ProductBulkServiceTest {
+
+    @Autowired
+    private ProductBulkService productBulkService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductBatchRepository productBatchRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        persist("X-Bacon", ProductCategory.BURGER, ProductSubcategory.BEEF, "30.00", false, "ARTESANAL");
+        persist("X-Frango", ProductCategory.BURGER, ProductSubcategory.CHICKEN, "25.00", false, "Picante");
+        persist("Veggie", ProductCategory.BURGER, ProductSubcategory.VEGAN, "27.50", true);
+        persist("Coca-Cola", ProductCategory.DRINK, ProductSubcategory.SODA, "0.50", false, "GELADA");
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Deve reajustar por percentual todos os produtos da categoria num único UPDATE")
+    void updatePrices_DeveAplicarPercentualPorCategoria() {
+        BulkOperationResultDTO result = productBulkService.updatePrices(BulkPriceUpdateDTO.builder()
+                .category(ProductCategory.BURGER)
+                .percentage(new BigDecimal("10"))
+                .build());
+
+        assertThat(result.getMatched()).isEqualTo(3);
+        assertThat(result.getUpdated()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2); // SELECT ids + UPDATE
+
+        assertThat(price("X-Bacon")).isEqualByComparingTo("33.00");
+        assertThat(price("Veggie")).isEqualByComparingTo("30.25");
+        assertThat(price("Coca-Cola")).isEqualByComparingTo("0.50");
+    }
+
+    @Test
+    @DisplayName("Valor absoluto não deve deixar preço abaixo de R$ 0,01")
+    void updatePrices_DevePularPrecoQueFicariaInvalido() {
+        BulkOperationResultDTO result = productBulkService.updatePrices(BulkPriceUpdateDTO.builder()
+                .subcategory(ProductSubcategory.SODA)
+                .amount(new BigDecimal("-1.00"))
+                .build());
+
+        assertThat(result.getMatched()).isEqualTo(1);
+        assertThat(result.getUpdated()).isZero();
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(price("Coca-Cola")).isEqualByComparingTo("0.50");
+    }
+
+    @Test
+    @DisplayName("Deve filtrar por tag sem diferenciar maiúsculas")
+    void updatePrices_DeveFiltrarPorTag() {
+        BulkOperationResultDTO result = productBulkService.updatePrices(BulkPriceUpdateDTO.builder()
+                .tag("picante")
+                .amount(new BigDecimal("2.00"))
+                .build());
+
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(price("X-Frango")).isEqualByComparingTo("27.00");
+    }
+
+    @Test
+    @DisplayName("Deve exigir filtro e exatamente um tipo de reajuste")
+    void updatePrices_DeveValidarRequisicao() {
+        assertThrows(BusinessException.class, () -> productBulkService.updatePrices(BulkPriceUpdateDTO.builder()
+                .percentage(BigDecimal.TEN).build()));
+        assertThrows(BusinessException.class, () -> productBulkService.updatePrices(BulkPriceUpdateDTO.builder()
+                .category(ProductCategory.BURGER).percentage(BigDecimal.TEN).amount(BigDecimal.ONE).build()));
+        assertThrows(BusinessException.class, () -> productBulkService.updatePrices(BulkPriceUpdateDTO.builder()
+                .category(ProductCategory.DRINK).subcategory(ProductSubcategory.BEEF).amount(BigDecimal.ONE).build()));
+    }
+
+    @Test
+    @DisplayName("Deve pausar em lote apenas os que ainda estão ativos")
+    void updateStatus_DevePausarCategoria() {
+        BulkOperationResultDTO result = productBulkService.updateStatus(BulkStatusUpdateDTO.builder()
+                .category(ProductCategory.BURGER)
+                .isPaused(true)
+                .build());
+
+        assertThat(result.getMatched()).isEqualTo(3);
+        assertThat(result.getUpdated()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(productRepository.findByIsPausedFalse()).extracting(Product::getName).containsExactly("Coca-Cola");
+    }
+
+    @Test
+    @DisplayName("Deve importar CSV em lote, reportando linhas inválidas e nomes existentes")
+    void importCsv_DeveImportarLinhasValidas() throws IOException {
+        String csv = """
+                name,description,category,subcategory,price,tags,imageUrl
+                X-Salada,"Pão, carne e salada fresca",BURGER,BEEF,"22,90",ARTESANAL|CLASSICO,
+                Suco de Laranja,Suco natural de laranja 500ml,DRINK,JUICE,9.50,,
+                x-bacon,Já existe no cardápio com este nome,BURGER,BEEF,30.00,,
+                Batata,Curta,SIDE,FRIES,12.00,,
+                Onion,Anéis de cebola empanados,SIDE,BEEF,15.00,,
+                """;
+
+        BulkOperationResultDTO result = productBulkService.importCsv(new StringReader(csv));
+
+        assertThat(result.getMatched()).isEqualTo(5);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(3);
+        assertThat(result.getErrors()).hasSize(3);
+        assertThat(result.getErrors()).anyMatch(e -> e.startsWith("Linha 4: produto já existe"));
+
+        entityManager.clear();
+        Product salada = productRepository.findAll().stream()
+                .filter(p -> p.getName().equals("X-Salada"))
+                .findFirst().orElseThrow();
+        assertThat(salada.getDescription()).isEqualTo("Pão, carne e salada fresca");
+        assertThat(salada.getPrice()).isEqualByComparingTo("22.90");
+        assertThat(salada.getTags()).containsExactlyInAnyOrder("ARTESANAL", "CLASSICO");
+        assertThat(salada.getIsPaused()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Ids dos produtos inseridos devem vir do batch, mesmo com nome já existente em outra caixa")
+    void insertAll_DeveUsarIdsGeradosPeloBatch() {
+        Long existingId = productRepository.findAll().stream()
+                .filter(p -> p.getName().equals("X-Bacon"))
+                .findFirst().orElseThrow().getId();
+        Product duplicate = Product.builder()
+                .name("x-bacon")
+                .description("Inserido direto no repositório")
+                .category(ProductCategory.BURGER)
+                .price(new BigDecimal("31.00"))
+                .isPaused(false)
+                .tags(new ArrayList<>(List.of("NOVO")))
+                .build();
+
+        assertThat(productBatchRepository.insertAll(List.of(duplicate))).isEqualTo(1);
+
+        assertThat(duplicate.getId()).isNotNull().isNotEqualTo(existingId);
+        entityManager.clear();
+        assertThat(productRepository.findById(duplicate.getId()).orElseThrow().getTags()).containsExactly("NOVO");
+        assertThat(productRepository.findById(existingId).orElseThrow().getTags()).containsExactly("ARTESANAL");
+    }
+
+    @Test
+    @DisplayName("Deve recusar CSV sem colunas obrigatórias")
+    void importCsv_DeveExigirCabecalho() {
+        assertThrows(BusinessException.class,
+                () -> productBulkService.importCsv(new StringReader("name,price\nX,10\n")));
+    }
+
+    @Test
+    @DisplayName("Parser de CSV deve tratar aspas e quebras de linha")
+    void parseCsv_DeveTratarAspas() throws IOException {
+        List<List<String>> rows = ProductBulkService.parseCsv(new StringReader(
+                "\uFEFFa,b\r\n\"x, \"\"y\"\"\",\"linha\nnova\"\r\n\r\n"));
+
+        assertThat(rows).containsExactly(List.of("a", "b"), List.of("x, \"y\"", "linha\nnova"));
+    }
+
+    private void persist(String name, ProductCategory category, ProductSubcategory subcategory,
+                         String price, boolean paused, String... tags) {
+        entityManager.persist(Product.builder()
+                .name(name)
+                .description("Produto de teste")
+                .category(category)
+                .subcategory(subcategory)
+                .price(new BigDecimal(price))
+                .isPaused(paused)
+                .tags(new ArrayList<>(List.of(tags)))
+                .build());
+    }
+
+    private BigDecimal price(String name) {
+        entityManager.clear();
+        return productRepository.findAll().stream()
+                .filter(p -> p.getName().equals(name))
+                .findFirst().orElseThrow()
+                .getPrice();
+    }
+}
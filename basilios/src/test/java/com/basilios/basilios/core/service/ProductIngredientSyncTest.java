@@ -0,0 +1,122 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.app.dto.product.ProductRequestDTO;
+import com.basilios.basilios.app.dto.product.ProductResponseDTO;
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.model.Ingredient;
+import com.basilios.basilios.core.model.IngredientProduct;
+import com.basilios.basilios.core.model.Product;
+import com.basilios.basilios.infra.repository.IngredientBatchRepository;
+import com.basilios.basilios.infra.repository.IngredientProductRepository;
+import com.basilios.basilios.infra.repository.IngredientRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sincronização dos ingredientes do produto sobre H2: criação em lote e diff dos vínculos.
+ */
+@DataJpaTest
+@Import({ProductService.class, PromotionSchedule.class, CatalogVersion.class,
+        IngredientDictionary.class, IngredientBatchRepository.class})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+class ProductIngredientSyncTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private IngredientProductRepository ingredientProductRepository;
+
+    @Autowired
+    private IngredientBatchRepository ingredientBatchRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Deve criar o produto reaproveitando ingredientes existentes sem duplicar nomes")
+    void createProduct_DeveReaproveitarIngredientes() {
+        entityManager.persist(Ingredient.builder().name("Bacon").build());
+        entityManager.flush();
+
+        ProductResponseDTO created = productService.createProduct(request("X-Bacon",
+                List.of("bacon", "Queijo  Cheddar", "BACON", "Pão Brioche")));
+
+        assertThat(created.getIngredients()).extracting(ProductResponseDTO.IngredientResponse::getName)
+                .containsExactlyInAnyOrder("Bacon", "Queijo Cheddar", "Pão Brioche");
+        assertThat(ingredientRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Nome gravado com espaços sobrando deve ser normalizado e achado pela chave do dicionário")
+    void normalizeStoredNames_DeveAcharNomeAntigo() {
+        Ingredient antigo = Ingredient.builder().name(" Pão  Australiano").build();
+        entityManager.persist(antigo);
+        entityManager.flush();
+
+        assertThat(ingredientBatchRepository.normalizeStoredNames()).isEqualTo(1);
+
+        assertThat(ingredientBatchRepository.findIdsByLowerName(List.of("pão australiano")))
+                .containsExactly(Map.entry("pão australiano", antigo.getId()));
+        assertThat(ingredientBatchRepository.normalizeStoredNames()).isZero();
+    }
+
+    @Test
+    @DisplayName("Atualização deve inserir/remover só os vínculos que mudaram")
+    void updateProduct_DeveAplicarSomenteDiferencas() {
+        ProductResponseDTO created = productService.createProduct(request("X-Salada",
+                List.of("Pão", "Carne", "Alface", "Tomate")));
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<String, Long> before = links(created.getId());
+        IngredientProduct carne = ingredientProductRepository.findById(before.get("Carne")).orElseThrow();
+        carne.setQuantity(2);
+        entityManager.flush();
+        entityManager.clear();
+
+        productService.updateProduct(created.getId(), request("X-Salada",
+                List.of("Pão", "Carne", "Tomate", "Cebola")));
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<String, Long> after = links(created.getId());
+        assertThat(after.keySet()).containsExactlyInAnyOrder("Pão", "Carne", "Tomate", "Cebola");
+        // Vínculos mantidos são as mesmas linhas (sem delete + insert) e preservam a quantidade
+        assertThat(after.get("Pão")).isEqualTo(before.get("Pão"));
+        assertThat(after.get("Carne")).isEqualTo(before.get("Carne"));
+        assertThat(ingredientProductRepository.findById(after.get("Carne")).orElseThrow().getQuantity()).isEqualTo(2);
+    }
+
+    private Map<String, Long> links(Long productId) {
+        Product product = entityManager.find(Product.class, productId);
+        return ingredientProductRepository.findByProduct(product).stream()
+                .collect(Collectors.toMap(ip -> ip.getIngredient().getName(), IngredientProduct::getId));
+    }
+
+    private static ProductRequestDTO request(String name, List<String> ingredients) {
+        return ProductRequestDTO.builder()
+                .name(name)
+                .description("Hambúrguer artesanal da casa")
+                .category(ProductCategory.BURGER)
+                .price(new BigDecimal("29.90"))
+                .ingredientes(ingredients)
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.model.Product;
+import com.basilios.basilios.core.model.Promotion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes da PromotionSchedule")
+class PromotionScheduleTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 10);
+
+    private MutableClock clock;
+    private CatalogVersion catalogVersion;
+    private PromotionSchedule schedule;
+    private Product burger;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(TODAY.atStartOfDay(ZONE).plusHours(12).toInstant());
+        catalogVersion = new CatalogVersion();
+        schedule = new PromotionSchedule(catalogVersion, clock);
+
+        burger = new Product();
+        burger.setId(1L);
+        burger.setName("X-Burger");
+        burger.setPrice(new BigDecimal("40.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        schedule.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve pré-calcular a melhor promoção vigente e o preço final")
+    void load_DevePreCalcularMelhorPromocao() {
+        Promotion tenPercent = promotion(1L, "10%", new BigDecimal("10"), null, TODAY.minusDays(1), TODAY.plusDays(1));
+        Promotion fiveOff = promotion(2L, "R$ 5", null, new BigDecimal("5.00"), TODAY, TODAY);
+
+        schedule.load(List.of(tenPercent, fiveOff));
+
+        PromotionSchedule.PriceQuote quote = schedule.quote(burger);
+        assertTrue(quote.isOnPromotion());
+        assertEquals(2L, quote.promotion().getId());
+        assertEquals(new BigDecimal("35.00"), quote.finalPrice());
+    }
+
+    @Test
+    @DisplayName("Produto sem promoção deve manter o preço original")
+    void quote_SemPromocaoDeveManterPreco() {
+        schedule.load(List.of());
+
+        PromotionSchedule.PriceQuote quote = schedule.quote(burger);
+        assertFalse(quote.isOnPromotion());
+        assertEquals(new BigDecimal("40.00"), quote.finalPrice());
+    }
+
+    @Test
+    @DisplayName("Deve ativar e expirar promoções na virada do dia")
+    void flip_DeveAtivarEExpirarNaViradaDoDia() {
+        Promotion endsToday = promotion(1L, "Hoje", new BigDecimal("10"), null, TODAY, TODAY);
+        Promotion startsTomorrow = promotion(2L, "Amanhã", new BigDecimal("50"), null, TODAY.plusDays(1), TODAY.plusDays(3));
+        schedule.load(List.of(endsToday, startsTomorrow));
+
+        assertEquals(1L, schedule.quote(burger).promotion().getId());
+
+        long versionBeforeFlip = catalogVersion.current();
+        clock.set(TODAY.plusDays(1).atStartOfDay(ZONE).toInstant());
+        schedule.flip();
+        assertTrue(catalogVersion.current() > versionBeforeFlip);
+
+        PromotionSchedule.PriceQuote quote = schedule.quote(burger);
+        assertEquals(2L, quote.promotion().getId());
+        assertEquals(new BigDecimal("20.00"), quote.finalPrice());
+
+        clock.set(TODAY.plusDays(4).atStartOfDay(ZONE).toInstant());
+        schedule.flip();
+
+        assertFalse(schedule.quote(burger).isOnPromotion());
+    }
+
+    @Test
+    @DisplayName("Atualização e remoção devem refletir imediatamente no índice")
+    void upsertERemove_DevemAtualizarIncrementalmente() {
+        schedule.load(List.of());
+
+        Promotion promo = promotion(1L, "Promo", new BigDecimal("25"), null, TODAY, TODAY.plusDays(5));
+        schedule.upsert(promo);
+        assertEquals(new BigDecimal("30.00"), schedule.quote(burger).finalPrice());
+
+        promo.setIsActive(false);
+        schedule.upsert(promo);
+        assertFalse(schedule.quote(burger).isOnPromotion());
+
+        promo.setIsActive(true);
+        schedule.upsert(promo);
+        schedule.remove(1L);
+        assertFalse(schedule.quote(burger).isOnPromotion());
+    }
+
+    @Test
+    @DisplayName("Deve recalcular o preço final quando o preço do produto mudou")
+    void quote_DeveRecalcularQuandoPrecoMudou() {
+        schedule.load(List.of(promotion(1L, "10%", new BigDecimal("10"), null, TODAY, TODAY)));
+
+        burger.setPrice(new BigDecimal("50.00"));
+
+        assertEquals(new BigDecimal("45.00"), schedule.quote(burger).finalPrice());
+    }
+
+    @Test
+    @DisplayName("Recarga deve indicar mudança e tirar do índice promoções apagadas no banco")
+    void load_RecargaDeveDetectarMudancaERemocao() {
+        Promotion tenPercent = promotion(1L, "10%", new BigDecimal("10"), null, TODAY, TODAY);
+
+        assertTrue(schedule.load(List.of(tenPercent)));
+        assertFalse(schedule.load(List.of(promotion(1L, "10%", new BigDecimal("10"), null, TODAY, TODAY))));
+
+        assertTrue(schedule.load(List.of()));
+        assertFalse(schedule.quote(burger).isOnPromotion());
+    }
+
+    private Promotion promotion(Long id, String title, BigDecimal percentage, BigDecimal amount,
+                                LocalDate start, LocalDate end) {
+        return Promotion.builder()
+                .id(id)
+                .title(title)
+                .discountPercentage(percentage)
+                .discountAmount(amount)
+                .startDate(start)
+                .endDate(end)
+                .isActive(true)
+                .products(new ArrayList<>(List.of(burger)))
+                .build();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -7,7 +7,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -24,13 +23,14 @@ class StoreServiceTest {
     @Mock
     private StoreRepository storeRepository;
 
-    @InjectMocks
     private StoreService storeService;
 
     private Store store;
 
     @BeforeEach
     void setUp() {
+        storeService = new StoreService(storeRepository, 7.0);
+
         // Criar loja mock
         store = new Store();
         store.setId(1L);
@@ -77,4 +77,79 @@ class StoreServiceTest {
         assertEquals("Nenhuma loja cadastrada", exception.getMessage());
         verify(storeRepository, times(1)).findAll();
     }
-}
\ No newline at end of file
+
+    // ========== ROTEAMENTO ==========
+
+    @Test
+    @DisplayName("Deve ler a loja principal da memória, sem consultar o banco a cada chamada")
+    void getMainStore_DeveUsarCache() {
+        when(storeRepository.findAll()).thenReturn(List.of(store));
+
+        storeService.getMainStore();
+        storeService.getMainStore();
+        storeService.hasStores();
+
+        verify(storeRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Deve escolher a loja mais próxima que entrega no endereço")
+    void findDeliveringStore_DeveEscolherLojaMaisProxima() {
+        Store paulista = store(2L, -23.5614, -46.6559, null, true);
+        when(storeRepository.findAll()).thenReturn(List.of(store, paulista));
+
+        // Perto da Av. Paulista: as duas lojas entregam, a Paulista está mais perto
+        StoreService.StoreMatch match = storeService.findDeliveringStore(-23.5650, -46.6520).orElseThrow();
+
+        assertEquals(2L, match.store().getId());
+        assertTrue(match.distanceKm() < 1.0);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o raio de entrega de cada loja")
+    void findDeliveringStore_DeveRespeitarRaioDaLoja() {
+        // Loja mais próxima com raio curto; a do centro (raio padrão de 7 km) atende
+        Store pequena = store(2L, -23.5880, -46.6320, 1.0, true);
+        when(storeRepository.findAll()).thenReturn(List.of(store, pequena));
+
+        StoreService.StoreMatch match = storeService.findDeliveringStore(-23.5700, -46.6330).orElseThrow();
+
+        assertEquals(1L, match.store().getId());
+        assertEquals(2L, storeService.findNearestStore(-23.5700, -46.6330).orElseThrow().store().getId());
+    }
+
+    @Test
+    @DisplayName("Loja inativa não deve atender endereços")
+    void findDeliveringStore_DeveIgnorarLojaInativa() {
+        store.setIsActive(false);
+        when(storeRepository.findAll()).thenReturn(List.of(store));
+
+        assertTrue(storeService.findDeliveringStore(-23.550520, -46.633308).isEmpty());
+        assertTrue(storeService.findNearestStore(-23.550520, -46.633308).isEmpty());
+        // Cadastrada, mesmo inativa: não cai na loja configurada
+        assertTrue(storeService.hasStores());
+    }
+
+    @Test
+    @DisplayName("Versão do índice deve mudar quando o raio de uma loja muda")
+    void indexVersion_DeveMudarQuandoRaioMuda() {
+        when(storeRepository.findAll()).thenReturn(List.of(store));
+        String before = storeService.indexVersion();
+
+        store.setDeliveryRadiusKm(3.0);
+        storeService.refresh();
+
+        assertNotEquals(before, storeService.indexVersion());
+    }
+
+    private Store store(Long id, double latitude, double longitude, Double radiusKm, boolean active) {
+        Store s = new Store();
+        s.setId(id);
+        s.setName("Loja " + id);
+        s.setLatitude(latitude);
+        s.setLongitude(longitude);
+        s.setDeliveryRadiusKm(radiusKm);
+        s.setIsActive(active);
+        return s;
+    }
+}
@@ -0,0 +1,62 @@
+package com.basilios.basilios.core.service;
+
+import com.basilios.basilios.core.model.Store;
+import com.basilios.basilios.util.DistanceCalculator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do StoreSpatialIndex")
+class StoreSpatialIndexTest {
+
+    @Test
+    @DisplayName("Deve dar o mesmo resultado da varredura linear")
+    void nearestDelivering_DeveCoincidirComVarreduraLinear() {
+        Random random = new Random(42);
+        List<Store> stores = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            Store store = new Store();
+            store.setId(id);
+            store.setLatitude(-24.0 + random.nextDouble());
+            store.setLongitude(-47.0 + random.nextDouble());
+            store.setDeliveryRadiusKm(1.0 + random.nextDouble() * 6);
+            store.setIsActive(random.nextInt(10) > 0);
+            stores.add(store);
+        }
+        StoreSpatialIndex index = StoreSpatialIndex.build(stores, 7.0);
+
+        for (int i = 0; i < 500; i++) {
+            double lat = -24.1 + random.nextDouble() * 1.2;
+            double lon = -47.1 + random.nextDouble() * 1.2;
+
+            Optional<Store> expected = stores.stream()
+                    .filter(Store::getIsActive)
+                    .filter(s -> distance(s, lat, lon) <= s.getDeliveryRadiusKm())
+                    .min(Comparator.comparingDouble(s -> distance(s, lat, lon)));
+            Optional<StoreSpatialIndex.Match> actual = index.nearestDelivering(lat, lon);
+
+            assertEquals(expected.map(Store::getId), actual.map(m -> m.store().getId()));
+            actual.ifPresent(m -> assertEquals(distance(m.store(), lat, lon), m.distanceKm(), 0.001));
+        }
+    }
+
+    @Test
+    @DisplayName("Índice vazio não deve encontrar lojas")
+    void nearest_DeveRetornarVazioSemLojas() {
+        StoreSpatialIndex index = StoreSpatialIndex.build(List.of(), 7.0);
+
+        assertEquals(0, index.size());
+        assertTrue(index.nearest(-23.55, -46.63).isEmpty());
+    }
+
+    private static double distance(Store store, double lat, double lon) {
+        return DistanceCalculator.calculateDistance(store.getLatitude(), store.getLongitude(), lat, lon);
+    }
+}
@@ -0,0 +1,59 @@
+package com.basilios.basilios.infra.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Gera no build o documento OpenAPI que o perfil fast-start serve como /openapi.json
+ * (lá o springdoc fica desligado). Sobe a aplicação sobre H2 e grava /v3/api-docs em
+ * target/classes/static, antes do empacotamento.
+ * Roda na execução openapi-document do perfil fast-start (nome fora do padrão do surefire):
+ *   mvn -Pfast-start package
+ */
+@Tag("build")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:openapi;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+@DisplayName("Geração do documento OpenAPI")
+class OpenApiDocumentGenerator {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void writeDocument() throws Exception {
+        byte[] body = mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // o springdoc preenche servers com a origem da requisição (aqui, a do MockMvc)
+        ObjectNode document = (ObjectNode) objectMapper.readTree(body);
+        document.remove("servers");
+
+        Path output = Path.of(System.getProperty("openapi.output", "target/classes/static/openapi.json"));
+        Files.createDirectories(output.getParent());
+        objectMapper.writeValue(output.toFile(), document);
+    }
+}
@@ -0,0 +1,70 @@
+package com.basilios.basilios.infra.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latência da consulta de CEP no dataset de amostra e num dataset sintético do tamanho de
+ * uma base nacional (prefixos de 3, 5 e 8 dígitos).
+ * Não roda no build normal (nome fora do padrão do surefire):
+ *   mvn test -Dtest=CepCentroidIndexBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark do índice de CEP")
+class CepCentroidIndexBenchmark {
+
+    private static final int SYNTHETIC_PREFIXES = 200_000;
+    private static final int CEPS = 10_000;
+    private static final int WARMUP_LOOKUPS = 2_000_000;
+    private static final int MEASURED_LOOKUPS = 5_000_000;
+
+    @Test
+    void lookupLatency() {
+        Random random = new Random(7);
+        String[] ceps = new String[CEPS];
+        for (int i = 0; i < CEPS; i++) {
+            int digits = random.nextInt(100_000_000);
+            String text = String.format("%08d", digits);
+            ceps[i] = i % 2 == 0 ? text : text.substring(0, 5) + "-" + text.substring(5);
+        }
+
+        CepCentroidIndex sample = new CepCentroidIndex(new ClassPathResource("geo/cep-centroids.csv"));
+        report("Amostra", sample, ceps);
+
+        List<CepCentroidIndex.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            entries.add(new CepCentroidIndex.Entry(3, i, -23.5f, -46.6f, 50));
+        }
+        for (int i = 0; i < SYNTHETIC_PREFIXES; i++) {
+            entries.add(i % 4 == 0
+                    ? new CepCentroidIndex.Entry(8, random.nextInt(100_000_000), -23.5f, -46.6f, 1)
+                    : new CepCentroidIndex.Entry(5, random.nextInt(100_000), -23.5f, -46.6f, 10));
+        }
+        report("Sintético", new CepCentroidIndex(entries), ceps);
+    }
+
+    private static void report(String name, CepCentroidIndex index, String[] ceps) {
+        int found = 0;
+        for (int i = 0; i < WARMUP_LOOKUPS; i++) {
+            found += index.lookup(ceps[i % ceps.length]).isPresent() ? 1 : 0;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_LOOKUPS; i++) {
+            found += index.lookup(ceps[i % ceps.length]).isPresent() ? 1 : 0;
+        }
+        double nanosPerLookup = (double) (System.nanoTime() - start) / MEASURED_LOOKUPS;
+
+        System.out.printf("%s: %d prefixos, %.0f ns por consulta (%d encontrados)%n",
+                name, index.size(), nanosPerLookup, found);
+        assertTrue(nanosPerLookup < 10_000);
+    }
+}
@@ -0,0 +1,67 @@
+package com.basilios.basilios.infra.geo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do CepCentroidIndex")
+class CepCentroidIndexTest {
+
+    private CepCentroidIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CepCentroidIndex(new ClassPathResource("geo/cep-centroids.csv"));
+    }
+
+    @Test
+    @DisplayName("Deve carregar o dataset de amostra")
+    void deveCarregarDatasetDeAmostra() {
+        assertTrue(index.size() > 20);
+    }
+
+    @Test
+    @DisplayName("Deve escolher o prefixo mais longo que casa com o CEP")
+    void lookup_DeveEscolherPrefixoMaisLongo() {
+        CepCentroidIndex.Centroid paulista = index.lookup("01310-100").orElseThrow();
+        assertEquals("01310", paulista.prefix());
+        assertEquals(-23.5614, paulista.latitude(), 0.0001);
+
+        assertEquals("01", index.lookup("01500000").orElseThrow().prefix());
+        assertEquals("0", index.lookup("00100000").orElseThrow().prefix());
+        assertEquals("20", index.lookup("20040-020").orElseThrow().prefix());
+    }
+
+    @Test
+    @DisplayName("CEP inválido ou sem prefixo conhecido deve retornar vazio")
+    void lookup_DeveRetornarVazioParaCepInvalido() {
+        assertTrue(index.lookup(null).isEmpty());
+        assertTrue(index.lookup("0131").isEmpty());
+        assertTrue(index.lookup("013101001").isEmpty());
+        assertTrue(index.lookup("01310a10").isEmpty());
+
+        CepCentroidIndex partial = load("13,-22.9,-47.06,40\n");
+        assertTrue(partial.lookup("20040020").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar linha malformada no dataset")
+    void load_DeveRejeitarLinhaInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> load("abc,-23.5,-46.6,10\n"));
+        assertThrows(IllegalArgumentException.class, () -> load("01310,-23.5,-46.6\n"));
+    }
+
+    private CepCentroidIndex load(String csv) {
+        try {
+            return CepCentroidIndex.load(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        } catch (java.io.IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.basilios.basilios.infra.housekeeping;
+
+import com.basilios.basilios.core.enums.ProductCategory;
+import com.basilios.basilios.core.enums.StatusPedidoEnum;
+import com.basilios.basilios.core.model.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Jobs de limpeza rodando sobre H2, com blocos pequenos para exercitar a paginação.
+ */
+@DataJpaTest
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+class HousekeepingServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuario = Usuario.builder()
+                .nomeUsuario("cliente")
+                .email("cliente@basilios.com")
+                .password("senha-hash")
+                .cpf("12345678901")
+                .telefone("11999999999")
+                .build();
+        entityManager.persist(usuario);
+    }
+
+    @Test
+    @DisplayName("Deve apagar em blocos os códigos de reset expirados além da retenção")
+    void run_DeveApagarResetsExpirados() {
+        for (int i = 0; i < 7; i++) {
+            entityManager.persist(new PasswordReset("velho-" + i, now.minusDays(2), usuario));
+        }
+        entityManager.persist(new PasswordReset("recente", now.minusHours(1), usuario));
+        entityManager.persist(new PasswordReset("valido", now.plusHours(1), usuario));
+        entityManager.flush();
+
+        Map<String, HousekeepingService.Report> reports = reportsByJob(service(false).runAll());
+
+        HousekeepingService.Report report = reports.get("password-reset");
+        assertThat(report.deleted()).isEqualTo(7);
+        assertThat(report.chunks()).isEqualTo(3); // blocos de 3
+        assertThat(jdbcTemplate.queryForList("SELECT codigo FROM password_reset", String.class))
+                .containsExactlyInAnyOrder("recente", "valido");
+    }
+
+    @Test
+    @DisplayName("Dry-run deve só contar, sem apagar nada")
+    void run_DryRunNaoDeveApagar() {
+        entityManager.persist(new PasswordReset("velho", now.minusDays(2), usuario));
+        entityManager.persist(failedNotification(true, now.minusDays(40)));
+        entityManager.flush();
+
+        HousekeepingService service = service(true);
+        Map<String, HousekeepingService.Report> reports = reportsByJob(service.runAll());
+
+        assertThat(reports.get("password-reset").matched()).isEqualTo(1);
+        assertThat(reports.get("failed-notifications").matched()).isEqualTo(1);
+        assertThat(reports.values()).allMatch(r -> r.deleted() == 0 && r.dryRun());
+        assertThat(count("password_reset")).isEqualTo(1);
+        assertThat(service.lastReports()).containsKeys("password-reset", "failed-notifications", "addresses");
+    }
+
+    @Test
+    @DisplayName("Deve apagar só notificações já processadas há mais que a retenção")
+    void run_DeveApagarNotificacoesProcessadas() {
+        entityManager.persist(failedNotification(true, now.minusDays(40)));
+        entityManager.persist(failedNotification(true, now.minusDays(1)));
+        entityManager.persist(failedNotification(false, null));
+        entityManager.flush();
+
+        service(false).runAll();
+
+        assertThat(count("failed_notifications")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve apagar endereços excluídos há muito tempo que nenhum pedido usa")
+    void run_DeveApagarEnderecosOrfaos() {
+        Address usedByOrder = address("Rua do Pedido", now.minusDays(200));
+        Address orphan = address("Rua Esquecida", now.minusDays(200));
+        Address recentlyDeleted = address("Rua Recente", now.minusDays(1));
+        Address active = address("Rua Ativa", null);
+
+        Product product = Product.builder()
+                .name("X-Teste")
+                .description("Produto de teste")
+                .category(ProductCategory.BURGER)
+                .price(new BigDecimal("20.00"))
+                .build();
+        entityManager.persist(product);
+
+        Order order = Order.builder()
+                .usuario(usuario)
+                .addressEntrega(usedByOrder)
+                .codigoPedido("PED-HK-1")
+                .status(StatusPedidoEnum.ENTREGUE)
+                .deliveryFee(new BigDecimal("5.00"))
+                .build();
+        order.addProduct(product, 1, product.getPrice());
+        order.calculateTotal();
+        entityManager.persist(order);
+        entityManager.flush();
+
+        service(false).runAll();
+
+        assertThat(jdbcTemplate.queryForList("SELECT rua FROM endereco", String.class))
+                .containsExactlyInAnyOrder(usedByOrder.getRua(), recentlyDeleted.getRua(), active.getRua())
+                .doesNotContain(orphan.getRua());
+    }
+
+    private HousekeepingService service(boolean dryRun) {
+        return new HousekeepingService(jdbcTemplate, 3, Duration.ZERO, dryRun,
+                HousekeepingService.defaultJobs(Duration.ofDays(1), Duration.ofDays(30), Duration.ofDays(90)),
+                Clock.systemDefaultZone());
+    }
+
+    private Address address(String rua, LocalDateTime deletedAt) {
+        Address address = Address.builder()
+                .usuario(usuario)
+                .rua(rua)
+                .numero("100")
+                .bairro("Centro")
+                .cep("01001000")
+                .cidade("São Paulo")
+                .estado("SP")
+                .build();
+        entityManager.persist(address);
+        entityManager.flush();
+        if (deletedAt != null) {
+            jdbcTemplate.update("UPDATE endereco SET deleted_at = ? WHERE id_endereco = ?", deletedAt, address.getIdAddress());
+        }
+        return address;
+    }
+
+    private FailedNotification failedNotification(boolean processed, LocalDateTime processedAt) {
+        return FailedNotification.builder()
+                .orderId(1L)
+                .orderCode("PED-1")
+                .clientEmail("cliente@basilios.com")
+                .newStatus("CONFIRMADO")
+                .processed(processed)
+                .processedAt(processedAt)
+                .build();
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private static Map<String, HousekeepingService.Report> reportsByJob(List<HousekeepingService.Report> reports) {
+        return reports.stream().collect(java.util.stream.Collectors.toMap(HousekeepingService.Report::job, r -> r));
+    }
+}
@@ -0,0 +1,118 @@
+package com.basilios.basilios.infra.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Appender assíncrono com fila limitada")
+class RingBufferAppenderTest {
+
+    private LoggerContext context;
+    private RingBufferAppender appender;
+    private SlowAppender target;
+
+    /**
+     * Destino que segura a entrega até o teste liberar, para encher a fila
+     */
+    private static class SlowAppender extends AppenderBase<ILoggingEvent> {
+        final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        target = new SlowAppender();
+        target.setContext(context);
+        target.start();
+
+        appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("TEST");
+        appender.setQueueSize(10);
+        appender.setDiscardingThreshold(0.5);
+        appender.setMaxFlushTime(5000);
+        appender.addAppender(target);
+        appender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        appender.stop();
+        MDC.clear();
+    }
+
+    private void log(Level level, String message) {
+        LoggingEvent event = new LoggingEvent("teste", context.getLogger("teste"), level, message, null, null);
+        appender.doAppend(event);
+    }
+
+    @Test
+    @DisplayName("Acima do limiar deve descartar INFO e manter WARN; cheia, descarta tudo")
+    void append_DeveAplicarPoliticaDeDescarte() throws Exception {
+        // primeiro evento fica preso no destino; os seguintes se acumulam na fila
+        log(Level.INFO, "em entrega");
+        while (appender.queued() > 0) {
+            Thread.sleep(1);
+        }
+        for (int i = 0; i < 5; i++) {
+            log(Level.INFO, "info " + i);
+        }
+        log(Level.INFO, "acima do limiar");
+        for (int i = 0; i < 6; i++) {
+            log(Level.WARN, "warn " + i);
+        }
+
+        LogPipelineStats.Snapshot snapshot = appender.drainCounters();
+        assertEquals(13, snapshot.received());
+        assertEquals(6, snapshot.warn());
+        // 1 INFO pelo limiar + 1 WARN com a fila cheia (5 INFO + 5 WARN)
+        assertEquals(2, snapshot.dropped());
+        assertEquals(10, snapshot.queued());
+        assertEquals(10, snapshot.capacity());
+
+        target.release.countDown();
+        appender.stop();
+        assertEquals(11, target.events.size());
+        assertEquals(0, target.events.stream().filter(e -> e.getMessage().equals("acima do limiar")).count());
+    }
+
+    @Test
+    @DisplayName("Deve capturar o MDC na thread que loga")
+    void append_DeveCapturarMdcNaOrigem() {
+        target.release.countDown();
+        try (LogContext.Scope ignored = LogContext.order(42L)) {
+            log(Level.INFO, "pedido criado");
+        }
+
+        appender.stop();
+        assertEquals(1, target.events.size());
+        assertEquals("42", target.events.get(0).getMDCPropertyMap().get(LogContext.ORDER_ID));
+        assertEquals(1, appender.drainCounters().written());
+    }
+}
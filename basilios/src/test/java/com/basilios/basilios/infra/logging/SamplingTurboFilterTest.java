@@ -0,0 +1,71 @@
+package com.basilios.basilios.infra.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Amostragem de log por logger")
+class SamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setRules("com.exemplo=10, com.exemplo.Painel=4, regra-invalida, com.exemplo.Raro=1");
+        filter.start();
+    }
+
+    private int kept(String loggerName, Level level, int events) {
+        Logger logger = context.getLogger(loggerName);
+        int kept = 0;
+        for (int i = 0; i < events; i++) {
+            if (filter.decide(null, logger, level, "evento {}", new Object[]{i}, null) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    @Test
+    @DisplayName("Deve manter 1 de cada N eventos, pela regra de prefixo mais longo")
+    void decide_DeveAmostrarPorPrefixoMaisLongo() {
+        assertEquals(10, kept("com.exemplo.Pedidos", Level.INFO, 100));
+        assertEquals(25, kept("com.exemplo.Painel", Level.DEBUG, 100));
+        assertEquals(100, kept("com.exemplo.Raro", Level.INFO, 100));
+        assertEquals(100, kept("org.outro.Servico", Level.INFO, 100));
+    }
+
+    @Test
+    @DisplayName("WARN e ERROR nunca devem ser amostrados")
+    void decide_NaoDeveAmostrarWarnEError() {
+        assertEquals(50, kept("com.exemplo.Pedidos", Level.WARN, 50));
+        assertEquals(50, kept("com.exemplo.Pedidos", Level.ERROR, 50));
+    }
+
+    @Test
+    @DisplayName("Níveis desligados e isXxxEnabled() não devem consumir a amostra")
+    void decide_NaoDeveContarEventosQueNaoSairiam() {
+        context.getLogger("com.exemplo.Pedidos").setLevel(Level.INFO);
+        Logger logger = context.getLogger("com.exemplo.Pedidos");
+
+        for (int i = 0; i < 5; i++) {
+            filter.decide(null, logger, Level.DEBUG, "debug desligado", null, null);
+            filter.decide(null, logger, Level.INFO, null, null, null);
+        }
+
+        // o primeiro evento de verdade ainda é o que passa
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "evento", null, null));
+        assertEquals(FilterReply.DENY, filter.decide(null, logger, Level.INFO, "evento", null, null));
+    }
+}
@@ -0,0 +1,127 @@
+package com.basilios.basilios.infra.messaging;
+
+import com.basilios.basilios.core.model.FailedNotification;
+import com.basilios.basilios.infra.repository.FailedNotificationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ConnectException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Worker de reenvio rodando sobre H2 com o publisher simulado.
+ */
+@DataJpaTest
+class FailedNotificationRetryWorkerTest {
+
+    @Autowired
+    private FailedNotificationRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationEventPublisher publisher;
+    private FailedNotificationRetryWorker worker;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        publisher = mock(NotificationEventPublisher.class);
+        worker = new FailedNotificationRetryWorker(repository, publisher, new TransactionTemplate(transactionManager),
+                2, 2, 5, Duration.ofSeconds(30), Duration.ofHours(1), Duration.ofMinutes(5), Clock.systemDefaultZone());
+    }
+
+    @Test
+    @DisplayName("Deve reenviar as vencidas em lotes limitados e marcá-las como processadas")
+    void run_DeveReenviarEmLotes() {
+        for (int i = 0; i < 5; i++) {
+            persist(1, null);
+        }
+        FailedNotification future = persist(1, now.plusHours(1));
+        FailedNotification exhausted = persist(5, null);
+
+        FailedNotificationRetryWorker.RunResult result = worker.run();
+
+        assertThat(result.republished()).isEqualTo(4); // 2 lotes de 2
+        assertThat(result.batches()).isEqualTo(2);
+        verify(publisher, times(4)).republish(any());
+        verify(publisher, never()).republish(argThat(n -> n.getId().equals(future.getId())));
+        verify(publisher, never()).republish(argThat(n -> n.getId().equals(exhausted.getId())));
+
+        FailedNotificationRetryWorker.Backlog backlog = worker.backlog();
+        assertThat(backlog.pending()).isEqualTo(3);
+        assertThat(backlog.exhausted()).isEqualTo(1);
+        assertThat(repository.findAll()).filteredOn(FailedNotification::getProcessed)
+                .hasSize(4)
+                .allMatch(n -> n.getProcessedAt() != null);
+    }
+
+    @Test
+    @DisplayName("Com o broker fora deve aplicar backoff na falha, devolver o resto do lote e parar")
+    void run_DevePararNaPrimeiraFalha() {
+        FailedNotification first = persist(1, null);
+        FailedNotification second = persist(1, null);
+        doThrow(new AmqpConnectException(new ConnectException("broker fora"))).when(publisher).republish(any());
+
+        FailedNotificationRetryWorker.RunResult result = worker.run();
+
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.republished()).isZero();
+        verify(publisher, times(1)).republish(any());
+
+        entityManager.clear();
+        FailedNotification failed = repository.findById(first.getId()).orElseThrow();
+        assertThat(failed.getAttemptCount()).isEqualTo(2);
+        assertThat(failed.getNextAttemptAt()).isAfter(now.plusSeconds(25)); // backoff de 30s com jitter
+        assertThat(failed.getErrorMessage()).contains("broker fora");
+
+        FailedNotification released = repository.findById(second.getId()).orElseThrow();
+        assertThat(released.getAttemptCount()).isEqualTo(1);
+        assertThat(released.getNextAttemptAt()).isBefore(now.plusMinutes(1));
+        assertThat(worker.backlog().due()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Backoff deve dobrar por tentativa, com jitter e limite máximo")
+    void backoff_DeveSerExponencialComJitter() {
+        Duration base = Duration.ofSeconds(30);
+        Duration max = Duration.ofHours(1);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(FailedNotificationRetryWorker.backoff(1, base, max)).isBetween(Duration.ofSeconds(15), base);
+            assertThat(FailedNotificationRetryWorker.backoff(3, base, max))
+                    .isBetween(Duration.ofSeconds(60), Duration.ofSeconds(120));
+            assertThat(FailedNotificationRetryWorker.backoff(40, base, max)).isBetween(max.dividedBy(2), max);
+        }
+    }
+
+    private FailedNotification persist(int attempts, LocalDateTime nextAttemptAt) {
+        FailedNotification notification = FailedNotification.builder()
+                .orderId(1L)
+                .orderCode("PED-1")
+                .clientEmail("cliente@basilios.com")
+                .newStatus("CONFIRMADO")
+                .attemptCount(attempts)
+                .nextAttemptAt(nextAttemptAt)
+                .build();
+        entityManager.persist(notification);
+        entityManager.flush();
+        return notification;
+    }
+}
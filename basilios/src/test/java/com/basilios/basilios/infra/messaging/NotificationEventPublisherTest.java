@@ -0,0 +1,78 @@
+package com.basilios.basilios.infra.messaging;
+
+import com.basilios.basilios.core.enums.StatusPedidoEnum;
+import com.basilios.basilios.core.model.FailedNotification;
+import com.basilios.basilios.core.model.Order;
+import com.basilios.basilios.core.model.Usuario;
+import com.basilios.basilios.infra.config.RabbitMQConfig;
+import com.basilios.basilios.infra.repository.FailedNotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do NotificationEventPublisher")
+class NotificationEventPublisherTest {
+
+    private RabbitTemplate rabbitTemplate;
+    private FailedNotificationRepository failedNotificationRepository;
+    private NotificationEventPublisher publisher;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        failedNotificationRepository = mock(FailedNotificationRepository.class);
+        publisher = new NotificationEventPublisher(rabbitTemplate, new NotificationMessageWriter(), failedNotificationRepository);
+
+        Usuario usuario = Usuario.builder().email("cliente@basilios.com").nomeUsuario("Cliente").build();
+        order = Order.builder().usuario(usuario).codigoPedido("PED-1").build();
+        order.setId(10L);
+    }
+
+    @Test
+    @DisplayName("Falha no broker deve gravar a notificação para reenvio")
+    void publishOrderStatusChanged_DeveGravarFalha() {
+        doThrow(new AmqpConnectException(new ConnectException("broker fora")))
+                .when(rabbitTemplate).send(anyString(), anyString(), any(Message.class));
+
+        publisher.publishOrderStatusChanged(order, StatusPedidoEnum.PENDENTE, StatusPedidoEnum.CONFIRMADO, null);
+
+        ArgumentCaptor<FailedNotification> saved = ArgumentCaptor.forClass(FailedNotification.class);
+        verify(failedNotificationRepository).save(saved.capture());
+        assertEquals(10L, saved.getValue().getOrderId());
+        assertEquals("PENDENTE", saved.getValue().getOldStatus());
+        assertEquals("CONFIRMADO", saved.getValue().getNewStatus());
+        assertEquals(1, saved.getValue().getAttemptCount());
+        assertFalse(saved.getValue().getProcessed());
+    }
+
+    @Test
+    @DisplayName("Reenvio deve usar o mesmo eventId para a mesma notificação")
+    void republish_DeveTerEventIdEstavel() {
+        FailedNotification notification = FailedNotification.builder()
+                .id(7L).orderId(10L).orderCode("PED-1").clientEmail("cliente@basilios.com")
+                .newStatus("ENTREGUE").build();
+
+        publisher.republish(notification);
+        publisher.republish(notification);
+
+        ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, times(2)).send(eq(RabbitMQConfig.EXCHANGE_NOTIFICATIONS),
+                eq("order.status.entregue"), messages.capture());
+        Message first = messages.getAllValues().get(0);
+        Message second = messages.getAllValues().get(1);
+        assertEquals(first.getMessageProperties().getMessageId(), second.getMessageProperties().getMessageId());
+        assertTrue(new String(first.getBody(), StandardCharsets.UTF_8).contains("\"orderCode\":\"PED-1\""));
+    }
+}
@@ -0,0 +1,82 @@
+package com.basilios.basilios.infra.messaging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Benchmark de mensagens/segundo na montagem do evento ORDER_STATUS_CHANGED:
+ * HashMap + UUID.randomUUID + Jackson2JsonMessageConverter (caminho antigo) contra
+ * record + ObjectWriter pronto (NotificationMessageWriter). Sem broker: só o custo na aplicação.
+ * Não roda no build normal (nome fora do padrão do surefire):
+ *   mvn test -Dtest=NotificationMessageBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de serialização de eventos")
+class NotificationMessageBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int MEASURED = 1_000_000;
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    private final NotificationMessageWriter writer = new NotificationMessageWriter();
+
+    @Test
+    void messagesPerSecond() {
+        run(this::legacy, WARMUP);
+        run(this::typed, WARMUP);
+
+        double legacy = run(this::legacy, MEASURED);
+        double typed = run(this::typed, MEASURED);
+
+        System.out.printf("Eventos ORDER_STATUS_CHANGED: HashMap+converter %.0f msg/s | record+ObjectWriter %.0f msg/s (%.1fx)%n",
+                legacy, typed, typed / legacy);
+    }
+
+    private Message legacy(long i) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("eventId", UUID.randomUUID().toString());
+        event.put("eventType", "ORDER_STATUS_CHANGED");
+        event.put("eventVersion", 1);
+        event.put("orderId", i);
+        event.put("orderCode", "PED-20250314-0042");
+        event.put("oldStatus", "PREPARANDO");
+        event.put("newStatus", "DESPACHADO");
+        event.put("clientEmail", "cliente@basilios.com");
+        event.put("clientName", "Cliente Teste");
+        event.put("motivo", null);
+        event.put("occurredAt", LocalDateTime.now().toString());
+        event.put("source", "basilios-monolith");
+        return converter.toMessage(event, new MessageProperties());
+    }
+
+    private Message typed(long i) {
+        return writer.toMessage(NotificationMessage.OrderStatusChanged.of(NotificationMessageWriter.newEventId(), i,
+                "PED-20250314-0042", "PREPARANDO", "DESPACHADO", "cliente@basilios.com", "Cliente Teste", null));
+    }
+
+    private interface Builder {
+        Message build(long i);
+    }
+
+    private static double run(Builder builder, int count) {
+        long bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            bytes += builder.build(i).getBody().length;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (bytes == 0) {
+            throw new IllegalStateException();
+        }
+        return count / (elapsed / 1e9);
+    }
+}
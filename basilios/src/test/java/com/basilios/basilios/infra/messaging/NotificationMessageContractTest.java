@@ -0,0 +1,113 @@
+package com.basilios.basilios.infra.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contrato com o email-api: o JSON de cada evento, campo a campo e na ordem.
+ * Se este teste quebrar, o formato mudou — subir o eventVersion e combinar com o consumidor.
+ */
+@DisplayName("Contrato dos eventos de notificação")
+class NotificationMessageContractTest {
+
+    private static final LocalDateTime OCCURRED_AT = LocalDateTime.of(2025, 3, 14, 18, 30, 5, 123_000_000);
+
+    private final NotificationMessageWriter writer = new NotificationMessageWriter();
+
+    @Test
+    @DisplayName("ORDER_STATUS_CHANGED v1")
+    void orderStatusChanged_V1() {
+        NotificationMessage.OrderStatusChanged event = new NotificationMessage.OrderStatusChanged(
+                "2f1c6a3e-7b1d-4c55-9a0e-1d2b3c4d5e6f", "ORDER_STATUS_CHANGED", 1, 42L, "PED-20250314-0042",
+                "PENDENTE", "CANCELADO", "cliente@basilios.com", "Cliente Teste", "Cliente desistiu",
+                OCCURRED_AT, "basilios-monolith");
+
+        assertEquals("{\"eventId\":\"2f1c6a3e-7b1d-4c55-9a0e-1d2b3c4d5e6f\","
+                        + "\"eventType\":\"ORDER_STATUS_CHANGED\","
+                        + "\"eventVersion\":1,"
+                        + "\"orderId\":42,"
+                        + "\"orderCode\":\"PED-20250314-0042\","
+                        + "\"oldStatus\":\"PENDENTE\","
+                        + "\"newStatus\":\"CANCELADO\","
+                        + "\"clientEmail\":\"cliente@basilios.com\","
+                        + "\"clientName\":\"Cliente Teste\","
+                        + "\"motivo\":\"Cliente desistiu\","
+                        + "\"occurredAt\":\"2025-03-14T18:30:05.123\","
+                        + "\"source\":\"basilios-monolith\"}",
+                new String(writer.toBytes(event), StandardCharsets.UTF_8));
+        assertEquals("order.status.cancelado", event.routingKey());
+    }
+
+    @Test
+    @DisplayName("ORDER_STATUS_CHANGED v1 mantém campos nulos")
+    void orderStatusChanged_V1ComNulos() {
+        NotificationMessage.OrderStatusChanged event = new NotificationMessage.OrderStatusChanged(
+                "id", "ORDER_STATUS_CHANGED", 1, 42L, "PED-1", null, "CONFIRMADO", "c@b.com", null, null,
+                OCCURRED_AT, "basilios-monolith");
+
+        String json = new String(writer.toBytes(event), StandardCharsets.UTF_8);
+
+        assertTrue(json.contains("\"oldStatus\":null"));
+        assertTrue(json.contains("\"clientName\":null"));
+        assertTrue(json.contains("\"motivo\":null"));
+    }
+
+    @Test
+    @DisplayName("PASSWORD_RESET_REQUESTED v1")
+    void passwordResetRequested_V1() {
+        NotificationMessage.PasswordResetRequested event = new NotificationMessage.PasswordResetRequested(
+                "9b8a7c6d-5e4f-4a3b-8c2d-1e0f9a8b7c6d", "PASSWORD_RESET_REQUESTED", 1, "cliente@basilios.com",
+                "http://localhost:5173/reset-password?token=abc", "Cliente Teste", "60 minutos",
+                OCCURRED_AT, "basilios-monolith");
+
+        assertEquals("{\"eventId\":\"9b8a7c6d-5e4f-4a3b-8c2d-1e0f9a8b7c6d\","
+                        + "\"eventType\":\"PASSWORD_RESET_REQUESTED\","
+                        + "\"eventVersion\":1,"
+                        + "\"email\":\"cliente@basilios.com\","
+                        + "\"resetUrl\":\"http://localhost:5173/reset-password?token=abc\","
+                        + "\"userName\":\"Cliente Teste\","
+                        + "\"expiresIn\":\"60 minutos\","
+                        + "\"occurredAt\":\"2025-03-14T18:30:05.123\","
+                        + "\"source\":\"basilios-monolith\"}",
+                new String(writer.toBytes(event), StandardCharsets.UTF_8));
+        assertEquals("auth.password-reset", event.routingKey());
+    }
+
+    @Test
+    @DisplayName("Consumidor com Jackson2JsonMessageConverter deve continuar lendo um Map")
+    @SuppressWarnings("unchecked")
+    void toMessage_DeveSerCompativelComConsumidorAtual() {
+        NotificationMessage.OrderStatusChanged event = NotificationMessage.OrderStatusChanged.of(
+                NotificationMessageWriter.newEventId(), 1L, "PED-1", null, "ENTREGUE", "c@b.com", "C", null);
+
+        Message message = writer.toMessage(event);
+        Object decoded = new Jackson2JsonMessageConverter().fromMessage(message);
+
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, message.getMessageProperties().getContentType());
+        assertEquals(event.eventId(), message.getMessageProperties().getMessageId());
+        assertInstanceOf(Map.class, decoded);
+        assertEquals("ENTREGUE", ((Map<String, Object>) decoded).get("newStatus"));
+        assertEquals(1, ((Map<String, Object>) decoded).get("eventVersion"));
+    }
+
+    @Test
+    @DisplayName("eventId deve ser um UUID v4")
+    void newEventId_DeveSerUuidV4() throws Exception {
+        java.util.UUID id = java.util.UUID.fromString(NotificationMessageWriter.newEventId());
+
+        assertEquals(4, id.version());
+        assertEquals(2, id.variant());
+        assertNotNull(new ObjectMapper().readTree(writer.toBytes(NotificationMessage.PasswordResetRequested.of(
+                id.toString(), "a@b.com", "url", "A", "60 minutos"))));
+    }
+}
@@ -0,0 +1,65 @@
+package com.basilios.basilios.infra.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Backend compartilhado sobre H2: duas instâncias do backend simulam dois nós da aplicação.
+ * A tabela vem da entidade RateLimitBucket (schema do @DataJpaTest).
+ */
+@DataJpaTest
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+class JdbcRateLimitBackendTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("auth", 3, Duration.ofMinutes(1), RateLimitPolicy.KeyType.IP);
+
+    @Test
+    @DisplayName("Instâncias diferentes devem dividir o mesmo limite")
+    void tryConsume_DeveCompartilharEntreInstancias() {
+        JdbcRateLimitBackend node1 = new JdbcRateLimitBackend(jdbcTemplate);
+        JdbcRateLimitBackend node2 = new JdbcRateLimitBackend(jdbcTemplate);
+
+        assertTrue(node1.tryConsume("ip:1.1.1.1", policy).isConsumed());
+        assertTrue(node2.tryConsume("ip:1.1.1.1", policy).isConsumed());
+        assertTrue(node1.tryConsume("ip:1.1.1.1", policy).isConsumed());
+        assertFalse(node2.tryConsume("ip:1.1.1.1", policy).isConsumed());
+
+        assertTrue(node2.tryConsume("ip:2.2.2.2", policy).isConsumed());
+    }
+
+    @Test
+    @DisplayName("Limpeza deve apagar apenas baldes já cheios de novo")
+    void purgeExpired_DeveManterBaldesAtivos() {
+        JdbcRateLimitBackend backend = new JdbcRateLimitBackend(jdbcTemplate);
+        backend.tryConsume("ip:1.1.1.1", policy);
+        jdbcTemplate.update("INSERT INTO rate_limit_bucket (bucket_key, state, version, expires_at) VALUES ('velho', X'00', 0, 1)");
+
+        backend.purgeExpired();
+
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rate_limit_bucket", Integer.class));
+        assertEquals(1, backend.tryConsume("ip:1.1.1.1", policy).getRemainingTokens());
+    }
+
+    @Test
+    @DisplayName("Remoção assíncrona deve apagar o balde")
+    void removeAsync_DeveApagarBalde() {
+        JdbcRateLimitBackend backend = new JdbcRateLimitBackend(jdbcTemplate);
+        backend.tryConsume("ip:1.1.1.1", policy);
+
+        backend.removeAsync("auth:ip:1.1.1.1").join();
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rate_limit_bucket", Integer.class));
+    }
+}
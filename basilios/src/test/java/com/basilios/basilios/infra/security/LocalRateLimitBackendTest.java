@@ -0,0 +1,62 @@
+package com.basilios.basilios.infra.security;
+
+import io.github.bucket4j.ConsumptionProbe;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do LocalRateLimitBackend")
+class LocalRateLimitBackendTest {
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("teste", 3, Duration.ofMinutes(1), RateLimitPolicy.KeyType.IP);
+
+    @Test
+    @DisplayName("Deve recusar acima da capacidade, contando cada chave separadamente")
+    void tryConsume_DeveLimitarPorChave() {
+        LocalRateLimitBackend backend = new LocalRateLimitBackend(1000);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(backend.tryConsume("ip:1.1.1.1", policy).isConsumed());
+        }
+        ConsumptionProbe rejected = backend.tryConsume("ip:1.1.1.1", policy);
+
+        assertFalse(rejected.isConsumed());
+        assertTrue(rejected.getNanosToWaitForRefill() > 0);
+        assertTrue(backend.tryConsume("ip:2.2.2.2", policy).isConsumed());
+    }
+
+    @Test
+    @DisplayName("Mesma chave em políticas diferentes deve ter baldes diferentes")
+    void tryConsume_DeveSepararPoliticas() {
+        LocalRateLimitBackend backend = new LocalRateLimitBackend(1000);
+        RateLimitPolicy other = new RateLimitPolicy("outra", 1, Duration.ofMinutes(1), RateLimitPolicy.KeyType.IP);
+
+        assertTrue(backend.tryConsume("ip:1.1.1.1", other).isConsumed());
+        assertFalse(backend.tryConsume("ip:1.1.1.1", other).isConsumed());
+        assertEquals(2, backend.tryConsume("ip:1.1.1.1", policy).getRemainingTokens());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar mais chaves que o limite configurado")
+    void tryConsume_DeveLimitarMemoria() {
+        LocalRateLimitBackend backend = new LocalRateLimitBackend(LocalRateLimitBackend.STRIPES * 10);
+
+        for (int i = 0; i < 50_000; i++) {
+            backend.tryConsume("ip:10.0." + (i >> 8) + "." + (i & 255), policy);
+        }
+
+        assertTrue(backend.size() <= LocalRateLimitBackend.STRIPES * 10, "chaves em memória: " + backend.size());
+    }
+
+    @Test
+    @DisplayName("Deve recusar política inválida")
+    void policy_DeveValidar() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimitPolicy("x", 0, Duration.ofMinutes(1), RateLimitPolicy.KeyType.IP));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimitPolicy("x", 1, Duration.ZERO, RateLimitPolicy.KeyType.IP));
+    }
+}
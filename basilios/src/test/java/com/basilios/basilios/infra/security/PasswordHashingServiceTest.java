@@ -0,0 +1,95 @@
+package com.basilios.basilios.infra.security;
+
+import com.basilios.basilios.core.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do PasswordHashingService")
+class PasswordHashingServiceTest {
+
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gerar e conferir hash BCrypt no pool, contabilizando as métricas")
+    void encodeAndMatches_DeveFuncionar() {
+        service = new PasswordHashingService(new BCryptPasswordEncoder(4), 4, 2, 8, Duration.ofSeconds(5));
+
+        String hash = service.encode("segredo");
+
+        assertTrue(service.matches("segredo", hash));
+        assertFalse(service.matches("outro", hash));
+        assertFalse(service.matches("segredo", null));
+        assertEquals(4, service.metrics().completed());
+    }
+
+    @Test
+    @DisplayName("Deve pedir rehash quando o custo do hash difere do configurado")
+    void needsRehash_DeveCompararCusto() {
+        String cost4 = new BCryptPasswordEncoder(4).encode("segredo");
+        String cost5 = new BCryptPasswordEncoder(5).encode("segredo");
+        service = new PasswordHashingService(new BCryptPasswordEncoder(5), 5, 1, 8, Duration.ofSeconds(5));
+
+        assertTrue(service.needsRehash(cost4));
+        assertFalse(service.needsRehash(cost5));
+        assertFalse(service.needsRehash(null));
+    }
+
+    @Test
+    @DisplayName("Com o pool e a fila ocupados deve recusar com ServiceBusyException")
+    void encode_DeveRecusarComFilaCheia() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("bloqueia".contentEquals(rawPassword)) {
+                    started.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+        service = new PasswordHashingService(blocking, 10, 1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> service.encode("bloqueia"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> service.encode("na-fila"));
+        while (service.metrics().queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServiceBusyException.class, () -> service.encode("recusada"));
+        assertEquals(1, service.metrics().rejected());
+
+        release.countDown();
+        assertEquals("hash:bloqueia", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:na-fila", queued.get(5, TimeUnit.SECONDS));
+        assertTrue(service.metrics().maxQueueMicros() > 0);
+    }
+}
@@ -0,0 +1,90 @@
+package com.basilios.basilios.infra.security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmark do custo do rate limit por requisição (backend local), com várias threads e
+ * muitos IPs distintos, contra a cadeia sem o filtro. Resultado em ns por requisição a partir
+ * da vazão total (tempo de parede / requisições).
+ * Não roda no build normal (nome fora do padrão do surefire):
+ *   mvn test -Dtest=RateLimitFilterBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark do rate limit")
+class RateLimitFilterBenchmark {
+
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int CLIENTS = 20_000;
+    private static final int WARMUP_REQUESTS = 200_000;
+    private static final int MEASURED_REQUESTS = 2_000_000;
+
+    @Test
+    void nanosPerRequest() throws Exception {
+        Duration minute = Duration.ofMinutes(1);
+        RateLimitFilter filter = new RateLimitFilter(new LocalRateLimitBackend(100_000), mock(JwtUtil.class), true,
+                10, minute, 10, minute, 1_000_000_000L, minute);
+        FilterChain chain = (request, response) -> { };
+
+        // cada thread com seus clientes: a requisição mock guarda atributos e não é thread-safe
+        MockHttpServletRequest[][] requests = new MockHttpServletRequest[THREADS][CLIENTS / THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < requests[t].length; i++) {
+                int client = t * requests[t].length + i;
+                requests[t][i] = new MockHttpServletRequest("GET", "/products");
+                requests[t][i].setServletPath("/products");
+                requests[t][i].setRemoteAddr("10." + (client >> 16) + "." + ((client >> 8) & 255) + "." + (client & 255));
+            }
+        }
+
+        run(requests, (request, response) -> chain.doFilter(request, response), WARMUP_REQUESTS);
+        run(requests, (request, response) -> filter.doFilter(request, response, chain), WARMUP_REQUESTS);
+
+        double bare = run(requests, (request, response) -> chain.doFilter(request, response), MEASURED_REQUESTS);
+        double limited = run(requests, (request, response) -> filter.doFilter(request, response, chain), MEASURED_REQUESTS);
+
+        System.out.printf("Rate limit (%d threads, %d clientes): sem filtro %.0f ns/req | com filtro %.0f ns/req%n",
+                THREADS, CLIENTS, bare, limited);
+    }
+
+    private interface Call {
+        void apply(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception;
+    }
+
+    private static double run(MockHttpServletRequest[][] requests, Call call, int total) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            int perThread = total / THREADS;
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                MockHttpServletRequest[] own = requests[t];
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        call.apply(own[i % own.length], new MockHttpServletResponse());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return (double) (System.nanoTime() - start) / (perThread * THREADS); // inverso da vazão
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.basilios.basilios.infra.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do RateLimitFilter")
+class RateLimitFilterTest {
+
+    private JwtUtil jwtUtil;
+    private RateLimitBackend backend;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = mock(JwtUtil.class);
+        backend = new LocalRateLimitBackend(1000);
+        filter = filter(backend, true);
+    }
+
+    @Test
+    @DisplayName("Deve responder 429 com Retry-After ao exceder o limite de login")
+    void login_DeveLimitarPorIp() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = perform(request("POST", "/auth/login", "1.1.1.1"));
+            assertEquals(200, response.getStatus());
+            assertEquals("2", response.getHeader(RateLimitFilter.HEADER_LIMIT));
+            assertEquals(Integer.toString(1 - i), response.getHeader(RateLimitFilter.HEADER_REMAINING));
+        }
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse rejected = perform(request("POST", "/auth/login", "1.1.1.1"), chain);
+
+        assertEquals(429, rejected.getStatus());
+        assertNull(chain.getRequest(), "a requisição recusada não deve seguir a cadeia");
+        assertEquals("0", rejected.getHeader(RateLimitFilter.HEADER_REMAINING));
+        assertTrue(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER)) >= 1);
+        assertNotNull(rejected.getHeader(RateLimitFilter.HEADER_RESET));
+        assertTrue(rejected.getContentAsString().contains("\"status\":429"));
+
+        // outro IP e outras rotas não são afetados
+        assertEquals(200, perform(request("POST", "/auth/login", "2.2.2.2")).getStatus());
+        assertEquals(200, perform(request("GET", "/products", "1.1.1.1")).getStatus());
+    }
+
+    @Test
+    @DisplayName("Pedidos devem ser contados por usuário, não por IP")
+    void orders_DeveLimitarPorUsuario() throws Exception {
+        when(jwtUtil.extractUsername("token-ana")).thenReturn("ana@email.com");
+        when(jwtUtil.extractUsername("token-bia")).thenReturn("bia@email.com");
+
+        assertEquals(200, perform(order("token-ana")).getStatus());
+        assertEquals(200, perform(order("token-ana")).getStatus());
+        assertEquals(429, perform(order("token-ana")).getStatus());
+
+        // mesmo IP, outro usuário
+        assertEquals(200, perform(order("token-bia")).getStatus());
+    }
+
+    @Test
+    @DisplayName("Token inválido em pedidos deve contar pelo IP")
+    void orders_TokenInvalidoDeveUsarIp() throws Exception {
+        when(jwtUtil.extractUsername("lixo")).thenThrow(new IllegalArgumentException("token inválido"));
+
+        perform(order("lixo"));
+        perform(order(null));
+
+        assertEquals(429, perform(order("lixo")).getStatus());
+    }
+
+    @Test
+    @DisplayName("Não deve limitar uploads, documentação, WebSocket e preflight")
+    void shouldNotFilter_DeveIgnorarRotasExcluidas() {
+        assertTrue(filter.shouldNotFilter(request("GET", "/uploads/foto.jpg", "1.1.1.1")));
+        assertTrue(filter.shouldNotFilter(request("GET", "/swagger-ui/index.html", "1.1.1.1")));
+        assertTrue(filter.shouldNotFilter(request("GET", "/v3/api-docs", "1.1.1.1")));
+        assertTrue(filter.shouldNotFilter(request("GET", "/ws/info", "1.1.1.1")));
+        assertTrue(filter.shouldNotFilter(request("OPTIONS", "/auth/login", "1.1.1.1")));
+        assertFalse(filter.shouldNotFilter(request("GET", "/products", "1.1.1.1")));
+        assertTrue(filter(backend, false).shouldNotFilter(request("POST", "/auth/login", "1.1.1.1")));
+    }
+
+    @Test
+    @DisplayName("Falha no backend não deve bloquear a requisição")
+    void backendIndisponivel_DeveLiberar() throws Exception {
+        RateLimitBackend failing = mock(RateLimitBackend.class);
+        when(failing.tryConsume(any(), any())).thenThrow(new IllegalStateException("banco fora"));
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter(failing, true).doFilter(request("POST", "/auth/login", "1.1.1.1"), response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+
+    private RateLimitFilter filter(RateLimitBackend backend, boolean enabled) {
+        Duration minute = Duration.ofMinutes(1);
+        return new RateLimitFilter(backend, jwtUtil, enabled, 2, minute, 2, minute, 100, minute);
+    }
+
+    private MockHttpServletRequest order(String token) {
+        MockHttpServletRequest request = request("POST", "/orders", "1.1.1.1");
+        if (token != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        return perform(request, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
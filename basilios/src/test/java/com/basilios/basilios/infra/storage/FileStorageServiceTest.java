@@ -0,0 +1,84 @@
+package com.basilios.basilios.infra.storage;
+
+import com.basilios.basilios.core.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do FileStorageService")
+class FileStorageServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private ImageVariantService imageVariantService;
+    private FileStorageService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageVariantService = mock(ImageVariantService.class);
+        service = new FileStorageService(uploadDir.toString(), imageVariantService);
+    }
+
+    @Test
+    @DisplayName("Deve nomear o arquivo pelo SHA-256 do conteúdo")
+    void storeFile_DeveNomearPeloHashDoConteudo() throws IOException {
+        String fileName = service.storeFile(image("foto.JPG", "abc"));
+
+        // SHA-256("abc")
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad.jpg", fileName);
+        assertEquals("abc", Files.readString(uploadDir.resolve(fileName)));
+        verify(imageVariantService).scheduleVariants(fileName);
+    }
+
+    @Test
+    @DisplayName("Reenvio do mesmo conteúdo deve reaproveitar o arquivo existente")
+    void storeFile_DeveDeduplicarConteudoIgual() throws IOException {
+        String first = service.storeFile(image("a.jpg", "mesma foto"));
+        Files.setLastModifiedTime(uploadDir.resolve(first), FileTime.from(Instant.now().minus(10, ChronoUnit.DAYS)));
+
+        String second = service.storeFile(image("b - Copia.jpg", "mesma foto"));
+
+        assertEquals(first, second);
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            assertEquals(1, files.count());
+        }
+        // Data renovada para a coleta respeitar a carência
+        assertTrue(Files.getLastModifiedTime(uploadDir.resolve(first)).toInstant()
+                .isAfter(Instant.now().minus(1, ChronoUnit.MINUTES)));
+        verify(imageVariantService, times(1)).scheduleVariants(first);
+    }
+
+    @Test
+    @DisplayName("Conteúdos diferentes devem gerar arquivos diferentes")
+    void storeFile_DeveSepararConteudosDiferentes() throws IOException {
+        assertNotEquals(service.storeFile(image("a.jpg", "um")), service.storeFile(image("a.jpg", "dois")));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar extensão não permitida sem deixar arquivo temporário")
+    void storeFile_DeveRejeitarExtensaoInvalida() throws IOException {
+        assertThrows(BusinessException.class, () -> service.storeFile(image("script.sh", "x")));
+
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private MockMultipartFile image(String name, String content) {
+        return new MockMultipartFile("file", name, "image/jpeg", content.getBytes());
+    }
+}
@@ -0,0 +1,106 @@
+package com.basilios.basilios.infra.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do ImageVariantService")
+class ImageVariantServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private ImageVariantService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageVariantService(uploadDir.toString(), Runnable::run, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Deve gerar as três variantes respeitando o lado maior e sem ampliar")
+    void generate_DeveGerarVariantesRedimensionadas() throws IOException {
+        writeImage("foto.jpg", 2000, 1000, BufferedImage.TYPE_INT_RGB, "jpg");
+
+        ImageVariantService.ImageManifest manifest = service.generate("foto.jpg").orElseThrow();
+
+        assertEquals(2000, manifest.width());
+        assertEquals(160, manifest.variants().get("thumb").width());
+        assertEquals(80, manifest.variants().get("thumb").height());
+        assertEquals(480, manifest.variants().get("card").width());
+        assertEquals(1080, manifest.variants().get("detail").width());
+
+        BufferedImage card = ImageIO.read(service.resolveVariant("foto.jpg", ImageVariant.CARD).orElseThrow().toFile());
+        assertEquals(480, card.getWidth());
+        assertEquals(240, card.getHeight());
+        assertTrue(Files.exists(uploadDir.resolve("variants/foto/manifest.json")));
+    }
+
+    @Test
+    @DisplayName("Imagem menor que a variante não deve ser ampliada")
+    void generate_NaoDeveAmpliarImagemPequena() throws IOException {
+        writeImage("icone.jpg", 100, 50, BufferedImage.TYPE_INT_RGB, "jpg");
+
+        ImageVariantService.ImageManifest manifest = service.generate("icone.jpg").orElseThrow();
+
+        assertEquals(100, manifest.variants().get("detail").width());
+        assertEquals(50, manifest.variants().get("detail").height());
+    }
+
+    @Test
+    @DisplayName("PNG com transparência deve gerar variantes em PNG")
+    void generate_DeveManterPngComTransparencia() throws IOException {
+        writeImage("logo.png", 600, 600, BufferedImage.TYPE_INT_ARGB, "png");
+
+        service.generate("logo.png");
+
+        Path thumb = service.resolveVariant("logo.png", ImageVariant.THUMBNAIL).orElseThrow();
+        assertTrue(thumb.getFileName().toString().endsWith(".png"));
+    }
+
+    @Test
+    @DisplayName("Variante inexistente deve retornar vazio")
+    void resolveVariant_DeveRetornarVazioSemVariante() {
+        assertEquals(Optional.empty(), service.resolveVariant("nao-existe.jpg", ImageVariant.CARD));
+        assertEquals(Optional.empty(), service.resolveVariant("../fora.jpg", ImageVariant.CARD));
+    }
+
+    @Test
+    @DisplayName("Upload deve agendar a geração das variantes no executor")
+    void scheduleVariants_DeveGerarVariantes() throws IOException {
+        writeImage("novo.jpg", 800, 600, BufferedImage.TYPE_INT_RGB, "jpg");
+
+        service.scheduleVariants("novo.jpg");
+
+        assertTrue(service.resolveVariant("novo.jpg", ImageVariant.THUMBNAIL).isPresent());
+    }
+
+    @Test
+    @DisplayName("Backfill deve processar apenas as imagens sem manifest")
+    void backfill_DeveProcessarApenasPendentes() throws IOException {
+        writeImage("a.jpg", 300, 300, BufferedImage.TYPE_INT_RGB, "jpg");
+        writeImage("b.jpg", 300, 300, BufferedImage.TYPE_INT_RGB, "jpg");
+        writeImage("c.png", 300, 300, BufferedImage.TYPE_INT_RGB, "png");
+        Files.writeString(uploadDir.resolve("leia-me.txt"), "não é imagem");
+        service.generate("a.jpg");
+
+        assertEquals(2, service.backfill(2));
+        assertEquals(0, service.backfill(2));
+    }
+
+    private void writeImage(String name, int width, int height, int type, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, type);
+        ImageIO.write(image, format, uploadDir.resolve(name).toFile());
+    }
+}
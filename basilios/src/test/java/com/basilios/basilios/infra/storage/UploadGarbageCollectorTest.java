@@ -0,0 +1,97 @@
+package com.basilios.basilios.infra.storage;
+
+import com.basilios.basilios.infra.repository.ComboRepository;
+import com.basilios.basilios.infra.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do UploadGarbageCollector")
+class UploadGarbageCollectorTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-10T12:00:00Z");
+
+    @TempDir
+    Path uploadDir;
+
+    private ProductRepository productRepository;
+    private ComboRepository comboRepository;
+    private UploadedImageFilter imageFilter;
+    private UploadGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        comboRepository = mock(ComboRepository.class);
+        imageFilter = mock(UploadedImageFilter.class);
+        collector = new UploadGarbageCollector(uploadDir.toString(), Duration.ofHours(24),
+                productRepository, comboRepository, imageFilter, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Deve remover apenas arquivos antigos e não referenciados, com suas variantes")
+    void collect_DeveRemoverOrfaosAntigos() throws IOException {
+        when(productRepository.findAllImageUrls()).thenReturn(List.of("http://localhost:8080/uploads/produto.jpg"));
+        when(comboRepository.findAllImageUrls()).thenReturn(List.of("http://localhost:8080/uploads/combo.jpg?size=card"));
+
+        file("produto.jpg", Duration.ofDays(30));
+        file("combo.jpg", Duration.ofDays(30));
+        file("orfao - Copia.jpg", Duration.ofDays(30));
+        file("recem-enviado.jpg", Duration.ofHours(1));
+        Path variants = Files.createDirectories(uploadDir.resolve("variants/orfao - Copia"));
+        Files.writeString(variants.resolve("thumb.jpg"), "x");
+
+        UploadGarbageCollector.Report report = collector.collect();
+
+        assertEquals(4, report.scanned());
+        assertEquals(1, report.removed());
+        assertFalse(Files.exists(uploadDir.resolve("orfao - Copia.jpg")));
+        assertFalse(Files.exists(variants));
+        assertTrue(Files.exists(uploadDir.resolve("produto.jpg")));
+        assertTrue(Files.exists(uploadDir.resolve("combo.jpg")));
+        assertTrue(Files.exists(uploadDir.resolve("recem-enviado.jpg")));
+        verify(imageFilter).evict("orfao - Copia.jpg");
+        verifyNoMoreInteractions(imageFilter);
+    }
+
+    @Test
+    @DisplayName("Deve extrair o nome do arquivo da URL gravada")
+    void fileNameOf_DeveExtrairNome() {
+        assertEquals("abc.jpg", UploadGarbageCollector.fileNameOf("http://localhost:8080/uploads/abc.jpg"));
+        assertEquals("abc.jpg", UploadGarbageCollector.fileNameOf("/uploads/abc.jpg?size=thumb"));
+        assertEquals("abc.jpg", UploadGarbageCollector.fileNameOf("abc.jpg"));
+        assertEquals("foto - Copia.jpg", UploadGarbageCollector.fileNameOf("http://localhost:8080/uploads/foto%20-%20Copia.jpg"));
+        assertEquals("a+b.jpg", UploadGarbageCollector.fileNameOf("/uploads/a+b.jpg"));
+        assertEquals("100%.jpg", UploadGarbageCollector.fileNameOf("/uploads/100%.jpg"));
+    }
+
+    @Test
+    @DisplayName("Não deve apagar arquivo referenciado por URL codificada")
+    void collect_DeveManterArquivoReferenciadoComUrlCodificada() throws IOException {
+        when(productRepository.findAllImageUrls()).thenReturn(List.of("http://localhost:8080/uploads/lanche%20-%20Copia.jpg"));
+        when(comboRepository.findAllImageUrls()).thenReturn(List.of());
+        file("lanche - Copia.jpg", Duration.ofDays(30));
+
+        assertEquals(0, collector.collect().removed());
+        assertTrue(Files.exists(uploadDir.resolve("lanche - Copia.jpg")));
+    }
+
+    private void file(String name, Duration age) throws IOException {
+        Path path = Files.writeString(uploadDir.resolve(name), name);
+        Files.setLastModifiedTime(path, FileTime.from(NOW.minus(age)));
+    }
+}
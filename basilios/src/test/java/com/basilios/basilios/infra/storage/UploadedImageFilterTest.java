@@ -0,0 +1,176 @@
+package com.basilios.basilios.infra.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do UploadedImageFilter")
+class UploadedImageFilterTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private ImageVariantService imageVariantService;
+    private UploadedImageFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        imageVariantService = mock(ImageVariantService.class);
+        when(imageVariantService.resolveVariant(any(), any())).thenReturn(Optional.empty());
+        filter = new UploadedImageFilter(uploadDir.toString(), imageVariantService);
+
+        Files.writeString(uploadDir.resolve("foto.jpg"), "0123456789");
+    }
+
+    @Test
+    @DisplayName("Deve servir o arquivo com ETag e cache imutável sem seguir a cadeia")
+    void get_DeveServirArquivo() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = perform(get("/uploads/foto.jpg"), chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals("image/jpeg", response.getContentType());
+        assertEquals("public, max-age=31536000, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertNull(chain.getRequest(), "a requisição não deve chegar ao Spring Security/MVC");
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 quando a ETag confere")
+    void get_DeveResponder304() throws Exception {
+        String etag = perform(get("/uploads/foto.jpg"), new MockFilterChain()).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest request = get("/uploads/foto.jpg");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"outra\", " + etag);
+        MockHttpServletResponse response = perform(request, new MockFilterChain());
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Deve atender Range com 206 e Content-Range")
+    void get_DeveAtenderRange() throws Exception {
+        MockHttpServletRequest request = get("/uploads/foto.jpg");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = perform(request, new MockFilterChain());
+
+        assertEquals(206, response.getStatus());
+        assertEquals("2345", response.getContentAsString());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    @DisplayName("Range fora do arquivo deve responder 416")
+    void get_DeveResponder416() throws Exception {
+        MockHttpServletRequest request = get("/uploads/foto.jpg");
+        request.addHeader(HttpHeaders.RANGE, "bytes=50-");
+        MockHttpServletResponse response = perform(request, new MockFilterChain());
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    @DisplayName("Deve servir a variante pedida ou o original com cache curto enquanto ela não existe")
+    void get_DeveEscolherVariante() throws Exception {
+        MockHttpServletRequest pending = get("/uploads/foto.jpg");
+        pending.setParameter("size", "thumb");
+        MockHttpServletResponse response = perform(pending, new MockFilterChain());
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals("public, max-age=60", response.getHeader(HttpHeaders.CACHE_CONTROL));
+
+        Path thumb = Files.createDirectories(uploadDir.resolve("variants/foto")).resolve("thumb.jpg");
+        Files.writeString(thumb, "mini");
+        when(imageVariantService.resolveVariant(eq("foto.jpg"), eq(ImageVariant.THUMBNAIL))).thenReturn(Optional.of(thumb));
+
+        MockHttpServletRequest ready = get("/uploads/foto.jpg");
+        ready.setParameter("size", "thumb");
+        response = perform(ready, new MockFilterChain());
+        assertEquals("mini", response.getContentAsString());
+        assertEquals("public, max-age=31536000, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    @DisplayName("Variante pronta deve ficar em cache e sair dele no evict")
+    void get_DeveCachearVarianteAteEvict() throws Exception {
+        Path thumb = Files.createDirectories(uploadDir.resolve("variants/foto")).resolve("thumb.jpg");
+        Files.writeString(thumb, "mini");
+        when(imageVariantService.resolveVariant(eq("foto.jpg"), eq(ImageVariant.THUMBNAIL))).thenReturn(Optional.of(thumb));
+
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = get("/uploads/foto.jpg");
+            request.setParameter("size", "thumb");
+            assertEquals("mini", perform(request, new MockFilterChain()).getContentAsString());
+        }
+        verify(imageVariantService, times(1)).resolveVariant("foto.jpg", ImageVariant.THUMBNAIL);
+
+        // apagado pela coleta: sem o evict o cache ainda teria o tamanho antigo
+        Files.delete(thumb);
+        Files.delete(uploadDir.resolve("foto.jpg"));
+        filter.evict("foto.jpg");
+        when(imageVariantService.resolveVariant(eq("foto.jpg"), eq(ImageVariant.THUMBNAIL))).thenReturn(Optional.empty());
+
+        MockHttpServletRequest request = get("/uploads/foto.jpg");
+        request.setParameter("size", "thumb");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = perform(request, new MockFilterChain());
+        assertEquals(404, response.getStatus());
+        assertNull(request.getAttribute("org.apache.tomcat.sendfile.filename"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 404 para arquivo inexistente ou fora do diretório")
+    void get_DeveResponder404() throws Exception {
+        assertEquals(404, perform(get("/uploads/nao-existe.jpg"), new MockFilterChain()).getStatus());
+        assertEquals(404, perform(get("/uploads/%2e%2e/segredo.txt"), new MockFilterChain()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Outros caminhos e métodos devem seguir a cadeia normalmente")
+    void deveIgnorarOutrasRequisicoes() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        perform(get("/products"), chain);
+        assertNotNull(chain.getRequest());
+
+        MockFilterChain postChain = new MockFilterChain();
+        perform(new MockHttpServletRequest("POST", "/uploads/foto.jpg"), postChain);
+        assertNotNull(postChain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Deve interpretar os formatos de Range")
+    void parseRange_DeveInterpretarFormatos() {
+        assertEquals(new UploadedImageFilter.ByteRange(0, 9), UploadedImageFilter.parseRange("bytes=0-", 10));
+        assertEquals(new UploadedImageFilter.ByteRange(7, 9), UploadedImageFilter.parseRange("bytes=-3", 10));
+        assertEquals(new UploadedImageFilter.ByteRange(5, 9), UploadedImageFilter.parseRange("bytes=5-100", 10));
+        assertNull(UploadedImageFilter.parseRange("bytes=0-1,4-5", 10));
+        assertNull(UploadedImageFilter.parseRange("bytes=abc", 10));
+        assertSame(UploadedImageFilter.ByteRange.UNSATISFIABLE, UploadedImageFilter.parseRange("bytes=10-", 10));
+    }
+
+    private MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
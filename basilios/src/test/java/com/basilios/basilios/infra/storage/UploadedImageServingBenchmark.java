@@ -0,0 +1,169 @@
+package com.basilios.basilios.infra.storage;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.Context;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.descriptor.web.FilterDef;
+import org.apache.tomcat.util.descriptor.web.FilterMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark de imagens/segundo: ResourceHttpRequestHandler (caminho antigo do WebConfig)
+ * contra o UploadedImageFilter, ambos num Tomcat embarcado real (o filtro usa sendfile).
+ *
+ * Mede só o custo do handler; em produção o caminho antigo ainda passava pela cadeia do
+ * Spring Security (JWT, rate limit, headers), que o filtro também evita.
+ * Não roda no build normal (nome fora do padrão do surefire):
+ *   mvn test -Dtest=UploadedImageServingBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark de entrega de imagens")
+class UploadedImageServingBenchmark {
+
+    private static final int FILES = 50;
+    private static final int FILE_SIZE = 48 * 1024;
+    private static final int CONCURRENCY = 16;
+    private static final int WARMUP_REQUESTS = 2_000;
+    private static final int MEASURED_REQUESTS = 20_000;
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void imagesPerSecond() throws Exception {
+        Path uploadDir = Files.createDirectories(workDir.resolve("uploads"));
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < FILES; i++) {
+            byte[] content = new byte[FILE_SIZE];
+            random.nextBytes(content);
+            String name = "img-" + i + ".jpg";
+            Files.write(uploadDir.resolve(name), content);
+            names.add(name);
+        }
+
+        Tomcat tomcat = startTomcat(uploadDir);
+        try {
+            int port = tomcat.getConnector().getLocalPort();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            String legacy = "http://localhost:" + port + "/legacy/";
+            String filter = "http://localhost:" + port + "/uploads/";
+
+            run(client, legacy, names, WARMUP_REQUESTS);
+            run(client, filter, names, WARMUP_REQUESTS);
+
+            double legacyRate = run(client, legacy, names, MEASURED_REQUESTS);
+            double filterRate = run(client, filter, names, MEASURED_REQUESTS);
+
+            System.out.printf("ResourceHttpRequestHandler: %,.0f imagens/s%n", legacyRate);
+            System.out.printf("UploadedImageFilter:        %,.0f imagens/s (%.2fx)%n", filterRate, filterRate / legacyRate);
+        } finally {
+            tomcat.stop();
+            tomcat.destroy();
+        }
+    }
+
+    private double run(HttpClient client, String baseUrl, List<String> names, int requests) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENCY);
+        AtomicLong bytes = new AtomicLong();
+        long started = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int worker = 0; worker < CONCURRENCY; worker++) {
+                int offset = worker;
+                futures.add(pool.submit(() -> {
+                    for (int i = offset; i < requests; i += CONCURRENCY) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + names.get(i % names.size()))).build();
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        assertEquals(200, response.statusCode());
+                        bytes.addAndGet(response.body().length);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals((long) requests * FILE_SIZE, bytes.get());
+        return requests / ((System.nanoTime() - started) / 1_000_000_000.0);
+    }
+
+    private Tomcat startTomcat(Path uploadDir) throws Exception {
+        Tomcat tomcat = new Tomcat();
+        tomcat.setBaseDir(workDir.resolve("tomcat").toString());
+        tomcat.setPort(0);
+        tomcat.getConnector();
+
+        Context context = tomcat.addContext("", null);
+
+        // Caminho antigo: addResourceHandler("/uploads/**") do WebConfig
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+        handler.setLocations(List.of(new FileSystemResource(uploadDir.toString() + "/")));
+        handler.afterPropertiesSet();
+        Tomcat.addServlet(context, "legacy", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                req.setAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE, req.getPathInfo().substring(1));
+                try {
+                    handler.handleRequest(req, resp);
+                } catch (Exception e) {
+                    throw new IOException(e);
+                }
+            }
+        });
+        context.addServletMappingDecoded("/legacy/*", "legacy");
+
+        // Caminho novo: filtro na frente do servlet principal (em produção, o DispatcherServlet)
+        Tomcat.addServlet(context, "dispatcher", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            }
+        });
+        context.addServletMappingDecoded("/", "dispatcher");
+
+        ImageVariantService variants = new ImageVariantService(uploadDir.toString(), Runnable::run, new ObjectMapper());
+        FilterDef filterDef = new FilterDef();
+        filterDef.setFilterName("uploadedImageFilter");
+        filterDef.setFilter(new UploadedImageFilter(uploadDir.toString(), variants));
+        context.addFilterDef(filterDef);
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName("uploadedImageFilter");
+        filterMap.addURLPattern("/uploads/*");
+        context.addFilterMap(filterMap);
+
+        tomcat.start();
+        return tomcat;
+    }
+}
@@ -0,0 +1,91 @@
+package com.basilios.basilios.infra.web;
+
+import com.basilios.basilios.core.service.CatalogVersion;
+import com.basilios.basilios.infra.web.CatalogResponseCache.Encoding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Respostas pré-renderizadas do catálogo")
+class CatalogResponseCacheTest {
+
+    private CatalogVersion catalogVersion;
+    private CatalogResponseCache cache;
+    private AtomicInteger renders;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersion = new CatalogVersion();
+        cache = new CatalogResponseCache(catalogVersion, Jackson2ObjectMapperBuilder.json().build());
+        renders = new AtomicInteger();
+    }
+
+    private CatalogResponseCache.Rendered products(Map<String, String[]> parameters) {
+        return cache.get("products", parameters, () -> {
+            renders.incrementAndGet();
+            return Map.of("content", List.of("X-Burger", "Batata"), "page", parameters.keySet());
+        });
+    }
+
+    @Test
+    @DisplayName("Deve serializar uma vez por versão do catálogo e parâmetros")
+    void get_DeveRenderizarUmaVezPorVersao() {
+        Map<String, String[]> page0 = Map.of("page", new String[]{"0"});
+
+        CatalogResponseCache.Rendered first = products(page0);
+        assertSame(first, products(page0));
+        assertEquals(1, renders.get());
+
+        products(Map.of("page", new String[]{"1"}));
+        assertEquals(2, renders.get());
+
+        catalogVersion.bump();
+        CatalogResponseCache.Rendered afterBump = products(page0);
+        assertEquals(3, renders.get());
+        assertNotEquals(first.etag(), afterBump.etag());
+    }
+
+    @Test
+    @DisplayName("gzip e deflate devem descomprimir para o mesmo JSON")
+    void get_DeveGuardarAsTresCodificacoes() throws Exception {
+        CatalogResponseCache.Rendered rendered = products(Map.of());
+
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(rendered.gzip()));
+             InputStream deflate = new InflaterInputStream(new ByteArrayInputStream(rendered.deflate()))) {
+            assertArrayEquals(rendered.identity(), gzip.readAllBytes());
+            assertArrayEquals(rendered.identity(), deflate.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding: gzip preferido, q=0 recusa e sem header vai identity")
+    void negotiate_DeveRespeitarAcceptEncoding() {
+        assertEquals(Encoding.IDENTITY, Encoding.negotiate(null));
+        assertEquals(Encoding.IDENTITY, Encoding.negotiate("br"));
+        assertEquals(Encoding.GZIP, Encoding.negotiate("gzip, deflate, br"));
+        assertEquals(Encoding.DEFLATE, Encoding.negotiate("deflate"));
+        assertEquals(Encoding.DEFLATE, Encoding.negotiate("gzip;q=0, deflate"));
+        assertEquals(Encoding.DEFLATE, Encoding.negotiate("gzip;q=0.5, deflate;q=0.8"));
+        assertEquals(Encoding.GZIP, Encoding.negotiate("*"));
+        assertEquals(Encoding.IDENTITY, Encoding.negotiate("*;q=0, identity"));
+    }
+
+    @Test
+    @DisplayName("Cada codificação deve ter sua própria ETag")
+    void etag_DeveVariarPorCodificacao() {
+        assertEquals("\"abc-1-ff\"", Encoding.IDENTITY.etag("\"abc-1-ff\""));
+        assertEquals("\"abc-1-ff-gzip\"", Encoding.GZIP.etag("\"abc-1-ff\""));
+        assertEquals("\"abc-1-ff-deflate\"", Encoding.DEFLATE.etag("\"abc-1-ff\""));
+    }
+}
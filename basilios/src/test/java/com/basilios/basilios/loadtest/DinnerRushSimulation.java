@@ -0,0 +1,433 @@
+package com.basilios.basilios.loadtest;
+
+import com.basilios.basilios.core.enums.RoleEnum;
+import com.basilios.basilios.core.enums.StatusPedidoEnum;
+import com.basilios.basilios.core.model.Usuario;
+import com.basilios.basilios.infra.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simulação de pico de jantar contra a aplicação inteira (Tomcat, segurança, JPA, WebSocket),
+ * com H2 no lugar do MySQL e RabbitMQ/e-mail simulados (perfil loadtest).
+ *
+ * Usuários virtuais em paralelo até o fim da duração:
+ * - visitantes anônimos navegando no cardápio (listagem com ETag, promoções, busca, facetas);
+ * - clientes que fazem login, cadastram endereço e fazem pedidos de vários itens;
+ * - funcionários avançando os pedidos pela cozinha (PENDENTE → ... → ENTREGUE);
+ * - painéis consultando o dashboard periodicamente;
+ * - assinantes WebSocket de /topic/orders (latência = PATCH do status até a mensagem chegar).
+ *
+ * Saída em target/loadtest: summary.csv e um .hgrm por endpoint. Se existir
+ * src/test/resources/loadtest/dinner-rush-baseline.csv, a tabela impressa compara com ele.
+ * Não roda no build normal:
+ *   mvn test -Pload-test
+ *   mvn test -Pload-test -Dloadtest.duration-seconds=300 -Dloadtest.customers=300
+ * O baseline é o summary.csv de uma execução com os parâmetros padrão na máquina de
+ * referência, copiado para esse caminho. Ainda não há um versionado: até lá, a simulação
+ * avisa que rodou sem baseline, e -Dloadtest.require-baseline=true faz a falta reprovar.
+ */
+@Tag("load-test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@DisplayName("Simulação de pico de jantar")
+class DinnerRushSimulation {
+
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 120));
+    private static final int BROWSERS = Integer.getInteger("loadtest.browsers", 200);
+    private static final int CUSTOMERS = Integer.getInteger("loadtest.customers", 100);
+    private static final int STAFF = Integer.getInteger("loadtest.staff", 4);
+    private static final int DASHBOARDS = Integer.getInteger("loadtest.dashboards", 3);
+    private static final int SUBSCRIBERS = Integer.getInteger("loadtest.ws-subscribers", 50);
+    private static final int PRODUCTS = Integer.getInteger("loadtest.products", 60);
+    private static final long BROWSER_THINK_MS = Long.getLong("loadtest.browser-think-ms", 1_000);
+    private static final long CUSTOMER_THINK_MS = Long.getLong("loadtest.customer-think-ms", 3_000);
+    private static final long STAFF_THINK_MS = Long.getLong("loadtest.staff-think-ms", 500);
+    private static final long DASHBOARD_INTERVAL_MS = Long.getLong("loadtest.dashboard-interval-ms", 5_000);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+    private static final Path OUTPUT = Path.of(System.getProperty("loadtest.output", "target/loadtest"));
+    private static final boolean REQUIRE_BASELINE = Boolean.getBoolean("loadtest.require-baseline");
+    private static final String BASELINE = "/loadtest/dinner-rush-baseline.csv";
+
+    private static final String PASSWORD = "Rush@2025";
+    private static final String WS_ENDPOINT = "WS /topic/orders (entrega)";
+    private static final String[] CATEGORIES = {"BURGER", "BURGER", "SIDE", "DRINK", "DESSERT"};
+    private static final String[] SEARCHES = {"bacon", "burguer", "frango", "batata", "acai", "cheddar", "picanha"};
+    private static final StatusPedidoEnum[] KITCHEN = {
+            StatusPedidoEnum.PENDENTE, StatusPedidoEnum.CONFIRMADO, StatusPedidoEnum.PREPARANDO, StatusPedidoEnum.DESPACHADO};
+
+    @MockitoBean
+    private RabbitTemplate rabbitTemplate;
+
+    @MockitoBean
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    // orderId:novoStatus -> instante do PATCH, para medir a entrega no WebSocket
+    private final Map<String, Long> statusChangedAt = new ConcurrentHashMap<>();
+    private final LongAdder statusChanges = new LongAdder();
+    private final LongAdder wsDeliveries = new LongAdder();
+
+    private long deadline;
+
+    @Test
+    void dinnerRush() throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        LoadReport setupReport = new LoadReport();
+        LoadClient setup = new LoadClient(http, objectMapper, "http://localhost:" + port, setupReport);
+
+        List<String> staffTokens = seedStaff(setup);
+        List<Long> productIds = seedMenu(setup, staffTokens.get(0));
+        List<String> customerEmails = registerCustomers(setup);
+        assertThat(setupReport.errorRate()).as("falhas na preparação").isZero();
+
+        LoadReport report = new LoadReport();
+        LoadClient client = setup.withReport(report);
+        List<StompSession> subscribers = subscribe(staffTokens.get(0), report);
+
+        report.start();
+        deadline = System.nanoTime() + DURATION.toNanos();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < BROWSERS; i++) {
+                users.submit(() -> browse(client));
+            }
+            for (String email : customerEmails) {
+                users.submit(() -> order(client, email, productIds));
+            }
+            for (int i = 0; i < STAFF; i++) {
+                int index = i;
+                users.submit(() -> kitchen(client, staffTokens.get(index), index));
+            }
+            for (int i = 0; i < DASHBOARDS; i++) {
+                users.submit(() -> dashboard(client, staffTokens.get(0)));
+            }
+        }
+        report.finish();
+
+        // mensagens ainda em trânsito
+        Thread.sleep(2_000);
+        subscribers.forEach(StompSession::disconnect);
+        report.recordMissing(WS_ENDPOINT, statusChanges.sum() * subscribers.size() - wsDeliveries.sum());
+
+        report.write(OUTPUT);
+        Map<String, LoadReport.Row> baseline = LoadReport.readBaseline(getClass().getResourceAsStream(BASELINE));
+        System.out.printf("%nPico de jantar: %ds, %d visitantes, %d clientes, %d funcionários, %d painéis, %d assinantes WS%n%s",
+                DURATION.toSeconds(), BROWSERS, CUSTOMERS, STAFF, DASHBOARDS, subscribers.size(),
+                report.format(baseline));
+        System.out.printf("Histogramas em %s%n", OUTPUT.toAbsolutePath());
+        if (baseline.isEmpty()) {
+            System.out.printf("%nATENÇÃO: sem baseline em src/test/resources%s; resultado não comparado.%n"
+                    + "Para criar: rodar com os parâmetros padrão na máquina de referência e copiar %s para lá.%n",
+                    BASELINE, OUTPUT.resolve("summary.csv"));
+        }
+
+        assertThat(report.count("POST /orders")).as("pedidos feitos").isPositive();
+        assertThat(report.errorRate()).as("taxa de erro geral").isLessThanOrEqualTo(MAX_ERROR_RATE);
+        if (REQUIRE_BASELINE) {
+            assertThat(baseline).as("baseline " + BASELINE).isNotEmpty();
+        }
+    }
+
+    // ----------------------------------------------------------------- preparação
+
+    /**
+     * Funcionários gravados direto no banco (o cadastro público só cria clientes)
+     */
+    private List<String> seedStaff(LoadClient setup) {
+        String hash = passwordEncoder.encode(PASSWORD);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < STAFF; i++) {
+            String email = "funcionario" + i + "@rush.basilios.com";
+            usuarioRepository.save(Usuario.builder()
+                    .nomeUsuario("Funcionario " + i)
+                    .email(email)
+                    .password(hash)
+                    .cpf(String.format("%011d", 90_000_000_000L + i))
+                    .telefone(String.format("1198%07d", i))
+                    .roles(new ArrayList<>(List.of(RoleEnum.ROLE_CLIENTE, RoleEnum.ROLE_FUNCIONARIO)))
+                    .enabled(true)
+                    .build());
+            tokens.add(login(setup, email));
+        }
+        return tokens;
+    }
+
+    /**
+     * Cardápio criado pela API, para passar pelos índices de busca/facetas e pela versão do catálogo
+     */
+    private List<Long> seedMenu(LoadClient setup, String staffToken) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            String category = CATEGORIES[i % CATEGORIES.length];
+            String flavor = SEARCHES[i % SEARCHES.length];
+            Map<String, Object> product = new HashMap<>();
+            product.put("name", "Rush " + flavor + " " + i);
+            product.put("description", "Produto da simulação com " + flavor + " e cheddar");
+            product.put("category", category);
+            product.put("price", BigDecimal.valueOf(12 + (i % 9) * 4L));
+            product.put("tags", List.of(i % 3 == 0 ? "ARTESANAL" : "TRADICIONAL"));
+            product.put("ingredientes", List.of("pao", flavor, "cheddar"));
+            JsonNode created = setup.post("POST /products", "/products", staffToken, product);
+            if (created != null) {
+                ids.add(created.path("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    private List<String> registerCustomers(LoadClient setup) {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            String email = "cliente" + i + "@rush.basilios.com";
+            Map<String, Object> register = new HashMap<>();
+            register.put("nomeUsuario", "Cliente " + i);
+            register.put("email", email);
+            register.put("password", PASSWORD);
+            register.put("cpf", String.format("%011d", 10_000_000_000L + i));
+            register.put("telefone", String.format("1197%07d", i));
+            setup.post("POST /auth/register", "/auth/register", null, register);
+            emails.add(email);
+        }
+        return emails;
+    }
+
+    private List<StompSession> subscribe(String token, LoadReport report) {
+        WebSocketStompClient stomp = new WebSocketStompClient(new StandardWebSocketClient());
+        stomp.setMessageConverter(new MappingJackson2MessageConverter());
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setBearerAuth(token);
+
+        List<StompSession> sessions = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            long start = System.nanoTime();
+            try {
+                StompSession session = stomp.connectAsync("ws://localhost:" + port + "/ws-native", headers,
+                        new StompSessionHandlerAdapter() { }).get(10, TimeUnit.SECONDS);
+                session.subscribe("/topic/orders", new OrderUpdateHandler(report));
+                report.record("WS CONNECT /ws-native", start, true);
+                sessions.add(session);
+            } catch (Exception e) {
+                report.record("WS CONNECT /ws-native", start, false);
+            }
+        }
+        return sessions;
+    }
+
+    private final class OrderUpdateHandler implements StompFrameHandler {
+
+        private final LoadReport report;
+
+        private OrderUpdateHandler(LoadReport report) {
+            this.report = report;
+        }
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            Map<?, ?> update = (Map<?, ?>) payload;
+            Long sentAt = statusChangedAt.get(update.get("orderId") + ":" + update.get("newStatus"));
+            if (sentAt != null) {
+                report.record(WS_ENDPOINT, sentAt, true);
+                wsDeliveries.increment();
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------- cenários
+
+    /**
+     * Visitante anônimo: cardápio (com ETag, como o navegador), promoções, busca e filtros
+     */
+    private void browse(LoadClient client) {
+        Map<String, String> etags = new HashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running()) {
+            client.getCached("GET /products", "/products?page=" + random.nextInt(3) + "&size=20", etags);
+            client.getCached("GET /promotions/current", "/promotions/current", etags);
+            if (random.nextInt(3) == 0) {
+                client.get("GET /products/search", "/products/search?query=" + SEARCHES[random.nextInt(SEARCHES.length)], null);
+            }
+            if (random.nextInt(3) == 0) {
+                client.get("GET /products/filter", "/products/filter?categories=" + CATEGORIES[random.nextInt(CATEGORIES.length)], null);
+            }
+            think(BROWSER_THINK_MS);
+        }
+    }
+
+    /**
+     * Cliente: login, endereço e pedidos em sequência, acompanhando os próprios pedidos
+     */
+    private void order(LoadClient client, String email, List<Long> productIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        think(CUSTOMER_THINK_MS);
+        String token = login(client, email);
+        if (token == null) {
+            return;
+        }
+
+        Map<String, Object> address = new HashMap<>();
+        address.put("rua", "Rua da Simulacao");
+        address.put("numero", String.valueOf(random.nextInt(1, 2_000)));
+        address.put("bairro", "Vila Deodoro");
+        address.put("cep", "01544-001");
+        address.put("cidade", "Sao Paulo");
+        address.put("estado", "SP");
+        // até ~3 km da loja padrão (store.latitude/longitude)
+        address.put("latitude", -23.550520 + random.nextDouble(-0.02, 0.02));
+        address.put("longitude", -46.633308 + random.nextDouble(-0.02, 0.02));
+        JsonNode created = client.post("POST /address", "/address", token, address);
+        if (created == null) {
+            return;
+        }
+        long addressId = created.path("id").asLong();
+
+        int round = 0;
+        while (running()) {
+            client.getCached("GET /products", "/products?page=0&size=20", new HashMap<>());
+
+            List<Map<String, Object>> items = new ArrayList<>();
+            int lines = random.nextInt(1, 6);
+            for (int i = 0; i < lines; i++) {
+                items.add(Map.of("productId", productIds.get(random.nextInt(productIds.size())),
+                        "quantity", random.nextInt(1, 4)));
+            }
+            client.post("POST /orders", "/orders", token, Map.of("addressId", addressId, "items", items));
+            client.get("GET /orders/me/summary", "/orders/me/summary?size=5", token);
+
+            if (++round % 10 == 0) {
+                token = login(client, email);
+                if (token == null) {
+                    return;
+                }
+            }
+            think(CUSTOMER_THINK_MS);
+        }
+    }
+
+    /**
+     * Funcionário: pega os pedidos de cada etapa e avança os seus (id % STAFF), sem
+     * disputar o mesmo pedido com os colegas
+     */
+    private void kitchen(LoadClient client, String token, int index) {
+        while (running()) {
+            for (StatusPedidoEnum status : KITCHEN) {
+                JsonNode page = client.get("GET /orders/by-status",
+                        "/orders/by-status?status=" + status.name() + "&size=20&sort=id", token);
+                if (page == null) {
+                    continue;
+                }
+                for (JsonNode order : page.path("content")) {
+                    long id = order.path("id").asLong();
+                    if (id % STAFF != index || !running()) {
+                        continue;
+                    }
+                    StatusPedidoEnum next = next(status);
+                    statusChangedAt.put(id + ":" + next.name(), System.nanoTime());
+                    if (client.patch("PATCH /orders/{id}/status", "/orders/" + id + "/status", token,
+                            Map.of("status", next.name())) != null) {
+                        statusChanges.increment();
+                    }
+                }
+            }
+            think(STAFF_THINK_MS);
+        }
+    }
+
+    private void dashboard(LoadClient client, String token) {
+        while (running()) {
+            client.get("GET /dashboard/revenue", "/dashboard/revenue", token);
+            client.get("GET /dashboard/orders-period", "/dashboard/orders-period", token);
+            client.get("GET /dashboard/order-peaks", "/dashboard/order-peaks", token);
+            client.get("GET /dashboard/top-products", "/dashboard/top-products?size=5", token);
+            client.get("GET /orders", "/orders?size=20&sort=id,desc", token);
+            think(DASHBOARD_INTERVAL_MS);
+        }
+    }
+
+    // ----------------------------------------------------------------- utilitários
+
+    private String login(LoadClient client, String email) {
+        JsonNode response = client.post("POST /auth/login", "/auth/login", null,
+                Map.of("email", email, "password", PASSWORD));
+        return response == null ? null : response.path("token").asText(null);
+    }
+
+    private static StatusPedidoEnum next(StatusPedidoEnum status) {
+        return switch (status) {
+            case PENDENTE -> StatusPedidoEnum.CONFIRMADO;
+            case CONFIRMADO -> StatusPedidoEnum.PREPARANDO;
+            case PREPARANDO -> StatusPedidoEnum.DESPACHADO;
+            default -> StatusPedidoEnum.ENTREGUE;
+        };
+    }
+
+    private boolean running() {
+        return System.nanoTime() < deadline;
+    }
+
+    /**
+     * Pausa entre ações do usuário: média thinkMs, variando ±50%
+     */
+    private void think(long thinkMs) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMs / 2, thinkMs * 3 / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
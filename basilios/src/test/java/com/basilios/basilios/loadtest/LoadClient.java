@@ -0,0 +1,116 @@
+package com.basilios.basilios.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Cliente HTTP da simulação: cada chamada é medida e registrada no LoadReport sob o nome
+ * do endpoint. Respostas 4xx/5xx e exceções contam como erro; 304 conta como sucesso.
+ */
+final class LoadClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final ObjectMapper mapper;
+    private final String baseUrl;
+    private final LoadReport report;
+
+    LoadClient(HttpClient http, ObjectMapper mapper, String baseUrl, LoadReport report) {
+        this.http = http;
+        this.mapper = mapper;
+        this.baseUrl = baseUrl;
+        this.report = report;
+    }
+
+    /**
+     * Mesmo servidor e conexões, registrando em outro relatório
+     */
+    LoadClient withReport(LoadReport other) {
+        return new LoadClient(http, mapper, baseUrl, other);
+    }
+
+    JsonNode get(String endpoint, String path, String token) {
+        return exchange(endpoint, request(path, token).GET(), null);
+    }
+
+    /**
+     * GET condicional como o navegador faz: reenvia o último ETag visto para a URL
+     */
+    JsonNode getCached(String endpoint, String path, Map<String, String> etags) {
+        HttpRequest.Builder request = request(path, null).GET();
+        String etag = etags.get(path);
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        return exchange(endpoint, request, response ->
+                response.headers().firstValue("ETag").ifPresent(value -> etags.put(path, value)));
+    }
+
+    JsonNode post(String endpoint, String path, String token, Object body) {
+        return exchange(endpoint, request(path, token).POST(json(body)), null);
+    }
+
+    JsonNode patch(String endpoint, String path, String token, Object body) {
+        return exchange(endpoint, request(path, token).method("PATCH", json(body)), null);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "identity");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Corpo inválido para " + body, e);
+        }
+    }
+
+    private interface ResponseHook {
+        void accept(HttpResponse<byte[]> response);
+    }
+
+    /**
+     * Executa e registra; devolve o corpo (ou um nó vazio no 304) ou null se falhou
+     */
+    private JsonNode exchange(String endpoint, HttpRequest.Builder request, ResponseHook hook) {
+        request.header("Content-Type", "application/json");
+        long start = System.nanoTime();
+        long end = 0;
+        JsonNode result = null;
+        try {
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            end = System.nanoTime();
+            if (response.statusCode() < 400) {
+                if (hook != null) {
+                    hook.accept(response);
+                }
+                byte[] body = response.body();
+                result = body.length == 0 ? mapper.createObjectNode() : mapper.readTree(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // conta como erro abaixo
+        }
+        // latência do servidor + rede, sem o parse do JSON no cliente
+        long elapsed = (end != 0 ? end : System.nanoTime()) - start;
+        report.recordLatency(endpoint, elapsed / 1_000, result != null);
+        return result;
+    }
+}
@@ -0,0 +1,199 @@
+package com.basilios.basilios.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latência (HdrHistogram, em microssegundos) e erros por endpoint durante uma simulação.
+ *
+ * Endpoints são nomeados pelo template ("PATCH /orders/{id}/status"), não pela URL, para que
+ * a comparação com o baseline não dependa dos ids gerados em cada execução.
+ */
+final class LoadReport {
+
+    static final String CSV_HEADER = "endpoint,requests,errors,error_rate,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms";
+
+    /**
+     * Uma linha do resumo (a mesma do CSV do baseline)
+     */
+    record Row(String endpoint, long requests, long errors, double throughput,
+               double p50, double p95, double p99, double max) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%.4f,%.1f,%.2f,%.2f,%.2f,%.2f",
+                    endpoint, requests, errors, errorRate(), throughput, p50, p95, p99, max);
+        }
+
+        static Row fromCsv(String line) {
+            String[] f = line.split(",");
+            return new Row(f[0], Long.parseLong(f[1]), Long.parseLong(f[2]), Double.parseDouble(f[4]),
+                    Double.parseDouble(f[5]), Double.parseDouble(f[6]), Double.parseDouble(f[7]),
+                    Double.parseDouble(f[8]));
+        }
+    }
+
+    private static final class Endpoint {
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    void start() {
+        startedAt = System.nanoTime();
+    }
+
+    void finish() {
+        finishedAt = System.nanoTime();
+    }
+
+    /**
+     * Registra uma requisição iniciada em startNanos (System.nanoTime) e concluída agora
+     */
+    void record(String endpoint, long startNanos, boolean ok) {
+        recordLatency(endpoint, (System.nanoTime() - startNanos) / 1_000, ok);
+    }
+
+    void recordLatency(String endpoint, long micros, boolean ok) {
+        Endpoint stats = endpoint(endpoint);
+        stats.latency.recordValue(Math.max(0, micros));
+        if (!ok) {
+            stats.errors.increment();
+        }
+    }
+
+    /**
+     * Erros sem latência associada (ex.: mensagem WebSocket que nunca chegou)
+     */
+    void recordMissing(String endpoint, long count) {
+        if (count > 0) {
+            endpoint(endpoint).errors.add(count);
+        }
+    }
+
+    long count(String endpoint) {
+        Endpoint stats = endpoints.get(endpoint);
+        return stats == null ? 0 : stats.latency.getTotalCount();
+    }
+
+    private Endpoint endpoint(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+    }
+
+    List<Row> rows() {
+        double seconds = Math.max(1, finishedAt - startedAt) / 1e9;
+        List<Row> rows = new ArrayList<>();
+        endpoints.forEach((name, stats) -> {
+            Histogram h = stats.latency;
+            long errors = stats.errors.sum();
+            long requests = Math.max(h.getTotalCount(), errors);
+            rows.add(new Row(name, requests, errors, h.getTotalCount() / seconds,
+                    h.getValueAtPercentile(50) / 1e3, h.getValueAtPercentile(95) / 1e3,
+                    h.getValueAtPercentile(99) / 1e3, h.getMaxValue() / 1e3));
+        });
+        return rows;
+    }
+
+    double errorRate() {
+        long requests = 0;
+        long errors = 0;
+        for (Row row : rows()) {
+            requests += row.requests();
+            errors += row.errors();
+        }
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    /**
+     * Grava summary.csv (formato do baseline) e um .hgrm por endpoint, com a distribuição
+     * de percentis em milissegundos (abre no HdrHistogram plotter)
+     */
+    void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        List<String> lines = new ArrayList<>();
+        lines.add(CSV_HEADER);
+        rows().forEach(row -> lines.add(row.toCsv()));
+        Files.write(dir.resolve("summary.csv"), lines, StandardCharsets.UTF_8);
+
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Path file = dir.resolve(fileName(entry.getKey()) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                entry.getValue().latency.outputPercentileDistribution(out, 1_000.0);
+            }
+        }
+    }
+
+    /**
+     * Tabela do resultado; com baseline (não vazio), a variação de vazão e p95/p99 em relação a ele
+     */
+    String format(Map<String, Row> baseline) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-36s %9s %7s %9s %9s %9s %9s   %s%n",
+                "endpoint", "req", "err%", "req/s", "p50 ms", "p95 ms", "p99 ms",
+                baseline.isEmpty() ? "(sem baseline)" : "vs baseline (req/s, p95, p99)"));
+        for (Row row : rows()) {
+            Row base = baseline.get(row.endpoint());
+            String delta = baseline.isEmpty() ? "" : base == null ? "sem baseline" : String.format(Locale.ROOT, "%s, %s, %s",
+                    percent(row.throughput(), base.throughput()), percent(row.p95(), base.p95()),
+                    percent(row.p99(), base.p99()));
+            out.append(String.format(Locale.ROOT, "%-36s %9d %6.2f%% %9.1f %9.2f %9.2f %9.2f   %s%n",
+                    row.endpoint(), row.requests(), row.errorRate() * 100, row.throughput(),
+                    row.p50(), row.p95(), row.p99(), delta));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Linhas do baseline por endpoint; vazio se o arquivo não existir
+     */
+    static Map<String, Row> readBaseline(InputStream in) throws IOException {
+        Map<String, Row> baseline = new LinkedHashMap<>();
+        if (in == null) {
+            return baseline;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("endpoint,")) {
+                    continue;
+                }
+                Row row = Row.fromCsv(line);
+                baseline.put(row.endpoint(), row);
+            }
+        }
+        return baseline;
+    }
+
+    private static String percent(double current, double base) {
+        if (base == 0) {
+            return "n/a";
+        }
+        return String.format(Locale.ROOT, "%+.0f%%", (current - base) / base * 100);
+    }
+
+    private static String fileName(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}